@@ -0,0 +1,36 @@
+package br.com.alura.forumhub.backend.controller;
+
+import br.com.alura.forumhub.backend.domain.dto.AlteracoesDto;
+import br.com.alura.forumhub.backend.domain.service.AlteracaoService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Controller responsável pelo feed incremental de alterações. */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@Tag(name = "Alterações", description = "Sincronização incremental de tópicos, respostas e cursos")
+public class AlteracaoController {
+
+  private final AlteracaoService alteracaoService;
+
+  /**
+   * Endpoint para listar as alterações posteriores a um cursor.
+   *
+   * @param since última sequência já processada pelo cliente (0 para sincronizar tudo)
+   * @param limit número máximo de entradas do log a serem lidas
+   * @return alterações e o cursor para a próxima chamada
+   */
+  @GetMapping
+  public ResponseEntity<AlteracoesDto> listar(
+      @RequestParam(defaultValue = "0") long since,
+      @RequestParam(defaultValue = "100") int limit) {
+    AlteracoesDto alteracoes = alteracaoService.listar(since, limit);
+    return ResponseEntity.ok(alteracoes);
+  }
+}
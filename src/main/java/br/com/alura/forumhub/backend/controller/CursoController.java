@@ -1,7 +1,13 @@
 package br.com.alura.forumhub.backend.controller;
 
 import br.com.alura.forumhub.backend.domain.dto.CursoDto;
+import br.com.alura.forumhub.backend.domain.dto.EstatisticasDto;
+import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.repository.NotificacaoRepository;
 import br.com.alura.forumhub.backend.domain.service.CursoService;
+import br.com.alura.forumhub.backend.domain.service.EstatisticaService;
+import br.com.alura.forumhub.backend.domain.service.NotificacaoService;
+import br.com.alura.forumhub.backend.infra.web.JsonArrayStreamer;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,11 +17,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
 
 /** Controller responsável pelos endpoints relacionados a cursos. */
 @RestController
@@ -24,6 +31,9 @@ import java.util.List;
 public class CursoController {
 
   private final CursoService cursoService;
+  private final EstatisticaService estatisticaService;
+  private final NotificacaoService notificacaoService;
+  private final JsonArrayStreamer jsonArrayStreamer;
 
   /**
    * Endpoint para listar todos os cursos.
@@ -35,33 +45,71 @@ public class CursoController {
   public ResponseEntity<Page<CursoDto>> listar(
       @PageableDefault(size = 10, sort = "nome") Pageable paginacao) {
     Page<CursoDto> cursos = cursoService.listarTodos(paginacao);
-    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cursos);
+    return ResponseEntity.ok(cursos);
   }
 
   /**
-   * Endpoint para listar cursos por categoria.
+   * Endpoint para listar todos os cursos de uma categoria. A lista é enviada em streaming, lida do
+   * banco em lotes, para não ser montada inteira em memória.
    *
    * @param categoria categoria dos cursos
    * @return lista de cursos da categoria
    */
   @GetMapping("/categoria/{categoria}")
-  public ResponseEntity<List<CursoDto>> listarPorCategoria(@PathVariable String categoria) {
-    List<CursoDto> cursos = cursoService.listarPorCategoria(categoria);
+  public ResponseEntity<StreamingResponseBody> listarPorCategoria(@PathVariable String categoria) {
+    StreamingResponseBody cursos =
+        jsonArrayStreamer.escrever(
+            (ultimoId, limite) ->
+                cursoService.listarPorCategoriaAposId(categoria, ultimoId, limite),
+            CursoDto::id);
     return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cursos);
   }
 
   /**
-   * Endpoint para buscar cursos pelo nome.
+   * Endpoint para listar cursos por categoria com paginação.
+   *
+   * @param categoria categoria dos cursos
+   * @param paginacao informações de paginação (opcional)
+   * @return página de cursos da categoria
+   */
+  @GetMapping("/categoria/{categoria}/paginado")
+  public ResponseEntity<Page<CursoDto>> listarPorCategoriaPaginado(
+      @PathVariable String categoria,
+      @PageableDefault(size = 10, sort = "nome") Pageable paginacao) {
+    Page<CursoDto> cursos = cursoService.listarPorCategoria(categoria, paginacao);
+    return ResponseEntity.ok(cursos);
+  }
+
+  /**
+   * Endpoint para buscar todos os cursos pelo nome. A lista é enviada em streaming, lida do banco
+   * em lotes, para não ser montada inteira em memória.
    *
    * @param nome parte do nome do curso
    * @return lista de cursos que contêm o texto no nome
    */
   @GetMapping("/busca")
-  public ResponseEntity<List<CursoDto>> buscarPorNome(@RequestParam String nome) {
-    List<CursoDto> cursos = cursoService.listarPorNome(nome);
+  public ResponseEntity<StreamingResponseBody> buscarPorNome(@RequestParam String nome) {
+    StreamingResponseBody cursos =
+        jsonArrayStreamer.escrever(
+            (ultimoId, limite) -> cursoService.listarPorNomeAposId(nome, ultimoId, limite),
+            CursoDto::id);
     return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cursos);
   }
 
+  /**
+   * Endpoint para buscar cursos pelo nome com paginação.
+   *
+   * @param nome parte do nome do curso
+   * @param paginacao informações de paginação (opcional)
+   * @return página de cursos que contêm o texto no nome
+   */
+  @GetMapping("/busca/paginado")
+  public ResponseEntity<Page<CursoDto>> buscarPorNomePaginado(
+      @RequestParam String nome, @PageableDefault(size = 10, sort = "nome") Pageable paginacao) {
+    Page<CursoDto> cursos = cursoService.listarPorNome(nome, paginacao);
+    return ResponseEntity.ok(cursos);
+  }
+
   /**
    * Endpoint para buscar um curso pelo ID.
    *
@@ -72,12 +120,25 @@ public class CursoController {
   public ResponseEntity<CursoDto> detalhar(@PathVariable Integer id) {
     try {
       CursoDto curso = cursoService.buscarPorId(id);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(curso);
+      return ResponseEntity.ok(curso);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     }
   }
 
+  /**
+   * Endpoint para buscar as estatísticas de um curso. Os valores são mantidos em memória e
+   * reconciliados periodicamente com o banco.
+   *
+   * @param id ID do curso
+   * @return estatísticas do curso
+   */
+  @GetMapping("/{id}/estatisticas")
+  public ResponseEntity<EstatisticasDto> estatisticas(@PathVariable Integer id) {
+    EstatisticasDto estatisticas = estatisticaService.buscarPorCurso(id);
+    return ResponseEntity.ok(estatisticas);
+  }
+
   /**
    * Endpoint para criar um novo curso.
    *
@@ -113,7 +174,7 @@ public class CursoController {
       }
 
       CursoDto curso = cursoService.atualizar(dto);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(curso);
+      return ResponseEntity.ok(curso);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     } catch (DataIntegrityViolationException e) {
@@ -138,4 +199,36 @@ public class CursoController {
       return ResponseEntity.badRequest().build();
     }
   }
+
+  /**
+   * Endpoint para assinar as notificações dos tópicos de um curso.
+   *
+   * @param id ID do curso
+   * @param usuario usuário autenticado
+   * @return resposta sem conteúdo
+   */
+  @PutMapping("/{id}/assinatura")
+  public ResponseEntity<Void> assinar(
+      @PathVariable Integer id, @AuthenticationPrincipal Usuario usuario) {
+    try {
+      notificacaoService.assinar(NotificacaoRepository.Alvo.CURSO, id, usuario.getId());
+      return ResponseEntity.status(204).build();
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
+  /**
+   * Endpoint para cancelar a assinatura das notificações de um curso.
+   *
+   * @param id ID do curso
+   * @param usuario usuário autenticado
+   * @return resposta sem conteúdo
+   */
+  @DeleteMapping("/{id}/assinatura")
+  public ResponseEntity<Void> cancelarAssinatura(
+      @PathVariable Integer id, @AuthenticationPrincipal Usuario usuario) {
+    notificacaoService.cancelarAssinatura(NotificacaoRepository.Alvo.CURSO, id, usuario.getId());
+    return ResponseEntity.status(204).build();
+  }
 }
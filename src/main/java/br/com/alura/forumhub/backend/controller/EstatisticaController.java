@@ -0,0 +1,32 @@
+package br.com.alura.forumhub.backend.controller;
+
+import br.com.alura.forumhub.backend.domain.dto.EstatisticasDto;
+import br.com.alura.forumhub.backend.domain.service.EstatisticaService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Controller responsável pelas estatísticas globais do fórum. */
+@RestController
+@RequestMapping("/estatisticas")
+@RequiredArgsConstructor
+@Tag(name = "Estatísticas", description = "Estatísticas de tópicos e respostas")
+public class EstatisticaController {
+
+  private final EstatisticaService estatisticaService;
+
+  /**
+   * Endpoint para buscar as estatísticas de todos os cursos somadas. Os valores são mantidos em
+   * memória e reconciliados periodicamente com o banco.
+   *
+   * @return estatísticas globais
+   */
+  @GetMapping
+  public ResponseEntity<EstatisticasDto> buscar() {
+    EstatisticasDto estatisticas = estatisticaService.buscarGlobal();
+    return ResponseEntity.ok(estatisticas);
+  }
+}
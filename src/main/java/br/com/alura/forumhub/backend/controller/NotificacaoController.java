@@ -0,0 +1,42 @@
+package br.com.alura.forumhub.backend.controller;
+
+import br.com.alura.forumhub.backend.domain.dto.NotificacoesDto;
+import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.service.NotificacaoService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Controller responsável pela caixa de notificações do usuário autenticado. */
+@RestController
+@RequestMapping("/notificacoes")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearer-key")
+@Tag(name = "Notificações", description = "Notificações de tópicos e cursos assinados")
+public class NotificacaoController {
+
+  private final NotificacaoService notificacaoService;
+
+  /**
+   * Endpoint para listar as notificações do usuário, da mais recente para a mais antiga.
+   *
+   * @param cursor ID da última notificação já recebida (opcional)
+   * @param limit número máximo de notificações
+   * @param usuario usuário autenticado
+   * @return notificações e o cursor para a próxima chamada
+   */
+  @GetMapping
+  public ResponseEntity<NotificacoesDto> listar(
+      @RequestParam(required = false) Long cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @AuthenticationPrincipal Usuario usuario) {
+    NotificacoesDto notificacoes = notificacaoService.listar(usuario.getId(), cursor, limit);
+    return ResponseEntity.ok(notificacoes);
+  }
+}
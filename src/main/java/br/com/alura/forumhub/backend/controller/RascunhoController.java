@@ -0,0 +1,93 @@
+package br.com.alura.forumhub.backend.controller;
+
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto;
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto.TipoRascunho;
+import br.com.alura.forumhub.backend.domain.dto.RascunhoUpdateDto;
+import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.service.RascunhoService;
+import br.com.alura.forumhub.backend.domain.service.RascunhosCheiosException;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Controller responsável pelos rascunhos do usuário autenticado. */
+@RestController
+@RequestMapping("/rascunhos")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearer-key")
+@Tag(name = "Rascunhos", description = "Rascunhos de tópicos e respostas salvos pelo editor")
+public class RascunhoController {
+
+  private final RascunhoService rascunhoService;
+
+  /**
+   * Endpoint para buscar o rascunho do usuário para um alvo.
+   *
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do curso, tópico ou resposta, conforme o tipo
+   * @param usuario usuário autenticado
+   * @return o rascunho
+   */
+  @GetMapping("/{tipo}/{alvoId}")
+  public ResponseEntity<RascunhoDto> buscar(
+      @PathVariable TipoRascunho tipo,
+      @PathVariable int alvoId,
+      @AuthenticationPrincipal Usuario usuario) {
+    return rascunhoService
+        .buscar(usuario.getId(), tipo, alvoId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Endpoint para o salvamento automático do rascunho do usuário para um alvo. O rascunho fica
+   * em memória e é gravado no banco no máximo uma vez por intervalo.
+   *
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do curso, tópico ou resposta, conforme o tipo
+   * @param dto o conteúdo do rascunho
+   * @param usuario usuário autenticado
+   * @return resposta sem conteúdo, ou 503 se o limite de rascunhos em memória for atingido
+   */
+  @PutMapping("/{tipo}/{alvoId}")
+  public ResponseEntity<Void> salvar(
+      @PathVariable TipoRascunho tipo,
+      @PathVariable int alvoId,
+      @RequestBody @Valid RascunhoUpdateDto dto,
+      @AuthenticationPrincipal Usuario usuario) {
+    try {
+      rascunhoService.salvar(usuario.getId(), tipo, alvoId, dto.titulo(), dto.mensagem());
+      return ResponseEntity.noContent().build();
+    } catch (RascunhosCheiosException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+  }
+
+  /**
+   * Endpoint para descartar o rascunho do usuário para um alvo.
+   *
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do curso, tópico ou resposta, conforme o tipo
+   * @param usuario usuário autenticado
+   * @return resposta sem conteúdo
+   */
+  @DeleteMapping("/{tipo}/{alvoId}")
+  public ResponseEntity<Void> excluir(
+      @PathVariable TipoRascunho tipo,
+      @PathVariable int alvoId,
+      @AuthenticationPrincipal Usuario usuario) {
+    rascunhoService.excluir(usuario.getId(), tipo, alvoId);
+    return ResponseEntity.noContent().build();
+  }
+}
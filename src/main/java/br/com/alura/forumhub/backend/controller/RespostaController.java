@@ -1,22 +1,39 @@
 package br.com.alura.forumhub.backend.controller;
 
+import br.com.alura.forumhub.backend.domain.dto.ProtocoloRespostaDto;
 import br.com.alura.forumhub.backend.domain.dto.RespostaCreateDto;
 import br.com.alura.forumhub.backend.domain.dto.RespostaDto;
 import br.com.alura.forumhub.backend.domain.dto.RespostaUpdateDto;
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDetailDto;
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.service.ConteudoBloqueadoException;
+import br.com.alura.forumhub.backend.domain.service.ConteudoQuarentenaException;
+import br.com.alura.forumhub.backend.domain.service.FilaRespostasCheiaException;
+import br.com.alura.forumhub.backend.domain.service.FilaVotosCheiaException;
+import br.com.alura.forumhub.backend.domain.service.RespostaAssincronaService;
 import br.com.alura.forumhub.backend.domain.service.RespostaService;
+import br.com.alura.forumhub.backend.domain.service.RevisaoService;
+import br.com.alura.forumhub.backend.domain.service.VotoService;
+import br.com.alura.forumhub.backend.infra.web.JsonArrayStreamer;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 /** Controller responsável pelos endpoints relacionados a respostas. */
 @RestController
@@ -24,37 +41,94 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RespostaController {
 
+  private static final String PREFER_ASYNC = "respond-async";
+
   private final RespostaService respostaService;
+  private final RespostaAssincronaService respostaAssincronaService;
+  private final VotoService votoService;
+  private final RevisaoService revisaoService;
+  private final JsonArrayStreamer jsonArrayStreamer;
 
   /**
-   * Endpoint para listar todas as respostas.
+   * Endpoint para listar todas as respostas. Com {@code fields} e/ou {@code resumo}, somente as
+   * colunas solicitadas são lidas do banco.
    *
+   * @param fields campos a serem retornados, separados por vírgula (opcional)
+   * @param resumo tamanho do resumo da mensagem, retornado no campo {@code resumo} (opcional)
    * @param paginacao informações de paginação (opcional)
    * @return lista de respostas
    */
   @GetMapping
-  public ResponseEntity<Page<RespostaDto>> listar(
+  public ResponseEntity<Page<?>> listar(
+      @RequestParam(required = false) List<String> fields,
+      @RequestParam(required = false) Integer resumo,
       @PageableDefault(size = 10, sort = "data_criacao") Pageable paginacao) {
-    Page<RespostaDto> respostas = respostaService.listarTodas(paginacao);
-    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(respostas);
+    if (fields == null && resumo == null) {
+      Page<RespostaDto> respostas = respostaService.listarTodas(paginacao);
+      return ResponseEntity.ok(respostas);
+    }
+
+    try {
+      Page<Map<String, Object>> respostas = respostaService.listarCampos(fields, resumo, paginacao);
+      return ResponseEntity.ok(respostas);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   /**
-   * Endpoint para listar respostas de um tópico específico.
+   * Endpoint para listar todas as respostas de um tópico específico. A lista é enviada em
+   * streaming, lida do banco em lotes, para não ser montada inteira em memória.
    *
    * @param topicoId ID do tópico
    * @return lista de respostas do tópico
    */
   @GetMapping("/topico/{topicoId}")
-  public ResponseEntity<List<RespostaDto>> listarPorTopico(@PathVariable Integer topicoId) {
+  public ResponseEntity<StreamingResponseBody> listarPorTopico(@PathVariable Integer topicoId) {
     try {
-      List<RespostaDto> respostas = respostaService.listarPorTopico(topicoId);
+      respostaService.verificarTopico(topicoId);
+      StreamingResponseBody respostas =
+          jsonArrayStreamer.escrever(
+              (ultimoId, limite) ->
+                  respostaService.listarPorTopicoAposId(topicoId, ultimoId, limite),
+              RespostaDto::id);
       return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(respostas);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     }
   }
 
+  /**
+   * Endpoint para listar respostas de um tópico específico com paginação. Com {@code fields} e/ou
+   * {@code resumo}, somente as colunas solicitadas são lidas do banco.
+   *
+   * @param topicoId ID do tópico
+   * @param fields campos a serem retornados, separados por vírgula (opcional)
+   * @param resumo tamanho do resumo da mensagem, retornado no campo {@code resumo} (opcional)
+   * @param paginacao informações de paginação (opcional)
+   * @return página de respostas do tópico
+   */
+  @GetMapping("/topico/{topicoId}/paginado")
+  public ResponseEntity<Page<?>> listarPorTopicoPaginado(
+      @PathVariable Integer topicoId,
+      @RequestParam(required = false) List<String> fields,
+      @RequestParam(required = false) Integer resumo,
+      @PageableDefault(size = 10, sort = "id") Pageable paginacao) {
+    try {
+      if (fields == null && resumo == null) {
+        Page<RespostaDto> respostas = respostaService.listarPorTopico(topicoId, paginacao);
+        return ResponseEntity.ok(respostas);
+      }
+      Page<Map<String, Object>> respostas =
+          respostaService.listarCamposPorTopico(topicoId, fields, resumo, paginacao);
+      return ResponseEntity.ok(respostas);
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.notFound().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   /**
    * Endpoint para buscar uma resposta pelo ID.
    *
@@ -65,28 +139,87 @@ public class RespostaController {
   public ResponseEntity<RespostaDto> detalhar(@PathVariable Integer id) {
     try {
       RespostaDto resposta = respostaService.buscarPorId(id);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(resposta);
+      return ResponseEntity.ok(resposta);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     }
   }
 
   /**
-   * Endpoint para criar uma nova resposta.
+   * Endpoint para criar uma nova resposta. Com o cabeçalho {@code Prefer: respond-async}, a
+   * resposta é validada e colocada na fila de gravação em lote, e o endpoint retorna 202 com a URL
+   * de acompanhamento no cabeçalho Location.
    *
    * @param dto dados da resposta a ser criada
+   * @param prefer valor do cabeçalho Prefer (opcional)
    * @param uriBuilder construtor de URI
-   * @return resposta criada
+   * @return resposta criada ou protocolo de acompanhamento; conteúdos com termos bloqueados são
+   *     rejeitados com 422 ou retidos para moderação com 202 e o ID da quarentena
    */
   @PostMapping
-  public ResponseEntity<RespostaDto> cadastrar(
-      @RequestBody @Valid RespostaCreateDto dto, UriComponentsBuilder uriBuilder) {
+  public ResponseEntity<?> cadastrar(
+      @RequestBody @Valid RespostaCreateDto dto,
+      @RequestHeader(value = "Prefer", required = false) String prefer,
+      UriComponentsBuilder uriBuilder) {
     try {
+      if (prefer != null && prefer.contains(PREFER_ASYNC)) {
+        ProtocoloRespostaDto protocolo = respostaAssincronaService.enfileirar(dto);
+        URI uri =
+            uriBuilder
+                .path("/respostas/protocolos/{protocolo}")
+                .buildAndExpand(protocolo.protocolo())
+                .toUri();
+        return ResponseEntity.accepted()
+            .location(uri)
+            .header("Preference-Applied", PREFER_ASYNC)
+            .body(protocolo);
+      }
+
       RespostaDto resposta = respostaService.criar(dto);
       URI uri = uriBuilder.path("/respostas/{id}").buildAndExpand(resposta.id()).toUri();
       return ResponseEntity.created(uri).contentType(MediaType.APPLICATION_JSON).body(resposta);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
+    } catch (FilaRespostasCheiaException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    } catch (ConteudoBloqueadoException e) {
+      return ResponseEntity.unprocessableEntity().body(Map.of("mensagem", e.getMessage()));
+    } catch (ConteudoQuarentenaException e) {
+      return ResponseEntity.accepted().body(Map.of("quarentena", e.getQuarentenaId()));
+    }
+  }
+
+  /**
+   * Endpoint para votar em uma resposta. O voto é gravado em lote, em até alguns segundos; votar
+   * de novo na mesma resposta não tem efeito, e votos em respostas inexistentes são descartados.
+   *
+   * @param id ID da resposta
+   * @param usuario usuário autenticado
+   * @return resposta sem conteúdo, com status 202
+   */
+  @PostMapping("/{id}/votos")
+  public ResponseEntity<Void> votar(
+      @PathVariable Integer id, @AuthenticationPrincipal Usuario usuario) {
+    try {
+      votoService.votar(id, usuario.getId());
+      return ResponseEntity.accepted().build();
+    } catch (FilaVotosCheiaException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+  }
+
+  /**
+   * Endpoint para acompanhar uma resposta enviada de forma assíncrona.
+   *
+   * @param protocolo protocolo retornado no envio
+   * @return situação da resposta
+   */
+  @GetMapping("/protocolos/{protocolo}")
+  public ResponseEntity<ProtocoloRespostaDto> consultarProtocolo(@PathVariable String protocolo) {
+    try {
+      return ResponseEntity.ok(respostaAssincronaService.consultar(protocolo));
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.notFound().build();
     }
   }
 
@@ -95,18 +228,58 @@ public class RespostaController {
    *
    * @param id ID da resposta
    * @param dto dados da resposta a ser atualizada
-   * @return resposta atualizada
+   * @param usuario usuário autenticado, registrado como autor da revisão
+   * @return resposta atualizada, ou o motivo da rejeição ou quarentena
    */
   @PutMapping("/{id}")
-  public ResponseEntity<RespostaDto> atualizar(
-      @PathVariable Integer id, @RequestBody @Valid RespostaUpdateDto dto) {
+  public ResponseEntity<?> atualizar(
+      @PathVariable Integer id,
+      @RequestBody @Valid RespostaUpdateDto dto,
+      @AuthenticationPrincipal Usuario usuario) {
     try {
       if (!id.equals(dto.id())) {
         return ResponseEntity.badRequest().build();
       }
 
-      RespostaDto resposta = respostaService.atualizar(dto);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(resposta);
+      RespostaDto resposta =
+          respostaService.atualizar(dto, usuario != null ? usuario.getId() : null);
+      return ResponseEntity.ok(resposta);
+    } catch (ConteudoBloqueadoException e) {
+      return ResponseEntity.unprocessableEntity().body(Map.of("mensagem", e.getMessage()));
+    } catch (ConteudoQuarentenaException e) {
+      return ResponseEntity.accepted().body(Map.of("quarentena", e.getQuarentenaId()));
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
+  /**
+   * Endpoint para listar as revisões da mensagem de uma resposta. Restrito a administradores.
+   *
+   * @param id ID da resposta
+   * @return revisões, da mais antiga para a mais recente; vazia se a resposta nunca foi editada
+   */
+  @GetMapping("/{id}/revisoes")
+  public ResponseEntity<List<RevisaoDto>> listarRevisoes(@PathVariable Integer id) {
+    try {
+      return ResponseEntity.ok(revisaoService.listar(Alteracao.Entidade.RESPOSTA, id));
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
+  /**
+   * Endpoint para buscar uma revisão da mensagem de uma resposta. Restrito a administradores.
+   *
+   * @param id ID da resposta
+   * @param numero número da revisão, a partir de 1 (a mensagem original)
+   * @return a revisão com a mensagem reconstruída
+   */
+  @GetMapping("/{id}/revisoes/{numero}")
+  public ResponseEntity<RevisaoDetailDto> buscarRevisao(
+      @PathVariable Integer id, @PathVariable int numero) {
+    try {
+      return ResponseEntity.ok(revisaoService.buscar(Alteracao.Entidade.RESPOSTA, id, numero));
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     }
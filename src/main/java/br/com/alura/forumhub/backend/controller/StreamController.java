@@ -0,0 +1,59 @@
+package br.com.alura.forumhub.backend.controller;
+
+import br.com.alura.forumhub.backend.infra.stream.ForumStreamService;
+import br.com.alura.forumhub.backend.infra.stream.LimiteAssinantesException;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Controller responsável pelos streams (Server-Sent Events) de novos tópicos e respostas. */
+@RestController
+@RequestMapping("/stream")
+@RequiredArgsConstructor
+@Tag(name = "Streams", description = "Eventos em tempo real via Server-Sent Events")
+public class StreamController {
+
+  private final ForumStreamService streamService;
+
+  /**
+   * Endpoint para acompanhar a criação de novos tópicos.
+   *
+   * @param ultimoEventoId ID do último evento recebido, para retomar após uma reconexão
+   * @return stream de eventos de tópicos
+   */
+  @GetMapping(path = "/topicos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> topicos(
+      @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+    try {
+      return ResponseEntity.ok(streamService.assinarTopicos(ultimoEventoId));
+    } catch (LimiteAssinantesException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+  }
+
+  /**
+   * Endpoint para acompanhar as novas respostas de um tópico.
+   *
+   * @param id ID do tópico
+   * @param ultimoEventoId ID do último evento recebido, para retomar após uma reconexão
+   * @return stream de eventos de respostas
+   */
+  @GetMapping(path = "/topicos/{id}/respostas", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> respostas(
+      @PathVariable Integer id,
+      @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+    try {
+      return ResponseEntity.ok(streamService.assinarRespostas(id, ultimoEventoId));
+    } catch (LimiteAssinantesException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+  }
+}
@@ -1,22 +1,40 @@
 package br.com.alura.forumhub.backend.controller;
 
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDetailDto;
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDto;
+import br.com.alura.forumhub.backend.domain.dto.TendenciasDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoCreateDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoDetailDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoSimilarDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoUpdateDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.repository.NotificacaoRepository;
+import br.com.alura.forumhub.backend.domain.service.ConteudoBloqueadoException;
+import br.com.alura.forumhub.backend.domain.service.ConteudoQuarentenaException;
+import br.com.alura.forumhub.backend.domain.service.NotificacaoService;
+import br.com.alura.forumhub.backend.domain.service.RevisaoService;
+import br.com.alura.forumhub.backend.domain.service.TendenciaService;
 import br.com.alura.forumhub.backend.domain.service.TopicoService;
+import br.com.alura.forumhub.backend.domain.service.TopicoSimilarException;
+import br.com.alura.forumhub.backend.infra.web.JsonArrayStreamer;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,6 +44,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /** Controller responsável pelos endpoints relacionados a tópicos. */
@@ -37,62 +56,215 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class TopicoController {
 
     private final TopicoService topicoService;
+    private final TendenciaService tendenciaService;
+    private final NotificacaoService notificacaoService;
+    private final RevisaoService revisaoService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     /**
-     * Endpoint para listar todos os tópicos.
+     * Endpoint para listar todos os tópicos. Com {@code fields} e/ou {@code resumo}, somente as
+     * colunas solicitadas são lidas do banco. Com {@code unread=true}, lista apenas os tópicos com
+     * respostas não lidas pelo usuário autenticado. Com {@code tags}, {@code status} e/ou
+     * {@code cursoId}, lista os tópicos filtrados pelo índice de bitmaps.
      *
+     * @param fields campos a serem retornados, separados por vírgula (opcional)
+     * @param resumo tamanho do resumo da mensagem, retornado no campo {@code resumo} (opcional)
+     * @param unread se deve listar apenas os tópicos não lidos (opcional)
+     * @param tags tags separadas por vírgula (opcional)
+     * @param operador {@code and} para exigir todas as tags ou {@code or} para ao menos uma
+     * @param status status dos tópicos (opcional)
+     * @param cursoId ID do curso (opcional)
+     * @param usuario usuário autenticado (opcional)
      * @param paginacao informações de paginação (opcional)
      * @return lista de tópicos
      */
     @GetMapping
-    public ResponseEntity<Page<TopicoDto>> listar(
+    public ResponseEntity<Page<?>> listar(
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) Integer resumo,
+            @RequestParam(defaultValue = "false") boolean unread,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "and") String operador,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer cursoId,
+            @AuthenticationPrincipal Usuario usuario,
             @PageableDefault(size = 10, sort = "data_criacao") Pageable paginacao) {
-        Page<TopicoDto> topicos = topicoService.listarTodos(paginacao);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(topicos);
+        if (unread) {
+            if (usuario == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            Page<TopicoDto> topicos = topicoService.listarNaoLidos(usuario.getId(), paginacao);
+            return ResponseEntity.ok(topicos);
+        }
+
+        if (tags != null || status != null || cursoId != null) {
+            boolean todas = "and".equalsIgnoreCase(operador);
+            if (!todas && !"or".equalsIgnoreCase(operador)) {
+                return ResponseEntity.badRequest().build();
+            }
+            try {
+                Topico.StatusTopico filtroStatus =
+                        status != null ? Topico.StatusTopico.valueOf(status.toUpperCase()) : null;
+                Page<TopicoDto> topicos =
+                        topicoService.listarFiltrados(
+                                tags, todas, filtroStatus, cursoId, paginacao);
+                return ResponseEntity.ok(topicos);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        if (fields == null && resumo == null) {
+            Page<TopicoDto> topicos = topicoService.listarTodos(paginacao);
+            return ResponseEntity.ok(topicos);
+        }
+
+        try {
+            Page<Map<String, Object>> topicos =
+                    topicoService.listarCampos(fields, resumo, paginacao);
+            return ResponseEntity.ok(topicos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * Endpoint para listar tópicos por curso.
+     * Endpoint para listar todos os tópicos de um curso. A lista é enviada em streaming, lida do
+     * banco em lotes, para não ser montada inteira em memória.
      *
      * @param nomeCurso nome do curso
      * @return lista de tópicos do curso
      */
     @GetMapping("/curso")
-    public ResponseEntity<List<TopicoDto>> listarPorCurso(@RequestParam String nomeCurso) {
-        List<TopicoDto> topicos = topicoService.listarPorCurso(nomeCurso);
+    public ResponseEntity<StreamingResponseBody> listarPorCurso(@RequestParam String nomeCurso) {
+        StreamingResponseBody topicos =
+                jsonArrayStreamer.escrever(
+                        (ultimoId, limite) ->
+                                topicoService.listarPorCursoAposId(nomeCurso, ultimoId, limite),
+                        TopicoDto::id);
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(topicos);
     }
 
     /**
-     * Endpoint para buscar um tópico pelo ID.
+     * Endpoint para listar tópicos por curso com paginação. Com {@code fields} e/ou {@code resumo},
+     * somente as colunas solicitadas são lidas do banco.
+     *
+     * @param nomeCurso nome do curso
+     * @param fields campos a serem retornados, separados por vírgula (opcional)
+     * @param resumo tamanho do resumo da mensagem, retornado no campo {@code resumo} (opcional)
+     * @param paginacao informações de paginação (opcional)
+     * @return página de tópicos do curso
+     */
+    @GetMapping("/curso/paginado")
+    public ResponseEntity<Page<?>> listarPorCursoPaginado(
+            @RequestParam String nomeCurso,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) Integer resumo,
+            @PageableDefault(size = 10, sort = "id") Pageable paginacao) {
+        if (fields == null && resumo == null) {
+            Page<TopicoDto> topicos = topicoService.listarPorCurso(nomeCurso, paginacao);
+            return ResponseEntity.ok(topicos);
+        }
+
+        try {
+            Page<Map<String, Object>> topicos =
+                    topicoService.listarCamposPorCurso(nomeCurso, fields, resumo, paginacao);
+            return ResponseEntity.ok(topicos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint para listar os tópicos mais vistos e mais respondidos na última hora e no último
+     * dia. As contagens são estimadas em memória, sem consultar o banco.
+     *
+     * @param limite número máximo de tópicos em cada lista (opcional)
+     * @return tópicos em alta
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<TendenciasDto> listarTendencias(
+            @RequestParam(defaultValue = "10") int limite) {
+        TendenciasDto tendencias = tendenciaService.listar(limite);
+        return ResponseEntity.ok(tendencias);
+    }
+
+    /**
+     * Endpoint para contar os tópicos com respostas não lidas pelo usuário autenticado.
+     *
+     * @param usuario usuário autenticado
+     * @return número de tópicos não lidos
+     */
+    @GetMapping("/nao-lidos")
+    public ResponseEntity<Map<String, Long>> contarNaoLidos(
+            @AuthenticationPrincipal Usuario usuario) {
+        if (usuario == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        long total = topicoService.contarNaoLidos(usuario.getId());
+        return ResponseEntity.ok(Map.of("total", total));
+    }
+
+    /**
+     * Endpoint para buscar um tópico pelo ID. Para usuários autenticados, o tópico é marcado como
+     * lido.
      *
      * @param id ID do tópico
+     * @param usuario usuário autenticado (opcional)
      * @return detalhes do tópico
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TopicoDetailDto> detalhar(@PathVariable Integer id) {
+    public ResponseEntity<TopicoDetailDto> detalhar(
+            @PathVariable Integer id, @AuthenticationPrincipal Usuario usuario) {
         try {
-            TopicoDetailDto topico = topicoService.buscarPorId(id);
-            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(topico);
+            TopicoDetailDto topico =
+                    topicoService.buscarPorId(id, usuario != null ? usuario.getId() : null);
+            return ResponseEntity.ok(topico);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     /**
-     * Endpoint para criar um novo tópico.
+     * Endpoint para buscar tópicos possivelmente duplicados antes de criar um tópico.
      *
      * @param dto dados do tópico a ser criado
+     * @return tópicos similares, do mais para o menos similar
+     */
+    @PostMapping("/similares")
+    public ResponseEntity<List<TopicoSimilarDto>> buscarSimilares(
+            @RequestBody @Valid TopicoCreateDto dto) {
+        List<TopicoSimilarDto> similares =
+                topicoService.buscarSimilares(dto.titulo(), dto.mensagem());
+        return ResponseEntity.ok(similares);
+    }
+
+    /**
+     * Endpoint para criar um novo tópico. Com {@code bloquearSimilares=true}, responde {@code 409}
+     * com a lista de tópicos possivelmente duplicados, se houver; as sugestões também estão em
+     * {@code POST /topicos/similares}. Conteúdos com termos bloqueados são rejeitados com {@code
+     * 422} ou retidos para moderação com {@code 202}.
+     *
+     * @param dto dados do tópico a ser criado
+     * @param bloquearSimilares se deve recusar o tópico quando houver duplicados (opcional)
      * @param uriBuilder construtor de URI
-     * @return tópico criado
+     * @return tópico criado, ou os tópicos similares
      */
     @PostMapping
-    public ResponseEntity<TopicoDto> cadastrar(
-            @RequestBody @Valid TopicoCreateDto dto, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity<?> cadastrar(
+            @RequestBody @Valid TopicoCreateDto dto,
+            @RequestParam(defaultValue = "false") boolean bloquearSimilares,
+            UriComponentsBuilder uriBuilder) {
         try {
-            TopicoDto topico = topicoService.criar(dto);
+            TopicoDto topico = topicoService.criar(dto, bloquearSimilares);
             URI uri = uriBuilder.path("/topicos/{id}").buildAndExpand(topico.id()).toUri();
             return ResponseEntity.created(uri).contentType(MediaType.APPLICATION_JSON).body(topico);
+        } catch (TopicoSimilarException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getSimilares());
+        } catch (ConteudoBloqueadoException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("mensagem", e.getMessage()));
+        } catch (ConteudoQuarentenaException e) {
+            return ResponseEntity.accepted().body(Map.of("quarentena", e.getQuarentenaId()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (EntityNotFoundException e) {
@@ -105,18 +277,58 @@ public class TopicoController {
      *
      * @param id ID do tópico
      * @param dto dados do tópico a ser atualizado
-     * @return tópico atualizado
+     * @param usuario usuário autenticado, registrado como autor da revisão
+     * @return tópico atualizado, ou o motivo da rejeição ou quarentena
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TopicoDto> atualizar(
-            @PathVariable Integer id, @RequestBody @Valid TopicoUpdateDto dto) {
+    public ResponseEntity<?> atualizar(
+            @PathVariable Integer id,
+            @RequestBody @Valid TopicoUpdateDto dto,
+            @AuthenticationPrincipal Usuario usuario) {
         try {
             if (!id.equals(dto.id())) {
                 return ResponseEntity.badRequest().build();
             }
 
-            TopicoDto topico = topicoService.atualizar(dto);
-            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(topico);
+            TopicoDto topico =
+                    topicoService.atualizar(dto, usuario != null ? usuario.getId() : null);
+            return ResponseEntity.ok(topico);
+        } catch (ConteudoBloqueadoException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("mensagem", e.getMessage()));
+        } catch (ConteudoQuarentenaException e) {
+            return ResponseEntity.accepted().body(Map.of("quarentena", e.getQuarentenaId()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Endpoint para listar as revisões da mensagem de um tópico. Restrito a administradores.
+     *
+     * @param id ID do tópico
+     * @return revisões, da mais antiga para a mais recente; vazia se o tópico nunca foi editado
+     */
+    @GetMapping("/{id}/revisoes")
+    public ResponseEntity<List<RevisaoDto>> listarRevisoes(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(revisaoService.listar(Alteracao.Entidade.TOPICO, id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Endpoint para buscar uma revisão da mensagem de um tópico. Restrito a administradores.
+     *
+     * @param id ID do tópico
+     * @param numero número da revisão, a partir de 1 (a mensagem original)
+     * @return a revisão com a mensagem reconstruída
+     */
+    @GetMapping("/{id}/revisoes/{numero}")
+    public ResponseEntity<RevisaoDetailDto> buscarRevisao(
+            @PathVariable Integer id, @PathVariable int numero) {
+        try {
+            return ResponseEntity.ok(revisaoService.buscar(Alteracao.Entidade.TOPICO, id, numero));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -137,4 +349,37 @@ public class TopicoController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Endpoint para assinar as notificações de um tópico.
+     *
+     * @param id ID do tópico
+     * @param usuario usuário autenticado
+     * @return resposta sem conteúdo
+     */
+    @PutMapping("/{id}/assinatura")
+    public ResponseEntity<Void> assinar(
+            @PathVariable Integer id, @AuthenticationPrincipal Usuario usuario) {
+        try {
+            notificacaoService.assinar(NotificacaoRepository.Alvo.TOPICO, id, usuario.getId());
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Endpoint para cancelar a assinatura das notificações de um tópico.
+     *
+     * @param id ID do tópico
+     * @param usuario usuário autenticado
+     * @return resposta sem conteúdo
+     */
+    @DeleteMapping("/{id}/assinatura")
+    public ResponseEntity<Void> cancelarAssinatura(
+            @PathVariable Integer id, @AuthenticationPrincipal Usuario usuario) {
+        notificacaoService.cancelarAssinatura(
+                NotificacaoRepository.Alvo.TOPICO, id, usuario.getId());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
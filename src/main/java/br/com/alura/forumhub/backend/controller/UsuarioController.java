@@ -1,8 +1,10 @@
 package br.com.alura.forumhub.backend.controller;
 
+import br.com.alura.forumhub.backend.domain.dto.RankingUsuarioDto;
 import br.com.alura.forumhub.backend.domain.dto.UsuarioCreateDto;
 import br.com.alura.forumhub.backend.domain.dto.UsuarioDto;
 import br.com.alura.forumhub.backend.domain.dto.UsuarioUpdateDto;
+import br.com.alura.forumhub.backend.domain.service.ReputacaoService;
 import br.com.alura.forumhub.backend.domain.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +29,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /** Controller responsável pelos endpoints relacionados a usuários. */
@@ -38,6 +41,7 @@ import java.util.Map;
 public class UsuarioController {
 
   private final UsuarioService usuarioService;
+  private final ReputacaoService reputacaoService;
 
   /**
    * Endpoint para listar todos os usuários.
@@ -63,7 +67,7 @@ public class UsuarioController {
           Pageable paginacao) {
     try {
       Page<UsuarioDto> usuarios = usuarioService.listarTodos(paginacao);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(usuarios);
+      return ResponseEntity.ok(usuarios);
     } catch (org.springframework.data.mapping.PropertyReferenceException ex) {
       Map<String, Object> body = new HashMap<>();
       body.put("timestamp", java.time.LocalDateTime.now().toString());
@@ -75,6 +79,35 @@ public class UsuarioController {
     }
   }
 
+  /**
+   * Endpoint para listar os usuários com maior reputação.
+   *
+   * @param cursoId ID do curso, para o ranking de um curso (opcional)
+   * @param limite número máximo de usuários (opcional)
+   * @return ranking de usuários
+   */
+  @GetMapping("/ranking")
+  @Operation(
+      summary = "Ranking de reputação",
+      description =
+          "Retorna os usuários com mais pontos por respostas e soluções, global ou de um curso")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ranking listado com sucesso",
+            content = @Content(mediaType = "application/json"))
+      })
+  public ResponseEntity<List<RankingUsuarioDto>> ranking(
+      @Parameter(description = "ID do curso", example = "1") @RequestParam(required = false)
+          Integer cursoId,
+      @Parameter(description = "Número máximo de usuários", example = "10")
+          @RequestParam(defaultValue = "10")
+          int limite) {
+    List<RankingUsuarioDto> ranking = reputacaoService.ranking(cursoId, limite);
+    return ResponseEntity.ok(ranking);
+  }
+
   /**
    * Endpoint para buscar um usuário pelo ID.
    *
@@ -104,7 +137,7 @@ public class UsuarioController {
       @Parameter(description = "ID do usuário", example = "1") @PathVariable Integer id) {
     try {
       UsuarioDto usuario = usuarioService.buscarPorId(id);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(usuario);
+      return ResponseEntity.ok(usuario);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     }
@@ -193,7 +226,7 @@ public class UsuarioController {
       }
 
       UsuarioDto usuario = usuarioService.atualizar(dto);
-      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(usuario);
+      return ResponseEntity.ok(usuario);
     } catch (EntityNotFoundException e) {
       return ResponseEntity.notFound().build();
     } catch (DataIntegrityViolationException e) {
@@ -0,0 +1,12 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto para exibição de uma alteração do log. Para exclusões (tombstones) os dados são nulos.
+ *
+ * @param seq sequência da alteração
+ * @param entidade entidade alterada
+ * @param id ID da entidade alterada
+ * @param operacao operação realizada
+ * @param dados estado atual da entidade
+ */
+public record AlteracaoDto(long seq, String entidade, Integer id, String operacao, Object dados) {}
@@ -0,0 +1,31 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Dto para exibição de uma página do log de alterações. */
+public record AlteracoesDto(List<AlteracaoDto> alteracoes, long cursor, boolean temMais) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param alteracoes alterações da página
+   * @param cursor sequência a ser enviada no próximo {@code since}
+   * @param temMais indica se há mais alterações após o cursor
+   */
+  public AlteracoesDto(List<AlteracaoDto> alteracoes, long cursor, boolean temMais) {
+    this.alteracoes = alteracoes != null ? new ArrayList<>(alteracoes) : new ArrayList<>();
+    this.cursor = cursor;
+    this.temMais = temMais;
+  }
+
+  /**
+   * Returns a defensive copy of the alteracoes list.
+   *
+   * @return a copy of the alteracoes list
+   */
+  @Override
+  public List<AlteracaoDto> alteracoes() {
+    return new ArrayList<>(alteracoes);
+  }
+}
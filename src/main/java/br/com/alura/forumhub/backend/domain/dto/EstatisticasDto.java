@@ -0,0 +1,56 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dto para exibição das estatísticas de um curso ou do fórum inteiro.
+ *
+ * @param cursoId ID do curso, ou null nas estatísticas globais
+ * @param topicosPorStatus número de tópicos por status
+ * @param respostas número de respostas
+ * @param medianaSegundosPrimeiraResposta mediana aproximada do tempo até a primeira resposta, em
+ *     segundos, ou null se nenhum tópico foi respondido
+ * @param reconciliadoEm data da última reconciliação com o banco
+ */
+public record EstatisticasDto(
+    Integer cursoId,
+    Map<String, Long> topicosPorStatus,
+    long respostas,
+    Long medianaSegundosPrimeiraResposta,
+    LocalDateTime reconciliadoEm) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param cursoId ID do curso, ou null nas estatísticas globais
+   * @param topicosPorStatus número de tópicos por status
+   * @param respostas número de respostas
+   * @param medianaSegundosPrimeiraResposta mediana do tempo até a primeira resposta
+   * @param reconciliadoEm data da última reconciliação com o banco
+   */
+  public EstatisticasDto(
+      Integer cursoId,
+      Map<String, Long> topicosPorStatus,
+      long respostas,
+      Long medianaSegundosPrimeiraResposta,
+      LocalDateTime reconciliadoEm) {
+    this.cursoId = cursoId;
+    this.topicosPorStatus =
+        topicosPorStatus != null ? new LinkedHashMap<>(topicosPorStatus) : new LinkedHashMap<>();
+    this.respostas = respostas;
+    this.medianaSegundosPrimeiraResposta = medianaSegundosPrimeiraResposta;
+    this.reconciliadoEm = reconciliadoEm;
+  }
+
+  /**
+   * Returns a defensive copy of the topicosPorStatus map.
+   *
+   * @return a copy of the topicosPorStatus map
+   */
+  @Override
+  public Map<String, Long> topicosPorStatus() {
+    return new LinkedHashMap<>(topicosPorStatus);
+  }
+}
@@ -0,0 +1,23 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dto para exibição de uma notificação da caixa de entrada.
+ *
+ * @param id ID da notificação, usado como cursor
+ * @param tipo tipo da notificação ({@code NOVA_RESPOSTA} ou {@code SOLUCAO})
+ * @param topicoId ID do tópico
+ * @param topicoTitulo título do tópico
+ * @param respostaId ID da resposta
+ * @param autor nome do autor da resposta
+ * @param dataCriacao data da notificação
+ */
+public record NotificacaoDto(
+    long id,
+    String tipo,
+    Integer topicoId,
+    String topicoTitulo,
+    Integer respostaId,
+    String autor,
+    LocalDateTime dataCriacao) {}
@@ -0,0 +1,31 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Dto para exibição de uma página da caixa de notificações, da mais recente para a mais antiga. */
+public record NotificacoesDto(List<NotificacaoDto> notificacoes, Long cursor, boolean temMais) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param notificacoes notificações da página
+   * @param cursor ID a ser enviado no próximo {@code cursor}, ou null se a página estiver vazia
+   * @param temMais indica se há notificações mais antigas após o cursor
+   */
+  public NotificacoesDto(List<NotificacaoDto> notificacoes, Long cursor, boolean temMais) {
+    this.notificacoes = notificacoes != null ? new ArrayList<>(notificacoes) : new ArrayList<>();
+    this.cursor = cursor;
+    this.temMais = temMais;
+  }
+
+  /**
+   * Returns a defensive copy of the notificacoes list.
+   *
+   * @return a copy of the notificacoes list
+   */
+  @Override
+  public List<NotificacaoDto> notificacoes() {
+    return new ArrayList<>(notificacoes);
+  }
+}
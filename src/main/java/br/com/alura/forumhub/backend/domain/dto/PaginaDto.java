@@ -0,0 +1,53 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Page;
+
+/** Dto compacto para exibição de uma página de resultados. */
+public record PaginaDto<T>(
+    List<T> itens, long total, int pagina, int tamanho, Integer proximaPagina) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param itens itens da página
+   * @param total número total de itens
+   * @param pagina número da página (a partir de 0)
+   * @param tamanho tamanho da página
+   * @param proximaPagina número da próxima página ou null se esta for a última
+   */
+  public PaginaDto(List<T> itens, long total, int pagina, int tamanho, Integer proximaPagina) {
+    this.itens = itens != null ? new ArrayList<>(itens) : new ArrayList<>();
+    this.total = total;
+    this.pagina = pagina;
+    this.tamanho = tamanho;
+    this.proximaPagina = proximaPagina;
+  }
+
+  /**
+   * Returns a defensive copy of the itens list.
+   *
+   * @return a copy of the itens list
+   */
+  @Override
+  public List<T> itens() {
+    return new ArrayList<>(itens);
+  }
+
+  /**
+   * Converte uma Page do Spring Data para PaginaDto.
+   *
+   * @param page a página a ser convertida
+   * @param <T> tipo dos itens
+   * @return o Dto da página
+   */
+  public static <T> PaginaDto<T> fromPage(Page<T> page) {
+    return new PaginaDto<>(
+        page.getContent(),
+        page.getTotalElements(),
+        page.getNumber(),
+        page.getSize(),
+        page.hasNext() ? page.getNumber() + 1 : null);
+  }
+}
@@ -0,0 +1,12 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto com a situação de uma resposta enviada de forma assíncrona.
+ *
+ * @param protocolo identificador atribuído à resposta no envio
+ * @param status PENDENTE, CONCLUIDA ou FALHA
+ * @param respostaId ID da resposta gravada (somente quando CONCLUIDA)
+ * @param erro motivo da falha (somente quando FALHA)
+ */
+public record ProtocoloRespostaDto(
+    String protocolo, String status, Integer respostaId, String erro) {}
@@ -0,0 +1,14 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto para exibição de um usuário no ranking de reputação.
+ *
+ * @param posicao posição no ranking, começando em 1
+ * @param usuarioId ID do usuário
+ * @param nome nome do usuário
+ * @param pontos pontos de reputação
+ * @param respostas número de respostas
+ * @param solucoes número de respostas aceitas como solução
+ */
+public record RankingUsuarioDto(
+    int posicao, Integer usuarioId, String nome, long pontos, long respostas, long solucoes) {}
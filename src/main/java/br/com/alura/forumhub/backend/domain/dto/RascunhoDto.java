@@ -0,0 +1,37 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dto para exibição de um rascunho.
+ *
+ * @param tipo o tipo do rascunho
+ * @param alvoId ID do curso, tópico ou resposta, conforme o tipo
+ * @param titulo título do tópico (opcional)
+ * @param mensagem a mensagem
+ * @param dataAtualizacao data do último salvamento
+ */
+public record RascunhoDto(
+    TipoRascunho tipo,
+    int alvoId,
+    String titulo,
+    String mensagem,
+    LocalDateTime dataAtualizacao) {
+
+  /**
+   * Tipo de um rascunho, que define o significado do ID do alvo.
+   *
+   * <ul>
+   *   <li>{@code NOVO_TOPICO}: ID do curso
+   *   <li>{@code EDICAO_TOPICO}: ID do tópico
+   *   <li>{@code NOVA_RESPOSTA}: ID do tópico
+   *   <li>{@code EDICAO_RESPOSTA}: ID da resposta
+   * </ul>
+   */
+  public enum TipoRascunho {
+    NOVO_TOPICO,
+    EDICAO_TOPICO,
+    NOVA_RESPOSTA,
+    EDICAO_RESPOSTA
+  }
+}
@@ -0,0 +1,11 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/** Dto para o salvamento automático de um rascunho. */
+public record RascunhoUpdateDto(
+    @Size(max = 255, message = "O título deve ter no máximo 255 caracteres") String titulo,
+    @NotNull(message = "A mensagem é obrigatória")
+        @Size(max = 65535, message = "A mensagem deve ter no máximo 65535 caracteres")
+        String mensagem) {}
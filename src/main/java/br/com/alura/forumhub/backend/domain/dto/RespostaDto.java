@@ -12,7 +12,8 @@ public record RespostaDto(
     String autor,
     Integer topicoId,
     String topicoTitulo,
-    Boolean solucao) {
+    Boolean solucao,
+    Integer score) {
 
   /**
    * Converte uma Resposta para RespostaDto.
@@ -28,6 +29,7 @@ public record RespostaDto(
         resposta.getAutor().getNome(),
         resposta.getTopico().getId(),
         resposta.getTopico().getTitulo(),
-        resposta.getSolucao());
+        resposta.getSolucao(),
+        resposta.getScore());
   }
 }
@@ -0,0 +1,38 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dto de uma resposta validada aguardando gravação em lote. É também o registro gravado no
+ * arquivo de write-ahead log.
+ *
+ * @param protocolo identificador atribuído no envio
+ * @param mensagem mensagem da resposta
+ * @param topicoId ID do tópico
+ * @param topicoTitulo título do tópico
+ * @param autorId ID do autor
+ * @param autorNome nome do autor
+ * @param solucao indica se a resposta é solução
+ * @param dataCriacao data de criação da resposta
+ */
+public record RespostaPendenteDto(
+    String protocolo,
+    String mensagem,
+    Integer topicoId,
+    String topicoTitulo,
+    Integer autorId,
+    String autorNome,
+    boolean solucao,
+    LocalDateTime dataCriacao) {
+
+  /**
+   * Converte para o Dto de exibição, com o ID gerado na gravação.
+   *
+   * @param id o ID da resposta gravada
+   * @return o Dto da resposta
+   */
+  public RespostaDto toRespostaDto(Integer id) {
+    return new RespostaDto(
+        id, mensagem, dataCriacao, autorNome, topicoId, topicoTitulo, solucao, 0);
+  }
+}
@@ -0,0 +1,15 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dto para exibição de uma revisão com a mensagem reconstruída.
+ *
+ * @param numero número da revisão, a partir de 1 (a mensagem original)
+ * @param autorId ID do autor da revisão
+ * @param autor nome do autor da revisão
+ * @param dataCriacao data da revisão
+ * @param mensagem a mensagem nesta revisão
+ */
+public record RevisaoDetailDto(
+    int numero, Integer autorId, String autor, LocalDateTime dataCriacao, String mensagem) {}
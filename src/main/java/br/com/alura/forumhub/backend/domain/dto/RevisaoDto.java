@@ -0,0 +1,15 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dto para exibição de uma revisão no histórico de uma mensagem.
+ *
+ * @param numero número da revisão, a partir de 1 (a mensagem original)
+ * @param tamanho tamanho da mensagem nesta revisão, em caracteres
+ * @param autorId ID do autor da revisão
+ * @param autor nome do autor da revisão
+ * @param dataCriacao data da revisão
+ */
+public record RevisaoDto(
+    int numero, int tamanho, Integer autorId, String autor, LocalDateTime dataCriacao) {}
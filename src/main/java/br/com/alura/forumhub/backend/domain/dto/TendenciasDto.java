@@ -0,0 +1,75 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Dto para exibição dos tópicos em alta na última hora e no último dia. */
+public record TendenciasDto(
+    List<TopicoTendenciaDto> maisVistosHora,
+    List<TopicoTendenciaDto> maisVistosDia,
+    List<TopicoTendenciaDto> maisRespondidosHora,
+    List<TopicoTendenciaDto> maisRespondidosDia) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param maisVistosHora tópicos mais vistos na última hora
+   * @param maisVistosDia tópicos mais vistos no último dia
+   * @param maisRespondidosHora tópicos mais respondidos na última hora
+   * @param maisRespondidosDia tópicos mais respondidos no último dia
+   */
+  public TendenciasDto(
+      List<TopicoTendenciaDto> maisVistosHora,
+      List<TopicoTendenciaDto> maisVistosDia,
+      List<TopicoTendenciaDto> maisRespondidosHora,
+      List<TopicoTendenciaDto> maisRespondidosDia) {
+    this.maisVistosHora = copia(maisVistosHora);
+    this.maisVistosDia = copia(maisVistosDia);
+    this.maisRespondidosHora = copia(maisRespondidosHora);
+    this.maisRespondidosDia = copia(maisRespondidosDia);
+  }
+
+  /**
+   * Returns a defensive copy of the maisVistosHora list.
+   *
+   * @return a copy of the maisVistosHora list
+   */
+  @Override
+  public List<TopicoTendenciaDto> maisVistosHora() {
+    return new ArrayList<>(maisVistosHora);
+  }
+
+  /**
+   * Returns a defensive copy of the maisVistosDia list.
+   *
+   * @return a copy of the maisVistosDia list
+   */
+  @Override
+  public List<TopicoTendenciaDto> maisVistosDia() {
+    return new ArrayList<>(maisVistosDia);
+  }
+
+  /**
+   * Returns a defensive copy of the maisRespondidosHora list.
+   *
+   * @return a copy of the maisRespondidosHora list
+   */
+  @Override
+  public List<TopicoTendenciaDto> maisRespondidosHora() {
+    return new ArrayList<>(maisRespondidosHora);
+  }
+
+  /**
+   * Returns a defensive copy of the maisRespondidosDia list.
+   *
+   * @return a copy of the maisRespondidosDia list
+   */
+  @Override
+  public List<TopicoTendenciaDto> maisRespondidosDia() {
+    return new ArrayList<>(maisRespondidosDia);
+  }
+
+  private static List<TopicoTendenciaDto> copia(List<TopicoTendenciaDto> lista) {
+    return lista != null ? new ArrayList<>(lista) : new ArrayList<>();
+  }
+}
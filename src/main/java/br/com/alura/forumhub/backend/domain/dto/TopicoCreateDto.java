@@ -2,7 +2,9 @@ package br.com.alura.forumhub.backend.domain.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import java.util.List;
 
 /** Dto para criação de tópicos. */
 public record TopicoCreateDto(
@@ -13,4 +15,11 @@ public record TopicoCreateDto(
         @Size(min = 10, message = "A mensagem deve ter no mínimo 10 caracteres")
         String mensagem,
     @NotNull(message = "O ID do autor é obrigatório") Integer autorId,
-    @NotNull(message = "O ID do curso é obrigatório") Integer cursoId) {}
+    @NotNull(message = "O ID do curso é obrigatório") Integer cursoId,
+    @Size(max = 10, message = "O tópico pode ter no máximo 10 tags")
+        List<
+                @Pattern(
+                    regexp = "[A-Za-z0-9][A-Za-z0-9.-]{0,49}",
+                    message = "As tags devem ter até 50 letras, números, pontos ou hífens")
+                String>
+            tags) {}
@@ -2,6 +2,7 @@ package br.com.alura.forumhub.backend.domain.dto;
 
 import br.com.alura.forumhub.backend.domain.model.Resposta;
 import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.infra.texto.RenderizadorMarkdown;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,11 +13,15 @@ public record TopicoDetailDto(
     Integer id,
     String titulo,
     String mensagem,
+    String mensagemHtml,
     LocalDateTime dataCriacao,
     String status,
     String autor,
     String curso,
-    List<RespostaDto> respostas) {
+    Long visualizacoes,
+    List<RespostaDto> respostas,
+    List<String> tags,
+    List<TopicoRelacionadoDto> relacionados) {
 
   /**
    * Constructor with defensive copying for mutable fields.
@@ -24,30 +29,42 @@ public record TopicoDetailDto(
    * @param id ID do tópico
    * @param titulo título do tópico
    * @param mensagem mensagem do tópico
+   * @param mensagemHtml mensagem do tópico renderizada em HTML
    * @param dataCriacao data de criação do tópico
    * @param status status do tópico
    * @param autor autor do tópico
    * @param curso curso do tópico
+   * @param visualizacoes número de visualizações do tópico
    * @param respostas lista de respostas do tópico
+   * @param tags tags do tópico
+   * @param relacionados tópicos relacionados
    */
   public TopicoDetailDto(
       Integer id,
       String titulo,
       String mensagem,
+      String mensagemHtml,
       LocalDateTime dataCriacao,
       String status,
       String autor,
       String curso,
-      List<RespostaDto> respostas) {
+      Long visualizacoes,
+      List<RespostaDto> respostas,
+      List<String> tags,
+      List<TopicoRelacionadoDto> relacionados) {
     this.id = id;
     this.titulo = titulo;
     this.mensagem = mensagem;
+    this.mensagemHtml = mensagemHtml;
     this.dataCriacao = dataCriacao;
     this.status = status;
     this.autor = autor;
     this.curso = curso;
+    this.visualizacoes = visualizacoes;
     // Create defensive copy of the list
     this.respostas = respostas != null ? new ArrayList<>(respostas) : new ArrayList<>();
+    this.tags = tags != null ? new ArrayList<>(tags) : new ArrayList<>();
+    this.relacionados = relacionados != null ? new ArrayList<>(relacionados) : new ArrayList<>();
   }
 
   /**
@@ -60,13 +77,36 @@ public record TopicoDetailDto(
     return new ArrayList<>(respostas);
   }
 
+  /**
+   * Returns a defensive copy of the tags list.
+   *
+   * @return a copy of the tags list
+   */
+  @Override
+  public List<String> tags() {
+    return new ArrayList<>(tags);
+  }
+
+  /**
+   * Returns a defensive copy of the relacionados list.
+   *
+   * @return a copy of the relacionados list
+   */
+  @Override
+  public List<TopicoRelacionadoDto> relacionados() {
+    return new ArrayList<>(relacionados);
+  }
+
   /**
    * Converte um Topico para TopicoDetailDto.
    *
    * @param topico o tópico a ser convertido
+   * @param tags as tags do tópico
+   * @param relacionados os tópicos relacionados
    * @return o Dto detalhado do tópico
    */
-  public static TopicoDetailDto fromEntity(Topico topico) {
+  public static TopicoDetailDto fromEntity(
+      Topico topico, List<String> tags, List<TopicoRelacionadoDto> relacionados) {
     List<RespostaDto> respostasDto =
         topico.getRespostas().stream().map(RespostaDto::fromEntity).toList();
 
@@ -74,16 +114,26 @@ public record TopicoDetailDto(
         topico.getId(),
         topico.getTitulo(),
         topico.getMensagem(),
+        RenderizadorMarkdown.html(topico.getMensagem(), topico.getMensagemHtml()),
         topico.getDataCriacao(),
         topico.getStatus().toString(),
         topico.getAutor().getNome(),
         topico.getCurso().getNome(),
-        respostasDto);
+        topico.getVisualizacoes(),
+        respostasDto,
+        tags,
+        relacionados);
   }
 
   /** Dto para exibição de respostas dentro do tópico. */
   public record RespostaDto(
-      Integer id, String mensagem, LocalDateTime dataCriacao, String autor, Boolean solucao) {
+      Integer id,
+      String mensagem,
+      String mensagemHtml,
+      LocalDateTime dataCriacao,
+      String autor,
+      Boolean solucao,
+      Integer score) {
 
     /**
      * Converte uma Resposta para RespostaDto.
@@ -95,9 +145,11 @@ public record TopicoDetailDto(
       return new RespostaDto(
           resposta.getId(),
           resposta.getMensagem(),
+          RenderizadorMarkdown.html(resposta.getMensagem(), resposta.getMensagemHtml()),
           resposta.getDataCriacao(),
           resposta.getAutor().getNome(),
-          resposta.getSolucao());
+          resposta.getSolucao(),
+          resposta.getScore());
     }
   }
 }
@@ -12,7 +12,8 @@ public record TopicoDto(
     LocalDateTime dataCriacao,
     String status,
     String autor,
-    String curso) {
+    String curso,
+    Long visualizacoes) {
 
   /**
    * Converte um Topico para TopicoDto.
@@ -28,6 +29,7 @@ public record TopicoDto(
         topico.getDataCriacao(),
         topico.getStatus().toString(),
         topico.getAutor().getNome(),
-        topico.getCurso().getNome());
+        topico.getCurso().getNome(),
+        topico.getVisualizacoes());
   }
 }
@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto para exibição de um tópico relacionado.
+ *
+ * @param id ID do tópico
+ * @param titulo título do tópico
+ */
+public record TopicoRelacionadoDto(Integer id, String titulo) {}
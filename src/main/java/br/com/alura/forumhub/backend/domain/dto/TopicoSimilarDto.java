@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto para exibição de um tópico possivelmente duplicado.
+ *
+ * @param id ID do tópico
+ * @param titulo título do tópico
+ * @param similaridade similaridade de Jaccard estimada, entre 0 e 1
+ */
+public record TopicoSimilarDto(Integer id, String titulo, double similaridade) {}
@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto para exibição de um tópico em alta.
+ *
+ * @param topicoId ID do tópico
+ * @param titulo título do tópico
+ * @param contagem contagem estimada na janela
+ */
+public record TopicoTendenciaDto(Integer topicoId, String titulo, long contagem) {}
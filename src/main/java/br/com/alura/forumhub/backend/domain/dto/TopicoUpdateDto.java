@@ -2,9 +2,11 @@ package br.com.alura.forumhub.backend.domain.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import java.util.List;
 
-/** Dto para atualização de tópicos. */
+/** Dto para atualização de tópicos. Sem {@code tags}, as tags atuais são mantidas. */
 public record TopicoUpdateDto(
     @NotNull(message = "O ID do tópico é obrigatório") Integer id,
     @NotBlank(message = "O título é obrigatório")
@@ -12,4 +14,11 @@ public record TopicoUpdateDto(
         String titulo,
     @NotBlank(message = "A mensagem é obrigatória")
         @Size(min = 10, message = "A mensagem deve ter no mínimo 10 caracteres")
-        String mensagem) {}
+        String mensagem,
+    @Size(max = 10, message = "O tópico pode ter no máximo 10 tags")
+        List<
+                @Pattern(
+                    regexp = "[A-Za-z0-9][A-Za-z0-9.-]{0,49}",
+                    message = "As tags devem ter até 50 letras, números, pontos ou hífens")
+                String>
+            tags) {}
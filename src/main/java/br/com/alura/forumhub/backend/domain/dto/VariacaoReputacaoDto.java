@@ -0,0 +1,13 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto de uma variação nos contadores de reputação de um usuário em um curso.
+ *
+ * @param usuarioId ID do usuário
+ * @param nome nome do usuário
+ * @param cursoId ID do curso
+ * @param respostas variação no número de respostas
+ * @param solucoes variação no número de soluções
+ */
+public record VariacaoReputacaoDto(
+    Integer usuarioId, String nome, Integer cursoId, long respostas, long solucoes) {}
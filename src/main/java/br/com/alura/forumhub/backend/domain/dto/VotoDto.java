@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.dto;
+
+/**
+ * Dto de um voto aguardando gravação em lote.
+ *
+ * @param respostaId ID da resposta votada
+ * @param usuarioId ID do usuário que votou
+ */
+public record VotoDto(Integer respostaId, Integer usuarioId) {}
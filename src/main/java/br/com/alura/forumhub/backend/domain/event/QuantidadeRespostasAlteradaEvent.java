@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+/**
+ * Evento publicado quando respostas de um curso são criadas ou excluídas.
+ *
+ * @param cursoId ID do curso dos tópicos respondidos
+ * @param delta variação no número de respostas
+ */
+public record QuantidadeRespostasAlteradaEvent(Integer cursoId, long delta) {}
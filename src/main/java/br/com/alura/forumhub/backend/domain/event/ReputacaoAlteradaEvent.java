@@ -0,0 +1,32 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import br.com.alura.forumhub.backend.domain.dto.VariacaoReputacaoDto;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evento publicado quando os contadores de reputação são alterados.
+ *
+ * @param variacoes as variações aplicadas
+ */
+public record ReputacaoAlteradaEvent(List<VariacaoReputacaoDto> variacoes) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param variacoes as variações aplicadas
+   */
+  public ReputacaoAlteradaEvent(List<VariacaoReputacaoDto> variacoes) {
+    this.variacoes = variacoes != null ? new ArrayList<>(variacoes) : new ArrayList<>();
+  }
+
+  /**
+   * Returns a defensive copy of the variacoes list.
+   *
+   * @return a copy of the variacoes list
+   */
+  @Override
+  public List<VariacaoReputacaoDto> variacoes() {
+    return new ArrayList<>(variacoes);
+  }
+}
@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import br.com.alura.forumhub.backend.domain.dto.RespostaDto;
+
+/**
+ * Evento publicado quando uma nova resposta é criada.
+ *
+ * @param resposta a resposta criada
+ */
+public record RespostaCriadaEvent(RespostaDto resposta) {}
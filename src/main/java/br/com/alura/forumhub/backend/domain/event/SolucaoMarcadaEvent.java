@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import br.com.alura.forumhub.backend.domain.dto.RespostaDto;
+
+/**
+ * Evento publicado quando uma resposta existente é marcada como solução do tópico.
+ *
+ * @param resposta a resposta marcada como solução
+ */
+public record SolucaoMarcadaEvent(RespostaDto resposta) {}
@@ -0,0 +1,22 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado quando um tópico é criado, excluído ou muda de status.
+ *
+ * @param topicoId ID do tópico
+ * @param cursoId ID do curso do tópico
+ * @param anterior status anterior, ou null se o tópico foi criado
+ * @param atual novo status, ou null se o tópico foi excluído
+ * @param dataCriacaoTopico data de criação do tópico
+ * @param dataAlteracao data da alteração
+ */
+public record StatusTopicoAlteradoEvent(
+    Integer topicoId,
+    Integer cursoId,
+    Topico.StatusTopico anterior,
+    Topico.StatusTopico atual,
+    LocalDateTime dataCriacaoTopico,
+    LocalDateTime dataAlteracao) {}
@@ -0,0 +1,48 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evento publicado quando as tags de um tópico são definidas ou alteradas.
+ *
+ * @param topicoId ID do tópico
+ * @param anteriores tags antes da alteração
+ * @param atuais tags após a alteração
+ */
+public record TagsTopicoAlteradasEvent(
+    Integer topicoId, List<String> anteriores, List<String> atuais) {
+
+  /**
+   * Constructor with defensive copying for mutable fields.
+   *
+   * @param topicoId ID do tópico
+   * @param anteriores tags antes da alteração
+   * @param atuais tags após a alteração
+   */
+  public TagsTopicoAlteradasEvent(Integer topicoId, List<String> anteriores, List<String> atuais) {
+    this.topicoId = topicoId;
+    this.anteriores = anteriores != null ? new ArrayList<>(anteriores) : new ArrayList<>();
+    this.atuais = atuais != null ? new ArrayList<>(atuais) : new ArrayList<>();
+  }
+
+  /**
+   * Returns a defensive copy of the anteriores list.
+   *
+   * @return a copy of the anteriores list
+   */
+  @Override
+  public List<String> anteriores() {
+    return new ArrayList<>(anteriores);
+  }
+
+  /**
+   * Returns a defensive copy of the atuais list.
+   *
+   * @return a copy of the atuais list
+   */
+  @Override
+  public List<String> atuais() {
+    return new ArrayList<>(atuais);
+  }
+}
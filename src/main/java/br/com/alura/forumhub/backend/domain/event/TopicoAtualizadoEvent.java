@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+
+/**
+ * Evento publicado quando o título ou a mensagem de um tópico são atualizados.
+ *
+ * @param topico o tópico atualizado
+ */
+public record TopicoAtualizadoEvent(TopicoDto topico) {}
@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.domain.event;
+
+import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+
+/**
+ * Evento publicado quando um novo tópico é criado.
+ *
+ * @param topico o tópico criado
+ */
+public record TopicoCriadoEvent(TopicoDto topico) {}
@@ -0,0 +1,57 @@
+package br.com.alura.forumhub.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa uma entrada do log de alterações. A posição é atribuída depois do commit,
+ * em ordem de confirmação, e serve de cursor para a sincronização incremental dos clientes;
+ * entradas ainda sem posição não são entregues.
+ */
+@Entity
+@Table(name = "alteracao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Alteracao {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long seq;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Entidade entidade;
+
+  @Column(name = "entidade_id", nullable = false)
+  private Integer entidadeId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Operacao operacao;
+
+  private Long posicao;
+
+  @Column(name = "data_criacao", nullable = false)
+  private LocalDateTime dataCriacao;
+
+  /** Enum que representa as entidades registradas no log. */
+  public enum Entidade {
+    TOPICO,
+    RESPOSTA,
+    CURSO
+  }
+
+  /** Enum que representa as operações registradas no log. */
+  public enum Operacao {
+    CRIACAO,
+    ATUALIZACAO,
+    EXCLUSAO
+  }
+}
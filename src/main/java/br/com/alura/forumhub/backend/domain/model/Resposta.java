@@ -1,5 +1,6 @@
 package br.com.alura.forumhub.backend.domain.model;
 
+import br.com.alura.forumhub.backend.infra.texto.MensagemConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -28,6 +29,9 @@ public class Resposta {
    * @param dataCriacao data de criação da resposta
    * @param autor autor da resposta
    * @param solucao indica se a resposta é solução
+   * @param score número de votos da resposta
+   * @param mensagemHtml mensagem renderizada em HTML
+   * @param versaoRenderizacao versão do renderizador que gerou o HTML
    */
   public Resposta(
       Integer id,
@@ -35,11 +39,17 @@ public class Resposta {
       Topico topico,
       LocalDateTime dataCriacao,
       Usuario autor,
-      Boolean solucao) {
+      Boolean solucao,
+      Integer score,
+      String mensagemHtml,
+      Integer versaoRenderizacao) {
     this.id = id;
     this.mensagem = mensagem;
     this.dataCriacao = dataCriacao;
     this.solucao = solucao;
+    this.score = score;
+    this.mensagemHtml = mensagemHtml;
+    this.versaoRenderizacao = versaoRenderizacao;
 
     // Use setter methods for defensive copying
     this.setTopico(topico);
@@ -53,7 +63,8 @@ public class Resposta {
 
   @NotBlank(message = "A mensagem é obrigatória")
   @Size(min = 5, message = "A mensagem deve ter no mínimo 5 caracteres")
-  @Column(nullable = false, columnDefinition = "TEXT")
+  @Convert(converter = MensagemConverter.class)
+  @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
   private String mensagem;
 
   @NotNull(message = "O tópico é obrigatório")
@@ -74,4 +85,14 @@ public class Resposta {
   @NotNull(message = "O campo solução é obrigatório")
   @Column(nullable = false)
   private Boolean solucao = false;
+
+  // Atualizado somente pela gravação em lote dos votos; o JPA não sobrescreve os incrementos
+  @Column(insertable = false, updatable = false)
+  private Integer score = 0;
+
+  @Column(name = "mensagem_html", columnDefinition = "MEDIUMTEXT")
+  private String mensagemHtml;
+
+  @Column(name = "versao_renderizacao")
+  private Integer versaoRenderizacao;
 }
@@ -1,5 +1,6 @@
 package br.com.alura.forumhub.backend.domain.model;
 
+import br.com.alura.forumhub.backend.infra.texto.MensagemConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -39,6 +40,9 @@ public class Topico {
    * @param autor autor do tópico
    * @param curso curso do tópico
    * @param respostas respostas do tópico
+   * @param visualizacoes número de visualizações do tópico
+   * @param mensagemHtml mensagem renderizada em HTML
+   * @param versaoRenderizacao versão do renderizador que gerou o HTML
    */
   public Topico(
       Integer id,
@@ -48,12 +52,18 @@ public class Topico {
       StatusTopico status,
       Usuario autor,
       Curso curso,
-      List<Resposta> respostas) {
+      List<Resposta> respostas,
+      Long visualizacoes,
+      String mensagemHtml,
+      Integer versaoRenderizacao) {
     this.id = id;
     this.titulo = titulo;
     this.mensagem = mensagem;
     this.dataCriacao = dataCriacao;
     this.status = status;
+    this.visualizacoes = visualizacoes;
+    this.mensagemHtml = mensagemHtml;
+    this.versaoRenderizacao = versaoRenderizacao;
 
     // Use setter methods for defensive copying
     this.setAutor(autor);
@@ -73,7 +83,8 @@ public class Topico {
 
   @NotBlank(message = "A mensagem é obrigatória")
   @Size(min = 10, message = "A mensagem deve ter no mínimo 10 caracteres")
-  @Column(nullable = false, columnDefinition = "TEXT")
+  @Convert(converter = MensagemConverter.class)
+  @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
   private String mensagem;
 
   @NotNull(message = "A data de criação é obrigatória")
@@ -96,9 +107,21 @@ public class Topico {
   @JoinColumn(name = "curso_id", nullable = false)
   private Curso curso;
 
+  // Mesma ordem do índice IDX_resposta_topico_ordem: solução primeiro, depois por votos
   @OneToMany(mappedBy = "topico")
+  @OrderBy("solucao DESC, score DESC, id ASC")
   private List<Resposta> respostas = new ArrayList<>();
 
+  // Atualizado somente pelo contador de visualizações; o JPA não sobrescreve os incrementos
+  @Column(insertable = false, updatable = false)
+  private Long visualizacoes = 0L;
+
+  @Column(name = "mensagem_html", columnDefinition = "MEDIUMTEXT")
+  private String mensagemHtml;
+
+  @Column(name = "versao_renderizacao")
+  private Integer versaoRenderizacao;
+
   /** Enum que representa os possíveis estados de um tópico. */
   public enum StatusTopico {
     NAO_RESPONDIDO,
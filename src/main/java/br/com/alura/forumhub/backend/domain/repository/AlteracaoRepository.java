@@ -0,0 +1,86 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/** Repositório para operações de banco de dados relacionadas ao log de alterações. */
+@Repository
+public interface AlteracaoRepository extends JpaRepository<Alteracao, Long> {
+
+  /**
+   * Busca as alterações publicadas após uma posição, em ordem crescente.
+   *
+   * @param posicao a posição de referência (exclusiva)
+   * @param paginacao limite de registros
+   * @return lista de alterações
+   */
+  List<Alteracao> findByPosicaoGreaterThanOrderByPosicaoAsc(Long posicao, Pageable paginacao);
+
+  /**
+   * Bloqueia a linha de controle da publicação até o fim da transação.
+   *
+   * @return a última posição atribuída
+   */
+  @Query(
+      value = "SELECT ultima_posicao FROM alteracao_publicacao WHERE id = 1 FOR UPDATE",
+      nativeQuery = true)
+  long bloquearPublicacao();
+
+  /**
+   * Busca o intervalo de sequências confirmadas e ainda não publicadas.
+   *
+   * @return a menor e a maior sequência, ou nulos se não houver pendentes
+   */
+  @Query(
+      value = "SELECT MIN(seq), MAX(seq) FROM alteracao WHERE posicao IS NULL",
+      nativeQuery = true)
+  List<Object[]> buscarPendentes();
+
+  /**
+   * Atribui posições às entradas não publicadas de um intervalo de sequências, preservando a
+   * ordem entre elas.
+   *
+   * @param base valor somado à sequência para formar a posição
+   * @param de a menor sequência publicada (inclusiva)
+   * @param ate a maior sequência publicada (inclusiva)
+   * @return o número de entradas publicadas
+   */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE alteracao SET posicao = seq + :base"
+              + " WHERE posicao IS NULL AND seq BETWEEN :de AND :ate",
+      nativeQuery = true)
+  int publicar(@Param("base") long base, @Param("de") long de, @Param("ate") long ate);
+
+  /**
+   * Registra a última posição atribuída.
+   *
+   * @param posicao a última posição
+   */
+  @Modifying
+  @Query(
+      value = "UPDATE alteracao_publicacao SET ultima_posicao = :posicao WHERE id = 1",
+      nativeQuery = true)
+  void atualizarPublicacao(@Param("posicao") long posicao);
+
+  /**
+   * Remove as entradas substituídas por uma alteração mais recente da mesma entidade.
+   *
+   * @return o número de entradas removidas
+   */
+  @Modifying
+  @Query(
+      value =
+          "DELETE a FROM alteracao a JOIN alteracao b"
+              + " ON a.entidade = b.entidade AND a.entidade_id = b.entidade_id AND a.seq < b.seq",
+      nativeQuery = true)
+  int compactar();
+}
@@ -0,0 +1,88 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC da compactação das mensagens já gravadas de tópicos e respostas. */
+@Repository
+@RequiredArgsConstructor
+public class CompactacaoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Lista um lote de mensagens gravadas como UTF-8 puro e maiores que um tamanho, em ordem
+   * crescente de ID a partir de um ID.
+   *
+   * @param tabela a tabela das mensagens
+   * @param limiteBytes o tamanho a partir do qual a mensagem é compactada
+   * @param ultimoId o último ID já processado
+   * @param limite o tamanho do lote
+   * @return as mensagens, com os bytes gravados
+   */
+  public List<MensagemGravada> listarCompactaveis(
+      Tabela tabela, int limiteBytes, int ultimoId, int limite) {
+    // Percorre a chave primária e filtra pelo tamanho, que o InnoDB guarda junto da linha; só as
+    // mensagens grandes sem o cabeçalho são transferidas
+    return jdbcTemplate.query(
+        "SELECT id, mensagem FROM " + tabela.nome + " WHERE id > :ultimo "
+            + "AND LENGTH(mensagem) > :bytes AND SUBSTRING(mensagem, 1, 1) <> X'00' "
+            + "ORDER BY id LIMIT :limite",
+        Map.of("ultimo", ultimoId, "bytes", limiteBytes, "limite", limite),
+        (rs, linha) -> new MensagemGravada(rs.getInt("id"), rs.getBytes("mensagem")));
+  }
+
+  /**
+   * Grava as mensagens compactadas em um único comando em lote. Mensagens alteradas depois da
+   * leitura, por uma edição concorrente, não são sobrescritas.
+   *
+   * @param tabela a tabela das mensagens
+   * @param mensagens as mensagens lidas
+   * @param compactadas mapa do ID para a mensagem compactada
+   */
+  public void atualizar(
+      Tabela tabela, List<MensagemGravada> mensagens, Map<Integer, byte[]> compactadas) {
+    SqlParameterSource[] parametros =
+        mensagens.stream()
+            .filter(mensagem -> compactadas.containsKey(mensagem.id()))
+            .map(
+                mensagem ->
+                    new MapSqlParameterSource("id", mensagem.id())
+                        .addValue("original", mensagem.dados())
+                        .addValue("compactada", compactadas.get(mensagem.id())))
+            .toArray(SqlParameterSource[]::new);
+    if (parametros.length == 0) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        "UPDATE " + tabela.nome + " SET mensagem = :compactada "
+            + "WHERE id = :id AND mensagem = :original",
+        parametros);
+  }
+
+  /** Tabelas com mensagens compactáveis. */
+  public enum Tabela {
+    TOPICO("topico"),
+    RESPOSTA("resposta");
+
+    private final String nome;
+
+    Tabela(String nome) {
+      this.nome = nome;
+    }
+  }
+
+  /**
+   * Mensagem como está gravada.
+   *
+   * @param id ID do tópico ou resposta
+   * @param dados os bytes gravados, no formato do {@link CompactadorMensagem}
+   */
+  public record MensagemGravada(int id, byte[] dados) {}
+}
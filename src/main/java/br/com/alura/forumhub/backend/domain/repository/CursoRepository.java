@@ -1,6 +1,9 @@
 package br.com.alura.forumhub.backend.domain.repository;
 
 import br.com.alura.forumhub.backend.domain.model.Curso;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -27,6 +30,26 @@ public interface CursoRepository extends JpaRepository<Curso, Integer> {
    */
   List<Curso> findByCategoria(String categoria);
 
+  /**
+   * Busca cursos pela categoria com paginação.
+   *
+   * @param categoria a categoria dos cursos
+   * @param paginacao informações de paginação
+   * @return página de cursos da categoria especificada
+   */
+  Page<Curso> findByCategoria(String categoria, Pageable paginacao);
+
+  /**
+   * Busca um lote de cursos da categoria a partir de um ID (paginação por keyset).
+   *
+   * @param categoria a categoria dos cursos
+   * @param id o último ID já lido (exclusivo)
+   * @param limite o número máximo de cursos
+   * @return lista de cursos em ordem crescente de ID
+   */
+  List<Curso> findByCategoriaAndIdGreaterThanOrderByIdAsc(
+      String categoria, Integer id, Limit limite);
+
   /**
    * Busca cursos pelo nome contendo o texto especificado.
    *
@@ -34,4 +57,24 @@ public interface CursoRepository extends JpaRepository<Curso, Integer> {
    * @return lista de cursos que contêm o texto no nome
    */
   List<Curso> findByNomeContaining(String nome);
+
+  /**
+   * Busca cursos pelo nome contendo o texto especificado com paginação.
+   *
+   * @param nome parte do nome do curso
+   * @param paginacao informações de paginação
+   * @return página de cursos que contêm o texto no nome
+   */
+  Page<Curso> findByNomeContaining(String nome, Pageable paginacao);
+
+  /**
+   * Busca um lote de cursos pelo nome a partir de um ID (paginação por keyset).
+   *
+   * @param nome parte do nome do curso
+   * @param id o último ID já lido (exclusivo)
+   * @param limite o número máximo de cursos
+   * @return lista de cursos em ordem crescente de ID
+   */
+  List<Curso> findByNomeContainingAndIdGreaterThanOrderByIdAsc(
+      String nome, Integer id, Limit limite);
 }
@@ -0,0 +1,79 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JDBC com as agregações usadas para reconciliar as estatísticas mantidas em memória.
+ * As consultas percorrem as tabelas inteiras e não devem ser usadas no atendimento de requisições.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EstatisticaRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Percorre o número de tópicos por curso e status.
+   *
+   * @param consumidor recebe o ID do curso, o status e a quantidade
+   */
+  public void contarTopicos(TopicosPorStatus consumidor) {
+    jdbcTemplate.query(
+        "SELECT curso_id, status, COUNT(*) AS quantidade FROM topico GROUP BY curso_id, status",
+        Map.of(),
+        (RowCallbackHandler)
+            rs ->
+                consumidor.aceitar(
+                    rs.getInt("curso_id"),
+                    Topico.StatusTopico.valueOf(rs.getString("status")),
+                    rs.getLong("quantidade")));
+  }
+
+  /**
+   * Percorre o número de respostas por curso.
+   *
+   * @param consumidor recebe o ID do curso e a quantidade
+   */
+  public void contarRespostas(BiConsumer<Integer, Long> consumidor) {
+    jdbcTemplate.query(
+        "SELECT t.curso_id, COUNT(*) AS quantidade FROM resposta r "
+            + "JOIN topico t ON t.id = r.topico_id GROUP BY t.curso_id",
+        Map.of(),
+        (RowCallbackHandler)
+            rs -> consumidor.accept(rs.getInt("curso_id"), rs.getLong("quantidade")));
+  }
+
+  /**
+   * Percorre o tempo até a primeira resposta de cada tópico respondido.
+   *
+   * @param consumidor recebe o ID do curso e o tempo em segundos
+   */
+  public void listarTemposPrimeiraResposta(BiConsumer<Integer, Long> consumidor) {
+    jdbcTemplate.query(
+        "SELECT t.curso_id, TIMESTAMPDIFF(SECOND, t.data_criacao, MIN(r.data_criacao)) AS segundos "
+            + "FROM topico t JOIN resposta r ON r.topico_id = t.id GROUP BY t.id, t.curso_id",
+        Map.of(),
+        (RowCallbackHandler)
+            rs -> consumidor.accept(rs.getInt("curso_id"), rs.getLong("segundos")));
+  }
+
+  /** Consumidor das contagens de tópicos por curso e status. */
+  @FunctionalInterface
+  public interface TopicosPorStatus {
+
+    /**
+     * Recebe uma contagem.
+     *
+     * @param cursoId ID do curso
+     * @param status status dos tópicos
+     * @param quantidade número de tópicos
+     */
+    void aceitar(int cursoId, Topico.StatusTopico status, long quantidade);
+  }
+}
@@ -0,0 +1,139 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repositório JDBC do estado de leitura dos usuários e da sequência de atividade dos tópicos.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeituraRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Busca o estado de leitura gravado de um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @return o estado, se já foi gravado
+   */
+  public Optional<EstadoGravado> buscar(Integer usuarioId) {
+    return jdbcTemplate
+        .query(
+            "SELECT sincronizado_seq, lidos FROM leitura_usuario WHERE usuario_id = :usuarioId",
+            Map.of("usuarioId", usuarioId),
+            (rs, linha) ->
+                new EstadoGravado(usuarioId, rs.getLong("sincronizado_seq"), rs.getBytes("lidos")))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Grava estados de leitura em um único comando em lote. Roda em uma transação própria, para que
+   * os estados fiquem visíveis assim que o método retorna, mesmo quando chamado dentro de outra
+   * transação.
+   *
+   * @param estados os estados a serem gravados
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void gravar(List<EstadoGravado> estados) {
+    if (estados.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        estados.stream()
+            .map(
+                estado ->
+                    new MapSqlParameterSource("usuarioId", estado.usuarioId())
+                        .addValue("sincronizadoSeq", estado.sincronizadoSeq())
+                        .addValue("lidos", estado.lidos()))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO leitura_usuario (usuario_id, sincronizado_seq, lidos) "
+            + "VALUES (:usuarioId, :sincronizadoSeq, :lidos) "
+            + "ON DUPLICATE KEY UPDATE sincronizado_seq = :sincronizadoSeq, lidos = :lidos",
+        parametros);
+  }
+
+  /**
+   * Busca a maior sequência de atividade gravada.
+   *
+   * @return a maior sequência, ou 0 se nenhum tópico teve atividade
+   */
+  public long buscarUltimaSequencia() {
+    Long sequencia =
+        jdbcTemplate.queryForObject("SELECT MAX(atividade_seq) FROM topico", Map.of(), Long.class);
+    return sequencia != null ? sequencia : 0;
+  }
+
+  /**
+   * Grava a sequência da última atividade de um tópico. Roda em uma transação própria, já que é
+   * chamado após a confirmação da transação da resposta.
+   *
+   * @param topicoId ID do tópico
+   * @param sequencia a sequência da atividade
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void atualizarSequencia(Integer topicoId, long sequencia) {
+    jdbcTemplate.update(
+        "UPDATE topico SET atividade_seq = GREATEST(atividade_seq, :sequencia) WHERE id = :id",
+        Map.of("id", topicoId, "sequencia", sequencia));
+  }
+
+  /**
+   * Busca os tópicos com atividade posterior a uma sequência.
+   *
+   * @param sequencia a sequência (exclusiva)
+   * @return os IDs dos tópicos
+   */
+  public List<Integer> buscarTopicosAlteradosApos(long sequencia) {
+    return jdbcTemplate.queryForList(
+        "SELECT id FROM topico WHERE atividade_seq > :sequencia",
+        Map.of("sequencia", sequencia),
+        Integer.class);
+  }
+
+  /**
+   * Percorre em streaming os IDs dos tópicos que já tiveram alguma resposta.
+   *
+   * @param consumidor recebe cada ID
+   */
+  public void percorrerTopicosComAtividade(IntConsumer consumidor) {
+    jdbcTemplate
+        .getJdbcTemplate()
+        .query(
+            conexao -> {
+              PreparedStatement ps =
+                  conexao.prepareStatement(
+                      "SELECT id FROM topico WHERE atividade_seq > 0",
+                      ResultSet.TYPE_FORWARD_ONLY,
+                      ResultSet.CONCUR_READ_ONLY);
+              // Faz o driver do MySQL entregar as linhas uma a uma
+              ps.setFetchSize(Integer.MIN_VALUE);
+              return ps;
+            },
+            (RowCallbackHandler) rs -> consumidor.accept(rs.getInt("id")));
+  }
+
+  /**
+   * Estado de leitura de um usuário como gravado no banco.
+   *
+   * @param usuarioId ID do usuário
+   * @param sincronizadoSeq sequência de atividade até a qual os tópicos lidos foram invalidados
+   * @param lidos bitmap serializado dos tópicos lidos
+   */
+  public record EstadoGravado(Integer usuarioId, long sincronizadoSeq, byte[] lidos) {}
+}
@@ -0,0 +1,327 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.model.Resposta;
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para listagens com conjunto parcial de campos (sparse fieldsets). Os campos
+ * solicitados são convertidos em uma projeção SQL, de modo que colunas não pedidas, como a
+ * mensagem, não são lidas nem transferidas. Sem a mensagem, o resumo vem de uma consulta
+ * separada que lê com LEFT apenas os primeiros bytes das mensagens gravadas como UTF-8 puro, o
+ * bastante para o número de caracteres pedido; só as mensagens compactadas, que começam com o
+ * cabeçalho do {@link CompactadorMensagem}, são lidas inteiras e descompactadas.
+ */
+@Repository
+public class ListagemParcialRepository {
+
+  /** Nome do campo virtual com o resumo da mensagem. */
+  public static final String CAMPO_RESUMO = "resumo";
+
+  /** Maior número de bytes de um caractere em UTF-8. */
+  private static final int BYTES_POR_CARACTERE = 4;
+
+  private static final Map<String, BiFunction<Root<?>, CriteriaBuilder, Expression<?>>>
+      CAMPOS_TOPICO = new LinkedHashMap<>();
+  private static final Map<String, BiFunction<Root<?>, CriteriaBuilder, Expression<?>>>
+      CAMPOS_RESPOSTA = new LinkedHashMap<>();
+  private static final Set<String> ORDENAVEIS_TOPICO =
+      Set.of("id", "titulo", "dataCriacao", "status", "visualizacoes");
+  private static final Set<String> ORDENAVEIS_RESPOSTA =
+      Set.of("id", "dataCriacao", "solucao", "score");
+
+  static {
+    CAMPOS_TOPICO.put("id", (root, cb) -> root.get("id"));
+    CAMPOS_TOPICO.put("titulo", (root, cb) -> root.get("titulo"));
+    CAMPOS_TOPICO.put("mensagem", (root, cb) -> root.get("mensagem"));
+    CAMPOS_TOPICO.put("dataCriacao", (root, cb) -> root.get("dataCriacao"));
+    CAMPOS_TOPICO.put("status", (root, cb) -> root.get("status"));
+    CAMPOS_TOPICO.put("autor", (root, cb) -> juncao(root, "autor").get("nome"));
+    CAMPOS_TOPICO.put("curso", (root, cb) -> juncao(root, "curso").get("nome"));
+    CAMPOS_TOPICO.put("visualizacoes", (root, cb) -> root.get("visualizacoes"));
+
+    CAMPOS_RESPOSTA.put("id", (root, cb) -> root.get("id"));
+    CAMPOS_RESPOSTA.put("mensagem", (root, cb) -> root.get("mensagem"));
+    CAMPOS_RESPOSTA.put("dataCriacao", (root, cb) -> root.get("dataCriacao"));
+    CAMPOS_RESPOSTA.put("autor", (root, cb) -> juncao(root, "autor").get("nome"));
+    CAMPOS_RESPOSTA.put("topicoId", (root, cb) -> juncao(root, "topico").get("id"));
+    CAMPOS_RESPOSTA.put("topicoTitulo", (root, cb) -> juncao(root, "topico").get("titulo"));
+    CAMPOS_RESPOSTA.put("solucao", (root, cb) -> root.get("solucao"));
+    CAMPOS_RESPOSTA.put("score", (root, cb) -> root.get("score"));
+  }
+
+  @PersistenceContext private EntityManager entityManager;
+
+  /**
+   * Lista tópicos com apenas os campos solicitados.
+   *
+   * @param campos os campos desejados
+   * @param tamanhoResumo tamanho do resumo da mensagem (opcional)
+   * @param paginacao informações de paginação
+   * @return página de tópicos, cada um representado pelos campos solicitados
+   * @throws IllegalArgumentException se algum campo não existir
+   */
+  public Page<Map<String, Object>> listarTopicos(
+      Collection<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+    return listar(
+        Topico.class, CAMPOS_TOPICO, ORDENAVEIS_TOPICO, null, campos, tamanhoResumo, paginacao);
+  }
+
+  /**
+   * Lista os tópicos de um curso com apenas os campos solicitados.
+   *
+   * @param nomeCurso o nome do curso
+   * @param campos os campos desejados
+   * @param tamanhoResumo tamanho do resumo da mensagem (opcional)
+   * @param paginacao informações de paginação
+   * @return página de tópicos do curso (vazia se o curso não existir)
+   * @throws IllegalArgumentException se algum campo não existir
+   */
+  public Page<Map<String, Object>> listarTopicosPorCurso(
+      String nomeCurso, Collection<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+    return listar(
+        Topico.class,
+        CAMPOS_TOPICO,
+        ORDENAVEIS_TOPICO,
+        (root, cb) -> cb.equal(juncao(root, "curso").get("nome"), nomeCurso),
+        campos,
+        tamanhoResumo,
+        paginacao);
+  }
+
+  /**
+   * Lista respostas com apenas os campos solicitados.
+   *
+   * @param campos os campos desejados
+   * @param tamanhoResumo tamanho do resumo da mensagem (opcional)
+   * @param paginacao informações de paginação
+   * @return página de respostas, cada uma representada pelos campos solicitados
+   * @throws IllegalArgumentException se algum campo não existir
+   */
+  public Page<Map<String, Object>> listarRespostas(
+      Collection<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+    return listar(
+        Resposta.class,
+        CAMPOS_RESPOSTA,
+        ORDENAVEIS_RESPOSTA,
+        null,
+        campos,
+        tamanhoResumo,
+        paginacao);
+  }
+
+  /**
+   * Lista as respostas de um tópico com apenas os campos solicitados.
+   *
+   * @param topicoId o ID do tópico
+   * @param campos os campos desejados
+   * @param tamanhoResumo tamanho do resumo da mensagem (opcional)
+   * @param paginacao informações de paginação
+   * @return página de respostas do tópico
+   * @throws IllegalArgumentException se algum campo não existir
+   */
+  public Page<Map<String, Object>> listarRespostasPorTopico(
+      Integer topicoId, Collection<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+    return listar(
+        Resposta.class,
+        CAMPOS_RESPOSTA,
+        ORDENAVEIS_RESPOSTA,
+        (root, cb) -> cb.equal(root.get("topico").get("id"), topicoId),
+        campos,
+        tamanhoResumo,
+        paginacao);
+  }
+
+  private Page<Map<String, Object>> listar(
+      Class<?> entidade,
+      Map<String, BiFunction<Root<?>, CriteriaBuilder, Expression<?>>> disponiveis,
+      Set<String> ordenaveis,
+      BiFunction<Root<?>, CriteriaBuilder, Predicate> filtro,
+      Collection<String> campos,
+      Integer tamanhoResumo,
+      Pageable paginacao) {
+    List<String> selecionados = selecionarCampos(disponiveis, campos, tamanhoResumo);
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+    Root<?> root = consulta.from(entidade);
+
+    List<String> consultados = new ArrayList<>(selecionados);
+    boolean resumoSeparado = consultados.remove(CAMPO_RESUMO) && !consultados.contains("mensagem");
+    if (resumoSeparado && !consultados.contains("id")) {
+      consultados.add("id");
+    }
+    List<Selection<?>> selecoes = new ArrayList<>(consultados.size());
+    for (String campo : consultados) {
+      selecoes.add(disponiveis.get(campo).apply(root, cb).alias(campo));
+    }
+    consulta.multiselect(selecoes);
+    if (filtro != null) {
+      consulta.where(filtro.apply(root, cb));
+    }
+    consulta.orderBy(ordenacao(paginacao.getSort(), ordenaveis, root, cb));
+
+    List<Tuple> linhas =
+        entityManager
+            .createQuery(consulta)
+            .setFirstResult((int) paginacao.getOffset())
+            .setMaxResults(paginacao.getPageSize())
+            .getResultList();
+
+    Map<Integer, String> resumos =
+        resumoSeparado
+            ? resumos(
+                entidade,
+                linhas.stream().map(linha -> linha.get("id", Integer.class)).toList(),
+                tamanhoResumo)
+            : Map.of();
+
+    List<Map<String, Object>> itens = new ArrayList<>(linhas.size());
+    for (Tuple linha : linhas) {
+      Map<String, Object> item = new LinkedHashMap<>();
+      for (String campo : selecionados) {
+        Object valor;
+        if (!CAMPO_RESUMO.equals(campo)) {
+          valor = linha.get(campo);
+        } else if (resumoSeparado) {
+          valor = resumos.get(linha.get("id", Integer.class));
+        } else {
+          valor = resumir(linha.get("mensagem", String.class), tamanhoResumo);
+        }
+        item.put(campo, valor instanceof Enum<?> e ? e.name() : valor);
+      }
+      itens.add(item);
+    }
+
+    CriteriaQuery<Long> contagem = cb.createQuery(Long.class);
+    Root<?> raizContagem = contagem.from(entidade);
+    contagem.select(cb.count(raizContagem));
+    if (filtro != null) {
+      contagem.where(filtro.apply(raizContagem, cb));
+    }
+    long total = entityManager.createQuery(contagem).getSingleResult();
+
+    return new PageImpl<>(itens, paginacao, total);
+  }
+
+  private static List<String> selecionarCampos(
+      Map<String, BiFunction<Root<?>, CriteriaBuilder, Expression<?>>> disponiveis,
+      Collection<String> campos,
+      Integer tamanhoResumo) {
+    List<String> selecionados = new ArrayList<>();
+    if (campos == null || campos.isEmpty()) {
+      // Sem campos explícitos, o resumo substitui a mensagem completa
+      disponiveis.keySet().stream()
+          .filter(campo -> tamanhoResumo == null || !"mensagem".equals(campo))
+          .forEach(selecionados::add);
+    } else {
+      for (String campo : campos) {
+        String nome = campo.trim();
+        if (!disponiveis.containsKey(nome)) {
+          throw new IllegalArgumentException("Campo inválido: " + nome);
+        }
+        if (!selecionados.contains(nome)) {
+          selecionados.add(nome);
+        }
+      }
+    }
+
+    if (tamanhoResumo != null) {
+      if (tamanhoResumo <= 0) {
+        throw new IllegalArgumentException("O tamanho do resumo deve ser positivo");
+      }
+      selecionados.add(CAMPO_RESUMO);
+    }
+    return selecionados;
+  }
+
+  /**
+   * Busca os resumos das mensagens das linhas da página. Mensagens em UTF-8 puro são lidas só até
+   * o número máximo de bytes do resumo; um caractere partido no fim do prefixo fica além do
+   * tamanho do resumo, já que os bytes anteriores a ele contêm pelo menos esse número de
+   * caracteres.
+   */
+  private Map<Integer, String> resumos(Class<?> entidade, List<Integer> ids, int tamanho) {
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+    long bytes = Math.min((long) tamanho * BYTES_POR_CARACTERE, CompactadorMensagem.TAMANHO_MAXIMO);
+    String tabela = entidade.getAnnotation(Table.class).name();
+    @SuppressWarnings("unchecked")
+    List<Object[]> linhas =
+        entityManager
+            .createNativeQuery(
+                "SELECT id, CASE WHEN LEFT(mensagem, 1) = X'00' THEN mensagem "
+                    + "ELSE LEFT(mensagem, :bytes) END FROM " + tabela + " WHERE id IN (:ids)")
+            .setParameter("bytes", bytes)
+            .setParameter("ids", ids)
+            .getResultList();
+
+    Map<Integer, String> resumos = new HashMap<>();
+    for (Object[] linha : linhas) {
+      // O prefixo sem cabeçalho é decodificado como UTF-8 puro
+      String mensagem = CompactadorMensagem.decodificar((byte[]) linha[1]);
+      resumos.put(((Number) linha[0]).intValue(), resumir(mensagem, tamanho));
+    }
+    return resumos;
+  }
+
+  private static String resumir(String mensagem, int tamanho) {
+    // Conta caracteres como o SUBSTRING do MySQL, sem partir pares substitutos
+    if (mensagem == null || mensagem.codePointCount(0, mensagem.length()) <= tamanho) {
+      return mensagem;
+    }
+    return mensagem.substring(0, mensagem.offsetByCodePoints(0, tamanho));
+  }
+
+  private static List<Order> ordenacao(
+      Sort sort, Set<String> ordenaveis, Root<?> root, CriteriaBuilder cb) {
+    List<Order> ordens = new ArrayList<>();
+    for (Sort.Order ordem : sort) {
+      // Propriedades desconhecidas são ignoradas, como nas demais listagens
+      if (ordenaveis.contains(ordem.getProperty())) {
+        Expression<?> propriedade = root.get(ordem.getProperty());
+        ordens.add(ordem.isAscending() ? cb.asc(propriedade) : cb.desc(propriedade));
+      }
+    }
+    if (ordens.isEmpty()) {
+      ordens.add(cb.asc(root.get("id")));
+    }
+    return ordens;
+  }
+
+  private static From<?, ?> juncao(Root<?> root, String atributo) {
+    for (Join<?, ?> join : root.getJoins()) {
+      if (join.getAttribute().getName().equals(atributo)) {
+        return join;
+      }
+    }
+    return root.join(atributo);
+  }
+}
@@ -0,0 +1,187 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.dto.NotificacaoDto;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC das assinaturas e da caixa de notificações dos usuários. */
+@Repository
+@RequiredArgsConstructor
+public class NotificacaoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Registra a assinatura de um usuário. Assinar de novo não tem efeito.
+   *
+   * @param alvo o tipo do alvo assinado
+   * @param alvoId ID do tópico ou curso
+   * @param usuarioId ID do usuário
+   * @param dataCriacao data da assinatura
+   */
+  public void assinar(Alvo alvo, Integer alvoId, Integer usuarioId, LocalDateTime dataCriacao) {
+    jdbcTemplate.update(
+        "INSERT IGNORE INTO "
+            + alvo.tabela
+            + " ("
+            + alvo.coluna
+            + ", usuario_id, data_criacao) VALUES (:alvoId, :usuarioId, :dataCriacao)",
+        Map.of(
+            "alvoId", alvoId,
+            "usuarioId", usuarioId,
+            "dataCriacao", Timestamp.valueOf(dataCriacao)));
+  }
+
+  /**
+   * Remove a assinatura de um usuário, se existir.
+   *
+   * @param alvo o tipo do alvo assinado
+   * @param alvoId ID do tópico ou curso
+   * @param usuarioId ID do usuário
+   */
+  public void cancelarAssinatura(Alvo alvo, Integer alvoId, Integer usuarioId) {
+    jdbcTemplate.update(
+        "DELETE FROM " + alvo.tabela + " WHERE " + alvo.coluna + " = :alvoId "
+            + "AND usuario_id = :usuarioId",
+        Map.of("alvoId", alvoId, "usuarioId", usuarioId));
+  }
+
+  /**
+   * Lista um lote de assinantes de um alvo, em ordem crescente de ID, a partir de um usuário.
+   *
+   * @param alvo o tipo do alvo assinado
+   * @param alvoId ID do tópico ou curso
+   * @param ultimoUsuarioId o último ID de usuário já processado
+   * @param limite o tamanho do lote
+   * @return os IDs dos assinantes
+   */
+  public List<Integer> listarAssinantes(
+      Alvo alvo, Integer alvoId, int ultimoUsuarioId, int limite) {
+    return jdbcTemplate.queryForList(
+        "SELECT usuario_id FROM " + alvo.tabela + " WHERE " + alvo.coluna + " = :alvoId "
+            + "AND usuario_id > :ultimo ORDER BY usuario_id LIMIT :limite",
+        Map.of("alvoId", alvoId, "ultimo", ultimoUsuarioId, "limite", limite),
+        Integer.class);
+  }
+
+  /**
+   * Busca o tópico, o curso e os autores envolvidos em uma resposta.
+   *
+   * @param respostaId ID da resposta
+   * @return os dados da resposta, se ela ainda existir
+   */
+  public Optional<Origem> buscarOrigem(Integer respostaId) {
+    return jdbcTemplate
+        .query(
+            "SELECT r.topico_id, t.curso_id, t.autor_id AS topico_autor_id, r.autor_id "
+                + "FROM resposta r JOIN topico t ON t.id = r.topico_id WHERE r.id = :respostaId",
+            Map.of("respostaId", respostaId),
+            (rs, linha) ->
+                new Origem(
+                    rs.getInt("topico_id"),
+                    rs.getInt("curso_id"),
+                    rs.getInt("topico_autor_id"),
+                    rs.getInt("autor_id")))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Insere a mesma notificação para vários usuários em um único comando em lote. Notificações já
+   * entregues ao usuário são ignoradas pela chave única.
+   *
+   * @param usuarioIds os IDs dos destinatários
+   * @param tipo o tipo da notificação
+   * @param topicoId ID do tópico
+   * @param respostaId ID da resposta
+   * @param dataCriacao data da notificação
+   */
+  public void inserir(
+      List<Integer> usuarioIds,
+      String tipo,
+      Integer topicoId,
+      Integer respostaId,
+      LocalDateTime dataCriacao) {
+    if (usuarioIds.isEmpty()) {
+      return;
+    }
+    Timestamp data = Timestamp.valueOf(dataCriacao);
+    SqlParameterSource[] parametros =
+        usuarioIds.stream()
+            .map(
+                usuarioId ->
+                    new MapSqlParameterSource("usuarioId", usuarioId)
+                        .addValue("tipo", tipo)
+                        .addValue("topicoId", topicoId)
+                        .addValue("respostaId", respostaId)
+                        .addValue("dataCriacao", data))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "INSERT IGNORE INTO notificacao "
+            + "(usuario_id, tipo, topico_id, resposta_id, data_criacao) "
+            + "VALUES (:usuarioId, :tipo, :topicoId, :respostaId, :dataCriacao)",
+        parametros);
+  }
+
+  /**
+   * Lista as notificações de um usuário anteriores a um cursor, da mais recente para a mais
+   * antiga.
+   *
+   * @param usuarioId ID do usuário
+   * @param antesDe ID da notificação (exclusivo)
+   * @param limite o número máximo de notificações
+   * @return as notificações
+   */
+  public List<NotificacaoDto> listar(Integer usuarioId, long antesDe, int limite) {
+    return jdbcTemplate.query(
+        "SELECT n.id, n.tipo, n.topico_id, t.titulo, n.resposta_id, u.nome, n.data_criacao "
+            + "FROM notificacao n "
+            + "JOIN topico t ON t.id = n.topico_id "
+            + "JOIN resposta r ON r.id = n.resposta_id "
+            + "JOIN usuario u ON u.id = r.autor_id "
+            + "WHERE n.usuario_id = :usuarioId AND n.id < :antesDe "
+            + "ORDER BY n.id DESC LIMIT :limite",
+        Map.of("usuarioId", usuarioId, "antesDe", antesDe, "limite", limite),
+        (rs, linha) ->
+            new NotificacaoDto(
+                rs.getLong("id"),
+                rs.getString("tipo"),
+                rs.getInt("topico_id"),
+                rs.getString("titulo"),
+                rs.getInt("resposta_id"),
+                rs.getString("nome"),
+                rs.getTimestamp("data_criacao").toLocalDateTime()));
+  }
+
+  /** Tipos de alvo de uma assinatura, com a tabela correspondente. */
+  public enum Alvo {
+    TOPICO("assinatura_topico", "topico_id"),
+    CURSO("assinatura_curso", "curso_id");
+
+    private final String tabela;
+    private final String coluna;
+
+    Alvo(String tabela, String coluna) {
+      this.tabela = tabela;
+      this.coluna = coluna;
+    }
+  }
+
+  /**
+   * Dados de uma resposta usados na distribuição das notificações.
+   *
+   * @param topicoId ID do tópico
+   * @param cursoId ID do curso do tópico
+   * @param topicoAutorId ID do autor do tópico
+   * @param respostaAutorId ID do autor da resposta
+   */
+  public record Origem(int topicoId, int cursoId, int topicoAutorId, int respostaAutorId) {}
+}
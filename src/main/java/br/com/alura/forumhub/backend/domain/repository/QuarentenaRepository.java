@@ -0,0 +1,57 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Repositório JDBC dos conteúdos retidos pelo filtro de termos bloqueados. */
+@Repository
+@RequiredArgsConstructor
+public class QuarentenaRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Registra um conteúdo em quarentena. Roda em uma transação própria, para que a quarentena seja
+   * gravada mesmo quando a operação que a causou é desfeita.
+   *
+   * @param entidade a entidade do conteúdo
+   * @param operacao a operação solicitada
+   * @param entidadeId ID da entidade (null em criações)
+   * @param conteudo o conteúdo enviado, em JSON
+   * @param termo o termo encontrado
+   * @param dataCriacao data da quarentena
+   * @return o ID da quarentena
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public long inserir(
+      Alteracao.Entidade entidade,
+      Alteracao.Operacao operacao,
+      Integer entidadeId,
+      String conteudo,
+      String termo,
+      LocalDateTime dataCriacao) {
+    KeyHolder chave = new GeneratedKeyHolder();
+    jdbcTemplate.update(
+        "INSERT INTO conteudo_quarentena "
+            + "(entidade, operacao, entidade_id, conteudo, termo, data_criacao) "
+            + "VALUES (:entidade, :operacao, :entidadeId, :conteudo, :termo, :dataCriacao)",
+        new MapSqlParameterSource("entidade", entidade.name())
+            .addValue("operacao", operacao.name())
+            .addValue("entidadeId", entidadeId)
+            .addValue("conteudo", conteudo)
+            .addValue("termo", termo)
+            .addValue("dataCriacao", Timestamp.valueOf(dataCriacao)),
+        chave,
+        new String[] {"id"});
+    return chave.getKey().longValue();
+  }
+}
@@ -0,0 +1,109 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto;
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto.TipoRascunho;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC dos rascunhos dos usuários. */
+@Repository
+@RequiredArgsConstructor
+public class RascunhoRepository {
+
+  private static final String UPSERT_RASCUNHO =
+      "INSERT INTO rascunho (usuario_id, tipo, alvo_id, titulo, mensagem, data_atualizacao) "
+          + "VALUES (:usuarioId, :tipo, :alvoId, :titulo, :mensagem, :dataAtualizacao) "
+          + "ON DUPLICATE KEY UPDATE titulo = :titulo, mensagem = :mensagem, "
+          + "data_atualizacao = :dataAtualizacao";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final CompactadorMensagem compactador;
+
+  /**
+   * Busca o rascunho de um usuário para um alvo.
+   *
+   * @param usuarioId ID do usuário
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do alvo
+   * @return o rascunho, se existir
+   */
+  public Optional<RascunhoDto> buscar(int usuarioId, TipoRascunho tipo, int alvoId) {
+    return jdbcTemplate
+        .query(
+            "SELECT titulo, mensagem, data_atualizacao FROM rascunho "
+                + "WHERE usuario_id = :usuarioId AND tipo = :tipo AND alvo_id = :alvoId",
+            Map.of("usuarioId", usuarioId, "tipo", tipo.name(), "alvoId", alvoId),
+            (rs, linha) ->
+                new RascunhoDto(
+                    tipo,
+                    alvoId,
+                    rs.getString("titulo"),
+                    CompactadorMensagem.decodificar(rs.getBytes("mensagem")),
+                    rs.getTimestamp("data_atualizacao").toLocalDateTime()))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Grava vários rascunhos em um único comando em lote, substituindo os anteriores. Se o lote
+   * falhar, as linhas anteriores à falha podem já ter sido gravadas.
+   *
+   * @param rascunhos os rascunhos
+   */
+  public void gravar(Collection<RascunhoUsuario> rascunhos) {
+    if (rascunhos.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        rascunhos.stream().map(this::parametros).toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(UPSERT_RASCUNHO, parametros);
+  }
+
+  /**
+   * Grava um rascunho, substituindo o anterior.
+   *
+   * @param rascunho o rascunho
+   * @throws org.springframework.dao.DataIntegrityViolationException se o usuário não existir
+   */
+  public void gravar(RascunhoUsuario rascunho) {
+    jdbcTemplate.update(UPSERT_RASCUNHO, parametros(rascunho));
+  }
+
+  /**
+   * Remove o rascunho de um usuário para um alvo, se existir.
+   *
+   * @param usuarioId ID do usuário
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do alvo
+   */
+  public void excluir(int usuarioId, TipoRascunho tipo, int alvoId) {
+    jdbcTemplate.update(
+        "DELETE FROM rascunho WHERE usuario_id = :usuarioId AND tipo = :tipo AND alvo_id = :alvoId",
+        Map.of("usuarioId", usuarioId, "tipo", tipo.name(), "alvoId", alvoId));
+  }
+
+  private SqlParameterSource parametros(RascunhoUsuario item) {
+    return new MapSqlParameterSource("usuarioId", item.usuarioId())
+        .addValue("tipo", item.rascunho().tipo().name())
+        .addValue("alvoId", item.rascunho().alvoId())
+        .addValue("titulo", item.rascunho().titulo())
+        .addValue("mensagem", compactador.codificar(item.rascunho().mensagem()))
+        .addValue("dataAtualizacao", Timestamp.valueOf(item.rascunho().dataAtualizacao()));
+  }
+
+  /**
+   * Rascunho de um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @param rascunho o rascunho
+   */
+  public record RascunhoUsuario(int usuarioId, RascunhoDto rascunho) {}
+}
@@ -0,0 +1,86 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC do HTML renderizado das mensagens de tópicos e respostas. */
+@Repository
+@RequiredArgsConstructor
+public class RenderizacaoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Lista um lote de mensagens sem HTML ou com HTML de outra versão do renderizador, em ordem
+   * crescente de ID a partir de um ID.
+   *
+   * @param tabela a tabela das mensagens
+   * @param versao a versão atual do renderizador
+   * @param ultimoId o último ID já processado
+   * @param limite o tamanho do lote
+   * @return as mensagens
+   */
+  public List<Mensagem> listarDesatualizadas(Tabela tabela, int versao, int ultimoId, int limite) {
+    // Percorre a chave primária e filtra, para que cada lote não reordene todas as pendentes
+    return jdbcTemplate.query(
+        "SELECT id, mensagem FROM " + tabela.nome + " WHERE id > :ultimo "
+            + "AND (versao_renderizacao IS NULL OR versao_renderizacao <> :versao) "
+            + "ORDER BY id LIMIT :limite",
+        Map.of("ultimo", ultimoId, "versao", versao, "limite", limite),
+        (rs, linha) ->
+            new Mensagem(
+                rs.getInt("id"), CompactadorMensagem.decodificar(rs.getBytes("mensagem"))));
+  }
+
+  /**
+   * Grava o HTML de várias mensagens em um único comando em lote. Mensagens que já foram
+   * regravadas com a versão atual, por uma edição concorrente, não são sobrescritas.
+   *
+   * @param tabela a tabela das mensagens
+   * @param versao a versão do renderizador que gerou o HTML
+   * @param htmls mapa do ID para o HTML
+   */
+  public void atualizar(Tabela tabela, int versao, Map<Integer, String> htmls) {
+    if (htmls.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        htmls.entrySet().stream()
+            .map(
+                entrada ->
+                    new MapSqlParameterSource("id", entrada.getKey())
+                        .addValue("html", entrada.getValue())
+                        .addValue("versao", versao))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "UPDATE " + tabela.nome + " SET mensagem_html = :html, versao_renderizacao = :versao "
+            + "WHERE id = :id AND (versao_renderizacao IS NULL OR versao_renderizacao <> :versao)",
+        parametros);
+  }
+
+  /** Tabelas com mensagens renderizadas. */
+  public enum Tabela {
+    TOPICO("topico"),
+    RESPOSTA("resposta");
+
+    private final String nome;
+
+    Tabela(String nome) {
+      this.nome = nome;
+    }
+  }
+
+  /**
+   * Mensagem a ser renderizada.
+   *
+   * @param id ID do tópico ou resposta
+   * @param mensagem a mensagem em Markdown
+   */
+  public record Mensagem(int id, String mensagem) {}
+}
@@ -0,0 +1,102 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.dto.VariacaoReputacaoDto;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC dos contadores de reputação por usuário e curso. */
+@Repository
+@RequiredArgsConstructor
+public class ReputacaoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Soma variações aos contadores em um único comando em lote, criando os que não existem.
+   *
+   * @param variacoes as variações a serem aplicadas
+   */
+  public void incrementar(Collection<VariacaoReputacaoDto> variacoes) {
+    if (variacoes.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        variacoes.stream()
+            .map(
+                variacao ->
+                    new MapSqlParameterSource("usuarioId", variacao.usuarioId())
+                        .addValue("cursoId", variacao.cursoId())
+                        .addValue("respostas", variacao.respostas())
+                        .addValue("solucoes", variacao.solucoes()))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO reputacao (usuario_id, curso_id, respostas, solucoes) "
+            + "VALUES (:usuarioId, :cursoId, :respostas, :solucoes) "
+            + "ON DUPLICATE KEY UPDATE respostas = respostas + :respostas, "
+            + "solucoes = solucoes + :solucoes",
+        parametros);
+  }
+
+  /**
+   * Calcula as variações causadas pela exclusão das respostas de um tópico.
+   *
+   * @param topicoId ID do tópico
+   * @return uma variação negativa por autor de resposta do tópico
+   */
+  public List<VariacaoReputacaoDto> buscarVariacoesExclusaoTopico(Integer topicoId) {
+    return jdbcTemplate.query(
+        "SELECT r.autor_id, u.nome, t.curso_id, COUNT(*) AS respostas, "
+            + "SUM(r.solucao) AS solucoes FROM resposta r "
+            + "JOIN topico t ON t.id = r.topico_id JOIN usuario u ON u.id = r.autor_id "
+            + "WHERE r.topico_id = :topicoId GROUP BY r.autor_id, u.nome, t.curso_id",
+        Map.of("topicoId", topicoId),
+        (rs, linha) ->
+            new VariacaoReputacaoDto(
+                rs.getInt("autor_id"),
+                rs.getString("nome"),
+                rs.getInt("curso_id"),
+                -rs.getLong("respostas"),
+                -rs.getLong("solucoes")));
+  }
+
+  /**
+   * Percorre todos os contadores em streaming, sem carregar o resultado inteiro em memória.
+   *
+   * @param consumidor recebe cada contador como uma variação a partir de zero
+   */
+  public void percorrer(Consumer<VariacaoReputacaoDto> consumidor) {
+    jdbcTemplate
+        .getJdbcTemplate()
+        .query(
+            conexao -> {
+              PreparedStatement ps =
+                  conexao.prepareStatement(
+                      "SELECT rep.usuario_id, u.nome, rep.curso_id, rep.respostas, rep.solucoes "
+                          + "FROM reputacao rep JOIN usuario u ON u.id = rep.usuario_id",
+                      ResultSet.TYPE_FORWARD_ONLY,
+                      ResultSet.CONCUR_READ_ONLY);
+              // Faz o driver do MySQL entregar as linhas uma a uma
+              ps.setFetchSize(Integer.MIN_VALUE);
+              return ps;
+            },
+            (RowCallbackHandler)
+                rs ->
+                    consumidor.accept(
+                        new VariacaoReputacaoDto(
+                            rs.getInt("usuario_id"),
+                            rs.getString("nome"),
+                            rs.getInt("curso_id"),
+                            rs.getLong("respostas"),
+                            rs.getLong("solucoes"))));
+  }
+}
@@ -0,0 +1,169 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.dto.RespostaPendenteDto;
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import br.com.alura.forumhub.backend.infra.texto.RenderizadorMarkdown;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JDBC para a gravação de respostas em lote. Cada operação é um único comando em lote
+ * (ou uma única consulta com IN), para que um lote inteiro seja gravado com poucas idas ao banco.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RespostaLoteRepository {
+
+  private static final String INSERT_RESPOSTA =
+      "INSERT INTO resposta (mensagem, topico_id, data_criacao, autor_id, solucao, protocolo, "
+          + "mensagem_html, versao_renderizacao) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final CompactadorMensagem compactador;
+
+  /**
+   * Busca a situação atual de tópicos, bloqueando as linhas até o fim da transação.
+   *
+   * @param ids os IDs dos tópicos
+   * @return mapa do ID para a situação; tópicos inexistentes não aparecem
+   */
+  public Map<Integer, SituacaoTopico> buscarSituacaoTopicos(Collection<Integer> ids) {
+    Map<Integer, SituacaoTopico> situacoes = new HashMap<>();
+    jdbcTemplate.query(
+        "SELECT id, status, curso_id, data_criacao FROM topico WHERE id IN (:ids) FOR UPDATE",
+        Map.of("ids", ids),
+        (RowCallbackHandler)
+            rs ->
+                situacoes.put(
+                    rs.getInt("id"),
+                    new SituacaoTopico(
+                        Topico.StatusTopico.valueOf(rs.getString("status")),
+                        rs.getInt("curso_id"),
+                        rs.getTimestamp("data_criacao").toLocalDateTime())));
+    return situacoes;
+  }
+
+  /**
+   * Insere respostas em um único comando em lote.
+   *
+   * @param respostas as respostas a serem inseridas
+   * @return os IDs gerados, na mesma ordem das respostas
+   */
+  public List<Integer> inserir(List<RespostaPendenteDto> respostas) {
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate
+        .getJdbcTemplate()
+        .batchUpdate(
+            conexao -> conexao.prepareStatement(INSERT_RESPOSTA, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+              @Override
+              public void setValues(PreparedStatement ps, int i) throws SQLException {
+                RespostaPendenteDto resposta = respostas.get(i);
+                ps.setBytes(1, compactador.codificar(resposta.mensagem()));
+                ps.setInt(2, resposta.topicoId());
+                ps.setTimestamp(3, Timestamp.valueOf(resposta.dataCriacao()));
+                ps.setInt(4, resposta.autorId());
+                ps.setBoolean(5, resposta.solucao());
+                ps.setString(6, resposta.protocolo());
+                // Renderizada aqui, na thread de gravação, fora da requisição
+                ps.setString(7, RenderizadorMarkdown.renderizar(resposta.mensagem()));
+                ps.setInt(8, RenderizadorMarkdown.VERSAO);
+              }
+
+              @Override
+              public int getBatchSize() {
+                return respostas.size();
+              }
+            },
+            keyHolder);
+
+    List<Integer> ids = new ArrayList<>(respostas.size());
+    for (Map<String, Object> chaves : keyHolder.getKeyList()) {
+      ids.add(((Number) chaves.values().iterator().next()).intValue());
+    }
+    return ids;
+  }
+
+  /**
+   * Atualiza o status de vários tópicos em um único comando em lote.
+   *
+   * @param status mapa do ID do tópico para o novo status
+   */
+  public void atualizarStatusTopicos(Map<Integer, Topico.StatusTopico> status) {
+    if (status.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        status.entrySet().stream()
+            .map(
+                entrada ->
+                    new MapSqlParameterSource("id", entrada.getKey())
+                        .addValue("status", entrada.getValue().toString()))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate("UPDATE topico SET status = :status WHERE id = :id", parametros);
+  }
+
+  /**
+   * Retorna, entre os protocolos informados, os que já foram gravados.
+   *
+   * @param protocolos os protocolos a verificar
+   * @return os protocolos já gravados
+   */
+  public Set<String> buscarProtocolosGravados(Collection<String> protocolos) {
+    if (protocolos.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            "SELECT protocolo FROM resposta WHERE protocolo IN (:protocolos)",
+            Map.of("protocolos", protocolos),
+            String.class));
+  }
+
+  /**
+   * Busca o ID da resposta gravada com um protocolo.
+   *
+   * @param protocolo o protocolo da resposta
+   * @return o ID da resposta, se já foi gravada
+   */
+  public Optional<Integer> buscarIdPorProtocolo(String protocolo) {
+    return jdbcTemplate
+        .queryForList(
+            "SELECT id FROM resposta WHERE protocolo = :protocolo",
+            Map.of("protocolo", protocolo),
+            Integer.class)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Situação de um tópico no momento da gravação de um lote.
+   *
+   * @param status status do tópico
+   * @param cursoId ID do curso do tópico
+   * @param dataCriacao data de criação do tópico
+   */
+  public record SituacaoTopico(
+      Topico.StatusTopico status, Integer cursoId, LocalDateTime dataCriacao) {}
+}
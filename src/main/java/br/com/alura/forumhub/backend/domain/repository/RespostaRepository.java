@@ -3,9 +3,12 @@ package br.com.alura.forumhub.backend.domain.repository;
 import br.com.alura.forumhub.backend.domain.model.Resposta;
 import br.com.alura.forumhub.backend.domain.model.Topico;
 import br.com.alura.forumhub.backend.domain.model.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -31,6 +34,17 @@ public interface RespostaRepository extends JpaRepository<Resposta, Integer> {
    */
   Page<Resposta> findByTopico(Topico topico, Pageable paginacao);
 
+  /**
+   * Busca um lote de respostas de um tópico a partir de um ID (paginação por keyset).
+   *
+   * @param topicoId o ID do tópico
+   * @param id o último ID já lido (exclusivo)
+   * @param limite o número máximo de respostas
+   * @return lista de respostas em ordem crescente de ID
+   */
+  List<Resposta> findByTopicoIdAndIdGreaterThanOrderByIdAsc(
+      Integer topicoId, Integer id, Limit limite);
+
   /**
    * Busca respostas pelo autor.
    *
@@ -40,11 +54,13 @@ public interface RespostaRepository extends JpaRepository<Resposta, Integer> {
   List<Resposta> findByAutor(Usuario autor);
 
   /**
-   * Busca respostas que são soluções.
+   * Busca os IDs das respostas de um tópico.
    *
-   * @return lista de respostas marcadas como solução
+   * @param topico o tópico
+   * @return lista de IDs das respostas
    */
-  List<Resposta> findBySolucaoTrue();
+  @Query("SELECT r.id FROM Resposta r WHERE r.topico = :topico")
+  List<Integer> findIdsByTopico(@Param("topico") Topico topico);
 
   /**
    * Conta o número de respostas para um tópico.
@@ -0,0 +1,198 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC do histórico de revisões das mensagens de tópicos e respostas. */
+@Repository
+@RequiredArgsConstructor
+public class RevisaoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Busca a mensagem atual de um tópico ou resposta, bloqueando a linha até o fim da transação.
+   * A leitura com bloqueio vê a última versão confirmada, de modo que edições concorrentes da
+   * mesma mensagem gravam suas revisões uma depois da outra.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @return a mensagem atual, se a entidade existir
+   */
+  public Optional<MensagemAtual> bloquearMensagem(Alteracao.Entidade entidade, int entidadeId) {
+    return jdbcTemplate
+        .query(
+            "SELECT mensagem, autor_id, data_criacao FROM " + tabela(entidade)
+                + " WHERE id = :id FOR UPDATE",
+            Map.of("id", entidadeId),
+            (rs, linha) ->
+                new MensagemAtual(
+                    CompactadorMensagem.decodificar(rs.getBytes("mensagem")),
+                    rs.getObject("autor_id", Integer.class),
+                    rs.getTimestamp("data_criacao").toLocalDateTime()))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Verifica se um tópico ou resposta existe.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @return true se existir
+   */
+  public boolean existe(Alteracao.Entidade entidade, int entidadeId) {
+    return !jdbcTemplate
+        .queryForList(
+            "SELECT 1 FROM " + tabela(entidade) + " WHERE id = :id",
+            Map.of("id", entidadeId),
+            Integer.class)
+        .isEmpty();
+  }
+
+  /**
+   * Retorna o número da última revisão de um tópico ou resposta.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @return o número da última revisão, ou 0 se não houver revisões
+   */
+  public int ultimoNumero(Alteracao.Entidade entidade, int entidadeId) {
+    Integer numero =
+        jdbcTemplate.queryForObject(
+            "SELECT MAX(numero) FROM revisao WHERE entidade = :entidade AND entidade_id = :id",
+            Map.of("entidade", entidade.name(), "id", entidadeId),
+            Integer.class);
+    return numero != null ? numero : 0;
+  }
+
+  /**
+   * Grava uma revisão.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @param numero número da revisão
+   * @param completa se o conteúdo é a mensagem completa ou um delta
+   * @param conteudo a mensagem completa, no formato do {@link CompactadorMensagem}, ou o delta
+   * @param tamanho tamanho da mensagem da revisão, em caracteres
+   * @param autorId ID do autor da revisão (opcional)
+   * @param dataCriacao data da revisão
+   */
+  public void inserir(
+      Alteracao.Entidade entidade,
+      int entidadeId,
+      int numero,
+      boolean completa,
+      byte[] conteudo,
+      int tamanho,
+      Integer autorId,
+      LocalDateTime dataCriacao) {
+    jdbcTemplate.update(
+        "INSERT INTO revisao (entidade, entidade_id, numero, completa, conteudo, tamanho, "
+            + "autor_id, data_criacao) VALUES (:entidade, :entidadeId, :numero, :completa, "
+            + ":conteudo, :tamanho, :autorId, :dataCriacao)",
+        new MapSqlParameterSource("entidade", entidade.name())
+            .addValue("entidadeId", entidadeId)
+            .addValue("numero", numero)
+            .addValue("completa", completa)
+            .addValue("conteudo", conteudo)
+            .addValue("tamanho", tamanho)
+            .addValue("autorId", autorId)
+            .addValue("dataCriacao", Timestamp.valueOf(dataCriacao)));
+  }
+
+  /**
+   * Lista as revisões de um tópico ou resposta, sem o conteúdo.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @return as revisões, da mais antiga para a mais recente
+   */
+  public List<RevisaoDto> listar(Alteracao.Entidade entidade, int entidadeId) {
+    return jdbcTemplate.query(
+        "SELECT r.numero, r.tamanho, r.autor_id, u.nome, r.data_criacao FROM revisao r "
+            + "LEFT JOIN usuario u ON u.id = r.autor_id "
+            + "WHERE r.entidade = :entidade AND r.entidade_id = :id ORDER BY r.numero",
+        Map.of("entidade", entidade.name(), "id", entidadeId),
+        (rs, linha) ->
+            new RevisaoDto(
+                rs.getInt("numero"),
+                rs.getInt("tamanho"),
+                rs.getObject("autor_id", Integer.class),
+                rs.getString("nome"),
+                rs.getTimestamp("data_criacao").toLocalDateTime()));
+  }
+
+  /**
+   * Busca a cadeia de uma revisão: a última revisão completa até ela e os deltas seguintes.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @param numero número da revisão
+   * @return as revisões da cadeia, em ordem de número; vazia se a revisão não existir
+   */
+  public List<RegistroRevisao> buscarCadeia(
+      Alteracao.Entidade entidade, int entidadeId, int numero) {
+    return jdbcTemplate.query(
+        "SELECT r.numero, r.completa, r.conteudo, r.autor_id, u.nome, r.data_criacao "
+            + "FROM revisao r LEFT JOIN usuario u ON u.id = r.autor_id "
+            + "WHERE r.entidade = :entidade AND r.entidade_id = :id AND r.numero <= :numero "
+            + "AND r.numero >= (SELECT MAX(c.numero) FROM revisao c WHERE c.entidade = :entidade "
+            + "AND c.entidade_id = :id AND c.completa AND c.numero <= :numero) "
+            + "ORDER BY r.numero",
+        Map.of("entidade", entidade.name(), "id", entidadeId, "numero", numero),
+        (rs, linha) ->
+            new RegistroRevisao(
+                rs.getInt("numero"),
+                rs.getBoolean("completa"),
+                rs.getBytes("conteudo"),
+                rs.getObject("autor_id", Integer.class),
+                rs.getString("nome"),
+                rs.getTimestamp("data_criacao").toLocalDateTime()));
+  }
+
+  private static String tabela(Alteracao.Entidade entidade) {
+    return switch (entidade) {
+      case TOPICO -> "topico";
+      case RESPOSTA -> "resposta";
+      default -> throw new IllegalArgumentException("Entidade sem revisões: " + entidade);
+    };
+  }
+
+  /**
+   * Mensagem atual de um tópico ou resposta.
+   *
+   * @param mensagem a mensagem
+   * @param autorId ID do autor do tópico ou resposta
+   * @param dataCriacao data de criação do tópico ou resposta
+   */
+  public record MensagemAtual(String mensagem, Integer autorId, LocalDateTime dataCriacao) {}
+
+  /**
+   * Revisão como está gravada.
+   *
+   * @param numero número da revisão
+   * @param completa se o conteúdo é a mensagem completa ou um delta
+   * @param conteudo a mensagem completa ou o delta
+   * @param autorId ID do autor da revisão
+   * @param autorNome nome do autor da revisão
+   * @param dataCriacao data da revisão
+   */
+  public record RegistroRevisao(
+      int numero,
+      boolean completa,
+      byte[] conteudo,
+      Integer autorId,
+      String autorNome,
+      LocalDateTime dataCriacao) {}
+}
@@ -0,0 +1,115 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC das tags dos tópicos e da carga do índice de filtros. */
+@Repository
+@RequiredArgsConstructor
+public class TagRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Busca as tags de um tópico.
+   *
+   * @param topicoId ID do tópico
+   * @return as tags em ordem alfabética
+   */
+  public List<String> buscarTags(Integer topicoId) {
+    return jdbcTemplate.queryForList(
+        "SELECT tag FROM topico_tag WHERE topico_id = :topicoId ORDER BY tag",
+        Map.of("topicoId", topicoId),
+        String.class);
+  }
+
+  /**
+   * Substitui as tags de um tópico, inserindo as novas em um único comando em lote.
+   *
+   * @param topicoId ID do tópico
+   * @param tags as novas tags
+   */
+  public void substituir(Integer topicoId, Collection<String> tags) {
+    jdbcTemplate.update(
+        "DELETE FROM topico_tag WHERE topico_id = :topicoId", Map.of("topicoId", topicoId));
+    if (tags.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        tags.stream()
+            .map(tag -> new MapSqlParameterSource("topicoId", topicoId).addValue("tag", tag))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO topico_tag (topico_id, tag) VALUES (:topicoId, :tag)", parametros);
+  }
+
+  /**
+   * Percorre em streaming o curso e o status de todos os tópicos.
+   *
+   * @param consumidor recebe cada tópico
+   */
+  public void percorrerTopicos(Consumer<TopicoIndexado> consumidor) {
+    percorrer(
+        "SELECT id, curso_id, status FROM topico",
+        rs ->
+            consumidor.accept(
+                new TopicoIndexado(
+                    rs.getInt("id"),
+                    rs.getInt("curso_id"),
+                    Topico.StatusTopico.valueOf(rs.getString("status")))));
+  }
+
+  /**
+   * Percorre em streaming as tags de todos os tópicos, agrupadas por tag.
+   *
+   * @param consumidor recebe cada par de tópico e tag
+   */
+  public void percorrerTags(Consumer<TagTopico> consumidor) {
+    percorrer(
+        "SELECT tag, topico_id FROM topico_tag ORDER BY tag",
+        rs -> consumidor.accept(new TagTopico(rs.getString("tag"), rs.getInt("topico_id"))));
+  }
+
+  private void percorrer(String sql, RowCallbackHandler handler) {
+    jdbcTemplate
+        .getJdbcTemplate()
+        .query(
+            conexao -> {
+              PreparedStatement ps =
+                  conexao.prepareStatement(
+                      sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+              // Faz o driver do MySQL entregar as linhas uma a uma
+              ps.setFetchSize(Integer.MIN_VALUE);
+              return ps;
+            },
+            handler);
+  }
+
+  /**
+   * Curso e status de um tópico, como lidos na carga do índice.
+   *
+   * @param id ID do tópico
+   * @param cursoId ID do curso
+   * @param status status do tópico
+   */
+  public record TopicoIndexado(int id, int cursoId, Topico.StatusTopico status) {}
+
+  /**
+   * Associação entre uma tag e um tópico.
+   *
+   * @param tag a tag
+   * @param topicoId ID do tópico
+   */
+  public record TagTopico(String tag, int topicoId) {}
+}
@@ -0,0 +1,55 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC para a leitura em streaming dos textos dos tópicos pelos índices em memória. */
+@Repository
+@RequiredArgsConstructor
+public class TextoTopicoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Percorre em streaming o título e a mensagem de todos os tópicos, sem carregar as entidades.
+   *
+   * @param consumidor recebe cada tópico
+   */
+  public void percorrer(Consumer<TextoTopico> consumidor) {
+    jdbcTemplate
+        .getJdbcTemplate()
+        .query(
+            conexao -> {
+              PreparedStatement ps =
+                  conexao.prepareStatement(
+                      "SELECT id, titulo, mensagem FROM topico",
+                      ResultSet.TYPE_FORWARD_ONLY,
+                      ResultSet.CONCUR_READ_ONLY);
+              // Faz o driver do MySQL entregar as linhas uma a uma
+              ps.setFetchSize(Integer.MIN_VALUE);
+              return ps;
+            },
+            (RowCallbackHandler)
+                rs ->
+                    consumidor.accept(
+                        new TextoTopico(
+                            rs.getInt("id"),
+                            rs.getString("titulo"),
+                            CompactadorMensagem.decodificar(rs.getBytes("mensagem")))));
+  }
+
+  /**
+   * Título e mensagem de um tópico.
+   *
+   * @param id ID do tópico
+   * @param titulo título do tópico
+   * @param mensagem mensagem do tópico
+   */
+  public record TextoTopico(int id, String titulo, String mensagem) {}
+}
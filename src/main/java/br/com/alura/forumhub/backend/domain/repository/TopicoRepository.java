@@ -3,6 +3,7 @@ package br.com.alura.forumhub.backend.domain.repository;
 import br.com.alura.forumhub.backend.domain.model.Curso;
 import br.com.alura.forumhub.backend.domain.model.Topico;
 import br.com.alura.forumhub.backend.domain.model.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -40,6 +41,17 @@ public interface TopicoRepository extends JpaRepository<Topico, Integer> {
    */
   List<Topico> findByCursoNome(String nomeCurso);
 
+  /**
+   * Busca um lote de tópicos de um curso pelo nome, a partir de um ID (paginação por keyset).
+   *
+   * @param nomeCurso o nome do curso
+   * @param id o último ID já lido (exclusivo)
+   * @param limite o número máximo de tópicos
+   * @return lista de tópicos em ordem crescente de ID
+   */
+  List<Topico> findByCursoNomeAndIdGreaterThanOrderByIdAsc(
+      String nomeCurso, Integer id, Limit limite);
+
   /**
    * Busca tópicos pelo autor.
    *
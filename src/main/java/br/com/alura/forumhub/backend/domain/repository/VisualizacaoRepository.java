@@ -0,0 +1,37 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC para a atualização em lote dos contadores de visualização dos tópicos. */
+@Repository
+@RequiredArgsConstructor
+public class VisualizacaoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Soma incrementos aos contadores de visualização em um único comando em lote.
+   *
+   * @param incrementos mapa do ID do tópico para o número de novas visualizações
+   */
+  public void incrementar(Map<Integer, Long> incrementos) {
+    if (incrementos.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        incrementos.entrySet().stream()
+            .map(
+                entrada ->
+                    new MapSqlParameterSource("id", entrada.getKey())
+                        .addValue("incremento", entrada.getValue()))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "UPDATE topico SET visualizacoes = visualizacoes + :incremento WHERE id = :id",
+        parametros);
+  }
+}
@@ -0,0 +1,79 @@
+package br.com.alura.forumhub.backend.domain.repository;
+
+import br.com.alura.forumhub.backend.domain.dto.VotoDto;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Repositório JDBC para a gravação em lote dos votos e das pontuações das respostas. */
+@Repository
+@RequiredArgsConstructor
+public class VotoRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Insere votos em um único comando em lote. Votos repetidos ou de respostas inexistentes são
+   * ignorados pela chave primária e pelas chaves estrangeiras.
+   *
+   * @param votos os votos a serem inseridos
+   * @param dataCriacao data dos votos
+   * @return o número de linhas inseridas por voto, na mesma ordem (negativo se desconhecido)
+   */
+  public int[] inserir(List<VotoDto> votos, LocalDateTime dataCriacao) {
+    SqlParameterSource[] parametros =
+        votos.stream()
+            .map(
+                voto ->
+                    new MapSqlParameterSource("respostaId", voto.respostaId())
+                        .addValue("usuarioId", voto.usuarioId())
+                        .addValue("dataCriacao", Timestamp.valueOf(dataCriacao)))
+            .toArray(SqlParameterSource[]::new);
+    return jdbcTemplate.batchUpdate(
+        "INSERT IGNORE INTO voto (resposta_id, usuario_id, data_criacao) "
+            + "VALUES (:respostaId, :usuarioId, :dataCriacao)",
+        parametros);
+  }
+
+  /**
+   * Soma incrementos às pontuações das respostas em um único comando em lote.
+   *
+   * @param incrementos mapa do ID da resposta para o número de novos votos
+   */
+  public void somarScores(Map<Integer, Integer> incrementos) {
+    if (incrementos.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] parametros =
+        incrementos.entrySet().stream()
+            .map(
+                entrada ->
+                    new MapSqlParameterSource("id", entrada.getKey())
+                        .addValue("incremento", entrada.getValue()))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(
+        "UPDATE resposta SET score = score + :incremento WHERE id = :id", parametros);
+  }
+
+  /**
+   * Recalcula a pontuação de respostas a partir dos votos gravados.
+   *
+   * @param ids os IDs das respostas
+   */
+  public void recalcularScores(Collection<Integer> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        "UPDATE resposta r SET score = (SELECT COUNT(*) FROM voto v WHERE v.resposta_id = r.id) "
+            + "WHERE r.id IN (:ids)",
+        Map.of("ids", ids));
+  }
+}
@@ -0,0 +1,222 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.AlteracaoDto;
+import br.com.alura.forumhub.backend.domain.dto.AlteracoesDto;
+import br.com.alura.forumhub.backend.domain.dto.CursoDto;
+import br.com.alura.forumhub.backend.domain.dto.RespostaDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.repository.AlteracaoRepository;
+import br.com.alura.forumhub.backend.domain.repository.CursoRepository;
+import br.com.alura.forumhub.backend.domain.repository.RespostaRepository;
+import br.com.alura.forumhub.backend.domain.repository.TopicoRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serviço responsável pelo log de alterações usado na sincronização incremental dos clientes.
+ *
+ * <p>As entradas são gravadas na mesma transação da alteração. Como a sequência é gerada no
+ * INSERT, uma transação mais lenta pode confirmar uma sequência menor depois de outra já visível;
+ * por isso o cursor entregue aos clientes é a posição de publicação, atribuída periodicamente às
+ * entradas já confirmadas, sob o bloqueio de uma linha de controle. Uma entrada confirmada depois
+ * de uma publicação sempre recebe posição maior que as já entregues, qualquer que seja sua
+ * sequência.
+ */
+@Service
+@Slf4j
+public class AlteracaoService {
+
+  private static final int LIMITE_MAXIMO = 1000;
+
+  private final AlteracaoRepository alteracaoRepository;
+  private final TopicoRepository topicoRepository;
+  private final RespostaRepository respostaRepository;
+  private final CursoRepository cursoRepository;
+
+  /**
+   * Cria o serviço de log de alterações.
+   *
+   * @param alteracaoRepository repositório do log
+   * @param topicoRepository repositório de tópicos
+   * @param respostaRepository repositório de respostas
+   * @param cursoRepository repositório de cursos
+   */
+  public AlteracaoService(
+      AlteracaoRepository alteracaoRepository,
+      TopicoRepository topicoRepository,
+      RespostaRepository respostaRepository,
+      CursoRepository cursoRepository) {
+    this.alteracaoRepository = alteracaoRepository;
+    this.topicoRepository = topicoRepository;
+    this.respostaRepository = respostaRepository;
+    this.cursoRepository = cursoRepository;
+  }
+
+  /**
+   * Registra uma alteração na transação corrente.
+   *
+   * @param entidade a entidade alterada
+   * @param id o ID da entidade alterada
+   * @param operacao a operação realizada
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrar(Alteracao.Entidade entidade, Integer id, Alteracao.Operacao operacao) {
+    Alteracao alteracao = new Alteracao();
+    alteracao.setEntidade(entidade);
+    alteracao.setEntidadeId(id);
+    alteracao.setOperacao(operacao);
+    alteracao.setDataCriacao(LocalDateTime.now());
+
+    alteracaoRepository.save(alteracao);
+  }
+
+  /**
+   * Registra na transação corrente a mesma operação para várias entidades.
+   *
+   * @param entidade a entidade alterada
+   * @param ids os IDs das entidades alteradas
+   * @param operacao a operação realizada
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrarTodas(
+      Alteracao.Entidade entidade, Collection<Integer> ids, Alteracao.Operacao operacao) {
+    LocalDateTime agora = LocalDateTime.now();
+    List<Alteracao> alteracoes = new ArrayList<>(ids.size());
+    for (Integer id : ids) {
+      Alteracao alteracao = new Alteracao();
+      alteracao.setEntidade(entidade);
+      alteracao.setEntidadeId(id);
+      alteracao.setOperacao(operacao);
+      alteracao.setDataCriacao(agora);
+      alteracoes.add(alteracao);
+    }
+
+    alteracaoRepository.saveAll(alteracoes);
+  }
+
+  /**
+   * Atribui posições, em ordem de sequência, às entradas confirmadas desde a última publicação. O
+   * bloqueio da linha de controle serializa as publicações entre instâncias; como as posições são
+   * gravadas na mesma transação, os clientes nunca veem uma posição antes das menores.
+   */
+  @Scheduled(fixedDelayString = "${forumhub.changes.publicacao-ms:250}")
+  @Transactional
+  public void publicar() {
+    long ultima = alteracaoRepository.bloquearPublicacao();
+    Object[] pendentes = alteracaoRepository.buscarPendentes().getFirst();
+    if (pendentes[0] == null) {
+      return;
+    }
+    long primeira = ((Number) pendentes[0]).longValue();
+    long ultimaSeq = ((Number) pendentes[1]).longValue();
+
+    // A primeira pendente recebe a posição seguinte à última; as demais mantêm a distância
+    long base = ultima + 1 - primeira;
+    int publicadas = alteracaoRepository.publicar(base, primeira, ultimaSeq);
+    alteracaoRepository.atualizarPublicacao(ultimaSeq + base);
+    log.debug("[DEBUG_LOG] Published {} change log entries", publicadas);
+  }
+
+  /**
+   * Lista as alterações posteriores a um cursor. Várias alterações da mesma entidade dentro da
+   * página são reduzidas à mais recente, acompanhada do estado atual da entidade.
+   *
+   * @param since a última posição já processada pelo cliente
+   * @param limite o número máximo de entradas do log a serem lidas
+   * @return página de alterações com o próximo cursor
+   */
+  @Transactional(readOnly = true)
+  public AlteracoesDto listar(long since, int limite) {
+    int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO);
+
+    List<Alteracao> entradas =
+        alteracaoRepository.findByPosicaoGreaterThanOrderByPosicaoAsc(
+            since, PageRequest.ofSize(tamanho));
+
+    if (entradas.isEmpty()) {
+      return new AlteracoesDto(List.of(), since, false);
+    }
+
+    // Mantém apenas a entrada mais recente de cada entidade, na ordem do log
+    Map<String, Alteracao> recentes = new LinkedHashMap<>();
+    for (Alteracao entrada : entradas) {
+      String chave = entrada.getEntidade() + ":" + entrada.getEntidadeId();
+      recentes.remove(chave);
+      recentes.put(chave, entrada);
+    }
+
+    Map<Alteracao.Entidade, Map<Integer, ?>> estados = carregarEstados(recentes.values());
+
+    List<AlteracaoDto> alteracoes = new ArrayList<>(recentes.size());
+    for (Alteracao entrada : recentes.values()) {
+      Object dados = estados.get(entrada.getEntidade()).get(entrada.getEntidadeId());
+      // Entidades que não existem mais são entregues como tombstones
+      Alteracao.Operacao operacao =
+          dados == null ? Alteracao.Operacao.EXCLUSAO : entrada.getOperacao();
+      alteracoes.add(
+          new AlteracaoDto(
+              entrada.getPosicao(),
+              entrada.getEntidade().toString(),
+              entrada.getEntidadeId(),
+              operacao.toString(),
+              dados));
+    }
+
+    long cursor = entradas.getLast().getPosicao();
+    return new AlteracoesDto(alteracoes, cursor, entradas.size() == tamanho);
+  }
+
+  /** Remove do log as entradas substituídas por alterações mais recentes da mesma entidade. */
+  @Scheduled(cron = "${forumhub.changes.compactacao-cron:0 0 3 * * *}")
+  @Transactional
+  public void compactar() {
+    int removidas = alteracaoRepository.compactar();
+    log.info("Change log compaction removed {} superseded entries", removidas);
+  }
+
+  private Map<Alteracao.Entidade, Map<Integer, ?>> carregarEstados(Iterable<Alteracao> entradas) {
+    Map<Alteracao.Entidade, Set<Integer>> ids = new EnumMap<>(Alteracao.Entidade.class);
+    for (Alteracao.Entidade entidade : Alteracao.Entidade.values()) {
+      ids.put(entidade, new HashSet<>());
+    }
+    for (Alteracao entrada : entradas) {
+      if (entrada.getOperacao() != Alteracao.Operacao.EXCLUSAO) {
+        ids.get(entrada.getEntidade()).add(entrada.getEntidadeId());
+      }
+    }
+
+    Map<Alteracao.Entidade, Map<Integer, ?>> estados = new EnumMap<>(Alteracao.Entidade.class);
+    estados.put(
+        Alteracao.Entidade.TOPICO,
+        topicoRepository.findAllById(ids.get(Alteracao.Entidade.TOPICO)).stream()
+            .map(TopicoDto::fromEntity)
+            .collect(Collectors.toMap(TopicoDto::id, Function.identity())));
+    estados.put(
+        Alteracao.Entidade.RESPOSTA,
+        respostaRepository.findAllById(ids.get(Alteracao.Entidade.RESPOSTA)).stream()
+            .map(RespostaDto::fromEntity)
+            .collect(Collectors.toMap(RespostaDto::id, Function.identity())));
+    estados.put(
+        Alteracao.Entidade.CURSO,
+        cursoRepository.findAllById(ids.get(Alteracao.Entidade.CURSO)).stream()
+            .map(CursoDto::fromEntity)
+            .collect(Collectors.toMap(CursoDto::id, Function.identity())));
+    return estados;
+  }
+}
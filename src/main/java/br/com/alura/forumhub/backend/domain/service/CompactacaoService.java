@@ -0,0 +1,126 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.repository.CompactacaoRepository;
+import br.com.alura.forumhub.backend.domain.repository.CompactacaoRepository.MensagemGravada;
+import br.com.alura.forumhub.backend.domain.repository.CompactacaoRepository.Tabela;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável por compactar em segundo plano as mensagens gravadas antes da compressão
+ * ser habilitada, ou com um limite maior que o atual.
+ *
+ * <p>Mensagens novas e editadas já são compactadas na escrita pelo
+ * {@link br.com.alura.forumhub.backend.infra.texto.MensagemConverter}. Esta tarefa percorre as
+ * tabelas em lotes por ordem de ID, com uma pausa entre os lotes para não disputar o buffer pool
+ * e o log de redo com as requisições, e a cada execução continua de onde a anterior parou. As
+ * mensagens que não diminuem com a compressão são mantidas como estão.
+ */
+@Service
+@Slf4j
+public class CompactacaoService {
+
+  private final CompactacaoRepository compactacaoRepository;
+  private final CompactadorMensagem compactador;
+  private final boolean habilitada;
+  private final int limiteBytes;
+  private final int tamanhoLote;
+  private final int lotesPorExecucao;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Tabela, Integer> ultimoId = new HashMap<>();
+  private final Map<Tabela, Boolean> concluida = new HashMap<>();
+
+  /**
+   * Cria o serviço de compactação.
+   *
+   * @param compactacaoRepository repositório da compactação
+   * @param compactador o compactador de mensagens
+   * @param env ambiente com os parâmetros da compressão ({@code forumhub.compressao.*})
+   */
+  public CompactacaoService(
+      CompactacaoRepository compactacaoRepository,
+      CompactadorMensagem compactador,
+      Environment env) {
+    this.compactacaoRepository = compactacaoRepository;
+    this.compactador = compactador;
+    this.habilitada =
+        env.getProperty("forumhub.compressao.habilitada", Boolean.class, true)
+            && env.getProperty("forumhub.compressao.migracao.habilitada", Boolean.class, true);
+    this.limiteBytes = env.getProperty("forumhub.compressao.limite-bytes", Integer.class, 2048);
+    this.tamanhoLote =
+        env.getProperty("forumhub.compressao.migracao.tamanho-lote", Integer.class, 200);
+    this.lotesPorExecucao =
+        env.getProperty("forumhub.compressao.migracao.lotes-por-execucao", Integer.class, 5);
+    for (Tabela tabela : Tabela.values()) {
+      ultimoId.put(tabela, 0);
+      concluida.put(tabela, !habilitada);
+    }
+  }
+
+  /** Compacta alguns lotes de mensagens gravadas sem compressão. */
+  @Scheduled(
+      initialDelayString = "${forumhub.compressao.migracao.atraso-inicial-ms:30000}",
+      fixedDelayString = "${forumhub.compressao.migracao.intervalo-ms:1000}")
+  public void compactar() {
+    if (!lock.tryLock()) {
+      return;
+    }
+    try {
+      for (Tabela tabela : Tabela.values()) {
+        if (!concluida.get(tabela)) {
+          compactar(tabela);
+        }
+      }
+    } catch (DataAccessException e) {
+      // A posição é mantida e a próxima execução tenta o mesmo lote
+      log.warn("Could not compress messages: {}", e.getMessage());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void compactar(Tabela tabela) {
+    for (int lote = 0; lote < lotesPorExecucao; lote++) {
+      List<MensagemGravada> mensagens =
+          compactacaoRepository.listarCompactaveis(
+              tabela, limiteBytes, ultimoId.get(tabela), tamanhoLote);
+      if (mensagens.isEmpty()) {
+        // Mensagens novas já são compactadas na escrita; a varredura não precisa recomeçar
+        concluida.put(tabela, true);
+        log.info("Finished compressing {} messages up to ID {}", tabela, ultimoId.get(tabela));
+        return;
+      }
+
+      Map<Integer, byte[]> compactadas = new HashMap<>();
+      long bytesAntes = 0;
+      long bytesDepois = 0;
+      for (MensagemGravada mensagem : mensagens) {
+        byte[] dados = compactador.codificar(CompactadorMensagem.decodificar(mensagem.dados()));
+        if (CompactadorMensagem.compactada(dados)) {
+          compactadas.put(mensagem.id(), dados);
+          bytesAntes += mensagem.dados().length;
+          bytesDepois += dados.length;
+        }
+      }
+      compactacaoRepository.atualizar(tabela, mensagens, compactadas);
+      ultimoId.put(tabela, mensagens.getLast().id());
+      log.debug(
+          "[DEBUG_LOG] Compressed {} of {} {} messages up to ID {} ({} -> {} bytes)",
+          compactadas.size(),
+          mensagens.size(),
+          tabela,
+          mensagens.getLast().id(),
+          bytesAntes,
+          bytesDepois);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.repository.VisualizacaoRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pela contagem de visualizações dos tópicos com escrita adiada
+ * (write-behind).
+ *
+ * <p>Cada visualização incrementa um {@link LongAdder} do tópico, cujas células distribuídas
+ * evitam contenção entre threads. A cada poucos segundos os incrementos acumulados são gravados
+ * com um único UPDATE em lote, e também no encerramento da aplicação. O número de tópicos com
+ * incrementos pendentes é limitado; visualizações de novos tópicos acima do limite são descartadas
+ * até o próximo flush.
+ *
+ * <p>A contagem é aproximada: incrementos ainda não gravados se perdem se o processo terminar sem
+ * um encerramento normal, e o valor exibido nos tópicos pode estar atrasado em até um intervalo de
+ * flush.
+ */
+@Service
+@Slf4j
+public class ContadorVisualizacoesService {
+
+  private final VisualizacaoRepository visualizacaoRepository;
+  private final int maxTopicosPendentes;
+  private final Map<Integer, LongAdder> pendentes = new ConcurrentHashMap<>();
+  private final LongAdder descartadas = new LongAdder();
+  private final ReentrantLock lockFlush = new ReentrantLock();
+
+  /**
+   * Cria o serviço de contagem de visualizações.
+   *
+   * @param visualizacaoRepository repositório de gravação dos contadores
+   * @param maxTopicosPendentes número máximo de tópicos com incrementos em memória
+   */
+  public ContadorVisualizacoesService(
+      VisualizacaoRepository visualizacaoRepository,
+      @Value("${forumhub.visualizacoes.max-topicos-pendentes:100000}") int maxTopicosPendentes) {
+    this.visualizacaoRepository = visualizacaoRepository;
+    this.maxTopicosPendentes = maxTopicosPendentes;
+  }
+
+  /**
+   * Registra uma visualização de um tópico.
+   *
+   * @param topicoId ID do tópico visualizado
+   */
+  public void registrar(Integer topicoId) {
+    LongAdder contador = pendentes.get(topicoId);
+    if (contador == null) {
+      if (pendentes.size() >= maxTopicosPendentes) {
+        descartadas.increment();
+        return;
+      }
+      contador = pendentes.computeIfAbsent(topicoId, id -> new LongAdder());
+    }
+    contador.increment();
+  }
+
+  /** Grava no banco os incrementos acumulados. */
+  @Scheduled(fixedDelayString = "${forumhub.visualizacoes.flush-ms:5000}")
+  public void gravar() {
+    // O flush agendado e o do encerramento não podem gravar o mesmo delta duas vezes
+    lockFlush.lock();
+    try {
+      Map<Integer, Long> incrementos = new HashMap<>();
+      pendentes.forEach(
+          (topicoId, contador) -> {
+            long delta = contador.sumThenReset();
+            if (delta > 0) {
+              incrementos.put(topicoId, delta);
+            } else {
+              // Tópicos sem visualizações recentes liberam a entrada
+              pendentes.remove(topicoId, contador);
+            }
+          });
+
+      if (incrementos.isEmpty()) {
+        return;
+      }
+
+      try {
+        visualizacaoRepository.incrementar(incrementos);
+        log.debug("[DEBUG_LOG] Flushed view counts for {} topics", incrementos.size());
+      } catch (DataAccessException e) {
+        // Devolve os incrementos para a próxima tentativa
+        log.warn("Could not flush view counts: {}", e.getMessage());
+        incrementos.forEach(
+            (topicoId, delta) ->
+                pendentes.computeIfAbsent(topicoId, id -> new LongAdder()).add(delta));
+      }
+
+      long perdidas = descartadas.sumThenReset();
+      if (perdidas > 0) {
+        log.warn("Dropped {} topic views because the pending counter limit was reached", perdidas);
+      }
+    } finally {
+      lockFlush.unlock();
+    }
+  }
+
+  /** Grava os incrementos pendentes no encerramento da aplicação. */
+  @PreDestroy
+  public void encerrar() {
+    gravar();
+  }
+}
@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+/** Exception thrown when a title or message contains a banned term. */
+public class ConteudoBloqueadoException extends IllegalStateException {
+
+  public ConteudoBloqueadoException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,21 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+/** Exception thrown when content was held for moderation instead of being published. */
+public class ConteudoQuarentenaException extends IllegalStateException {
+
+  private final long quarentenaId;
+
+  public ConteudoQuarentenaException(String message, long quarentenaId) {
+    super(message);
+    this.quarentenaId = quarentenaId;
+  }
+
+  /**
+   * Returns the ID of the quarantine record.
+   *
+   * @return the quarantine ID
+   */
+  public long getQuarentenaId() {
+    return quarentenaId;
+  }
+}
@@ -1,11 +1,13 @@
 package br.com.alura.forumhub.backend.domain.service;
 
 import br.com.alura.forumhub.backend.domain.dto.CursoDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
 import br.com.alura.forumhub.backend.domain.model.Curso;
 import br.com.alura.forumhub.backend.domain.repository.CursoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,6 +21,7 @@ import java.util.List;
 public class CursoService {
 
   private final CursoRepository cursoRepository;
+  private final AlteracaoService alteracaoService;
 
   /**
    * Lista todos os cursos.
@@ -49,6 +52,33 @@ public class CursoService {
     return cursoRepository.findByCategoria(categoria).stream().map(CursoDto::fromEntity).toList();
   }
 
+  /**
+   * Busca cursos por categoria com paginação.
+   *
+   * @param categoria a categoria dos cursos
+   * @param paginacao informações de paginação
+   * @return página de cursos da categoria
+   */
+  public Page<CursoDto> listarPorCategoria(String categoria, Pageable paginacao) {
+    return cursoRepository.findByCategoria(categoria, paginacao).map(CursoDto::fromEntity);
+  }
+
+  /**
+   * Busca um lote de cursos da categoria a partir de um ID, para respostas em streaming.
+   *
+   * @param categoria a categoria dos cursos
+   * @param ultimoId o último ID já enviado
+   * @param limite o tamanho do lote
+   * @return lista de cursos em ordem crescente de ID
+   */
+  public List<CursoDto> listarPorCategoriaAposId(String categoria, Integer ultimoId, int limite) {
+    return cursoRepository
+        .findByCategoriaAndIdGreaterThanOrderByIdAsc(categoria, ultimoId, Limit.of(limite))
+        .stream()
+        .map(CursoDto::fromEntity)
+        .toList();
+  }
+
   /**
    * Busca cursos pelo nome contendo o texto especificado.
    *
@@ -59,6 +89,33 @@ public class CursoService {
     return cursoRepository.findByNomeContaining(nome).stream().map(CursoDto::fromEntity).toList();
   }
 
+  /**
+   * Busca cursos pelo nome contendo o texto especificado com paginação.
+   *
+   * @param nome parte do nome do curso
+   * @param paginacao informações de paginação
+   * @return página de cursos que contêm o texto no nome
+   */
+  public Page<CursoDto> listarPorNome(String nome, Pageable paginacao) {
+    return cursoRepository.findByNomeContaining(nome, paginacao).map(CursoDto::fromEntity);
+  }
+
+  /**
+   * Busca um lote de cursos pelo nome a partir de um ID, para respostas em streaming.
+   *
+   * @param nome parte do nome do curso
+   * @param ultimoId o último ID já enviado
+   * @param limite o tamanho do lote
+   * @return lista de cursos em ordem crescente de ID
+   */
+  public List<CursoDto> listarPorNomeAposId(String nome, Integer ultimoId, int limite) {
+    return cursoRepository
+        .findByNomeContainingAndIdGreaterThanOrderByIdAsc(nome, ultimoId, Limit.of(limite))
+        .stream()
+        .map(CursoDto::fromEntity)
+        .toList();
+  }
+
   /**
    * Busca um curso pelo ID.
    *
@@ -94,6 +151,8 @@ public class CursoService {
     curso.setCategoria(dto.categoria());
 
     cursoRepository.save(curso);
+    alteracaoService.registrar(
+        Alteracao.Entidade.CURSO, curso.getId(), Alteracao.Operacao.CRIACAO);
 
     return CursoDto.fromEntity(curso);
   }
@@ -129,6 +188,8 @@ public class CursoService {
     curso.setCategoria(dto.categoria());
 
     cursoRepository.save(curso);
+    alteracaoService.registrar(
+        Alteracao.Entidade.CURSO, curso.getId(), Alteracao.Operacao.ATUALIZACAO);
 
     return CursoDto.fromEntity(curso);
   }
@@ -152,5 +213,7 @@ public class CursoService {
       throw new DataIntegrityViolationException(
           "Não é possível excluir o curso pois ele está sendo usado em tópicos");
     }
+
+    alteracaoService.registrar(Alteracao.Entidade.CURSO, id, Alteracao.Operacao.EXCLUSAO);
   }
 }
@@ -0,0 +1,174 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoSimilarDto;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.event.TopicoAtualizadoEvent;
+import br.com.alura.forumhub.backend.domain.event.TopicoCriadoEvent;
+import br.com.alura.forumhub.backend.domain.repository.TextoTopicoRepository;
+import br.com.alura.forumhub.backend.infra.sketch.IndiceLsh;
+import br.com.alura.forumhub.backend.infra.sketch.MinHash;
+import br.com.alura.forumhub.backend.infra.texto.Tokenizador;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pela detecção de tópicos quase duplicados.
+ *
+ * <p>O título e a mensagem de cada tópico são divididos em shingles de palavras normalizadas e
+ * resumidos em uma assinatura MinHash, indexada em memória por LSH. Um novo tópico só é comparado
+ * com os candidatos que compartilham alguma banda da assinatura, sem percorrer a tabela; a
+ * similaridade de Jaccard de cada candidato é então estimada pelas assinaturas. O índice é
+ * reconstruído do banco em streaming na inicialização e mantido pelos eventos de criação,
+ * atualização e exclusão dos tópicos.
+ */
+@Service
+@Slf4j
+public class DuplicidadeService {
+
+  private static final int TAMANHO_MINIMO_TOKEN = 3;
+
+  private final TextoTopicoRepository textoTopicoRepository;
+  private final MinHash minHash;
+  private final double similaridadeMinima;
+  private final int maxSugestoes;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final IndiceLsh indice;
+  private final Map<Integer, String> titulos = new HashMap<>();
+
+  /**
+   * Cria o serviço de detecção de duplicados.
+   *
+   * @param textoTopicoRepository repositório dos textos dos tópicos
+   * @param env ambiente com os parâmetros do índice ({@code forumhub.duplicados.*})
+   */
+  public DuplicidadeService(TextoTopicoRepository textoTopicoRepository, Environment env) {
+    this.textoTopicoRepository = textoTopicoRepository;
+    int bandas = env.getProperty("forumhub.duplicados.bandas", Integer.class, 16);
+    int linhasPorBanda = env.getProperty("forumhub.duplicados.linhas-por-banda", Integer.class, 4);
+    this.indice = new IndiceLsh(bandas, linhasPorBanda);
+    this.minHash =
+        new MinHash(
+            indice.tamanhoAssinatura(),
+            env.getProperty("forumhub.duplicados.tamanho-shingle", Integer.class, 2));
+    this.similaridadeMinima =
+        env.getProperty("forumhub.duplicados.similaridade-minima", Double.class, 0.6);
+    this.maxSugestoes = env.getProperty("forumhub.duplicados.max-sugestoes", Integer.class, 5);
+  }
+
+  /** Reconstrói o índice a partir do banco. */
+  @PostConstruct
+  public void carregar() {
+    textoTopicoRepository.percorrer(
+        topico -> indexar(topico.id(), topico.titulo(), topico.mensagem()));
+    log.info("Loaded near-duplicate index with {} topics", indice.tamanho());
+  }
+
+  /**
+   * Busca tópicos possivelmente duplicados de um texto.
+   *
+   * @param titulo o título
+   * @param mensagem a mensagem
+   * @return os tópicos mais similares acima do limiar, do mais para o menos similar
+   */
+  public List<TopicoSimilarDto> buscarSimilares(String titulo, String mensagem) {
+    int[] assinatura = assinatura(titulo, mensagem);
+    if (assinatura == null) {
+      return List.of();
+    }
+
+    List<TopicoSimilarDto> similares = new ArrayList<>();
+    lock.lock();
+    try {
+      IntIterator candidatos = indice.candidatos(assinatura).getIntIterator();
+      while (candidatos.hasNext()) {
+        int id = candidatos.next();
+        double similaridade = MinHash.similaridade(assinatura, indice.assinatura(id));
+        if (similaridade >= similaridadeMinima) {
+          similares.add(new TopicoSimilarDto(id, titulos.get(id), similaridade));
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    return similares.stream()
+        .sorted(Comparator.comparingDouble(TopicoSimilarDto::similaridade).reversed())
+        .limit(maxSugestoes)
+        .toList();
+  }
+
+  /**
+   * Indexa um tópico criado, após a confirmação da transação.
+   *
+   * @param event o evento de criação do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTopicoCriado(TopicoCriadoEvent event) {
+    TopicoDto topico = event.topico();
+    indexar(topico.id(), topico.titulo(), topico.mensagem());
+  }
+
+  /**
+   * Reindexa um tópico atualizado, após a confirmação da transação.
+   *
+   * @param event o evento de atualização do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTopicoAtualizado(TopicoAtualizadoEvent event) {
+    TopicoDto topico = event.topico();
+    indexar(topico.id(), topico.titulo(), topico.mensagem());
+  }
+
+  /**
+   * Remove do índice um tópico excluído.
+   *
+   * @param event o evento de alteração do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusTopicoAlterado(StatusTopicoAlteradoEvent event) {
+    if (event.atual() != null) {
+      return;
+    }
+    lock.lock();
+    try {
+      indice.remover(event.topicoId());
+      titulos.remove(event.topicoId());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void indexar(int id, String titulo, String mensagem) {
+    // A assinatura é calculada fora do lock
+    int[] assinatura = assinatura(titulo, mensagem);
+    lock.lock();
+    try {
+      if (assinatura == null) {
+        indice.remover(id);
+        titulos.remove(id);
+      } else {
+        indice.adicionar(id, assinatura);
+        titulos.put(id, titulo);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int[] assinatura(String titulo, String mensagem) {
+    return minHash.assinatura(
+        Tokenizador.tokens(titulo + " " + mensagem, TAMANHO_MINIMO_TOKEN));
+  }
+}
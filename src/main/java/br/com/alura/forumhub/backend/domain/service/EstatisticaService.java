@@ -0,0 +1,171 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.EstatisticasDto;
+import br.com.alura.forumhub.backend.domain.event.QuantidadeRespostasAlteradaEvent;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.domain.repository.EstatisticaRepository;
+import br.com.alura.forumhub.backend.infra.sketch.HistogramaLogaritmico;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pelas estatísticas por curso: tópicos por status, número de respostas e
+ * mediana do tempo até a primeira resposta.
+ *
+ * <p>As estatísticas ficam em memória e são atualizadas pelos eventos publicados nas escritas de
+ * tópicos e respostas, após o commit, de modo que a consulta não acessa o banco. Periodicamente (e
+ * na inicialização) os valores são recalculados a partir do banco e substituem os mantidos em
+ * memória, corrigindo desvios como alterações concorrentes com a reconciliação anterior ou a
+ * exclusão da primeira resposta de um tópico, cujo tempo não é removido da mediana.
+ */
+@Service
+@Slf4j
+public class EstatisticaService {
+
+  private final EstatisticaRepository estatisticaRepository;
+  private volatile Estado estado = new Estado(null);
+
+  /**
+   * Cria o serviço de estatísticas.
+   *
+   * @param estatisticaRepository repositório das agregações de reconciliação
+   */
+  public EstatisticaService(EstatisticaRepository estatisticaRepository) {
+    this.estatisticaRepository = estatisticaRepository;
+  }
+
+  /**
+   * Aplica a criação, exclusão ou mudança de status de um tópico.
+   *
+   * @param event o evento de alteração do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusTopicoAlterado(StatusTopicoAlteradoEvent event) {
+    EstatisticaCurso curso = estado.curso(event.cursoId());
+    if (event.anterior() != null) {
+      curso.topicos.get(event.anterior()).decrement();
+    }
+    if (event.atual() != null) {
+      curso.topicos.get(event.atual()).increment();
+    }
+    // Saída de NAO_RESPONDIDO sem exclusão indica a primeira resposta do tópico
+    if (event.anterior() == Topico.StatusTopico.NAO_RESPONDIDO && event.atual() != null) {
+      curso.primeiraResposta.registrar(
+          Duration.between(event.dataCriacaoTopico(), event.dataAlteracao()).toSeconds());
+    }
+  }
+
+  /**
+   * Aplica a criação ou exclusão de respostas.
+   *
+   * @param event o evento com a variação no número de respostas
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onQuantidadeRespostasAlterada(QuantidadeRespostasAlteradaEvent event) {
+    estado.curso(event.cursoId()).respostas.add(event.delta());
+  }
+
+  /**
+   * Retorna as estatísticas de um curso.
+   *
+   * @param cursoId ID do curso
+   * @return as estatísticas (zeradas se o curso não tiver tópicos)
+   */
+  public EstatisticasDto buscarPorCurso(Integer cursoId) {
+    Estado atual = estado;
+    EstatisticaCurso curso = atual.cursos.get(cursoId);
+    if (curso == null) {
+      curso = new EstatisticaCurso();
+    }
+    return curso.toDto(cursoId, atual.reconciliadoEm);
+  }
+
+  /**
+   * Retorna as estatísticas de todos os cursos somadas.
+   *
+   * @return as estatísticas globais
+   */
+  public EstatisticasDto buscarGlobal() {
+    Estado atual = estado;
+    EstatisticaCurso global = new EstatisticaCurso();
+    for (EstatisticaCurso curso : atual.cursos.values()) {
+      curso.topicos.forEach((status, contador) -> global.topicos.get(status).add(contador.sum()));
+      global.respostas.add(curso.respostas.sum());
+      global.primeiraResposta.somar(curso.primeiraResposta);
+    }
+    return global.toDto(null, atual.reconciliadoEm);
+  }
+
+  /** Recalcula as estatísticas a partir do banco e substitui as mantidas em memória. */
+  @Scheduled(fixedDelayString = "${forumhub.estatisticas.reconciliacao-ms:600000}")
+  public void reconciliar() {
+    Estado novo = new Estado(LocalDateTime.now());
+    try {
+      estatisticaRepository.contarTopicos(
+          (cursoId, status, quantidade) -> novo.curso(cursoId).topicos.get(status).add(quantidade));
+      estatisticaRepository.contarRespostas(
+          (cursoId, quantidade) -> novo.curso(cursoId).respostas.add(quantidade));
+      estatisticaRepository.listarTemposPrimeiraResposta(
+          (cursoId, segundos) -> novo.curso(cursoId).primeiraResposta.registrar(segundos));
+    } catch (DataAccessException e) {
+      log.warn("Could not reconcile statistics: {}", e.getMessage());
+      return;
+    }
+
+    estado = novo;
+    log.debug("[DEBUG_LOG] Reconciled statistics for {} courses", novo.cursos.size());
+  }
+
+  /** Estatísticas de todos os cursos e a data da reconciliação que as originou. */
+  private static final class Estado {
+
+    private final Map<Integer, EstatisticaCurso> cursos = new ConcurrentHashMap<>();
+    private final LocalDateTime reconciliadoEm;
+
+    private Estado(LocalDateTime reconciliadoEm) {
+      this.reconciliadoEm = reconciliadoEm;
+    }
+
+    private EstatisticaCurso curso(Integer cursoId) {
+      return cursos.computeIfAbsent(cursoId, id -> new EstatisticaCurso());
+    }
+  }
+
+  /** Contadores de um curso. */
+  private static final class EstatisticaCurso {
+
+    private final Map<Topico.StatusTopico, LongAdder> topicos =
+        new EnumMap<>(Topico.StatusTopico.class);
+    private final LongAdder respostas = new LongAdder();
+    private final HistogramaLogaritmico primeiraResposta = new HistogramaLogaritmico();
+
+    private EstatisticaCurso() {
+      // Todas as entradas são criadas aqui, então o mapa não é alterado depois de publicado
+      for (Topico.StatusTopico status : Topico.StatusTopico.values()) {
+        topicos.put(status, new LongAdder());
+      }
+    }
+
+    private EstatisticasDto toDto(Integer cursoId, LocalDateTime reconciliadoEm) {
+      Map<String, Long> porStatus = new LinkedHashMap<>();
+      topicos.forEach((status, contador) -> porStatus.put(status.toString(), contador.sum()));
+      return new EstatisticasDto(
+          cursoId,
+          porStatus,
+          respostas.sum(),
+          primeiraResposta.percentil(0.5),
+          reconciliadoEm);
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+/** Exception thrown when the asynchronous answer queue cannot accept more answers. */
+public class FilaRespostasCheiaException extends IllegalStateException {
+
+  public FilaRespostasCheiaException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+/** Exception thrown when the vote buffer cannot accept more votes. */
+public class FilaVotosCheiaException extends IllegalStateException {
+
+  public FilaVotosCheiaException(String message) {
+    super(message);
+  }
+}
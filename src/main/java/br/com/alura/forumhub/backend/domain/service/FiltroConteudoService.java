@@ -0,0 +1,170 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.repository.QuarentenaRepository;
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos;
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos.Acao;
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos.Ocorrencia;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pelo filtro de termos bloqueados em títulos e mensagens.
+ *
+ * <p>O dicionário é lido de {@code forumhub.filtro.dicionario} e compilado em um autômato de
+ * Aho-Corasick, que verifica todos os termos em uma única passada pelo texto normalizado. Uma
+ * tarefa agendada recompila o dicionário quando o arquivo muda e troca a referência de uma vez,
+ * sem bloquear as requisições em andamento; se a leitura falhar, o dicionário anterior continua
+ * valendo.
+ *
+ * <p>Um termo encontrado rejeita o conteúdo ou o retém em quarentena para moderação, conforme a
+ * ação do termo no dicionário ou {@code forumhub.filtro.acao-padrao}.
+ */
+@Service
+@Slf4j
+public class FiltroConteudoService {
+
+  private final QuarentenaRepository quarentenaRepository;
+  private final ObjectMapper objectMapper;
+  private final ResourceLoader resourceLoader;
+  private final String localizacao;
+  private final Acao acaoPadrao;
+
+  private volatile DicionarioTermos dicionario = DicionarioTermos.VAZIO;
+  private final ReentrantLock lockRecarga = new ReentrantLock();
+  private long ultimaModificacao = -1;
+
+  /**
+   * Cria o serviço de filtro.
+   *
+   * @param quarentenaRepository repositório da quarentena
+   * @param objectMapper o ObjectMapper usado para guardar o conteúdo retido
+   * @param resourceLoader carregador do arquivo do dicionário
+   * @param env ambiente com os parâmetros do filtro ({@code forumhub.filtro.*})
+   */
+  public FiltroConteudoService(
+      QuarentenaRepository quarentenaRepository,
+      ObjectMapper objectMapper,
+      ResourceLoader resourceLoader,
+      Environment env) {
+    this.quarentenaRepository = quarentenaRepository;
+    this.objectMapper = objectMapper;
+    this.resourceLoader = resourceLoader;
+    this.localizacao =
+        env.getProperty("forumhub.filtro.dicionario", "classpath:filtro/termos-bloqueados.txt");
+    this.acaoPadrao = env.getProperty("forumhub.filtro.acao-padrao", Acao.class, Acao.REJEITAR);
+  }
+
+  /** Carrega o dicionário na inicialização. */
+  @PostConstruct
+  public void carregar() {
+    recarregar(true);
+  }
+
+  /** Recarrega o dicionário se o arquivo tiver sido modificado. */
+  @Scheduled(fixedDelayString = "${forumhub.filtro.verificacao-ms:30000}")
+  public void verificarAlteracoes() {
+    recarregar(false);
+  }
+
+  /**
+   * Verifica um conteúdo antes de gravá-lo. Conteúdos com termos em quarentena são registrados
+   * para moderação e não são publicados.
+   *
+   * @param entidade a entidade do conteúdo
+   * @param operacao a operação solicitada
+   * @param entidadeId ID da entidade (null em criações)
+   * @param conteudo o conteúdo enviado, guardado em caso de quarentena
+   * @param textos os textos a verificar
+   * @throws ConteudoBloqueadoException se algum texto tiver um termo a rejeitar
+   * @throws ConteudoQuarentenaException se algum texto tiver um termo em quarentena
+   */
+  public void verificar(
+      Alteracao.Entidade entidade,
+      Alteracao.Operacao operacao,
+      Integer entidadeId,
+      Object conteudo,
+      String... textos) {
+    Optional<Ocorrencia> encontrada = dicionario.buscar(textos);
+    if (encontrada.isEmpty()) {
+      return;
+    }
+    Ocorrencia ocorrencia = encontrada.get();
+    log.debug(
+        "[DEBUG_LOG] Banned term '{}' found in {} {}: {}",
+        ocorrencia.termo(),
+        entidade,
+        operacao,
+        ocorrencia.acao());
+    if (ocorrencia.acao() == Acao.REJEITAR) {
+      throw new ConteudoBloqueadoException("O conteúdo contém termos não permitidos");
+    }
+    long quarentenaId =
+        quarentenaRepository.inserir(
+            entidade,
+            operacao,
+            entidadeId,
+            objectMapper.valueToTree(conteudo).toString(),
+            ocorrencia.termo(),
+            LocalDateTime.now());
+    throw new ConteudoQuarentenaException("O conteúdo foi retido para moderação", quarentenaId);
+  }
+
+  private void recarregar(boolean forcar) {
+    // Recargas não concorrem entre si; as verificações continuam usando o dicionário atual
+    if (!lockRecarga.tryLock()) {
+      return;
+    }
+    try {
+      Resource recurso = resourceLoader.getResource(localizacao);
+      if (!recurso.exists()) {
+        if (forcar) {
+          log.warn("Banned terms dictionary not found at {}", localizacao);
+        }
+        return;
+      }
+      long modificacao = ultimaModificacao(recurso);
+      if (!forcar && modificacao == ultimaModificacao) {
+        return;
+      }
+
+      List<String> linhas;
+      try (BufferedReader leitor =
+          new BufferedReader(
+              new InputStreamReader(recurso.getInputStream(), StandardCharsets.UTF_8))) {
+        linhas = leitor.lines().toList();
+      }
+      DicionarioTermos novo = DicionarioTermos.compilar(linhas, acaoPadrao);
+      dicionario = novo;
+      ultimaModificacao = modificacao;
+      log.info("Loaded banned terms dictionary with {} terms", novo.tamanho());
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not load banned terms dictionary, keeping the current one", e);
+    } finally {
+      lockRecarga.unlock();
+    }
+  }
+
+  private static long ultimaModificacao(Resource recurso) {
+    try {
+      return recurso.lastModified();
+    } catch (IOException e) {
+      // Recursos sem data de modificação (dentro do jar) são lidos apenas na inicialização
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.event.TagsTopicoAlteradasEvent;
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.domain.repository.TagRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pelo índice invertido usado no filtro de tópicos por tags, status e curso.
+ *
+ * <p>Cada tag, status e curso tem um bitmap compactado (Roaring) com os IDs dos seus tópicos. Um
+ * filtro com várias tags vira uma interseção (ou união) de bitmaps, seguida da interseção com os
+ * bitmaps de status e curso, sem consultar o banco; somente os tópicos da página são buscados
+ * depois, pela chave. O índice é carregado na inicialização e mantido pelos eventos de alteração
+ * dos tópicos, após a confirmação das transações.
+ *
+ * <p>Os eventos trazem o estado anterior lido dentro da transação, então edições concorrentes do
+ * mesmo tópico podem ser aplicadas fora de ordem. Periodicamente o índice é reconstruído a partir
+ * do banco; os eventos recebidos durante a reconstrução são reaplicados sobre o novo índice antes
+ * da troca.
+ */
+@Service
+@Slf4j
+public class IndiceTopicosService {
+
+  private final TagRepository tagRepository;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private Indice indice = new Indice();
+  private List<Consumer<Indice>> eventosDuranteReconstrucao;
+
+  /**
+   * Cria o serviço de índice.
+   *
+   * @param tagRepository repositório das tags e da carga do índice
+   */
+  public IndiceTopicosService(TagRepository tagRepository) {
+    this.tagRepository = tagRepository;
+  }
+
+  /** Carrega o índice a partir do banco. */
+  @PostConstruct
+  public void carregar() {
+    Indice carregado = reconstruir();
+    log.info(
+        "Loaded topic index with {} tags and {} courses",
+        carregado.porTag.size(),
+        carregado.porCurso.size());
+  }
+
+  /** Reconstrói o índice a partir do banco, corrigindo desvios de eventos fora de ordem. */
+  @Scheduled(
+      initialDelayString = "${forumhub.indice.reconciliacao-ms:600000}",
+      fixedDelayString = "${forumhub.indice.reconciliacao-ms:600000}")
+  public void reconciliar() {
+    try {
+      Indice reconstruido = reconstruir();
+      log.debug("[DEBUG_LOG] Rebuilt topic index with {} tags", reconstruido.porTag.size());
+    } catch (DataAccessException e) {
+      log.warn("Could not rebuild topic index: {}", e.getMessage());
+    }
+  }
+
+  private Indice reconstruir() {
+    lock.lock();
+    try {
+      eventosDuranteReconstrucao = new ArrayList<>();
+    } finally {
+      lock.unlock();
+    }
+
+    // A leitura do banco é feita fora do lock; os eventos recebidos nesse meio tempo são guardados
+    Indice novo = new Indice();
+    try {
+      tagRepository.percorrerTopicos(
+          topico -> {
+            novo.porStatus.get(topico.status()).add(topico.id());
+            novo.porCurso
+                .computeIfAbsent(topico.cursoId(), id -> new RoaringBitmap())
+                .add(topico.id());
+          });
+      tagRepository.percorrerTags(
+          associacao ->
+              novo.porTag
+                  .computeIfAbsent(associacao.tag(), tag -> new RoaringBitmap())
+                  .add(associacao.topicoId()));
+    } catch (RuntimeException e) {
+      lock.lock();
+      try {
+        eventosDuranteReconstrucao = null;
+      } finally {
+        lock.unlock();
+      }
+      throw e;
+    }
+    novo.porTag.values().forEach(RoaringBitmap::runOptimize);
+    novo.porCurso.values().forEach(RoaringBitmap::runOptimize);
+
+    lock.lock();
+    try {
+      eventosDuranteReconstrucao.forEach(evento -> evento.accept(novo));
+      eventosDuranteReconstrucao = null;
+      indice = novo;
+    } finally {
+      lock.unlock();
+    }
+    return novo;
+  }
+
+  /**
+   * Atualiza o status e o curso de um tópico criado, alterado ou excluído.
+   *
+   * @param event o evento de alteração do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusTopicoAlterado(StatusTopicoAlteradoEvent event) {
+    lock.lock();
+    try {
+      indice.aplicar(event);
+      if (eventosDuranteReconstrucao != null) {
+        eventosDuranteReconstrucao.add(reconstruido -> reconstruido.aplicar(event));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Atualiza as tags de um tópico.
+   *
+   * @param event o evento de alteração das tags
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTagsAlteradas(TagsTopicoAlteradasEvent event) {
+    lock.lock();
+    try {
+      indice.aplicar(event);
+      if (eventosDuranteReconstrucao != null) {
+        eventosDuranteReconstrucao.add(reconstruido -> reconstruido.aplicar(event));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Filtra os tópicos por tags, status e curso. Critérios nulos ou vazios não restringem o
+   * resultado.
+   *
+   * @param tags as tags (opcional)
+   * @param todas se o tópico deve ter todas as tags ({@code true}) ou ao menos uma
+   * @param status o status (opcional)
+   * @param cursoId ID do curso (opcional)
+   * @return bitmap com os IDs dos tópicos encontrados
+   */
+  public RoaringBitmap filtrar(
+      Collection<String> tags, boolean todas, Topico.StatusTopico status, Integer cursoId) {
+    lock.lock();
+    try {
+      Map<String, RoaringBitmap> porTag = indice.porTag;
+      List<RoaringBitmap> filtros = new ArrayList<>();
+      if (tags != null && !tags.isEmpty()) {
+        List<RoaringBitmap> porTags = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+          RoaringBitmap bitmap = porTag.get(tag);
+          if (bitmap != null) {
+            porTags.add(bitmap);
+          } else if (todas) {
+            return new RoaringBitmap();
+          }
+        }
+        if (porTags.isEmpty()) {
+          return new RoaringBitmap();
+        }
+        if (todas) {
+          filtros.addAll(porTags);
+        } else {
+          filtros.add(FastAggregation.or(porTags.iterator()));
+        }
+      }
+      if (status != null) {
+        filtros.add(indice.porStatus.get(status));
+      }
+      if (cursoId != null) {
+        filtros.add(indice.porCurso.getOrDefault(cursoId, new RoaringBitmap()));
+      }
+      if (filtros.isEmpty()) {
+        return FastAggregation.or(indice.porStatus.values().iterator());
+      }
+
+      // Começa pelo menor bitmap para que as interseções seguintes sejam baratas
+      filtros.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+      RoaringBitmap resultado = filtros.getFirst().clone();
+      for (int i = 1; i < filtros.size() && !resultado.isEmpty(); i++) {
+        resultado.and(filtros.get(i));
+      }
+      return resultado;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Bitmaps por tag, status e curso. */
+  private static final class Indice {
+
+    private final Map<String, RoaringBitmap> porTag = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> porCurso = new HashMap<>();
+    private final Map<Topico.StatusTopico, RoaringBitmap> porStatus =
+        new EnumMap<>(Topico.StatusTopico.class);
+
+    private Indice() {
+      for (Topico.StatusTopico status : Topico.StatusTopico.values()) {
+        porStatus.put(status, new RoaringBitmap());
+      }
+    }
+
+    private void aplicar(StatusTopicoAlteradoEvent event) {
+      int id = event.topicoId();
+      if (event.anterior() != null) {
+        porStatus.get(event.anterior()).remove(id);
+      }
+      if (event.atual() != null) {
+        porStatus.get(event.atual()).add(id);
+        porCurso.computeIfAbsent(event.cursoId(), cursoId -> new RoaringBitmap()).add(id);
+      } else {
+        remover(porCurso, event.cursoId(), id);
+      }
+    }
+
+    private void aplicar(TagsTopicoAlteradasEvent event) {
+      int id = event.topicoId();
+      for (String tag : event.anteriores()) {
+        remover(porTag, tag, id);
+      }
+      for (String tag : event.atuais()) {
+        porTag.computeIfAbsent(tag, chave -> new RoaringBitmap()).add(id);
+      }
+    }
+  }
+
+  private static <K> void remover(Map<K, RoaringBitmap> indice, K chave, int id) {
+    RoaringBitmap bitmap = indice.get(chave);
+    if (bitmap != null) {
+      bitmap.remove(id);
+      if (bitmap.isEmpty()) {
+        indice.remove(chave);
+      }
+    }
+  }
+}
@@ -0,0 +1,497 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.event.RespostaCriadaEvent;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.repository.LeituraRepository;
+import br.com.alura.forumhub.backend.domain.repository.LeituraRepository.EstadoGravado;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pelo controle de tópicos não lidos por usuário.
+ *
+ * <p>Cada nova resposta recebe uma sequência global de atividade, gravada no tópico. Cada usuário
+ * tem um bitmap compactado (Roaring) com os tópicos lidos e a sequência até a qual esse bitmap foi
+ * sincronizado. Ao acessar o estado de um usuário, os tópicos com atividade posterior são removidos
+ * do bitmap, de modo que uma nova resposta torna o tópico não lido para todos sem percorrer os
+ * usuários. Os não lidos são os tópicos com alguma resposta que não estão no bitmap.
+ *
+ * <p>As atividades recentes ficam em memória para essa sincronização; usuários inativos há mais
+ * tempo consultam os tópicos alterados no banco. Os estados são carregados sob demanda, mantidos
+ * em um cache LRU e gravados em lote periodicamente, na remoção do cache e no encerramento. Um
+ * estado removido do cache só é lido de novo do banco depois que a sua gravação termina, e as
+ * sequências de atividade ainda não gravadas nos tópicos são consultadas em memória.
+ */
+@Service
+@Slf4j
+public class LeituraService {
+
+  private final LeituraRepository leituraRepository;
+  private final int maxUsuariosEmCache;
+  private final int maxAtividadesRecentes;
+
+  private final ReentrantLock lockCache = new ReentrantLock();
+  private final LinkedHashMap<Integer, EstadoLeitura> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private final Set<Integer> despejosPendentes = new HashSet<>();
+  private final Condition despejoConcluido = lockCache.newCondition();
+
+  private final ReentrantLock lockAtividade = new ReentrantLock();
+  private final RoaringBitmap comAtividade = new RoaringBitmap();
+  private final long[] sequenciasRecentes;
+  private final int[] topicosRecentes;
+  private int inicioRecentes;
+  private int quantidadeRecentes;
+  private long sequencia;
+  private final Map<Integer, Long> sequenciasPendentes = new HashMap<>();
+
+  /**
+   * Cria o serviço de leitura.
+   *
+   * @param leituraRepository repositório do estado de leitura
+   * @param env ambiente com os limites de memória ({@code forumhub.leitura.*})
+   */
+  public LeituraService(LeituraRepository leituraRepository, Environment env) {
+    this.leituraRepository = leituraRepository;
+    this.maxUsuariosEmCache =
+        env.getProperty("forumhub.leitura.max-usuarios-cache", Integer.class, 10_000);
+    this.maxAtividadesRecentes =
+        env.getProperty("forumhub.leitura.max-atividades-recentes", Integer.class, 100_000);
+    this.sequenciasRecentes = new long[maxAtividadesRecentes];
+    this.topicosRecentes = new int[maxAtividadesRecentes];
+  }
+
+  /** Carrega a sequência atual e os tópicos com atividade. */
+  @PostConstruct
+  public void carregar() {
+    lockAtividade.lock();
+    try {
+      sequencia = leituraRepository.buscarUltimaSequencia();
+      leituraRepository.percorrerTopicosComAtividade(comAtividade::add);
+      comAtividade.runOptimize();
+      log.info(
+          "Loaded {} topics with activity up to sequence {}",
+          comAtividade.getCardinality(),
+          sequencia);
+    } finally {
+      lockAtividade.unlock();
+    }
+  }
+
+  /**
+   * Registra a atividade de uma nova resposta, após a confirmação da transação.
+   *
+   * @param event o evento de criação da resposta
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRespostaCriada(RespostaCriadaEvent event) {
+    int topicoId = event.resposta().topicoId();
+    long atividade;
+    lockAtividade.lock();
+    try {
+      atividade = ++sequencia;
+      int posicao = (inicioRecentes + quantidadeRecentes) % maxAtividadesRecentes;
+      sequenciasRecentes[posicao] = atividade;
+      topicosRecentes[posicao] = topicoId;
+      if (quantidadeRecentes < maxAtividadesRecentes) {
+        quantidadeRecentes++;
+      } else {
+        inicioRecentes = (inicioRecentes + 1) % maxAtividadesRecentes;
+      }
+      comAtividade.add(topicoId);
+      // Até ser gravada no tópico, a atividade é consultada em memória pela sincronização
+      sequenciasPendentes.merge(topicoId, atividade, Math::max);
+    } finally {
+      lockAtividade.unlock();
+    }
+    gravarSequencia(topicoId, atividade);
+  }
+
+  /**
+   * Remove um tópico excluído dos tópicos com atividade.
+   *
+   * @param event o evento de alteração do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusTopicoAlterado(StatusTopicoAlteradoEvent event) {
+    if (event.atual() != null) {
+      return;
+    }
+    lockAtividade.lock();
+    try {
+      comAtividade.remove(event.topicoId());
+      sequenciasPendentes.remove(event.topicoId());
+    } finally {
+      lockAtividade.unlock();
+    }
+  }
+
+  /**
+   * Marca um tópico como lido por um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @param topicoId ID do tópico
+   */
+  public void marcarLido(Integer usuarioId, Integer topicoId) {
+    comEstado(
+        usuarioId,
+        estado -> {
+          if (estado.lidos.checkedAdd(topicoId)) {
+            estado.sujo = true;
+          }
+          return null;
+        });
+  }
+
+  /**
+   * Retorna os tópicos não lidos por um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @return bitmap com os IDs dos tópicos não lidos
+   */
+  public RoaringBitmap naoLidos(Integer usuarioId) {
+    return comEstado(
+        usuarioId,
+        estado -> {
+          lockAtividade.lock();
+          try {
+            return RoaringBitmap.andNot(comAtividade, estado.lidos);
+          } finally {
+            lockAtividade.unlock();
+          }
+        });
+  }
+
+  /**
+   * Conta os tópicos não lidos por um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @return o número de tópicos não lidos
+   */
+  public long contarNaoLidos(Integer usuarioId) {
+    return comEstado(
+        usuarioId,
+        estado -> {
+          lockAtividade.lock();
+          try {
+            return RoaringBitmap.andNotCardinality(comAtividade, estado.lidos);
+          } finally {
+            lockAtividade.unlock();
+          }
+        });
+  }
+
+  /** Grava os estados alterados que estão em cache e as sequências de atividade pendentes. */
+  @Scheduled(fixedDelayString = "${forumhub.leitura.flush-ms:10000}")
+  public void gravar() {
+    Map<Integer, Long> sequencias;
+    lockAtividade.lock();
+    try {
+      sequencias = new HashMap<>(sequenciasPendentes);
+    } finally {
+      lockAtividade.unlock();
+    }
+    sequencias.forEach(this::gravarSequencia);
+
+    List<EstadoLeitura> estados;
+    lockCache.lock();
+    try {
+      estados = new ArrayList<>(cache.values());
+    } finally {
+      lockCache.unlock();
+    }
+    gravar(estados);
+  }
+
+  /** Grava os estados alterados no encerramento da aplicação. */
+  @PreDestroy
+  public void encerrar() {
+    gravar();
+  }
+
+  private <T> T comEstado(Integer usuarioId, Function<EstadoLeitura, T> acao) {
+    while (true) {
+      EstadoLeitura estado = obter(usuarioId);
+      estado.lock.lock();
+      try {
+        // O estado pode ter sido removido do cache e gravado enquanto aguardava o lock
+        if (estado.removido) {
+          continue;
+        }
+        sincronizar(estado);
+        return acao.apply(estado);
+      } finally {
+        estado.lock.unlock();
+      }
+    }
+  }
+
+  private EstadoLeitura obter(Integer usuarioId) {
+    EstadoLeitura estado;
+    List<EstadoLeitura> removidos = new ArrayList<>();
+    lockCache.lock();
+    try {
+      estado = cache.get(usuarioId);
+      // Antes de a gravação terminar, o banco ainda tem o estado anterior à remoção do cache
+      while (estado == null && despejosPendentes.contains(usuarioId)) {
+        despejoConcluido.awaitUninterruptibly();
+        estado = cache.get(usuarioId);
+      }
+      if (estado != null) {
+        return estado;
+      }
+
+      // O estado entra no cache já bloqueado e é lido do banco fora do lock do cache; quem o
+      // obtiver nesse meio tempo aguarda a leitura no lock do estado
+      estado = new EstadoLeitura(usuarioId);
+      estado.lock.lock();
+      cache.put(usuarioId, estado);
+      Iterator<EstadoLeitura> iterator = cache.values().iterator();
+      while (cache.size() > maxUsuariosEmCache && iterator.hasNext()) {
+        EstadoLeitura antigo = iterator.next();
+        if (antigo != estado) {
+          iterator.remove();
+          despejosPendentes.add(antigo.usuarioId);
+          removidos.add(antigo);
+        }
+      }
+    } finally {
+      lockCache.unlock();
+    }
+
+    try {
+      carregarEstado(estado);
+    } catch (RuntimeException e) {
+      estado.removido = true;
+      lockCache.lock();
+      try {
+        cache.remove(usuarioId, estado);
+      } finally {
+        lockCache.unlock();
+      }
+      throw e;
+    } finally {
+      estado.lock.unlock();
+      despejar(removidos);
+    }
+    return estado;
+  }
+
+  private void carregarEstado(EstadoLeitura estado) {
+    leituraRepository
+        .buscar(estado.usuarioId)
+        .ifPresentOrElse(
+            gravado -> {
+              try {
+                estado.lidos.deserialize(ByteBuffer.wrap(gravado.lidos()));
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+              estado.sincronizadoSeq = gravado.sincronizadoSeq();
+            },
+            () -> estado.sincronizadoSeq = 0);
+  }
+
+  /**
+   * Grava os estados removidos do cache. Depois de marcados como removidos ninguém mais os altera,
+   * então o que é gravado é o estado final; se a gravação falhar, eles voltam ao cache para a
+   * próxima tentativa.
+   */
+  private void despejar(List<EstadoLeitura> removidos) {
+    if (removidos.isEmpty()) {
+      return;
+    }
+    List<EstadoGravado> sujos = new ArrayList<>();
+    for (EstadoLeitura removido : removidos) {
+      removido.lock.lock();
+      try {
+        removido.removido = true;
+        // Uma gravação periódica em andamento pode falhar e deixar o estado sujo de novo
+        while (removido.gravacoesEmAndamento > 0) {
+          removido.gravacaoConcluida.awaitUninterruptibly();
+        }
+        if (removido.sujo) {
+          sujos.add(serializar(removido));
+        }
+      } finally {
+        removido.lock.unlock();
+      }
+    }
+
+    boolean gravado = false;
+    try {
+      leituraRepository.gravar(sujos);
+      gravado = true;
+    } catch (DataAccessException e) {
+      log.warn("Could not flush read state of evicted users: {}", e.getMessage());
+    } finally {
+      lockCache.lock();
+      try {
+        for (EstadoLeitura removido : removidos) {
+          despejosPendentes.remove(removido.usuarioId);
+          if (!gravado && removido.sujo) {
+            EstadoLeitura copia = new EstadoLeitura(removido.usuarioId);
+            copia.lidos.or(removido.lidos);
+            copia.sincronizadoSeq = removido.sincronizadoSeq;
+            copia.sujo = true;
+            cache.putIfAbsent(removido.usuarioId, copia);
+          }
+        }
+        despejoConcluido.signalAll();
+      } finally {
+        lockCache.unlock();
+      }
+    }
+  }
+
+  private void gravarSequencia(Integer topicoId, long atividade) {
+    try {
+      leituraRepository.atualizarSequencia(topicoId, atividade);
+    } catch (DataAccessException e) {
+      // A atividade continua pendente em memória e é gravada no próximo ciclo
+      log.warn("Could not store activity sequence for topic {}: {}", topicoId, e.getMessage());
+      return;
+    }
+    lockAtividade.lock();
+    try {
+      sequenciasPendentes.remove(topicoId, atividade);
+    } finally {
+      lockAtividade.unlock();
+    }
+  }
+
+  /** Remove do bitmap do usuário os tópicos com atividade posterior à sua sincronização. */
+  private void sincronizar(EstadoLeitura estado) {
+    RoaringBitmap alterados = new RoaringBitmap();
+    long atual;
+    boolean recentesSuficientes;
+    lockAtividade.lock();
+    try {
+      atual = sequencia;
+      if (estado.sincronizadoSeq >= atual) {
+        return;
+      }
+      recentesSuficientes =
+          quantidadeRecentes > 0
+              && sequenciasRecentes[inicioRecentes] <= estado.sincronizadoSeq + 1;
+      if (recentesSuficientes) {
+        for (int i = quantidadeRecentes - 1; i >= 0; i--) {
+          int posicao = (inicioRecentes + i) % maxAtividadesRecentes;
+          if (sequenciasRecentes[posicao] <= estado.sincronizadoSeq) {
+            break;
+          }
+          alterados.add(topicosRecentes[posicao]);
+        }
+      } else {
+        // O banco só tem as sequências já gravadas; as demais ainda estão pendentes em memória
+        long sincronizado = estado.sincronizadoSeq;
+        sequenciasPendentes.forEach(
+            (topicoId, pendente) -> {
+              if (pendente > sincronizado) {
+                alterados.add(topicoId);
+              }
+            });
+      }
+    } finally {
+      lockAtividade.unlock();
+    }
+
+    // Um bitmap vazio não tem o que invalidar e dispensa a consulta ao banco
+    if (!recentesSuficientes && !estado.lidos.isEmpty()) {
+      leituraRepository.buscarTopicosAlteradosApos(estado.sincronizadoSeq).forEach(alterados::add);
+    }
+    estado.lidos.andNot(alterados);
+    estado.sincronizadoSeq = atual;
+    estado.sujo = true;
+  }
+
+  private void gravar(List<EstadoLeitura> estados) {
+    List<EstadoGravado> sujos = new ArrayList<>();
+    List<EstadoLeitura> gravados = new ArrayList<>();
+    for (EstadoLeitura estado : estados) {
+      estado.lock.lock();
+      try {
+        // Estados removidos do cache são gravados por quem os removeu
+        if (estado.sujo && !estado.removido) {
+          sujos.add(serializar(estado));
+          estado.sujo = false;
+          estado.gravacoesEmAndamento++;
+          gravados.add(estado);
+        }
+      } finally {
+        estado.lock.unlock();
+      }
+    }
+    if (sujos.isEmpty()) {
+      return;
+    }
+
+    boolean gravado = false;
+    try {
+      leituraRepository.gravar(sujos);
+      gravado = true;
+      log.debug("[DEBUG_LOG] Flushed read state for {} users", sujos.size());
+    } catch (DataAccessException e) {
+      // Os estados continuam em cache e são gravados na próxima tentativa
+      log.warn("Could not flush read state: {}", e.getMessage());
+    } finally {
+      for (EstadoLeitura estado : gravados) {
+        estado.lock.lock();
+        try {
+          if (!gravado) {
+            estado.sujo = true;
+          }
+          if (--estado.gravacoesEmAndamento == 0) {
+            estado.gravacaoConcluida.signalAll();
+          }
+        } finally {
+          estado.lock.unlock();
+        }
+      }
+    }
+  }
+
+  private static EstadoGravado serializar(EstadoLeitura estado) {
+    estado.lidos.runOptimize();
+    ByteBuffer buffer = ByteBuffer.allocate(estado.lidos.serializedSizeInBytes());
+    estado.lidos.serialize(buffer);
+    return new EstadoGravado(estado.usuarioId, estado.sincronizadoSeq, buffer.array());
+  }
+
+  /** Estado de leitura de um usuário em memória. */
+  private static final class EstadoLeitura {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition gravacaoConcluida = lock.newCondition();
+    private final Integer usuarioId;
+    private final RoaringBitmap lidos = new RoaringBitmap();
+    private long sincronizadoSeq;
+    private boolean sujo;
+    private boolean removido;
+    private int gravacoesEmAndamento;
+
+    private EstadoLeitura(Integer usuarioId) {
+      this.usuarioId = usuarioId;
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.NotificacaoDto;
+import br.com.alura.forumhub.backend.domain.dto.NotificacoesDto;
+import br.com.alura.forumhub.backend.domain.dto.RespostaDto;
+import br.com.alura.forumhub.backend.domain.event.RespostaCriadaEvent;
+import br.com.alura.forumhub.backend.domain.event.SolucaoMarcadaEvent;
+import br.com.alura.forumhub.backend.domain.repository.CursoRepository;
+import br.com.alura.forumhub.backend.domain.repository.NotificacaoRepository;
+import br.com.alura.forumhub.backend.domain.repository.NotificacaoRepository.Alvo;
+import br.com.alura.forumhub.backend.domain.repository.NotificacaoRepository.Origem;
+import br.com.alura.forumhub.backend.domain.repository.TopicoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pelas assinaturas de tópicos e cursos e pela caixa de notificações.
+ *
+ * <p>A criação de uma resposta ou a marcação de uma solução apenas enfileira a notificação, após
+ * a confirmação da transação; a distribuição para os assinantes roda fora da requisição, lendo os
+ * assinantes em lotes por ordem de ID e inserindo uma linha por destinatário em comandos em lote.
+ * A chave única da caixa de entrada torna a distribuição idempotente, de modo que um evento que
+ * falhou no meio pode ser reprocessado. Eventos ainda na fila se perdem se o processo for
+ * interrompido abruptamente.
+ *
+ * <p>Novas respostas notificam os assinantes do tópico e do curso e o autor do tópico, exceto o
+ * autor da resposta. Soluções notificam os assinantes e o autor da resposta, exceto o autor do
+ * tópico, que é quem aceita a solução.
+ */
+@Service
+@Slf4j
+public class NotificacaoService {
+
+  private static final String NOVA_RESPOSTA = "NOVA_RESPOSTA";
+  private static final String SOLUCAO = "SOLUCAO";
+  private static final int LIMITE_MAXIMO = 100;
+
+  private final NotificacaoRepository notificacaoRepository;
+  private final TopicoRepository topicoRepository;
+  private final CursoRepository cursoRepository;
+  private final int tamanhoLote;
+  private final BlockingQueue<Distribuicao> pendentes;
+  private final ReentrantLock lockDistribuicao = new ReentrantLock();
+
+  /**
+   * Cria o serviço de notificações.
+   *
+   * @param notificacaoRepository repositório das assinaturas e notificações
+   * @param topicoRepository repositório de tópicos
+   * @param cursoRepository repositório de cursos
+   * @param env ambiente com os limites da distribuição ({@code forumhub.notificacoes.*})
+   */
+  public NotificacaoService(
+      NotificacaoRepository notificacaoRepository,
+      TopicoRepository topicoRepository,
+      CursoRepository cursoRepository,
+      Environment env) {
+    this.notificacaoRepository = notificacaoRepository;
+    this.topicoRepository = topicoRepository;
+    this.cursoRepository = cursoRepository;
+    this.tamanhoLote = env.getProperty("forumhub.notificacoes.tamanho-lote", Integer.class, 1000);
+    this.pendentes =
+        new LinkedBlockingQueue<>(
+            env.getProperty("forumhub.notificacoes.max-pendentes", Integer.class, 10_000));
+  }
+
+  /**
+   * Assina um tópico ou curso. Assinar de novo não tem efeito.
+   *
+   * @param alvo o tipo do alvo
+   * @param alvoId ID do tópico ou curso
+   * @param usuarioId ID do usuário
+   * @throws EntityNotFoundException se o tópico ou curso não for encontrado
+   */
+  public void assinar(Alvo alvo, Integer alvoId, Integer usuarioId) {
+    boolean existe =
+        alvo == Alvo.TOPICO
+            ? topicoRepository.existsById(alvoId)
+            : cursoRepository.existsById(alvoId);
+    if (!existe) {
+      throw new EntityNotFoundException(
+          (alvo == Alvo.TOPICO ? "Tópico" : "Curso") + " não encontrado com o ID: " + alvoId);
+    }
+    notificacaoRepository.assinar(alvo, alvoId, usuarioId, LocalDateTime.now());
+  }
+
+  /**
+   * Cancela a assinatura de um tópico ou curso, se existir.
+   *
+   * @param alvo o tipo do alvo
+   * @param alvoId ID do tópico ou curso
+   * @param usuarioId ID do usuário
+   */
+  public void cancelarAssinatura(Alvo alvo, Integer alvoId, Integer usuarioId) {
+    notificacaoRepository.cancelarAssinatura(alvo, alvoId, usuarioId);
+  }
+
+  /**
+   * Lista as notificações de um usuário anteriores a um cursor, da mais recente para a mais
+   * antiga.
+   *
+   * @param usuarioId ID do usuário
+   * @param cursor ID da última notificação já recebida (null para começar da mais recente)
+   * @param limite o número máximo de notificações
+   * @return página de notificações com o próximo cursor
+   */
+  public NotificacoesDto listar(Integer usuarioId, Long cursor, int limite) {
+    int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO);
+    long antesDe = cursor != null ? cursor : Long.MAX_VALUE;
+
+    // Um item a mais indica se há outra página, sem uma contagem
+    List<NotificacaoDto> notificacoes =
+        notificacaoRepository.listar(usuarioId, antesDe, tamanho + 1);
+    boolean temMais = notificacoes.size() > tamanho;
+    if (temMais) {
+      notificacoes = notificacoes.subList(0, tamanho);
+    }
+    Long proximo = notificacoes.isEmpty() ? cursor : notificacoes.getLast().id();
+    return new NotificacoesDto(notificacoes, proximo, temMais);
+  }
+
+  /**
+   * Enfileira as notificações de uma nova resposta, após a confirmação da transação.
+   *
+   * @param event o evento de criação da resposta
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRespostaCriada(RespostaCriadaEvent event) {
+    RespostaDto resposta = event.resposta();
+    enfileirar(
+        new Distribuicao(
+            resposta.id(), Boolean.TRUE.equals(resposta.solucao()) ? SOLUCAO : NOVA_RESPOSTA));
+  }
+
+  /**
+   * Enfileira as notificações de uma solução, após a confirmação da transação.
+   *
+   * @param event o evento de marcação da solução
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSolucaoMarcada(SolucaoMarcadaEvent event) {
+    enfileirar(new Distribuicao(event.resposta().id(), SOLUCAO));
+  }
+
+  /** Distribui as notificações enfileiradas para as caixas de entrada dos destinatários. */
+  @Scheduled(fixedDelayString = "${forumhub.notificacoes.distribuicao-ms:500}")
+  public void distribuir() {
+    lockDistribuicao.lock();
+    try {
+      Distribuicao distribuicao;
+      while ((distribuicao = pendentes.poll()) != null) {
+        try {
+          distribuir(distribuicao);
+        } catch (DataAccessException e) {
+          // A distribuição é idempotente; o evento volta para a fila e é refeito na próxima rodada
+          log.warn("Could not fan out notification: {}", e.getMessage());
+          enfileirar(distribuicao);
+          return;
+        }
+      }
+    } finally {
+      lockDistribuicao.unlock();
+    }
+  }
+
+  /** Distribui as notificações pendentes no encerramento da aplicação. */
+  @PreDestroy
+  public void encerrar() {
+    distribuir();
+  }
+
+  private void enfileirar(Distribuicao distribuicao) {
+    if (!pendentes.offer(distribuicao)) {
+      log.warn(
+          "Notification queue is full, dropping {} for answer {}",
+          distribuicao.tipo(),
+          distribuicao.respostaId());
+    }
+  }
+
+  private void distribuir(Distribuicao distribuicao) {
+    Optional<Origem> encontrada = notificacaoRepository.buscarOrigem(distribuicao.respostaId());
+    if (encontrada.isEmpty()) {
+      // A resposta foi excluída antes da distribuição
+      return;
+    }
+    Origem origem = encontrada.get();
+    boolean solucao = SOLUCAO.equals(distribuicao.tipo());
+    int excluido = solucao ? origem.topicoAutorId() : origem.respostaAutorId();
+    int autor = solucao ? origem.respostaAutorId() : origem.topicoAutorId();
+    LocalDateTime agora = LocalDateTime.now();
+
+    int destinatarios =
+        distribuirAssinantes(Alvo.TOPICO, origem.topicoId(), excluido, distribuicao, origem, agora)
+            + distribuirAssinantes(
+                Alvo.CURSO, origem.cursoId(), excluido, distribuicao, origem, agora);
+    if (autor != excluido) {
+      notificacaoRepository.inserir(
+          List.of(autor), distribuicao.tipo(), origem.topicoId(), distribuicao.respostaId(), agora);
+      destinatarios++;
+    }
+    log.debug(
+        "[DEBUG_LOG] Fanned out {} for answer {} to {} recipients",
+        distribuicao.tipo(),
+        distribuicao.respostaId(),
+        destinatarios);
+  }
+
+  private int distribuirAssinantes(
+      Alvo alvo,
+      int alvoId,
+      int excluido,
+      Distribuicao distribuicao,
+      Origem origem,
+      LocalDateTime agora) {
+    int total = 0;
+    int ultimo = 0;
+    while (true) {
+      List<Integer> assinantes =
+          notificacaoRepository.listarAssinantes(alvo, alvoId, ultimo, tamanhoLote);
+      if (assinantes.isEmpty()) {
+        return total;
+      }
+      ultimo = assinantes.getLast();
+
+      List<Integer> destinatarios = assinantes.stream().filter(id -> id != excluido).toList();
+      notificacaoRepository.inserir(
+          destinatarios, distribuicao.tipo(), origem.topicoId(), distribuicao.respostaId(), agora);
+      total += destinatarios.size();
+      if (assinantes.size() < tamanhoLote) {
+        return total;
+      }
+    }
+  }
+
+  /**
+   * Notificação aguardando distribuição.
+   *
+   * @param respostaId ID da resposta
+   * @param tipo tipo da notificação
+   */
+  private record Distribuicao(Integer respostaId, String tipo) {}
+}
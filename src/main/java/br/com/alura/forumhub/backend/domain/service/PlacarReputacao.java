@@ -0,0 +1,118 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Placar de reputação de um escopo (global ou de um curso). Guarda os contadores de todos os
+ * usuários do escopo e mantém ordenados apenas os {@code capacidade} primeiros, de modo que uma
+ * atualização custa O(log capacidade). Somente quando um usuário do topo perde pontos e pode ter
+ * sido ultrapassado por alguém de fora o topo é reconstruído a partir dos contadores.
+ */
+class PlacarReputacao {
+
+  private static final Comparator<Entrada> ORDEM =
+      Comparator.comparingLong(Entrada::pontos).reversed().thenComparing(Entrada::usuarioId);
+
+  private final int capacidade;
+  private final long pontosResposta;
+  private final long pontosSolucao;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Integer, Entrada> entradas = new HashMap<>();
+  private final TreeSet<Entrada> topo = new TreeSet<>(ORDEM);
+
+  PlacarReputacao(int capacidade, long pontosResposta, long pontosSolucao) {
+    this.capacidade = capacidade;
+    this.pontosResposta = pontosResposta;
+    this.pontosSolucao = pontosSolucao;
+  }
+
+  /**
+   * Soma variações aos contadores de um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @param respostas variação no número de respostas
+   * @param solucoes variação no número de soluções
+   */
+  void aplicar(Integer usuarioId, long respostas, long solucoes) {
+    lock.lock();
+    try {
+      Entrada anterior = entradas.get(usuarioId);
+      boolean estavaNoTopo = anterior != null && topo.remove(anterior);
+
+      long totalRespostas = (anterior != null ? anterior.respostas() : 0) + respostas;
+      long totalSolucoes = (anterior != null ? anterior.solucoes() : 0) + solucoes;
+      if (totalRespostas <= 0 && totalSolucoes <= 0) {
+        entradas.remove(usuarioId);
+      } else {
+        Entrada nova =
+            new Entrada(
+                usuarioId,
+                totalRespostas,
+                totalSolucoes,
+                totalRespostas * pontosResposta + totalSolucoes * pontosSolucao);
+        entradas.put(usuarioId, nova);
+        oferecer(nova);
+      }
+
+      boolean perdeuPontos =
+          estavaNoTopo && (respostas * pontosResposta + solucoes * pontosSolucao) < 0;
+      if (perdeuPontos && entradas.size() > topo.size()) {
+        reconstruir();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Lista os primeiros colocados.
+   *
+   * @param limite número máximo de entradas
+   * @return as entradas em ordem decrescente de pontos
+   */
+  List<Entrada> listar(int limite) {
+    lock.lock();
+    try {
+      List<Entrada> resultado = new ArrayList<>(Math.min(limite, topo.size()));
+      for (Entrada entrada : topo) {
+        if (resultado.size() == limite) {
+          break;
+        }
+        resultado.add(entrada);
+      }
+      return resultado;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void oferecer(Entrada entrada) {
+    if (topo.size() < capacidade) {
+      topo.add(entrada);
+    } else if (ORDEM.compare(entrada, topo.last()) < 0) {
+      topo.pollLast();
+      topo.add(entrada);
+    }
+  }
+
+  private void reconstruir() {
+    topo.clear();
+    entradas.values().forEach(this::oferecer);
+  }
+
+  /**
+   * Contadores de um usuário.
+   *
+   * @param usuarioId ID do usuário
+   * @param respostas número de respostas
+   * @param solucoes número de soluções
+   * @param pontos pontos de reputação
+   */
+  record Entrada(Integer usuarioId, long respostas, long solucoes, long pontos) {}
+}
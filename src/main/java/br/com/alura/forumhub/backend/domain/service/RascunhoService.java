@@ -0,0 +1,263 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto;
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto.TipoRascunho;
+import br.com.alura.forumhub.backend.domain.repository.RascunhoRepository;
+import br.com.alura.forumhub.backend.domain.repository.RascunhoRepository.RascunhoUsuario;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pelos rascunhos salvos automaticamente pelo editor, com escrita adiada
+ * (write-behind).
+ *
+ * <p>Cada salvamento só troca o último rascunho do usuário para o alvo em memória. Uma tarefa
+ * agendada grava em lote os rascunhos alterados cuja última gravação tenha sido há mais de
+ * {@code forumhub.rascunhos.intervalo-gravacao-ms}, de modo que um rascunho gera no máximo uma
+ * escrita por intervalo, qualquer que seja a frequência dos salvamentos; os pendentes também são
+ * gravados no encerramento da aplicação. Rascunhos já gravados e sem uso recente saem da memória,
+ * e a leitura de um rascunho que não está em memória vai ao banco.
+ *
+ * <p>O número de rascunhos em memória é limitado; acima do limite, salvamentos de novos rascunhos
+ * são recusados até que as próximas gravações liberem espaço. Se o lote falhar, os rascunhos são
+ * gravados um a um e os recusados pelo banco, como os de usuários já excluídos, são descartados.
+ * Salvamentos ainda não gravados se perdem se o processo terminar sem um encerramento normal.
+ */
+@Service
+@Slf4j
+public class RascunhoService {
+
+  private final RascunhoRepository rascunhoRepository;
+  private final int maxRascunhos;
+  private final long intervaloGravacaoMs;
+  private final long expiracaoMs;
+
+  private final Map<Chave, Entrada> rascunhos = new ConcurrentHashMap<>();
+  private final ReentrantLock lockGravacao = new ReentrantLock();
+
+  /**
+   * Cria o serviço de rascunhos.
+   *
+   * @param rascunhoRepository repositório dos rascunhos
+   * @param env ambiente com os parâmetros dos rascunhos ({@code forumhub.rascunhos.*})
+   */
+  public RascunhoService(RascunhoRepository rascunhoRepository, Environment env) {
+    this.rascunhoRepository = rascunhoRepository;
+    this.maxRascunhos = env.getProperty("forumhub.rascunhos.max-pendentes", Integer.class, 50_000);
+    this.intervaloGravacaoMs =
+        env.getProperty("forumhub.rascunhos.intervalo-gravacao-ms", Long.class, 60_000L);
+    this.expiracaoMs = env.getProperty("forumhub.rascunhos.expiracao-ms", Long.class, 600_000L);
+  }
+
+  /**
+   * Salva o rascunho de um usuário para um alvo, substituindo o anterior.
+   *
+   * @param usuarioId ID do usuário
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do alvo
+   * @param titulo título do tópico (opcional)
+   * @param mensagem a mensagem
+   * @throws RascunhosCheiosException se o limite de rascunhos em memória for atingido
+   */
+  public void salvar(int usuarioId, TipoRascunho tipo, int alvoId, String titulo, String mensagem) {
+    Chave chave = new Chave(usuarioId, tipo, alvoId);
+    RascunhoDto rascunho = new RascunhoDto(tipo, alvoId, titulo, mensagem, LocalDateTime.now());
+    long agora = System.currentTimeMillis();
+    while (true) {
+      Entrada entrada = rascunhos.get(chave);
+      if (entrada == null) {
+        if (rascunhos.size() >= maxRascunhos) {
+          throw new RascunhosCheiosException("Limite de rascunhos em memória atingido");
+        }
+        entrada = rascunhos.computeIfAbsent(chave, c -> new Entrada());
+      }
+      // Uma entrada removida da memória no meio do salvamento é recriada
+      if (entrada.atualizar(rascunho, agora)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Busca o rascunho de um usuário para um alvo, em memória ou no banco.
+   *
+   * @param usuarioId ID do usuário
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do alvo
+   * @return o rascunho, se existir
+   */
+  public Optional<RascunhoDto> buscar(int usuarioId, TipoRascunho tipo, int alvoId) {
+    Entrada entrada = rascunhos.get(new Chave(usuarioId, tipo, alvoId));
+    RascunhoDto rascunho = entrada != null ? entrada.ler(System.currentTimeMillis()) : null;
+    if (rascunho != null) {
+      return Optional.of(rascunho);
+    }
+    return rascunhoRepository.buscar(usuarioId, tipo, alvoId);
+  }
+
+  /**
+   * Descarta o rascunho de um usuário para um alvo, por exemplo depois da publicação.
+   *
+   * @param usuarioId ID do usuário
+   * @param tipo o tipo do rascunho
+   * @param alvoId ID do alvo
+   */
+  public void excluir(int usuarioId, TipoRascunho tipo, int alvoId) {
+    // Com o lock, uma gravação em andamento não regrava o rascunho depois da exclusão
+    lockGravacao.lock();
+    try {
+      Entrada entrada = rascunhos.remove(new Chave(usuarioId, tipo, alvoId));
+      if (entrada != null) {
+        entrada.remover();
+      }
+      rascunhoRepository.excluir(usuarioId, tipo, alvoId);
+    } finally {
+      lockGravacao.unlock();
+    }
+  }
+
+  /** Grava em lote os rascunhos alterados e libera os que não são usados há algum tempo. */
+  @Scheduled(fixedDelayString = "${forumhub.rascunhos.verificacao-ms:5000}")
+  public void gravar() {
+    gravar(false);
+  }
+
+  /** Grava os rascunhos pendentes no encerramento da aplicação. */
+  @PreDestroy
+  public void encerrar() {
+    gravar(true);
+  }
+
+  private void gravar(boolean todos) {
+    lockGravacao.lock();
+    try {
+      long agora = System.currentTimeMillis();
+      // Com o limite atingido, todos os rascunhos já gravados saem da memória
+      boolean cheio = rascunhos.size() >= maxRascunhos;
+      List<RascunhoUsuario> lote = new ArrayList<>();
+      List<Chave> chaves = new ArrayList<>();
+      List<Entrada> entradas = new ArrayList<>();
+      List<Long> versoes = new ArrayList<>();
+      rascunhos.forEach(
+          (chave, entrada) -> {
+            synchronized (entrada) {
+              if (entrada.versao > entrada.versaoGravada
+                  && (todos || agora - entrada.ultimaGravacao >= intervaloGravacaoMs)) {
+                lote.add(new RascunhoUsuario(chave.usuarioId(), entrada.rascunho));
+                chaves.add(chave);
+                entradas.add(entrada);
+                versoes.add(entrada.versao);
+              } else if (entrada.versao == entrada.versaoGravada
+                  && (cheio || agora - entrada.ultimoAcesso >= expiracaoMs)) {
+                entrada.removida = true;
+                rascunhos.remove(chave, entrada);
+              }
+            }
+          });
+
+      if (lote.isEmpty()) {
+        return;
+      }
+
+      try {
+        rascunhoRepository.gravar(lote);
+        for (int i = 0; i < entradas.size(); i++) {
+          entradas.get(i).marcarGravada(versoes.get(i), agora);
+        }
+        log.debug("[DEBUG_LOG] Flushed {} drafts", lote.size());
+      } catch (DataAccessException e) {
+        log.warn("Could not flush drafts in batch, retrying one by one: {}", e.getMessage());
+        gravarIndividualmente(lote, chaves, entradas, versoes, agora);
+      }
+    } finally {
+      lockGravacao.unlock();
+    }
+  }
+
+  /**
+   * Grava os rascunhos de um lote que falhou um a um, para que uma linha inválida não impeça a
+   * gravação das demais. Rascunhos recusados pelo banco, como os de usuários excluídos (a chave
+   * estrangeira falha), são descartados; não seriam gravados em nenhuma tentativa e ocupariam a
+   * memória até o limite. Em outras falhas, como o banco indisponível, a gravação para e os
+   * rascunhos restantes continuam pendentes.
+   */
+  private void gravarIndividualmente(
+      List<RascunhoUsuario> lote,
+      List<Chave> chaves,
+      List<Entrada> entradas,
+      List<Long> versoes,
+      long agora) {
+    for (int i = 0; i < lote.size(); i++) {
+      Entrada entrada = entradas.get(i);
+      try {
+        rascunhoRepository.gravar(lote.get(i));
+        entrada.marcarGravada(versoes.get(i), agora);
+      } catch (DataIntegrityViolationException e) {
+        log.warn("Discarding draft {} rejected by the database: {}", chaves.get(i), e.getMessage());
+        synchronized (entrada) {
+          // Um salvamento posterior é mantido e tentado na próxima gravação
+          if (entrada.versao == versoes.get(i)) {
+            entrada.removida = true;
+            rascunhos.remove(chaves.get(i), entrada);
+          }
+        }
+      } catch (DataAccessException e) {
+        // Os rascunhos restantes continuam pendentes para a próxima tentativa
+        log.warn("Could not flush drafts: {}", e.getMessage());
+        return;
+      }
+    }
+  }
+
+  private record Chave(int usuarioId, TipoRascunho tipo, int alvoId) {}
+
+  /** Último rascunho de um alvo e as versões salva e gravada. */
+  private static final class Entrada {
+
+    private RascunhoDto rascunho;
+    private long versao;
+    private long versaoGravada;
+    private long ultimaGravacao;
+    private long ultimoAcesso;
+    private boolean removida;
+
+    synchronized boolean atualizar(RascunhoDto novo, long agora) {
+      if (removida) {
+        return false;
+      }
+      rascunho = novo;
+      versao++;
+      ultimoAcesso = agora;
+      return true;
+    }
+
+    synchronized RascunhoDto ler(long agora) {
+      if (removida) {
+        return null;
+      }
+      ultimoAcesso = agora;
+      return rascunho;
+    }
+
+    synchronized void marcarGravada(long versao, long agora) {
+      versaoGravada = Math.max(versaoGravada, versao);
+      ultimaGravacao = agora;
+    }
+
+    synchronized void remover() {
+      removida = true;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+/** Exception thrown when the draft buffer cannot accept drafts for more users or targets. */
+public class RascunhosCheiosException extends IllegalStateException {
+
+  public RascunhosCheiosException(String message) {
+    super(message);
+  }
+}
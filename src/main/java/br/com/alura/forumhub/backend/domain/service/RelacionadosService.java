@@ -0,0 +1,205 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoRelacionadoDto;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.event.TopicoCriadoEvent;
+import br.com.alura.forumhub.backend.domain.repository.TextoTopicoRepository;
+import br.com.alura.forumhub.backend.infra.texto.IndiceTfIdf;
+import br.com.alura.forumhub.backend.infra.texto.Tokenizador;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pelos tópicos relacionados exibidos no detalhe de um tópico.
+ *
+ * <p>Uma tarefa em segundo plano lê os textos dos tópicos em streaming, monta vetores TF-IDF
+ * esparsos e calcula os vizinhos mais similares (cosseno) de cada tópico em paralelo, em um pool
+ * fork-join. O resultado fica em memória em arrays primitivos, com um número fixo de vizinhos por
+ * tópico, e a consulta do detalhe é uma busca pela chave, sem acesso ao banco.
+ *
+ * <p>Tópicos criados entre dois recálculos recebem os seus vizinhos na hora, contra o vocabulário
+ * do último cálculo; eles só passam a aparecer como vizinhos de outros tópicos no recálculo
+ * seguinte. Tópicos excluídos deixam de ser exibidos imediatamente.
+ *
+ * <p>A consulta não usa lock: o cálculo, os vizinhos dos tópicos novos e o conjunto de excluídos
+ * são publicados como instantâneos imutáveis ou em mapas concorrentes. O lock só ordena as
+ * atualizações entre si.
+ */
+@Service
+@Slf4j
+public class RelacionadosService {
+
+  private static final int TAMANHO_MINIMO_TOKEN = 3;
+
+  private final TextoTopicoRepository textoTopicoRepository;
+  private final int quantidade;
+  private final double fracaoMaximaDocumentos;
+  private final int termosPorConsulta;
+  private final int paralelismo;
+
+  private volatile Calculo calculo;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Integer, List<TopicoRelacionadoDto>> novos = new ConcurrentHashMap<>();
+
+  /** Tópicos excluídos; cada exclusão publica uma cópia, que nunca é alterada depois. */
+  private volatile RoaringBitmap excluidos = new RoaringBitmap();
+
+  /**
+   * Cria o serviço de tópicos relacionados.
+   *
+   * @param textoTopicoRepository repositório dos textos dos tópicos
+   * @param env ambiente com os parâmetros do cálculo ({@code forumhub.relacionados.*})
+   */
+  public RelacionadosService(TextoTopicoRepository textoTopicoRepository, Environment env) {
+    this.textoTopicoRepository = textoTopicoRepository;
+    this.quantidade = env.getProperty("forumhub.relacionados.quantidade", Integer.class, 5);
+    this.fracaoMaximaDocumentos =
+        env.getProperty("forumhub.relacionados.fracao-maxima-documentos", Double.class, 0.2);
+    this.termosPorConsulta =
+        env.getProperty("forumhub.relacionados.termos-por-consulta", Integer.class, 32);
+    this.paralelismo =
+        env.getProperty(
+            "forumhub.relacionados.paralelismo",
+            Integer.class,
+            Runtime.getRuntime().availableProcessors());
+    IndiceTfIdf vazio = new IndiceTfIdf.Construtor().construir(fracaoMaximaDocumentos, 1);
+    this.calculo = new Calculo(vazio, new int[0]);
+  }
+
+  /** Recalcula os vizinhos de todos os tópicos, na inicialização e periodicamente. */
+  @Scheduled(
+      initialDelayString = "${forumhub.relacionados.atraso-inicial-ms:0}",
+      fixedDelayString = "${forumhub.relacionados.recalculo-ms:21600000}")
+  public void recalcular() {
+    long inicio = System.nanoTime();
+    IndiceTfIdf.Construtor construtor = new IndiceTfIdf.Construtor();
+    textoTopicoRepository.percorrer(
+        topico ->
+            construtor.adicionar(
+                topico.id(),
+                topico.titulo(),
+                Tokenizador.tokens(
+                    topico.titulo() + " " + topico.mensagem(), TAMANHO_MINIMO_TOKEN)));
+    IndiceTfIdf indice = construtor.construir(fracaoMaximaDocumentos, termosPorConsulta);
+
+    int[] vizinhos;
+    try (ForkJoinPool pool = new ForkJoinPool(paralelismo)) {
+      vizinhos = indice.calcularVizinhos(quantidade, pool);
+    }
+
+    lock.lock();
+    try {
+      calculo = new Calculo(indice, vizinhos);
+      // Tópicos criados durante o cálculo e que ficaram de fora dele continuam nos novos
+      novos.keySet().removeIf(id -> indice.posicao(id) >= 0);
+    } finally {
+      lock.unlock();
+    }
+    log.info(
+        "Computed related topics for {} topics in {} ms",
+        indice.tamanho(),
+        (System.nanoTime() - inicio) / 1_000_000);
+  }
+
+  /**
+   * Busca os tópicos relacionados a um tópico.
+   *
+   * @param topicoId ID do tópico
+   * @return os tópicos relacionados, do mais para o menos similar
+   */
+  public List<TopicoRelacionadoDto> buscar(Integer topicoId) {
+    Calculo atual = calculo;
+    RoaringBitmap removidos = excluidos;
+    int posicao = atual.indice().posicao(topicoId);
+    List<TopicoRelacionadoDto> relacionados = new ArrayList<>(quantidade);
+    if (posicao >= 0) {
+      for (int i = posicao * quantidade; i < (posicao + 1) * quantidade; i++) {
+        int vizinho = atual.vizinhos()[i];
+        if (vizinho < 0) {
+          break;
+        }
+        relacionados.add(relacionado(atual.indice(), vizinho));
+      }
+    } else {
+      relacionados.addAll(novos.getOrDefault(topicoId, List.of()));
+    }
+    relacionados.removeIf(relacionado -> removidos.contains(relacionado.id()));
+    return relacionados;
+  }
+
+  /**
+   * Calcula os vizinhos de um tópico criado, após a confirmação da transação. A pontuação usa um
+   * acumulador próprio e roda fora do lock, sem bloquear as consultas nem as demais criações.
+   *
+   * @param event o evento de criação do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTopicoCriado(TopicoCriadoEvent event) {
+    TopicoDto topico = event.topico();
+    List<String> tokens =
+        Tokenizador.tokens(topico.titulo() + " " + topico.mensagem(), TAMANHO_MINIMO_TOKEN);
+    Calculo base = calculo;
+    IndiceTfIdf indice = base.indice();
+    int[] vizinhos = indice.vizinhos(tokens, quantidade, indice.criarAcumulador());
+    List<TopicoRelacionadoDto> relacionados = new ArrayList<>(vizinhos.length);
+    for (int vizinho : vizinhos) {
+      relacionados.add(relacionado(indice, vizinho));
+    }
+
+    lock.lock();
+    try {
+      // Um recálculo concluído nesse meio-tempo já pode incluir o tópico, e uma exclusão
+      // confirmada antes dispensa os vizinhos
+      if (calculo.indice().posicao(topico.id()) < 0 && !excluidos.contains(topico.id())) {
+        novos.put(topico.id(), List.copyOf(relacionados));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Deixa de exibir um tópico excluído.
+   *
+   * @param event o evento de alteração do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusTopicoAlterado(StatusTopicoAlteradoEvent event) {
+    if (event.atual() != null) {
+      return;
+    }
+    lock.lock();
+    try {
+      // IDs não são reaproveitados, então o tópico pode ficar no conjunto mesmo após o recálculo
+      RoaringBitmap copia = excluidos.clone();
+      copia.add(event.topicoId());
+      excluidos = copia;
+      novos.remove(event.topicoId());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static TopicoRelacionadoDto relacionado(IndiceTfIdf indice, int posicao) {
+    return new TopicoRelacionadoDto(indice.id(posicao), indice.titulo(posicao));
+  }
+
+  /**
+   * Resultado de um cálculo completo.
+   *
+   * @param indice o índice TF-IDF
+   * @param vizinhos as posições dos vizinhos, em blocos de tamanho fixo por tópico
+   */
+  private record Calculo(IndiceTfIdf indice, int[] vizinhos) {}
+}
@@ -0,0 +1,103 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.repository.RenderizacaoRepository;
+import br.com.alura.forumhub.backend.domain.repository.RenderizacaoRepository.Mensagem;
+import br.com.alura.forumhub.backend.domain.repository.RenderizacaoRepository.Tabela;
+import br.com.alura.forumhub.backend.infra.texto.RenderizadorMarkdown;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável por rerenderizar em segundo plano as mensagens gravadas antes da versão
+ * atual do {@link RenderizadorMarkdown}.
+ *
+ * <p>As mensagens são renderizadas na escrita; esta tarefa só encontra trabalho depois de uma
+ * atualização do renderizador ou da migração que criou a coluna. Ela percorre as tabelas em lotes
+ * por ordem de ID, com uma pausa entre os lotes, e a cada execução continua de onde a anterior
+ * parou. Até lá, a leitura devolve o HTML da versão anterior; só mensagens ainda sem HTML são
+ * renderizadas na leitura, sem gravá-las.
+ */
+@Service
+@Slf4j
+public class RenderizacaoService {
+
+  private final RenderizacaoRepository renderizacaoRepository;
+  private final int tamanhoLote;
+  private final int lotesPorExecucao;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Tabela, Integer> ultimoId = new HashMap<>();
+  private final Map<Tabela, Boolean> concluida = new HashMap<>();
+
+  /**
+   * Cria o serviço de renderização.
+   *
+   * @param renderizacaoRepository repositório do HTML renderizado
+   * @param env ambiente com os parâmetros da tarefa ({@code forumhub.renderizacao.*})
+   */
+  public RenderizacaoService(RenderizacaoRepository renderizacaoRepository, Environment env) {
+    this.renderizacaoRepository = renderizacaoRepository;
+    this.tamanhoLote = env.getProperty("forumhub.renderizacao.tamanho-lote", Integer.class, 200);
+    this.lotesPorExecucao =
+        env.getProperty("forumhub.renderizacao.lotes-por-execucao", Integer.class, 10);
+    for (Tabela tabela : Tabela.values()) {
+      ultimoId.put(tabela, 0);
+      concluida.put(tabela, false);
+    }
+  }
+
+  /** Rerenderiza alguns lotes de mensagens desatualizadas. */
+  @Scheduled(
+      initialDelayString = "${forumhub.renderizacao.atraso-inicial-ms:10000}",
+      fixedDelayString = "${forumhub.renderizacao.intervalo-ms:1000}")
+  public void rerenderizar() {
+    if (!lock.tryLock()) {
+      return;
+    }
+    try {
+      for (Tabela tabela : Tabela.values()) {
+        if (!concluida.get(tabela)) {
+          rerenderizar(tabela);
+        }
+      }
+    } catch (DataAccessException e) {
+      // A posição é mantida e a próxima execução tenta o mesmo lote
+      log.warn("Could not re-render messages: {}", e.getMessage());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void rerenderizar(Tabela tabela) {
+    for (int lote = 0; lote < lotesPorExecucao; lote++) {
+      List<Mensagem> mensagens =
+          renderizacaoRepository.listarDesatualizadas(
+              tabela, RenderizadorMarkdown.VERSAO, ultimoId.get(tabela), tamanhoLote);
+      if (mensagens.isEmpty()) {
+        // Mensagens novas já são gravadas com a versão atual; a varredura não precisa recomeçar
+        concluida.put(tabela, true);
+        log.info("Finished re-rendering {} messages up to ID {}", tabela, ultimoId.get(tabela));
+        return;
+      }
+
+      Map<Integer, String> htmls = new HashMap<>();
+      for (Mensagem mensagem : mensagens) {
+        htmls.put(mensagem.id(), RenderizadorMarkdown.renderizar(mensagem.mensagem()));
+      }
+      renderizacaoRepository.atualizar(tabela, RenderizadorMarkdown.VERSAO, htmls);
+      ultimoId.put(tabela, mensagens.getLast().id());
+      log.debug(
+          "[DEBUG_LOG] Re-rendered {} {} messages up to ID {}",
+          mensagens.size(),
+          tabela,
+          mensagens.getLast().id());
+    }
+  }
+}
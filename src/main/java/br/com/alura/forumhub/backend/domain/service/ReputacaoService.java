@@ -0,0 +1,166 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.RankingUsuarioDto;
+import br.com.alura.forumhub.backend.domain.dto.VariacaoReputacaoDto;
+import br.com.alura.forumhub.backend.domain.event.ReputacaoAlteradaEvent;
+import br.com.alura.forumhub.backend.domain.repository.ReputacaoRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pela reputação dos usuários, calculada a partir das respostas e das
+ * respostas aceitas como solução.
+ *
+ * <p>Os contadores por usuário e curso são gravados na tabela {@code reputacao} na mesma transação
+ * das respostas. O ranking global e o de cada curso ficam em memória: são carregados do banco na
+ * inicialização, em uma única leitura em streaming, e atualizados após cada commit.
+ */
+@Service
+@Slf4j
+public class ReputacaoService {
+
+  private static final int LIMITE_MAXIMO = 100;
+
+  private final ReputacaoRepository reputacaoRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int capacidade;
+  private final long pontosResposta;
+  private final long pontosSolucao;
+  private final PlacarReputacao global;
+  private final Map<Integer, PlacarReputacao> porCurso = new ConcurrentHashMap<>();
+  private final Map<Integer, String> nomes = new ConcurrentHashMap<>();
+
+  /**
+   * Cria o serviço de reputação.
+   *
+   * @param reputacaoRepository repositório dos contadores
+   * @param eventPublisher publicador das variações para o ranking em memória
+   * @param env ambiente com os pesos e o tamanho do ranking ({@code forumhub.reputacao.*})
+   */
+  public ReputacaoService(
+      ReputacaoRepository reputacaoRepository,
+      ApplicationEventPublisher eventPublisher,
+      Environment env) {
+    this.reputacaoRepository = reputacaoRepository;
+    this.eventPublisher = eventPublisher;
+    this.capacidade = env.getProperty("forumhub.reputacao.tamanho-ranking", Integer.class, 100);
+    this.pontosResposta = env.getProperty("forumhub.reputacao.pontos-resposta", Long.class, 1L);
+    this.pontosSolucao = env.getProperty("forumhub.reputacao.pontos-solucao", Long.class, 10L);
+    this.global = new PlacarReputacao(capacidade, pontosResposta, pontosSolucao);
+  }
+
+  /** Carrega o ranking a partir dos contadores gravados. */
+  @PostConstruct
+  public void carregar() {
+    AtomicLong linhas = new AtomicLong();
+    reputacaoRepository.percorrer(
+        contador -> {
+          aplicar(contador);
+          linhas.incrementAndGet();
+        });
+    log.info("Loaded reputation ranking from {} counters", linhas.get());
+  }
+
+  /**
+   * Registra uma variação na reputação de um usuário na transação corrente.
+   *
+   * @param usuarioId ID do usuário
+   * @param nome nome do usuário
+   * @param cursoId ID do curso da resposta
+   * @param respostas variação no número de respostas
+   * @param solucoes variação no número de soluções
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrar(
+      Integer usuarioId, String nome, Integer cursoId, long respostas, long solucoes) {
+    registrarTodas(
+        List.of(new VariacaoReputacaoDto(usuarioId, nome, cursoId, respostas, solucoes)));
+  }
+
+  /**
+   * Registra variações na reputação na transação corrente.
+   *
+   * @param variacoes as variações
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void registrarTodas(List<VariacaoReputacaoDto> variacoes) {
+    if (variacoes.isEmpty()) {
+      return;
+    }
+    reputacaoRepository.incrementar(variacoes);
+    eventPublisher.publishEvent(new ReputacaoAlteradaEvent(variacoes));
+  }
+
+  /**
+   * Retira na transação corrente a reputação obtida com as respostas de um tópico que será
+   * excluído. Deve ser chamado antes da exclusão, enquanto as respostas ainda existem.
+   *
+   * @param topicoId ID do tópico
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void removerTopico(Integer topicoId) {
+    registrarTodas(reputacaoRepository.buscarVariacoesExclusaoTopico(topicoId));
+  }
+
+  /**
+   * Aplica ao ranking em memória as variações confirmadas.
+   *
+   * @param event o evento com as variações
+   */
+  @TransactionalEventListener
+  public void onReputacaoAlterada(ReputacaoAlteradaEvent event) {
+    event.variacoes().forEach(this::aplicar);
+  }
+
+  /**
+   * Lista os usuários com maior reputação.
+   *
+   * @param cursoId ID do curso, ou null para o ranking global
+   * @param limite número máximo de usuários
+   * @return os usuários em ordem decrescente de pontos
+   */
+  public List<RankingUsuarioDto> ranking(Integer cursoId, int limite) {
+    int tamanho = Math.clamp(limite, 1, Math.min(LIMITE_MAXIMO, capacidade));
+    PlacarReputacao placar = cursoId == null ? global : porCurso.get(cursoId);
+    if (placar == null) {
+      return List.of();
+    }
+
+    List<PlacarReputacao.Entrada> entradas = placar.listar(tamanho);
+    List<RankingUsuarioDto> ranking = new ArrayList<>(entradas.size());
+    for (PlacarReputacao.Entrada entrada : entradas) {
+      ranking.add(
+          new RankingUsuarioDto(
+              ranking.size() + 1,
+              entrada.usuarioId(),
+              nomes.get(entrada.usuarioId()),
+              entrada.pontos(),
+              entrada.respostas(),
+              entrada.solucoes()));
+    }
+    return ranking;
+  }
+
+  private void aplicar(VariacaoReputacaoDto variacao) {
+    if (variacao.nome() != null) {
+      nomes.put(variacao.usuarioId(), variacao.nome());
+    }
+    global.aplicar(variacao.usuarioId(), variacao.respostas(), variacao.solucoes());
+    porCurso
+        .computeIfAbsent(
+            variacao.cursoId(),
+            id -> new PlacarReputacao(capacidade, pontosResposta, pontosSolucao))
+        .aplicar(variacao.usuarioId(), variacao.respostas(), variacao.solucoes());
+  }
+}
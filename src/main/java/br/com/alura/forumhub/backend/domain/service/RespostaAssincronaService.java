@@ -0,0 +1,507 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.ProtocoloRespostaDto;
+import br.com.alura.forumhub.backend.domain.dto.RespostaCreateDto;
+import br.com.alura.forumhub.backend.domain.dto.RespostaPendenteDto;
+import br.com.alura.forumhub.backend.domain.dto.VariacaoReputacaoDto;
+import br.com.alura.forumhub.backend.domain.event.QuantidadeRespostasAlteradaEvent;
+import br.com.alura.forumhub.backend.domain.event.RespostaCriadaEvent;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.model.Topico;
+import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.repository.RespostaLoteRepository;
+import br.com.alura.forumhub.backend.domain.repository.RespostaLoteRepository.SituacaoTopico;
+import br.com.alura.forumhub.backend.domain.repository.TopicoRepository;
+import br.com.alura.forumhub.backend.domain.repository.UsuarioRepository;
+import br.com.alura.forumhub.backend.infra.wal.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serviço responsável pela criação assíncrona de respostas (group commit).
+ *
+ * <p>O envio valida a resposta, atribui um protocolo, grava o registro em um write-ahead log local
+ * e o coloca em uma fila limitada. Uma única thread gravadora consome a fila em lotes: cada lote é
+ * inserido com um comando JDBC em lote em uma só transação, e o status de cada tópico é atualizado
+ * uma única vez por lote. O log é truncado quando a fila esvazia e é reprocessado na
+ * inicialização; respostas já gravadas são reconhecidas pelo protocolo e não são duplicadas.
+ */
+@Service
+@Slf4j
+public class RespostaAssincronaService {
+
+  /** Situação de uma resposta aguardando gravação. */
+  public static final String STATUS_PENDENTE = "PENDENTE";
+
+  /** Situação de uma resposta gravada. */
+  public static final String STATUS_CONCLUIDA = "CONCLUIDA";
+
+  /** Situação de uma resposta que não pôde ser gravada. */
+  public static final String STATUS_FALHA = "FALHA";
+
+  private static final long ESPERA_FILA_MS = 200;
+  private static final long ESPERA_NOVA_TENTATIVA_MS = 1000;
+  private static final Duration RETENCAO_FALHAS = Duration.ofHours(1);
+
+  private final TopicoRepository topicoRepository;
+  private final UsuarioRepository usuarioRepository;
+  private final RespostaLoteRepository respostaLoteRepository;
+  private final AlteracaoService alteracaoService;
+  private final ReputacaoService reputacaoService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final FiltroConteudoService filtroConteudoService;
+  private final TransactionTemplate transactionTemplate;
+  private final WriteAheadLog<RespostaPendenteDto> wal;
+  private final BlockingQueue<RespostaPendenteDto> fila;
+  private final int tamanhoLote;
+  private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+  private final Map<String, Falha> falhas = new ConcurrentHashMap<>();
+  private final ReentrantLock lockWal = new ReentrantLock();
+  private volatile boolean ativo = true;
+  private Thread gravador;
+
+  /**
+   * Cria o serviço de respostas assíncronas.
+   *
+   * @param topicoRepository repositório de tópicos
+   * @param usuarioRepository repositório de usuários
+   * @param respostaLoteRepository repositório JDBC de gravação em lote
+   * @param alteracaoService serviço do log de alterações
+   * @param reputacaoService serviço de reputação dos usuários
+   * @param eventPublisher publicador de eventos do domínio
+   * @param filtroConteudoService serviço do filtro de termos bloqueados
+   * @param transactionManager gerenciador de transações
+   * @param objectMapper o ObjectMapper usado no write-ahead log
+   * @param capacidadeFila número máximo de respostas aguardando gravação
+   * @param tamanhoLote número máximo de respostas gravadas por transação
+   * @param arquivoWal caminho do arquivo de write-ahead log
+   * @param sincronizarWal se cada registro do log deve ser forçado para o disco
+   */
+  public RespostaAssincronaService(
+      TopicoRepository topicoRepository,
+      UsuarioRepository usuarioRepository,
+      RespostaLoteRepository respostaLoteRepository,
+      AlteracaoService alteracaoService,
+      ReputacaoService reputacaoService,
+      ApplicationEventPublisher eventPublisher,
+      FiltroConteudoService filtroConteudoService,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${forumhub.respostas.async.capacidade-fila:10000}") int capacidadeFila,
+      @Value("${forumhub.respostas.async.tamanho-lote:200}") int tamanhoLote,
+      @Value("${forumhub.respostas.async.wal-arquivo:data/respostas-pendentes.wal}")
+          String arquivoWal,
+      @Value("${forumhub.respostas.async.wal-fsync:false}") boolean sincronizarWal) {
+    this.topicoRepository = topicoRepository;
+    this.usuarioRepository = usuarioRepository;
+    this.respostaLoteRepository = respostaLoteRepository;
+    this.alteracaoService = alteracaoService;
+    this.reputacaoService = reputacaoService;
+    this.eventPublisher = eventPublisher;
+    this.filtroConteudoService = filtroConteudoService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.wal =
+        new WriteAheadLog<>(
+            Path.of(arquivoWal), objectMapper, RespostaPendenteDto.class, sincronizarWal);
+    this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+    this.tamanhoLote = tamanhoLote;
+  }
+
+  /** Inicia a thread gravadora e reprocessa as respostas pendentes do write-ahead log. */
+  @PostConstruct
+  public void iniciar() {
+    gravador = Thread.ofPlatform().name("respostas-gravador").start(this::executarGravador);
+
+    // O lock impede que o log seja truncado antes de todos os registros estarem na fila
+    lockWal.lock();
+    try {
+      List<RespostaPendenteDto> registros = wal.ler();
+      if (registros.isEmpty()) {
+        return;
+      }
+
+      try {
+        Set<String> gravados =
+            respostaLoteRepository.buscarProtocolosGravados(
+                registros.stream().map(RespostaPendenteDto::protocolo).toList());
+        registros.removeIf(registro -> gravados.contains(registro.protocolo()));
+      } catch (DataAccessException e) {
+        // Duplicatas são detectadas pelo índice único do protocolo durante a gravação
+        log.warn("Could not check recovered answers against the database: {}", e.getMessage());
+      }
+
+      log.info("Recovering {} pending answers from the write-ahead log", registros.size());
+      for (RespostaPendenteDto registro : registros) {
+        pendentes.add(registro.protocolo());
+        fila.put(registro);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      lockWal.unlock();
+    }
+  }
+
+  /** Para de aceitar respostas e aguarda a gravação das que estão na fila. */
+  @PreDestroy
+  public void encerrar() {
+    ativo = false;
+    try {
+      gravador.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    lockWal.lock();
+    try {
+      wal.fechar();
+    } catch (IOException e) {
+      log.warn("Could not close the answer write-ahead log: {}", e.getMessage());
+    } finally {
+      lockWal.unlock();
+    }
+  }
+
+  /**
+   * Valida uma resposta e a coloca na fila de gravação.
+   *
+   * @param dto dados da resposta a ser criada
+   * @return o protocolo da resposta, com status PENDENTE
+   * @throws EntityNotFoundException se o tópico ou autor não forem encontrados
+   * @throws FilaRespostasCheiaException se a fila estiver cheia ou o serviço estiver encerrando
+   * @throws ConteudoBloqueadoException se a mensagem tiver termos bloqueados
+   * @throws ConteudoQuarentenaException se a resposta for retida para moderação
+   */
+  public ProtocoloRespostaDto enfileirar(RespostaCreateDto dto) {
+    Topico topico =
+        topicoRepository
+            .findById(dto.topicoId())
+            .orElseThrow(
+                () ->
+                    new EntityNotFoundException(
+                        "Tópico não encontrado com o ID: " + dto.topicoId()));
+
+    Usuario autor =
+        usuarioRepository
+            .findById(dto.autorId())
+            .orElseThrow(
+                () ->
+                    new EntityNotFoundException("Autor não encontrado com o ID: " + dto.autorId()));
+
+    filtroConteudoService.verificar(
+        Alteracao.Entidade.RESPOSTA, Alteracao.Operacao.CRIACAO, null, dto, dto.mensagem());
+
+    RespostaPendenteDto pendente =
+        new RespostaPendenteDto(
+            UUID.randomUUID().toString(),
+            dto.mensagem(),
+            topico.getId(),
+            topico.getTitulo(),
+            autor.getId(),
+            autor.getNome(),
+            Boolean.TRUE.equals(dto.solucao()),
+            LocalDateTime.now());
+
+    // O registro no log e a inserção na fila são atômicos em relação ao truncamento do log
+    lockWal.lock();
+    try {
+      if (!ativo || fila.remainingCapacity() == 0) {
+        throw new FilaRespostasCheiaException("Fila de respostas cheia");
+      }
+      wal.anexar(pendente);
+      pendentes.add(pendente.protocolo());
+      fila.add(pendente);
+    } finally {
+      lockWal.unlock();
+    }
+
+    return new ProtocoloRespostaDto(pendente.protocolo(), STATUS_PENDENTE, null, null);
+  }
+
+  /**
+   * Consulta a situação de uma resposta enviada de forma assíncrona.
+   *
+   * @param protocolo o protocolo da resposta
+   * @return a situação da resposta
+   * @throws EntityNotFoundException se o protocolo não for encontrado
+   */
+  public ProtocoloRespostaDto consultar(String protocolo) {
+    if (pendentes.contains(protocolo)) {
+      return new ProtocoloRespostaDto(protocolo, STATUS_PENDENTE, null, null);
+    }
+
+    Falha falha = falhas.get(protocolo);
+    if (falha != null) {
+      return new ProtocoloRespostaDto(protocolo, STATUS_FALHA, null, falha.erro());
+    }
+
+    return respostaLoteRepository
+        .buscarIdPorProtocolo(protocolo)
+        .map(id -> new ProtocoloRespostaDto(protocolo, STATUS_CONCLUIDA, id, null))
+        .orElseThrow(
+            () -> new EntityNotFoundException("Protocolo não encontrado: " + protocolo));
+  }
+
+  /** Remove as falhas mais antigas que o período de retenção. */
+  @Scheduled(fixedDelayString = "${forumhub.respostas.async.limpeza-ms:600000}")
+  public void removerFalhasAntigas() {
+    Instant limite = Instant.now().minus(RETENCAO_FALHAS);
+    falhas.values().removeIf(falha -> falha.instante().isBefore(limite));
+  }
+
+  private void executarGravador() {
+    List<RespostaPendenteDto> lote = new ArrayList<>(tamanhoLote);
+    boolean novaTentativa = false;
+
+    while (true) {
+      try {
+        if (lote.isEmpty()) {
+          if (!ativo && fila.isEmpty()) {
+            break;
+          }
+          RespostaPendenteDto primeira = fila.poll(ESPERA_FILA_MS, TimeUnit.MILLISECONDS);
+          if (primeira == null) {
+            continue;
+          }
+          lote.add(primeira);
+          fila.drainTo(lote, tamanhoLote - 1);
+        } else if (novaTentativa) {
+          // Um commit cuja confirmação se perdeu não pode ser gravado de novo
+          Set<String> gravados =
+              respostaLoteRepository.buscarProtocolosGravados(
+                  lote.stream().map(RespostaPendenteDto::protocolo).toList());
+          lote.removeIf(pendente -> gravados.contains(pendente.protocolo()));
+          gravados.forEach(pendentes::remove);
+        }
+
+        if (gravar(lote)) {
+          novaTentativa = false;
+          truncarWalSeVazio();
+        } else if (!ativo) {
+          // Banco indisponível no encerramento: as respostas continuam no log
+          log.warn("Stopping with {} answers not written; they remain in the log", lote.size());
+          break;
+        } else {
+          novaTentativa = true;
+          Thread.sleep(ESPERA_NOVA_TENTATIVA_MS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+        log.warn("Database unavailable while checking answer batch: {}", e.getMessage());
+        if (!ativo) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Grava um lote, isolando as respostas com erro se a gravação em lote falhar. As respostas
+   * processadas são removidas do lote.
+   *
+   * @param lote as respostas a serem gravadas
+   * @return false se o banco estiver indisponível e o restante do lote deve ser tentado de novo
+   */
+  private boolean gravar(List<RespostaPendenteDto> lote) {
+    if (lote.isEmpty()) {
+      return true;
+    }
+
+    try {
+      gravarEmTransacao(lote);
+      lote.clear();
+      return true;
+    } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+      log.warn("Database unavailable while writing answer batch: {}", e.getMessage());
+      return false;
+    } catch (RuntimeException e) {
+      log.warn("Answer batch of {} failed, retrying one by one: {}", lote.size(), e.getMessage());
+    }
+
+    Iterator<RespostaPendenteDto> iterator = lote.iterator();
+    while (iterator.hasNext()) {
+      RespostaPendenteDto pendente = iterator.next();
+      try {
+        gravarEmTransacao(List.of(pendente));
+      } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+        log.warn("Database unavailable while writing answer: {}", e.getMessage());
+        return false;
+      } catch (DuplicateKeyException e) {
+        // Já gravada em uma tentativa anterior
+        pendentes.remove(pendente.protocolo());
+      } catch (RuntimeException e) {
+        registrarFalha(pendente, e.getMessage());
+      }
+      iterator.remove();
+    }
+    return true;
+  }
+
+  private void gravarEmTransacao(List<RespostaPendenteDto> lote) {
+    List<RespostaPendenteDto> invalidas =
+        transactionTemplate.execute(
+            status -> {
+              Map<Integer, SituacaoTopico> situacoes =
+                  respostaLoteRepository.buscarSituacaoTopicos(
+                      lote.stream().map(RespostaPendenteDto::topicoId).distinct().toList());
+              Map<Integer, Topico.StatusTopico> statusAtual = new HashMap<>();
+              situacoes.forEach((id, situacao) -> statusAtual.put(id, situacao.status()));
+
+              List<RespostaPendenteDto> validas = new ArrayList<>(lote.size());
+              List<RespostaPendenteDto> semTopico = new ArrayList<>();
+              for (RespostaPendenteDto pendente : lote) {
+                (statusAtual.containsKey(pendente.topicoId()) ? validas : semTopico).add(pendente);
+              }
+              if (validas.isEmpty()) {
+                return semTopico;
+              }
+
+              List<Integer> ids = respostaLoteRepository.inserir(validas);
+
+              // Mesmas regras de RespostaService.criar, aplicadas uma vez por tópico
+              Map<Integer, Topico.StatusTopico> novoStatus = new LinkedHashMap<>();
+              for (RespostaPendenteDto pendente : validas) {
+                Topico.StatusTopico atual =
+                    novoStatus.getOrDefault(
+                        pendente.topicoId(), statusAtual.get(pendente.topicoId()));
+                if (pendente.solucao()) {
+                  novoStatus.put(pendente.topicoId(), Topico.StatusTopico.SOLUCIONADO);
+                } else if (atual == Topico.StatusTopico.NAO_RESPONDIDO) {
+                  novoStatus.put(pendente.topicoId(), Topico.StatusTopico.NAO_SOLUCIONADO);
+                }
+              }
+              novoStatus
+                  .entrySet()
+                  .removeIf(entrada -> entrada.getValue() == statusAtual.get(entrada.getKey()));
+
+              respostaLoteRepository.atualizarStatusTopicos(novoStatus);
+              alteracaoService.registrarTodas(
+                  Alteracao.Entidade.TOPICO, novoStatus.keySet(), Alteracao.Operacao.ATUALIZACAO);
+              alteracaoService.registrarTodas(
+                  Alteracao.Entidade.RESPOSTA, ids, Alteracao.Operacao.CRIACAO);
+              reputacaoService.registrarTodas(variacoesReputacao(validas, situacoes));
+
+              // Entregues aos assinantes somente após o commit
+              for (int i = 0; i < validas.size(); i++) {
+                eventPublisher.publishEvent(
+                    new RespostaCriadaEvent(validas.get(i).toRespostaDto(ids.get(i))));
+              }
+              publicarEstatisticas(validas, situacoes, novoStatus);
+              return semTopico;
+            });
+
+    for (RespostaPendenteDto pendente : lote) {
+      pendentes.remove(pendente.protocolo());
+    }
+    if (invalidas != null) {
+      invalidas.forEach(
+          pendente ->
+              registrarFalha(
+                  pendente, "Tópico não encontrado com o ID: " + pendente.topicoId()));
+    }
+    log.debug("[DEBUG_LOG] Wrote answer batch of {}", lote.size());
+  }
+
+  private static List<VariacaoReputacaoDto> variacoesReputacao(
+      List<RespostaPendenteDto> validas, Map<Integer, SituacaoTopico> situacoes) {
+    // Uma variação por autor e curso, somando as respostas do lote
+    Map<List<Integer>, VariacaoReputacaoDto> variacoes = new LinkedHashMap<>();
+    for (RespostaPendenteDto pendente : validas) {
+      Integer cursoId = situacoes.get(pendente.topicoId()).cursoId();
+      VariacaoReputacaoDto variacao =
+          new VariacaoReputacaoDto(
+              pendente.autorId(), pendente.autorNome(), cursoId, 1, pendente.solucao() ? 1 : 0);
+      variacoes.merge(
+          List.of(pendente.autorId(), cursoId),
+          variacao,
+          (a, b) ->
+              new VariacaoReputacaoDto(
+                  a.usuarioId(),
+                  a.nome(),
+                  a.cursoId(),
+                  a.respostas() + b.respostas(),
+                  a.solucoes() + b.solucoes()));
+    }
+    return new ArrayList<>(variacoes.values());
+  }
+
+  private void publicarEstatisticas(
+      List<RespostaPendenteDto> validas,
+      Map<Integer, SituacaoTopico> situacoes,
+      Map<Integer, Topico.StatusTopico> novoStatus) {
+    Map<Integer, Long> respostasPorCurso = new HashMap<>();
+    for (RespostaPendenteDto pendente : validas) {
+      respostasPorCurso.merge(situacoes.get(pendente.topicoId()).cursoId(), 1L, Long::sum);
+    }
+    respostasPorCurso.forEach(
+        (cursoId, quantidade) ->
+            eventPublisher.publishEvent(new QuantidadeRespostasAlteradaEvent(cursoId, quantidade)));
+
+    LocalDateTime agora = LocalDateTime.now();
+    novoStatus.forEach(
+        (topicoId, status) -> {
+          SituacaoTopico situacao = situacoes.get(topicoId);
+          eventPublisher.publishEvent(
+              new StatusTopicoAlteradoEvent(
+                  topicoId,
+                  situacao.cursoId(),
+                  situacao.status(),
+                  status,
+                  situacao.dataCriacao(),
+                  agora));
+        });
+  }
+
+  private void registrarFalha(RespostaPendenteDto pendente, String erro) {
+    log.warn("Asynchronous answer {} failed: {}", pendente.protocolo(), erro);
+    falhas.put(pendente.protocolo(), new Falha(erro, Instant.now()));
+    pendentes.remove(pendente.protocolo());
+  }
+
+  private void truncarWalSeVazio() {
+    lockWal.lock();
+    try {
+      if (fila.isEmpty()) {
+        wal.truncar();
+      }
+    } finally {
+      lockWal.unlock();
+    }
+  }
+
+  /** Falha na gravação de uma resposta, mantida para consulta pelo protocolo. */
+  private record Falha(String erro, Instant instante) {}
+}
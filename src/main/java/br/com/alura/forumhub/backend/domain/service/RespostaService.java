@@ -3,14 +3,23 @@ package br.com.alura.forumhub.backend.domain.service;
 import br.com.alura.forumhub.backend.domain.dto.RespostaCreateDto;
 import br.com.alura.forumhub.backend.domain.dto.RespostaDto;
 import br.com.alura.forumhub.backend.domain.dto.RespostaUpdateDto;
+import br.com.alura.forumhub.backend.domain.event.QuantidadeRespostasAlteradaEvent;
+import br.com.alura.forumhub.backend.domain.event.RespostaCriadaEvent;
+import br.com.alura.forumhub.backend.domain.event.SolucaoMarcadaEvent;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
 import br.com.alura.forumhub.backend.domain.model.Resposta;
 import br.com.alura.forumhub.backend.domain.model.Topico;
 import br.com.alura.forumhub.backend.domain.model.Usuario;
+import br.com.alura.forumhub.backend.domain.repository.ListagemParcialRepository;
 import br.com.alura.forumhub.backend.domain.repository.RespostaRepository;
 import br.com.alura.forumhub.backend.domain.repository.TopicoRepository;
 import br.com.alura.forumhub.backend.domain.repository.UsuarioRepository;
+import br.com.alura.forumhub.backend.infra.texto.RenderizadorMarkdown;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /** Serviço responsável pela lógica de negócio relacionada a respostas. */
 @Service
@@ -27,6 +37,12 @@ public class RespostaService {
   private final RespostaRepository respostaRepository;
   private final TopicoRepository topicoRepository;
   private final UsuarioRepository usuarioRepository;
+  private final ListagemParcialRepository listagemParcialRepository;
+  private final AlteracaoService alteracaoService;
+  private final ReputacaoService reputacaoService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final FiltroConteudoService filtroConteudoService;
+  private final RevisaoService revisaoService;
 
   /**
    * Lista todas as respostas.
@@ -47,6 +63,38 @@ public class RespostaService {
     return respostaRepository.findAll(paginacao).map(RespostaDto::fromEntity);
   }
 
+  /**
+   * Lista respostas com paginação carregando apenas os campos solicitados.
+   *
+   * @param campos os campos desejados (todos, se vazio)
+   * @param tamanhoResumo tamanho do resumo da mensagem, em caracteres (opcional)
+   * @param paginacao informações de paginação
+   * @return página de respostas com os campos solicitados
+   * @throws IllegalArgumentException se algum campo não existir
+   */
+  public Page<Map<String, Object>> listarCampos(
+      List<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+    return listagemParcialRepository.listarRespostas(campos, tamanhoResumo, paginacao);
+  }
+
+  /**
+   * Lista as respostas de um tópico lendo do banco apenas os campos solicitados.
+   *
+   * @param topicoId ID do tópico
+   * @param campos os campos desejados (todos, se vazio)
+   * @param tamanhoResumo tamanho do resumo da mensagem (opcional)
+   * @param paginacao informações de paginação
+   * @return página de respostas do tópico
+   * @throws EntityNotFoundException se o tópico não for encontrado
+   * @throws IllegalArgumentException se algum campo não existir
+   */
+  public Page<Map<String, Object>> listarCamposPorTopico(
+      Integer topicoId, List<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+    verificarTopico(topicoId);
+    return listagemParcialRepository.listarRespostasPorTopico(
+        topicoId, campos, tamanhoResumo, paginacao);
+  }
+
   /**
    * Lista respostas de um tópico específico.
    *
@@ -63,6 +111,52 @@ public class RespostaService {
     return respostaRepository.findByTopico(topico).stream().map(RespostaDto::fromEntity).toList();
   }
 
+  /**
+   * Lista respostas de um tópico específico com paginação.
+   *
+   * @param topicoId ID do tópico
+   * @param paginacao informações de paginação
+   * @return página de respostas do tópico
+   * @throws EntityNotFoundException se o tópico não for encontrado
+   */
+  public Page<RespostaDto> listarPorTopico(Integer topicoId, Pageable paginacao) {
+    Topico topico =
+        topicoRepository
+            .findById(topicoId)
+            .orElseThrow(
+                () -> new EntityNotFoundException("Tópico não encontrado com o ID: " + topicoId));
+
+    return respostaRepository.findByTopico(topico, paginacao).map(RespostaDto::fromEntity);
+  }
+
+  /**
+   * Lista um lote de respostas de um tópico a partir de um ID, para respostas em streaming.
+   *
+   * @param topicoId ID do tópico
+   * @param ultimoId o último ID já enviado
+   * @param limite o tamanho do lote
+   * @return lista de respostas em ordem crescente de ID
+   */
+  public List<RespostaDto> listarPorTopicoAposId(Integer topicoId, Integer ultimoId, int limite) {
+    return respostaRepository
+        .findByTopicoIdAndIdGreaterThanOrderByIdAsc(topicoId, ultimoId, Limit.of(limite))
+        .stream()
+        .map(RespostaDto::fromEntity)
+        .toList();
+  }
+
+  /**
+   * Verifica se um tópico existe.
+   *
+   * @param topicoId ID do tópico
+   * @throws EntityNotFoundException se o tópico não for encontrado
+   */
+  public void verificarTopico(Integer topicoId) {
+    if (!topicoRepository.existsById(topicoId)) {
+      throw new EntityNotFoundException("Tópico não encontrado com o ID: " + topicoId);
+    }
+  }
+
   /**
    * Busca uma resposta pelo ID.
    *
@@ -86,6 +180,8 @@ public class RespostaService {
    * @param dto dados da resposta a ser criada
    * @return a resposta criada
    * @throws EntityNotFoundException se o tópico ou autor não forem encontrados
+   * @throws ConteudoBloqueadoException se a mensagem tiver termos bloqueados
+   * @throws ConteudoQuarentenaException se a resposta for retida para moderação
    */
   @Transactional
   public RespostaDto criar(RespostaCreateDto dto) {
@@ -104,44 +200,74 @@ public class RespostaService {
                 () ->
                     new EntityNotFoundException("Autor não encontrado com o ID: " + dto.autorId()));
 
+    filtroConteudoService.verificar(
+        Alteracao.Entidade.RESPOSTA, Alteracao.Operacao.CRIACAO, null, dto, dto.mensagem());
+
     Resposta resposta = new Resposta();
     resposta.setMensagem(dto.mensagem());
+    resposta.setMensagemHtml(RenderizadorMarkdown.renderizar(dto.mensagem()));
+    resposta.setVersaoRenderizacao(RenderizadorMarkdown.VERSAO);
     resposta.setTopico(topico);
     resposta.setDataCriacao(LocalDateTime.now());
     resposta.setAutor(autor);
     resposta.setSolucao(dto.solucao() != null && dto.solucao());
+    Topico.StatusTopico statusAnteriorTopico = topico.getStatus();
 
     // Se a resposta for marcada como solução, atualiza o status do tópico
     if (Boolean.TRUE.equals(resposta.getSolucao())) {
       topico.setStatus(Topico.StatusTopico.SOLUCIONADO);
       topicoRepository.save(topico);
+      registrarAlteracaoTopico(topico);
     } else if (topico.getStatus() == Topico.StatusTopico.NAO_RESPONDIDO) {
       // Se o tópico ainda não foi respondido, atualiza o status
       topico.setStatus(Topico.StatusTopico.NAO_SOLUCIONADO);
       topicoRepository.save(topico);
+      registrarAlteracaoTopico(topico);
     }
 
     respostaRepository.save(resposta);
-
-    return RespostaDto.fromEntity(resposta);
+    alteracaoService.registrar(
+        Alteracao.Entidade.RESPOSTA, resposta.getId(), Alteracao.Operacao.CRIACAO);
+    reputacaoService.registrar(
+        autor.getId(),
+        autor.getNome(),
+        topico.getCurso().getId(),
+        1,
+        Boolean.TRUE.equals(resposta.getSolucao()) ? 1 : 0);
+
+    RespostaDto criada = RespostaDto.fromEntity(resposta);
+    eventPublisher.publishEvent(new RespostaCriadaEvent(criada));
+    eventPublisher.publishEvent(
+        new QuantidadeRespostasAlteradaEvent(topico.getCurso().getId(), 1));
+    publicarAlteracaoStatus(topico, statusAnteriorTopico);
+    return criada;
   }
 
   /**
    * Atualiza uma resposta existente.
    *
    * @param dto dados da resposta a ser atualizada
+   * @param autorId ID do usuário que editou, registrado no histórico de revisões (opcional)
    * @return a resposta atualizada
    * @throws EntityNotFoundException se a resposta não for encontrada
+   * @throws ConteudoBloqueadoException se a mensagem tiver termos bloqueados
+   * @throws ConteudoQuarentenaException se a alteração for retida para moderação
    */
   @Transactional
-  public RespostaDto atualizar(RespostaUpdateDto dto) {
+  public RespostaDto atualizar(RespostaUpdateDto dto, Integer autorId) {
     Resposta resposta =
         respostaRepository
             .findById(dto.id())
             .orElseThrow(
                 () -> new EntityNotFoundException("Resposta não encontrada com o ID: " + dto.id()));
 
+    filtroConteudoService.verificar(
+        Alteracao.Entidade.RESPOSTA, Alteracao.Operacao.ATUALIZACAO, dto.id(), dto, dto.mensagem());
+
+    revisaoService.registrar(Alteracao.Entidade.RESPOSTA, dto.id(), dto.mensagem(), autorId);
     resposta.setMensagem(dto.mensagem());
+    resposta.setMensagemHtml(RenderizadorMarkdown.renderizar(dto.mensagem()));
+    resposta.setVersaoRenderizacao(RenderizadorMarkdown.VERSAO);
 
     // Atualiza o status de solução apenas se o valor for fornecido
     boolean statusAnterior = resposta.getSolucao();
@@ -150,6 +276,7 @@ public class RespostaService {
     // Se o status de solução mudou, atualiza o status do tópico
     if (statusAnterior != dto.solucao()) {
       Topico topico = resposta.getTopico();
+      Topico.StatusTopico statusAnteriorTopico = topico.getStatus();
 
       if (dto.solucao()) {
         topico.setStatus(Topico.StatusTopico.SOLUCIONADO);
@@ -165,11 +292,25 @@ public class RespostaService {
       }
 
       topicoRepository.save(topico);
+      registrarAlteracaoTopico(topico);
+      publicarAlteracaoStatus(topico, statusAnteriorTopico);
+      reputacaoService.registrar(
+          resposta.getAutor().getId(),
+          resposta.getAutor().getNome(),
+          topico.getCurso().getId(),
+          0,
+          dto.solucao() ? 1 : -1);
     }
 
     respostaRepository.save(resposta);
+    alteracaoService.registrar(
+        Alteracao.Entidade.RESPOSTA, resposta.getId(), Alteracao.Operacao.ATUALIZACAO);
 
-    return RespostaDto.fromEntity(resposta);
+    RespostaDto atualizada = RespostaDto.fromEntity(resposta);
+    if (!statusAnterior && dto.solucao()) {
+      eventPublisher.publishEvent(new SolucaoMarcadaEvent(atualizada));
+    }
+    return atualizada;
   }
 
   /**
@@ -186,10 +327,11 @@ public class RespostaService {
             .orElseThrow(
                 () -> new EntityNotFoundException("Resposta não encontrada com o ID: " + id));
 
+    Topico topico = resposta.getTopico();
+    Topico.StatusTopico statusAnteriorTopico = topico.getStatus();
+
     // Se a resposta era uma solução, atualiza o status do tópico
     if (Boolean.TRUE.equals(resposta.getSolucao())) {
-      Topico topico = resposta.getTopico();
-
       // Verifica se há outras respostas marcadas como solução
       boolean temOutraSolucao =
           respostaRepository.findByTopico(topico).stream()
@@ -207,9 +349,50 @@ public class RespostaService {
         }
 
         topicoRepository.save(topico);
+        registrarAlteracaoTopico(topico);
       }
     }
 
     respostaRepository.deleteById(id);
+    alteracaoService.registrar(Alteracao.Entidade.RESPOSTA, id, Alteracao.Operacao.EXCLUSAO);
+    reputacaoService.registrar(
+        resposta.getAutor().getId(),
+        resposta.getAutor().getNome(),
+        topico.getCurso().getId(),
+        -1,
+        Boolean.TRUE.equals(resposta.getSolucao()) ? -1 : 0);
+
+    eventPublisher.publishEvent(
+        new QuantidadeRespostasAlteradaEvent(topico.getCurso().getId(), -1));
+    publicarAlteracaoStatus(topico, statusAnteriorTopico);
+  }
+
+  /**
+   * Registra no log de alterações a mudança de status de um tópico causada por uma resposta.
+   *
+   * @param topico o tópico alterado
+   */
+  private void registrarAlteracaoTopico(Topico topico) {
+    alteracaoService.registrar(
+        Alteracao.Entidade.TOPICO, topico.getId(), Alteracao.Operacao.ATUALIZACAO);
+  }
+
+  /**
+   * Publica a mudança de status de um tópico para as estatísticas, se houver.
+   *
+   * @param topico o tópico
+   * @param anterior o status antes da operação
+   */
+  private void publicarAlteracaoStatus(Topico topico, Topico.StatusTopico anterior) {
+    if (topico.getStatus() != anterior) {
+      eventPublisher.publishEvent(
+          new StatusTopicoAlteradoEvent(
+              topico.getId(),
+              topico.getCurso().getId(),
+              anterior,
+              topico.getStatus(),
+              topico.getDataCriacao(),
+              LocalDateTime.now()));
+    }
   }
 }
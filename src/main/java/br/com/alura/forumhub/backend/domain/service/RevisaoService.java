@@ -0,0 +1,162 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDetailDto;
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.repository.RevisaoRepository;
+import br.com.alura.forumhub.backend.domain.repository.RevisaoRepository.MensagemAtual;
+import br.com.alura.forumhub.backend.domain.repository.RevisaoRepository.RegistroRevisao;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import br.com.alura.forumhub.backend.infra.texto.DeltaTexto;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serviço responsável pelo histórico de revisões das mensagens de tópicos e respostas.
+ *
+ * <p>A mensagem original só é gravada na primeira edição, como revisão 1, de modo que mensagens
+ * nunca editadas não ocupam espaço no histórico. Cada edição grava o delta em relação à revisão
+ * anterior e, a cada {@code forumhub.revisoes.intervalo-completas} revisões, a mensagem completa;
+ * reconstruir uma revisão aplica no máximo esse número de deltas. A mensagem completa também é
+ * gravada quando o delta não for menor que ela, como em uma mensagem reescrita.
+ */
+@Service
+@Slf4j
+public class RevisaoService {
+
+  private final RevisaoRepository revisaoRepository;
+  private final CompactadorMensagem compactador;
+  private final int intervaloCompletas;
+
+  /**
+   * Cria o serviço de revisões.
+   *
+   * @param revisaoRepository repositório das revisões
+   * @param compactador compactador das revisões completas
+   * @param env ambiente com os parâmetros do histórico ({@code forumhub.revisoes.*})
+   */
+  public RevisaoService(
+      RevisaoRepository revisaoRepository, CompactadorMensagem compactador, Environment env) {
+    this.revisaoRepository = revisaoRepository;
+    this.compactador = compactador;
+    this.intervaloCompletas =
+        Math.max(1, env.getProperty("forumhub.revisoes.intervalo-completas", Integer.class, 10));
+  }
+
+  /**
+   * Registra a revisão de uma mensagem editada. Deve ser chamado na transação da edição, antes de
+   * a nova mensagem ser gravada: a linha da entidade fica bloqueada até o fim da transação e a
+   * mensagem lida é a base do delta. Mensagens sem alteração não geram revisão.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @param mensagem a nova mensagem
+   * @param autorId ID do usuário que editou (opcional)
+   * @throws EntityNotFoundException se a entidade não existir
+   */
+  @Transactional
+  public void registrar(
+      Alteracao.Entidade entidade, Integer entidadeId, String mensagem, Integer autorId) {
+    MensagemAtual atual =
+        revisaoRepository
+            .bloquearMensagem(entidade, entidadeId)
+            .orElseThrow(
+                () -> new EntityNotFoundException(entidade + " não encontrado: " + entidadeId));
+    if (atual.mensagem().equals(mensagem)) {
+      return;
+    }
+
+    int numero = revisaoRepository.ultimoNumero(entidade, entidadeId);
+    if (numero == 0) {
+      // A mensagem original, com o autor e a data da criação
+      numero = 1;
+      revisaoRepository.inserir(
+          entidade,
+          entidadeId,
+          numero,
+          true,
+          compactador.codificar(atual.mensagem()),
+          atual.mensagem().length(),
+          atual.autorId(),
+          atual.dataCriacao());
+    }
+
+    numero++;
+    byte[] completa = compactador.codificar(mensagem);
+    byte[] conteudo = completa;
+    boolean ehCompleta = (numero - 1) % intervaloCompletas == 0;
+    if (!ehCompleta) {
+      byte[] delta = DeltaTexto.calcular(atual.mensagem(), mensagem);
+      ehCompleta = delta.length >= completa.length;
+      conteudo = ehCompleta ? completa : delta;
+    }
+    revisaoRepository.inserir(
+        entidade,
+        entidadeId,
+        numero,
+        ehCompleta,
+        conteudo,
+        mensagem.length(),
+        autorId,
+        LocalDateTime.now());
+    log.debug(
+        "[DEBUG_LOG] Recorded revision {} of {} {} ({}, {} bytes)",
+        numero,
+        entidade,
+        entidadeId,
+        ehCompleta ? "full" : "delta",
+        conteudo.length);
+  }
+
+  /**
+   * Lista as revisões de uma mensagem. Mensagens nunca editadas não têm revisões; o histórico é
+   * mantido depois da exclusão do tópico ou resposta, para a moderação.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @return as revisões, da mais antiga para a mais recente
+   * @throws EntityNotFoundException se a entidade não existir e não tiver revisões
+   */
+  @Transactional(readOnly = true)
+  public List<RevisaoDto> listar(Alteracao.Entidade entidade, Integer entidadeId) {
+    List<RevisaoDto> revisoes = revisaoRepository.listar(entidade, entidadeId);
+    if (revisoes.isEmpty() && !revisaoRepository.existe(entidade, entidadeId)) {
+      throw new EntityNotFoundException(entidade + " não encontrado: " + entidadeId);
+    }
+    return revisoes;
+  }
+
+  /**
+   * Reconstrói uma revisão a partir da última revisão completa e dos deltas seguintes.
+   *
+   * @param entidade a entidade (tópico ou resposta)
+   * @param entidadeId ID do tópico ou resposta
+   * @param numero número da revisão
+   * @return a revisão com a mensagem
+   * @throws EntityNotFoundException se a revisão não existir
+   */
+  @Transactional(readOnly = true)
+  public RevisaoDetailDto buscar(Alteracao.Entidade entidade, Integer entidadeId, int numero) {
+    List<RegistroRevisao> cadeia = revisaoRepository.buscarCadeia(entidade, entidadeId, numero);
+    if (cadeia.isEmpty() || cadeia.getLast().numero() != numero) {
+      throw new EntityNotFoundException("Revisão não encontrada: " + numero);
+    }
+
+    String mensagem = CompactadorMensagem.decodificar(cadeia.getFirst().conteudo());
+    for (RegistroRevisao registro : cadeia.subList(1, cadeia.size())) {
+      mensagem = DeltaTexto.aplicar(mensagem, registro.conteudo());
+    }
+    RegistroRevisao revisao = cadeia.getLast();
+    return new RevisaoDetailDto(
+        revisao.numero(),
+        revisao.autorId(),
+        revisao.autorNome(),
+        revisao.dataCriacao(),
+        mensagem);
+  }
+}
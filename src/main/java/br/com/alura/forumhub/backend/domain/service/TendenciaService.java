@@ -0,0 +1,152 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.TendenciasDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoTendenciaDto;
+import br.com.alura.forumhub.backend.domain.event.RespostaCriadaEvent;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.infra.sketch.JanelaHeavyHitters;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serviço responsável pelos tópicos em alta (mais vistos e mais respondidos na última hora e no
+ * último dia).
+ *
+ * <p>As contagens ficam em janelas de {@link JanelaHeavyHitters} em memória, alimentadas pelas
+ * visualizações de detalhe e pelas respostas criadas (síncronas ou em lote). A memória usada é
+ * fixa, independente do número de tópicos, e a consulta não acessa o banco. As contagens são
+ * estimativas que podem superar o valor real e recomeçam do zero quando a aplicação é reiniciada.
+ * Tópicos excluídos são retirados das janelas assim que a exclusão é confirmada; as exclusões
+ * recentes, em número limitado, são lembradas até saírem da janela do dia, para descartar
+ * visualizações e respostas que ainda estavam em andamento.
+ */
+@Service
+public class TendenciaService {
+
+  private static final int LIMITE_MAXIMO = 50;
+  private static final int MAX_EXCLUIDOS = 1024;
+
+  private final JanelaHeavyHitters visualizacoesHora;
+  private final JanelaHeavyHitters visualizacoesDia;
+  private final JanelaHeavyHitters respostasHora;
+  private final JanelaHeavyHitters respostasDia;
+  private final long duracaoDiaMs;
+
+  /** Tópicos excluídos recentemente, com o instante da exclusão. */
+  private final Map<Integer, Long> excluidos = new ConcurrentHashMap<>();
+
+  /**
+   * Cria o serviço de tendências.
+   *
+   * @param env ambiente com as dimensões dos sketches ({@code forumhub.tendencias.*})
+   */
+  public TendenciaService(Environment env) {
+    int largura = env.getProperty("forumhub.tendencias.largura-sketch", Integer.class, 2048);
+    int profundidade =
+        env.getProperty("forumhub.tendencias.profundidade-sketch", Integer.class, 4);
+    int k = env.getProperty("forumhub.tendencias.candidatos", Integer.class, 64);
+
+    long cincoMinutos = Duration.ofMinutes(5).toMillis();
+    long umaHora = Duration.ofHours(1).toMillis();
+    this.visualizacoesHora = janela(12, cincoMinutos, largura, profundidade, k);
+    this.visualizacoesDia = janela(24, umaHora, largura, profundidade, k);
+    this.respostasHora = janela(12, cincoMinutos, largura, profundidade, k);
+    this.respostasDia = janela(24, umaHora, largura, profundidade, k);
+    this.duracaoDiaMs = 24 * umaHora;
+  }
+
+  /**
+   * Registra uma visualização de um tópico.
+   *
+   * @param topicoId ID do tópico
+   * @param titulo título do tópico
+   */
+  public void registrarVisualizacao(Integer topicoId, String titulo) {
+    if (excluidos.containsKey(topicoId)) {
+      return;
+    }
+    visualizacoesHora.registrar(topicoId, titulo);
+    visualizacoesDia.registrar(topicoId, titulo);
+  }
+
+  /**
+   * Registra uma resposta criada, após a confirmação da transação.
+   *
+   * @param event o evento de criação da resposta
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRespostaCriada(RespostaCriadaEvent event) {
+    Integer topicoId = event.resposta().topicoId();
+    String titulo = event.resposta().topicoTitulo();
+    if (excluidos.containsKey(topicoId)) {
+      return;
+    }
+    respostasHora.registrar(topicoId, titulo);
+    respostasDia.registrar(topicoId, titulo);
+  }
+
+  /**
+   * Retira das janelas um tópico excluído, após a confirmação da transação.
+   *
+   * @param event o evento de alteração do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusTopicoAlterado(StatusTopicoAlteradoEvent event) {
+    if (event.atual() != null) {
+      return;
+    }
+    int topicoId = event.topicoId();
+    lembrarExclusao(topicoId, System.currentTimeMillis());
+    visualizacoesHora.remover(topicoId);
+    visualizacoesDia.remover(topicoId);
+    respostasHora.remover(topicoId);
+    respostasDia.remover(topicoId);
+  }
+
+  /**
+   * Guarda a exclusão para descartar visualizações e respostas ainda em voo, que chegam logo
+   * depois dela. A exclusão é lembrada enquanto estiver na janela do dia; acima do limite, as mais
+   * antigas são esquecidas primeiro, o que mantém a memória fixa.
+   */
+  private synchronized void lembrarExclusao(int topicoId, long agora) {
+    excluidos.values().removeIf(instante -> agora - instante >= duracaoDiaMs);
+    while (excluidos.size() >= MAX_EXCLUIDOS) {
+      excluidos.entrySet().stream()
+          .min(Map.Entry.comparingByValue())
+          .ifPresent(maisAntiga -> excluidos.remove(maisAntiga.getKey()));
+    }
+    excluidos.put(topicoId, agora);
+  }
+
+  /**
+   * Lista os tópicos em alta.
+   *
+   * @param limite número máximo de tópicos em cada lista
+   * @return os tópicos mais vistos e mais respondidos por janela
+   */
+  public TendenciasDto listar(int limite) {
+    int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO);
+    return new TendenciasDto(
+        mais(visualizacoesHora, tamanho),
+        mais(visualizacoesDia, tamanho),
+        mais(respostasHora, tamanho),
+        mais(respostasDia, tamanho));
+  }
+
+  private static List<TopicoTendenciaDto> mais(JanelaHeavyHitters janela, int limite) {
+    return janela.maisFrequentes(limite).stream()
+        .map(c -> new TopicoTendenciaDto(c.chave(), c.rotulo(), c.contagem()))
+        .toList();
+  }
+
+  private static JanelaHeavyHitters janela(
+      int buckets, long duracaoBucketMs, int largura, int profundidade, int k) {
+    return new JanelaHeavyHitters(
+        buckets, duracaoBucketMs, largura, profundidade, k, System::currentTimeMillis);
+  }
+}
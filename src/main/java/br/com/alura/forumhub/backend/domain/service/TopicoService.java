@@ -3,18 +3,38 @@ package br.com.alura.forumhub.backend.domain.service;
 import br.com.alura.forumhub.backend.domain.dto.TopicoCreateDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoDetailDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoSimilarDto;
 import br.com.alura.forumhub.backend.domain.dto.TopicoUpdateDto;
+import br.com.alura.forumhub.backend.domain.event.QuantidadeRespostasAlteradaEvent;
+import br.com.alura.forumhub.backend.domain.event.StatusTopicoAlteradoEvent;
+import br.com.alura.forumhub.backend.domain.event.TagsTopicoAlteradasEvent;
+import br.com.alura.forumhub.backend.domain.event.TopicoAtualizadoEvent;
+import br.com.alura.forumhub.backend.domain.event.TopicoCriadoEvent;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
 import br.com.alura.forumhub.backend.domain.model.Curso;
 import br.com.alura.forumhub.backend.domain.model.Topico;
 import br.com.alura.forumhub.backend.domain.model.Usuario;
 import br.com.alura.forumhub.backend.domain.repository.CursoRepository;
+import br.com.alura.forumhub.backend.domain.repository.ListagemParcialRepository;
+import br.com.alura.forumhub.backend.domain.repository.RespostaRepository;
+import br.com.alura.forumhub.backend.domain.repository.TagRepository;
 import br.com.alura.forumhub.backend.domain.repository.TopicoRepository;
 import br.com.alura.forumhub.backend.domain.repository.UsuarioRepository;
+import br.com.alura.forumhub.backend.infra.texto.RenderizadorMarkdown;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +47,20 @@ public class TopicoService {
     private final TopicoRepository topicoRepository;
     private final UsuarioRepository usuarioRepository;
     private final CursoRepository cursoRepository;
+    private final RespostaRepository respostaRepository;
+    private final ListagemParcialRepository listagemParcialRepository;
+    private final AlteracaoService alteracaoService;
+    private final ReputacaoService reputacaoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContadorVisualizacoesService contadorVisualizacoesService;
+    private final TendenciaService tendenciaService;
+    private final LeituraService leituraService;
+    private final IndiceTopicosService indiceTopicosService;
+    private final TagRepository tagRepository;
+    private final DuplicidadeService duplicidadeService;
+    private final RelacionadosService relacionadosService;
+    private final FiltroConteudoService filtroConteudoService;
+    private final RevisaoService revisaoService;
 
     /**
      * Lista todos os tópicos.
@@ -48,7 +82,126 @@ public class TopicoService {
     }
 
     /**
-     * Busca um tópico pelo ID.
+     * Lista com paginação os tópicos com respostas não lidas por um usuário, do mais recente
+     * para o mais antigo.
+     *
+     * @param usuarioId ID do usuário
+     * @param paginacao informações de paginação (a ordenação é ignorada)
+     * @return página de tópicos não lidos
+     */
+    public Page<TopicoDto> listarNaoLidos(Integer usuarioId, Pageable paginacao) {
+        return paginar(leituraService.naoLidos(usuarioId), paginacao);
+    }
+
+    /**
+     * Lista com paginação os tópicos filtrados por tags, status e curso, do mais recente para o
+     * mais antigo. Os filtros são resolvidos no índice de bitmaps em memória e somente os
+     * tópicos da página são buscados no banco.
+     *
+     * @param tags as tags (opcional)
+     * @param todas se o tópico deve ter todas as tags ({@code true}) ou ao menos uma
+     * @param status o status (opcional)
+     * @param cursoId ID do curso (opcional)
+     * @param paginacao informações de paginação (a ordenação é ignorada)
+     * @return página de tópicos encontrados
+     */
+    public Page<TopicoDto> listarFiltrados(
+            List<String> tags,
+            boolean todas,
+            Topico.StatusTopico status,
+            Integer cursoId,
+            Pageable paginacao) {
+        List<String> normalizadas = tags != null ? normalizarTags(tags) : null;
+        return paginar(
+                indiceTopicosService.filtrar(normalizadas, todas, status, cursoId), paginacao);
+    }
+
+    /**
+     * Busca pela chave os tópicos de uma página de um bitmap de IDs, do maior para o menor ID.
+     *
+     * @param ids bitmap com os IDs dos tópicos
+     * @param paginacao informações de paginação
+     * @return página de tópicos
+     */
+    private Page<TopicoDto> paginar(RoaringBitmap ids, Pageable paginacao) {
+        // Posições contadas a partir do maior ID, sem percorrer as páginas anteriores
+        long total = ids.getLongCardinality();
+        List<Integer> pagina = new ArrayList<>(paginacao.getPageSize());
+        long fim = Math.min(total, paginacao.getOffset() + paginacao.getPageSize());
+        for (long i = paginacao.getOffset(); i < fim; i++) {
+            pagina.add(ids.select((int) (total - 1 - i)));
+        }
+
+        Map<Integer, Topico> topicos = new HashMap<>();
+        topicoRepository.findAllById(pagina).forEach(topico -> topicos.put(topico.getId(), topico));
+        List<TopicoDto> conteudo =
+                pagina.stream()
+                        .map(topicos::get)
+                        .filter(Objects::nonNull)
+                        .map(TopicoDto::fromEntity)
+                        .toList();
+        return new PageImpl<>(conteudo, paginacao, total);
+    }
+
+    /**
+     * Conta os tópicos com respostas não lidas por um usuário.
+     *
+     * @param usuarioId ID do usuário
+     * @return o número de tópicos não lidos
+     */
+    public long contarNaoLidos(Integer usuarioId) {
+        return leituraService.contarNaoLidos(usuarioId);
+    }
+
+    /**
+     * Lista tópicos com paginação carregando apenas os campos solicitados.
+     *
+     * @param campos os campos desejados (todos, se vazio)
+     * @param tamanhoResumo tamanho do resumo da mensagem, em caracteres (opcional)
+     * @param paginacao informações de paginação
+     * @return página de tópicos com os campos solicitados
+     * @throws IllegalArgumentException se algum campo não existir
+     */
+    public Page<Map<String, Object>> listarCampos(
+            List<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+        return listagemParcialRepository.listarTopicos(campos, tamanhoResumo, paginacao);
+    }
+
+    /**
+     * Lista os tópicos de um curso lendo do banco apenas os campos solicitados.
+     *
+     * @param nomeCurso o nome do curso
+     * @param campos os campos desejados (todos, se vazio)
+     * @param tamanhoResumo tamanho do resumo da mensagem (opcional)
+     * @param paginacao informações de paginação
+     * @return página de tópicos do curso (vazia se o curso não existir)
+     * @throws IllegalArgumentException se algum campo não existir
+     */
+    public Page<Map<String, Object>> listarCamposPorCurso(
+            String nomeCurso, List<String> campos, Integer tamanhoResumo, Pageable paginacao) {
+        return listagemParcialRepository.listarTopicosPorCurso(
+                nomeCurso, campos, tamanhoResumo, paginacao);
+    }
+
+    /**
+     * Busca um tópico pelo ID, registrando uma visualização e marcando-o como lido pelo
+     * usuário.
+     *
+     * @param id o ID do tópico
+     * @param leitorId o ID do usuário autenticado (opcional)
+     * @return o tópico encontrado
+     * @throws EntityNotFoundException se o tópico não for encontrado
+     */
+    public TopicoDetailDto buscarPorId(Integer id, Integer leitorId) {
+        TopicoDetailDto topico = buscarPorId(id);
+        if (leitorId != null) {
+            leituraService.marcarLido(leitorId, id);
+        }
+        return topico;
+    }
+
+    /**
+     * Busca um tópico pelo ID, registrando uma visualização.
      *
      * @param id o ID do tópico
      * @return o tópico encontrado
@@ -61,23 +214,50 @@ public class TopicoService {
                         .orElseThrow(
                                 () -> new EntityNotFoundException("Tópico não encontrado com o ID: " + id));
 
-        return TopicoDetailDto.fromEntity(topico);
+        contadorVisualizacoesService.registrar(id);
+        tendenciaService.registrarVisualizacao(id, topico.getTitulo());
+        return TopicoDetailDto.fromEntity(
+                topico, tagRepository.buscarTags(id), relacionadosService.buscar(id));
+    }
+
+    /**
+     * Busca tópicos possivelmente duplicados de um título e mensagem.
+     *
+     * @param titulo o título
+     * @param mensagem a mensagem
+     * @return os tópicos mais similares, do mais para o menos similar
+     */
+    public List<TopicoSimilarDto> buscarSimilares(String titulo, String mensagem) {
+        return duplicidadeService.buscarSimilares(titulo, mensagem);
     }
 
     /**
      * Cria um novo tópico.
      *
      * @param dto dados do tópico a ser criado
+     * @param bloquearSimilares se deve recusar o tópico quando houver possíveis duplicados
      * @return o tópico criado
      * @throws EntityNotFoundException se o autor ou curso não forem encontrados
+     * @throws TopicoSimilarException se houver possíveis duplicados e o bloqueio for solicitado
+     * @throws ConteudoBloqueadoException se o título ou a mensagem tiverem termos bloqueados
+     * @throws ConteudoQuarentenaException se o tópico for retido para moderação
      */
     @Transactional
-    public TopicoDto criar(TopicoCreateDto dto) {
+    public TopicoDto criar(TopicoCreateDto dto, boolean bloquearSimilares) {
         // Verifica se já existe um tópico com o mesmo título e mensagem
         if (topicoRepository.existsByTituloAndMensagem(dto.titulo(), dto.mensagem())) {
             throw new IllegalArgumentException("Já existe um tópico com o mesmo título e mensagem");
         }
 
+        // Tópicos reescritos são detectados pelo índice LSH, sem consultar o banco
+        if (bloquearSimilares) {
+            List<TopicoSimilarDto> similares =
+                    duplicidadeService.buscarSimilares(dto.titulo(), dto.mensagem());
+            if (!similares.isEmpty()) {
+                throw new TopicoSimilarException("Existem tópicos similares", similares);
+            }
+        }
+
         Usuario autor =
                 usuarioRepository
                         .findById(dto.autorId())
@@ -92,40 +272,95 @@ public class TopicoService {
                                 () ->
                                         new EntityNotFoundException("Curso não encontrado com o ID: " + dto.cursoId()));
 
+        filtroConteudoService.verificar(
+                Alteracao.Entidade.TOPICO,
+                Alteracao.Operacao.CRIACAO,
+                null,
+                dto,
+                dto.titulo(),
+                dto.mensagem());
+
         Topico topico = new Topico();
         topico.setTitulo(dto.titulo());
         topico.setMensagem(dto.mensagem());
+        topico.setMensagemHtml(RenderizadorMarkdown.renderizar(dto.mensagem()));
+        topico.setVersaoRenderizacao(RenderizadorMarkdown.VERSAO);
         topico.setDataCriacao(LocalDateTime.now());
         topico.setStatus(Topico.StatusTopico.NAO_RESPONDIDO);
         topico.setAutor(autor);
         topico.setCurso(curso);
 
         topicoRepository.save(topico);
+        alteracaoService.registrar(
+                Alteracao.Entidade.TOPICO, topico.getId(), Alteracao.Operacao.CRIACAO);
+        if (dto.tags() != null && !dto.tags().isEmpty()) {
+            List<String> tags = normalizarTags(dto.tags());
+            tagRepository.substituir(topico.getId(), tags);
+            eventPublisher.publishEvent(
+                    new TagsTopicoAlteradasEvent(topico.getId(), List.of(), tags));
+        }
 
-        return TopicoDto.fromEntity(topico);
+        TopicoDto criado = TopicoDto.fromEntity(topico);
+        eventPublisher.publishEvent(new TopicoCriadoEvent(criado));
+        eventPublisher.publishEvent(
+                new StatusTopicoAlteradoEvent(
+                        topico.getId(),
+                        curso.getId(),
+                        null,
+                        topico.getStatus(),
+                        topico.getDataCriacao(),
+                        topico.getDataCriacao()));
+        return criado;
     }
 
     /**
      * Atualiza um tópico existente.
      *
      * @param dto dados do tópico a ser atualizado
+     * @param autorId ID do usuário que editou, registrado no histórico de revisões (opcional)
      * @return o tópico atualizado
      * @throws EntityNotFoundException se o tópico não for encontrado
+     * @throws ConteudoBloqueadoException se o título ou a mensagem tiverem termos bloqueados
+     * @throws ConteudoQuarentenaException se a alteração for retida para moderação
      */
     @Transactional
-    public TopicoDto atualizar(TopicoUpdateDto dto) {
+    public TopicoDto atualizar(TopicoUpdateDto dto, Integer autorId) {
         Topico topico =
                 topicoRepository
                         .findById(dto.id())
                         .orElseThrow(
                                 () -> new EntityNotFoundException("Tópico não encontrado com o ID: " + dto.id()));
 
+        filtroConteudoService.verificar(
+                Alteracao.Entidade.TOPICO,
+                Alteracao.Operacao.ATUALIZACAO,
+                dto.id(),
+                dto,
+                dto.titulo(),
+                dto.mensagem());
+
+        revisaoService.registrar(Alteracao.Entidade.TOPICO, dto.id(), dto.mensagem(), autorId);
         topico.setTitulo(dto.titulo());
         topico.setMensagem(dto.mensagem());
+        topico.setMensagemHtml(RenderizadorMarkdown.renderizar(dto.mensagem()));
+        topico.setVersaoRenderizacao(RenderizadorMarkdown.VERSAO);
 
         topicoRepository.save(topico);
+        alteracaoService.registrar(
+                Alteracao.Entidade.TOPICO, topico.getId(), Alteracao.Operacao.ATUALIZACAO);
+
+        // Sem tags no DTO as atuais são mantidas
+        if (dto.tags() != null) {
+            List<String> anteriores = tagRepository.buscarTags(topico.getId());
+            List<String> tags = normalizarTags(dto.tags());
+            tagRepository.substituir(topico.getId(), tags);
+            eventPublisher.publishEvent(
+                    new TagsTopicoAlteradasEvent(topico.getId(), anteriores, tags));
+        }
 
-        return TopicoDto.fromEntity(topico);
+        TopicoDto atualizado = TopicoDto.fromEntity(topico);
+        eventPublisher.publishEvent(new TopicoAtualizadoEvent(atualizado));
+        return atualizado;
     }
 
     /**
@@ -136,11 +371,39 @@ public class TopicoService {
      */
     @Transactional
     public void excluir(Integer id) {
-        if (!topicoRepository.existsById(id)) {
-            throw new EntityNotFoundException("Tópico não encontrado com o ID: " + id);
-        }
+        Topico topico =
+                topicoRepository
+                        .findById(id)
+                        .orElseThrow(
+                                () -> new EntityNotFoundException("Tópico não encontrado com o ID: " + id));
+
+        // As respostas são removidas em cascata pelo banco; os IDs são lidos antes para os
+        // tombstones do log de alterações
+        List<Integer> respostas = respostaRepository.findIdsByTopico(topico);
+        List<String> tags = tagRepository.buscarTags(id);
+        Integer cursoId = topico.getCurso().getId();
+        reputacaoService.removerTopico(id);
 
-        topicoRepository.deleteById(id);
+        topicoRepository.delete(topico);
+        alteracaoService.registrar(Alteracao.Entidade.TOPICO, id, Alteracao.Operacao.EXCLUSAO);
+        alteracaoService.registrarTodas(
+                Alteracao.Entidade.RESPOSTA, respostas, Alteracao.Operacao.EXCLUSAO);
+
+        eventPublisher.publishEvent(
+                new StatusTopicoAlteradoEvent(
+                        id,
+                        cursoId,
+                        topico.getStatus(),
+                        null,
+                        topico.getDataCriacao(),
+                        LocalDateTime.now()));
+        if (!respostas.isEmpty()) {
+            eventPublisher.publishEvent(
+                    new QuantidadeRespostasAlteradaEvent(cursoId, -respostas.size()));
+        }
+        if (!tags.isEmpty()) {
+            eventPublisher.publishEvent(new TagsTopicoAlteradasEvent(id, tags, List.of()));
+        }
     }
 
     /**
@@ -152,4 +415,50 @@ public class TopicoService {
     public List<TopicoDto> listarPorCurso(String nomeCurso) {
         return topicoRepository.findByCursoNome(nomeCurso).stream().map(TopicoDto::fromEntity).toList();
     }
-}
\ No newline at end of file
+
+    /**
+     * Lista tópicos por nome do curso com paginação.
+     *
+     * @param nomeCurso o nome do curso
+     * @param paginacao informações de paginação
+     * @return página de tópicos do curso (vazia se o curso não existir)
+     */
+    public Page<TopicoDto> listarPorCurso(String nomeCurso, Pageable paginacao) {
+        return cursoRepository
+                .findByNome(nomeCurso)
+                .map(curso -> topicoRepository.findByCurso(curso, paginacao).map(TopicoDto::fromEntity))
+                .orElseGet(() -> Page.empty(paginacao));
+    }
+
+    /**
+     * Lista um lote de tópicos de um curso a partir de um ID, para respostas em streaming.
+     *
+     * @param nomeCurso o nome do curso
+     * @param ultimoId o último ID já enviado
+     * @param limite o tamanho do lote
+     * @return lista de tópicos em ordem crescente de ID
+     */
+    public List<TopicoDto> listarPorCursoAposId(String nomeCurso, Integer ultimoId, int limite) {
+        return topicoRepository
+                .findByCursoNomeAndIdGreaterThanOrderByIdAsc(nomeCurso, ultimoId, Limit.of(limite))
+                .stream()
+                .map(TopicoDto::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Normaliza tags para letras minúsculas, sem repetições e em ordem alfabética.
+     *
+     * @param tags as tags informadas
+     * @return as tags normalizadas
+     */
+    private static List<String> normalizarTags(List<String> tags) {
+        return tags.stream()
+                .filter(Objects::nonNull)
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
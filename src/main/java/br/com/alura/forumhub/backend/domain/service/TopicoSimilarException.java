@@ -0,0 +1,25 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.TopicoSimilarDto;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Exception thrown when a new topic is likely a duplicate of existing ones. */
+public class TopicoSimilarException extends IllegalStateException {
+
+  private final List<TopicoSimilarDto> similares;
+
+  public TopicoSimilarException(String message, List<TopicoSimilarDto> similares) {
+    super(message);
+    this.similares = new ArrayList<>(similares);
+  }
+
+  /**
+   * Returns a defensive copy of the similar topics.
+   *
+   * @return a copy of the similar topics list
+   */
+  public List<TopicoSimilarDto> getSimilares() {
+    return new ArrayList<>(similares);
+  }
+}
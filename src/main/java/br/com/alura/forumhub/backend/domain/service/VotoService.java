@@ -0,0 +1,127 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import br.com.alura.forumhub.backend.domain.dto.VotoDto;
+import br.com.alura.forumhub.backend.domain.repository.VotoRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serviço responsável pelos votos nas respostas.
+ *
+ * <p>Os votos são acumulados em memória, onde votos repetidos do mesmo usuário na mesma resposta
+ * se reduzem a um, e gravados em lote a cada poucos segundos. A unicidade por usuário e resposta é
+ * garantida pela chave primária da tabela {@code voto}: os votos são inseridos com {@code INSERT
+ * IGNORE} e somente os efetivamente inseridos somam pontos, com um único UPDATE por resposta no
+ * lote, na mesma transação. A pontuação exibida pode estar atrasada em até um intervalo de flush.
+ */
+@Service
+@Slf4j
+public class VotoService {
+
+  private final VotoRepository votoRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxPendentes;
+  private final Set<VotoDto> pendentes = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock lockFlush = new ReentrantLock();
+
+  /**
+   * Cria o serviço de votos.
+   *
+   * @param votoRepository repositório de gravação dos votos
+   * @param transactionManager gerenciador de transações
+   * @param maxPendentes número máximo de votos aguardando gravação
+   */
+  public VotoService(
+      VotoRepository votoRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${forumhub.votos.max-pendentes:100000}") int maxPendentes) {
+    this.votoRepository = votoRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxPendentes = maxPendentes;
+  }
+
+  /**
+   * Registra o voto de um usuário em uma resposta. Votar de novo na mesma resposta não tem efeito.
+   *
+   * @param respostaId ID da resposta
+   * @param usuarioId ID do usuário
+   * @throws FilaVotosCheiaException se houver votos demais aguardando gravação
+   */
+  public void votar(Integer respostaId, Integer usuarioId) {
+    if (pendentes.size() >= maxPendentes) {
+      throw new FilaVotosCheiaException("Limite de votos pendentes atingido");
+    }
+    pendentes.add(new VotoDto(respostaId, usuarioId));
+  }
+
+  /** Grava os votos acumulados. */
+  @Scheduled(fixedDelayString = "${forumhub.votos.flush-ms:2000}")
+  public void gravar() {
+    lockFlush.lock();
+    try {
+      List<VotoDto> lote = new ArrayList<>();
+      Iterator<VotoDto> iterator = pendentes.iterator();
+      while (iterator.hasNext()) {
+        lote.add(iterator.next());
+        iterator.remove();
+      }
+      if (lote.isEmpty()) {
+        return;
+      }
+
+      try {
+        transactionTemplate.executeWithoutResult(status -> gravarLote(lote));
+        log.debug("[DEBUG_LOG] Flushed {} votes", lote.size());
+      } catch (DataAccessException | TransactionException e) {
+        // Devolve os votos para a próxima tentativa
+        log.warn("Could not flush votes: {}", e.getMessage());
+        pendentes.addAll(lote);
+      }
+    } finally {
+      lockFlush.unlock();
+    }
+  }
+
+  /** Grava os votos pendentes no encerramento da aplicação. */
+  @PreDestroy
+  public void encerrar() {
+    gravar();
+  }
+
+  private void gravarLote(List<VotoDto> lote) {
+    int[] inseridos = votoRepository.inserir(lote, LocalDateTime.now());
+
+    Map<Integer, Integer> incrementos = new HashMap<>();
+    Set<Integer> recalcular = new HashSet<>();
+    for (int i = 0; i < lote.size(); i++) {
+      Integer respostaId = lote.get(i).respostaId();
+      if (inseridos[i] > 0) {
+        incrementos.merge(respostaId, 1, Integer::sum);
+      } else if (inseridos[i] < 0) {
+        // O driver não informou se a linha foi inserida
+        recalcular.add(respostaId);
+      }
+    }
+    incrementos.keySet().removeAll(recalcular);
+
+    votoRepository.somarScores(incrementos);
+    votoRepository.recalcularScores(recalcular);
+  }
+}
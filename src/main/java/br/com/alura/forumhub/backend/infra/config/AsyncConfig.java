@@ -0,0 +1,12 @@
+package br.com.alura.forumhub.backend.infra.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Habilita a execução assíncrona ({@code @Async}). Com {@code spring.threads.virtual.enabled} o
+ * executor padrão do Spring Boot cria uma virtual thread por tarefa.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {}
@@ -0,0 +1,28 @@
+package br.com.alura.forumhub.backend.infra.config;
+
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configura o formato de armazenamento das mensagens ({@code forumhub.compressao.*}), usado pelo
+ * {@link br.com.alura.forumhub.backend.infra.texto.MensagemConverter} e pelos repositórios JDBC.
+ */
+@Configuration
+public class CompressaoConfig {
+
+  /**
+   * Cria o compactador de mensagens.
+   *
+   * @param env ambiente com os parâmetros da compressão
+   * @return o compactador
+   */
+  @Bean
+  public CompactadorMensagem compactadorMensagem(Environment env) {
+    return new CompactadorMensagem(
+        env.getProperty("forumhub.compressao.habilitada", Boolean.class, true),
+        env.getProperty("forumhub.compressao.limite-bytes", Integer.class, 2048),
+        env.getProperty("forumhub.compressao.nivel", Integer.class, 6));
+  }
+}
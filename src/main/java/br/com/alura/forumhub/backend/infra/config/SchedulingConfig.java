@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.infra.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Habilita a execução de tarefas agendadas ({@code @Scheduled}). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
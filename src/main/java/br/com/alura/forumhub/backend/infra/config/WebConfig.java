@@ -1,7 +1,14 @@
 package br.com.alura.forumhub.backend.infra.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,8 +16,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+  private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+  /**
+   * Construtor com o builder usado pelo conversor CBOR.
+   *
+   * @param objectMapperBuilder provedor do builder Jackson configurado pelo Spring Boot
+   */
+  public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+    this.objectMapperBuilder = objectMapperBuilder;
+  }
+
   /**
-   * Configura a negociação de conteúdo para garantir que as respostas sejam sempre em JSON.
+   * Configura a negociação de conteúdo. JSON é o formato padrão; clientes podem pedir CBOR
+   * ({@code application/cbor}) pelo cabeçalho Accept.
    *
    * @param configurer configurador de negociação de conteúdo
    */
@@ -18,8 +37,24 @@ public class WebConfig implements WebMvcConfigurer {
   public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
     configurer
         .defaultContentType(MediaType.APPLICATION_JSON)
+        .mediaType("json", MediaType.APPLICATION_JSON)
+        .mediaType("cbor", MediaType.APPLICATION_CBOR)
         .favorParameter(false)
         .ignoreAcceptHeader(false)
         .useRegisteredExtensionsOnly(false);
   }
+
+  /**
+   * Substitui o conversor CBOR padrão por um criado a partir do builder do Spring Boot, para que
+   * CBOR use os mesmos módulos (datas) e configurações do JSON.
+   *
+   * @param converters lista de conversores de mensagens
+   */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+    ObjectMapper cborMapper =
+        objectMapperBuilder.getObject().createXmlMapper(false).factory(new CBORFactory()).build();
+    converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+  }
 }
@@ -1,6 +1,7 @@
 package br.com.alura.forumhub.backend.infra.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -21,6 +22,9 @@ import java.util.List;
 @Slf4j
 public class WebMvcConfig implements WebMvcConfigurer {
 
+  @Value("${forumhub.paginacao.tamanho-maximo:100}")
+  private int tamanhoMaximoPagina;
+
   @Override
   public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
     PageableHandlerMethodArgumentResolver resolver = new PageableHandlerMethodArgumentResolver();
@@ -28,6 +32,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
     // Set a fallback pageable to use when sort parameters are invalid
     resolver.setFallbackPageable(PageRequest.of(0, 10, Sort.by("id")));
 
+    // Limit page size on the server so a single request cannot load an unbounded result set
+    resolver.setMaxPageSize(tamanhoMaximoPagina);
+
     // We can't directly set ignoreUnknownSortProperties here, but it's set in
     // application.properties
     log.debug(
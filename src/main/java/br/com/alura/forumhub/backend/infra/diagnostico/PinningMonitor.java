@@ -0,0 +1,103 @@
+package br.com.alura.forumhub.backend.infra.diagnostico;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detecta virtual threads presas à carrier thread (pinning) usando o evento JFR
+ * {@code jdk.VirtualThreadPinned}. Cada ocorrência é atribuída ao primeiro frame do código da
+ * aplicação na pilha e registrada no log, com a contagem acumulada por frame.
+ */
+@Component
+@ConditionalOnProperty(name = "forumhub.diagnostico.pinning.enabled", havingValue = "true")
+@Slf4j
+public class PinningMonitor {
+
+  private static final String EVENTO = "jdk.VirtualThreadPinned";
+  private static final String PACOTE_APLICACAO = "br.com.alura.forumhub";
+
+  private final Duration limiar;
+  private final Map<String, LongAdder> ocorrencias = new ConcurrentHashMap<>();
+  private RecordingStream stream;
+
+  /**
+   * Cria o monitor.
+   *
+   * @param limiarMs duração mínima de um pinning para ser reportado
+   */
+  public PinningMonitor(@Value("${forumhub.diagnostico.pinning.limiar-ms:20}") long limiarMs) {
+    this.limiar = Duration.ofMillis(limiarMs);
+  }
+
+  /** Inicia a gravação JFR em background. */
+  @PostConstruct
+  public void iniciar() {
+    stream = new RecordingStream();
+    stream.enable(EVENTO).withThreshold(limiar).withStackTrace();
+    stream.onEvent(EVENTO, this::registrar);
+    stream.startAsync();
+    log.info("Virtual thread pinning monitor started (threshold {} ms)", limiar.toMillis());
+  }
+
+  /** Encerra a gravação JFR. */
+  @PreDestroy
+  public void encerrar() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  /**
+   * Retorna a contagem de ocorrências por frame da aplicação.
+   *
+   * @return cópia das contagens
+   */
+  public Map<String, Long> getOcorrencias() {
+    Map<String, Long> copia = new ConcurrentHashMap<>();
+    ocorrencias.forEach((frame, contador) -> copia.put(frame, contador.sum()));
+    return copia;
+  }
+
+  private void registrar(RecordedEvent evento) {
+    String frame = frameAplicacao(evento);
+    LongAdder contador = ocorrencias.computeIfAbsent(frame, chave -> new LongAdder());
+    contador.increment();
+    log.warn(
+        "Virtual thread pinned for {} ms at {} ({} occurrences)",
+        evento.getDuration().toMillis(),
+        frame,
+        contador.sum());
+  }
+
+  private static String frameAplicacao(RecordedEvent evento) {
+    if (evento.getStackTrace() == null) {
+      return "<sem stack trace>";
+    }
+
+    List<RecordedFrame> frames = evento.getStackTrace().getFrames();
+    for (RecordedFrame frame : frames) {
+      String classe = frame.getMethod().getType().getName();
+      if (classe.startsWith(PACOTE_APLICACAO)) {
+        return classe + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+      }
+    }
+    // Pinning fora do código da aplicação (bibliotecas); reporta o frame do topo
+    return frames.isEmpty()
+        ? "<sem frames>"
+        : frames.getFirst().getMethod().getType().getName()
+            + "."
+            + frames.getFirst().getMethod().getName();
+  }
+}
@@ -0,0 +1,35 @@
+package br.com.alura.forumhub.backend.infra.faixa;
+
+/**
+ * Guarda a faixa da requisição em execução na thread corrente, para que camadas inferiores, como
+ * o bulkhead JDBC, usem os recursos reservados para ela.
+ */
+public final class ContextoFaixa {
+
+  private static final ThreadLocal<Faixa> ATUAL = new ThreadLocal<>();
+
+  private ContextoFaixa() {}
+
+  /**
+   * Retorna a faixa da thread corrente.
+   *
+   * @return a faixa ou null se a thread não está atendendo uma requisição classificada
+   */
+  public static Faixa atual() {
+    return ATUAL.get();
+  }
+
+  /**
+   * Define a faixa da thread corrente.
+   *
+   * @param faixa a faixa da requisição
+   */
+  public static void definir(Faixa faixa) {
+    ATUAL.set(faixa);
+  }
+
+  /** Remove a faixa da thread corrente. */
+  public static void limpar() {
+    ATUAL.remove();
+  }
+}
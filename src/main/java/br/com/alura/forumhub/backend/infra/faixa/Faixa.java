@@ -0,0 +1,65 @@
+package br.com.alura.forumhub.backend.infra.faixa;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Faixas de execução das requisições. Cada faixa tem capacidade de execução e conexões com o
+ * banco reservadas, de modo que uma rajada de um tipo de requisição não esgota os recursos dos
+ * demais.
+ */
+public enum Faixa {
+  LEITURA_ANONIMA,
+  LEITURA_AUTENTICADA,
+  ESCRITA_USUARIO,
+  ADMIN;
+
+  private static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+  /**
+   * Classifica uma requisição. Leituras vão para {@link #LEITURA_ANONIMA} ou, com um usuário
+   * autenticado, para {@link #LEITURA_AUTENTICADA}; escritas de administradores e em
+   * cursos/usuários vão para {@link #ADMIN}; as demais escritas, incluindo as assinaturas de
+   * cursos, vão para {@link #ESCRITA_USUARIO}.
+   *
+   * @param request a requisição HTTP
+   * @param autenticacao a autenticação corrente (pode ser null)
+   * @return a faixa da requisição
+   */
+  public static Faixa classificar(HttpServletRequest request, Authentication autenticacao) {
+    String metodo = request.getMethod();
+    if ("GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo)) {
+      return autenticado(autenticacao) ? LEITURA_AUTENTICADA : LEITURA_ANONIMA;
+    }
+
+    String path = request.getRequestURI();
+    boolean admin =
+        autenticacao != null
+            && autenticacao.getAuthorities().stream()
+                .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()));
+    boolean assinatura = path.endsWith("/assinatura");
+    if (admin
+        || (path.startsWith("/cursos") && !assinatura)
+        || path.startsWith("/usuarios")) {
+      return ADMIN;
+    }
+    return ESCRITA_USUARIO;
+  }
+
+  private static boolean autenticado(Authentication autenticacao) {
+    // Requisições sem token chegam com a autenticação anônima do Spring Security
+    return autenticacao != null
+        && autenticacao.isAuthenticated()
+        && !(autenticacao instanceof AnonymousAuthenticationToken);
+  }
+
+  /**
+   * Retorna o nome da faixa no formato usado nas propriedades e métricas.
+   *
+   * @return o nome em kebab-case
+   */
+  public String chave() {
+    return name().toLowerCase().replace('_', '-');
+  }
+}
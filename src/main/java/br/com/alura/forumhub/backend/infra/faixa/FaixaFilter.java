@@ -0,0 +1,144 @@
+package br.com.alura.forumhub.backend.infra.faixa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filtro que distribui as requisições em faixas ({@link Faixa}). Cada faixa tem um número máximo
+ * de requisições em execução e uma fila de espera limitada pelo tempo; o tempo em fila é
+ * exportado como métrica por faixa. A faixa fica disponível em {@link ContextoFaixa} durante a
+ * requisição para que o acesso ao banco use as conexões reservadas para ela.
+ *
+ * <p>Como as requisições rodam em virtual threads, a capacidade de cada faixa é controlada por um
+ * semáforo em vez de um pool de threads próprio.
+ */
+@Component
+@Slf4j
+public class FaixaFilter extends OncePerRequestFilter {
+
+  private static final String PREFIXO = "forumhub.faixas.";
+
+  private final boolean habilitado;
+  private final Map<Faixa, Semaphore> capacidades = new EnumMap<>(Faixa.class);
+  private final Map<Faixa, Long> timeoutsMs = new EnumMap<>(Faixa.class);
+  private final Map<Faixa, Timer> esperas = new EnumMap<>(Faixa.class);
+  private final Map<Faixa, Counter> rejeicoes = new EnumMap<>(Faixa.class);
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Cria o filtro com a capacidade configurada para cada faixa e registra as métricas.
+   *
+   * @param environment ambiente com as propriedades de configuração
+   * @param meterRegistry registro de métricas
+   * @param objectMapper o ObjectMapper usado na resposta de erro
+   */
+  public FaixaFilter(
+      Environment environment, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+    this.habilitado = environment.getProperty(PREFIXO + "enabled", Boolean.class, true);
+    this.objectMapper = objectMapper.copy();
+
+    for (Faixa faixa : Faixa.values()) {
+      String prefixo = PREFIXO + faixa.chave() + ".";
+      int concorrencia = environment.getProperty(prefixo + "concorrencia", Integer.class, 200);
+      Semaphore capacidade = new Semaphore(concorrencia, true);
+      capacidades.put(faixa, capacidade);
+      timeoutsMs.put(
+          faixa, environment.getProperty(prefixo + "fila-timeout-ms", Long.class, 5000L));
+
+      esperas.put(
+          faixa,
+          Timer.builder("forumhub.faixa.espera")
+              .tag("faixa", faixa.chave())
+              .publishPercentiles(0.5, 0.99)
+              .register(meterRegistry));
+      rejeicoes.put(
+          faixa,
+          Counter.builder("forumhub.faixa.rejeicoes")
+              .tag("faixa", faixa.chave())
+              .register(meterRegistry));
+      Gauge.builder("forumhub.faixa.fila", capacidade, Semaphore::getQueueLength)
+          .tag("faixa", faixa.chave())
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return !habilitado || path.startsWith("/stream/") || path.startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Faixa faixa =
+        Faixa.classificar(request, SecurityContextHolder.getContext().getAuthentication());
+    Semaphore capacidade = capacidades.get(faixa);
+
+    long inicio = System.nanoTime();
+    boolean adquirida;
+    try {
+      adquirida = capacidade.tryAcquire(timeoutsMs.get(faixa), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      adquirida = false;
+    }
+    esperas.get(faixa).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+    if (!adquirida) {
+      rejeicoes.get(faixa).increment();
+      log.debug(
+          "[DEBUG_LOG] Lane {} queue timeout for {} {}",
+          faixa,
+          request.getMethod(),
+          request.getRequestURI());
+      sendErrorResponse(response);
+      return;
+    }
+
+    ContextoFaixa.definir(faixa);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ContextoFaixa.limpar();
+      capacidade.release();
+    }
+  }
+
+  private void sendErrorResponse(HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now().toString());
+    body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    body.put("error", "Service Unavailable");
+    body.put("message", "Servidor sobrecarregado, tente novamente em instantes");
+
+    objectMapper.writeValue(response.getWriter(), body);
+  }
+}
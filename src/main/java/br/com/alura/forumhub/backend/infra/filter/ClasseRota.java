@@ -0,0 +1,36 @@
+package br.com.alura.forumhub.backend.infra.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/** Classes de rota usadas para separar os limites de concorrência. */
+public enum ClasseRota {
+  LEITURA_PUBLICA,
+  ESCRITA_AUTENTICADA,
+  LOGIN;
+
+  /**
+   * Classifica uma requisição.
+   *
+   * @param request a requisição HTTP
+   * @return a classe da rota
+   */
+  public static ClasseRota classificar(HttpServletRequest request) {
+    String metodo = request.getMethod();
+    if ("POST".equals(metodo) && "/login".equals(request.getRequestURI())) {
+      return LOGIN;
+    }
+    if ("GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo)) {
+      return LEITURA_PUBLICA;
+    }
+    return ESCRITA_AUTENTICADA;
+  }
+
+  /**
+   * Retorna o nome da classe no formato usado nas propriedades e métricas.
+   *
+   * @return o nome em kebab-case
+   */
+  public String chave() {
+    return name().toLowerCase().replace('_', '-');
+  }
+}
@@ -0,0 +1,203 @@
+package br.com.alura.forumhub.backend.infra.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filtro que aplica um limite de concorrência adaptativo por classe de rota e descarta o excesso
+ * com 503 antes da autenticação e do acesso ao banco. Streams SSE e endpoints do actuator não são
+ * limitados. Respostas assíncronas, como as listagens em streaming, ocupam a vaga até o fim, mas
+ * não servem de amostra de latência: sua duração é tempo de transferência, não de processamento.
+ *
+ * <p>Os limites de cada classe são configurados em {@code forumhub.concorrencia.<classe>.*}, onde
+ * a classe é {@code leitura-publica}, {@code escrita-autenticada} ou {@code login}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private static final String PREFIXO = "forumhub.concorrencia.";
+  private static final String ATRIBUTO_LIBERACAO =
+      ConcurrencyLimitFilter.class.getName() + ".LIBERACAO";
+
+  private final boolean habilitado;
+  private final Map<ClasseRota, LimiteAdaptativo> limites = new EnumMap<>(ClasseRota.class);
+  private final Map<ClasseRota, Counter> rejeicoes = new EnumMap<>(ClasseRota.class);
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Cria o filtro com os limites configurados e registra as métricas.
+   *
+   * @param environment ambiente com as propriedades de configuração
+   * @param meterRegistry registro de métricas
+   * @param objectMapper o ObjectMapper usado na resposta de erro
+   */
+  public ConcurrencyLimitFilter(
+      Environment environment, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+    this.habilitado = environment.getProperty(PREFIXO + "enabled", Boolean.class, true);
+    this.objectMapper = objectMapper.copy();
+
+    for (ClasseRota classe : ClasseRota.values()) {
+      String prefixo = PREFIXO + classe.chave() + ".";
+      LimiteAdaptativo limite =
+          new LimiteAdaptativo(
+              environment.getProperty(prefixo + "limite-inicial", Integer.class, 50),
+              environment.getProperty(prefixo + "limite-minimo", Integer.class, 5),
+              environment.getProperty(prefixo + "limite-maximo", Integer.class, 500),
+              environment.getProperty(prefixo + "latencia-alvo-ms", Long.class, 500L),
+              environment.getProperty(prefixo + "fator-reducao", Double.class, 0.9));
+      limites.put(classe, limite);
+
+      Gauge.builder("forumhub.concorrencia.limite", limite, LimiteAdaptativo::getLimite)
+          .tag("classe", classe.chave())
+          .register(meterRegistry);
+      Gauge.builder("forumhub.concorrencia.em_uso", limite, LimiteAdaptativo::getEmUso)
+          .tag("classe", classe.chave())
+          .register(meterRegistry);
+      rejeicoes.put(
+          classe,
+          Counter.builder("forumhub.concorrencia.rejeicoes")
+              .tag("classe", classe.chave())
+              .register(meterRegistry));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return !habilitado || path.startsWith("/stream/") || path.startsWith("/actuator");
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    // O dispatch final de uma resposta assíncrona devolve a vaga
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Liberacao liberacao = (Liberacao) request.getAttribute(ATRIBUTO_LIBERACAO);
+
+    if (liberacao == null) {
+      ClasseRota classe = ClasseRota.classificar(request);
+      LimiteAdaptativo limite = limites.get(classe);
+
+      if (!limite.adquirir()) {
+        rejeicoes.get(classe).increment();
+        log.debug(
+            "[DEBUG_LOG] Shedding {} {} ({} limit {})",
+            request.getMethod(),
+            request.getRequestURI(),
+            classe,
+            limite.getLimite());
+        sendErrorResponse(response);
+        return;
+      }
+
+      liberacao = new Liberacao(limite, System.nanoTime(), response);
+      request.setAttribute(ATRIBUTO_LIBERACAO, liberacao);
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted()) {
+        // Respostas em streaming ocupam a vaga até o fim da escrita
+        liberacao.amostrar = false;
+        request.getAsyncContext().addListener(liberacao);
+      } else {
+        liberacao.liberar();
+      }
+    }
+  }
+
+  private void sendErrorResponse(HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now().toString());
+    body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    body.put("error", "Service Unavailable");
+    body.put("message", "Servidor sobrecarregado, tente novamente em instantes");
+
+    objectMapper.writeValue(response.getWriter(), body);
+  }
+
+  /** Devolve a vaga uma única vez, seja no fim da requisição ou do processamento assíncrono. */
+  private static final class Liberacao implements AsyncListener {
+
+    private final LimiteAdaptativo limite;
+    private final long inicio;
+    private final HttpServletResponse response;
+    private final AtomicBoolean liberada = new AtomicBoolean();
+    private volatile boolean amostrar = true;
+
+    private Liberacao(LimiteAdaptativo limite, long inicio, HttpServletResponse response) {
+      this.limite = limite;
+      this.inicio = inicio;
+      this.response = response;
+    }
+
+    private void liberar() {
+      if (!liberada.compareAndSet(false, true)) {
+        return;
+      }
+      if (!amostrar) {
+        limite.liberarSemAmostra();
+        return;
+      }
+      boolean sobrecarga =
+          response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+              || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+      limite.liberar(System.nanoTime() - inicio, sobrecarga);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      liberar();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      liberar();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      liberar();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // A vaga continua reservada enquanto o processamento assíncrono não terminar
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package br.com.alura.forumhub.backend.infra.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência adaptativo no estilo AIMD. Cada requisição concluída é uma amostra: se a
+ * latência ficou abaixo do alvo e o limite estava sendo usado, ele cresce uma unidade; se a
+ * latência passou do alvo ou houve sobrecarga, ele é reduzido multiplicativamente.
+ *
+ * <p>Como no controle de congestionamento do TCP, o limite é reduzido no máximo uma vez por ciclo:
+ * só uma requisição iniciada depois da última redução pode reduzi-lo de novo. As requisições lentas
+ * de uma mesma rajada refletem o limite anterior e, sem isso, levariam o limite ao mínimo em poucas
+ * conclusões.
+ */
+public class LimiteAdaptativo {
+
+  private final int limiteMinimo;
+  private final int limiteMaximo;
+  private final long latenciaAlvoNanos;
+  private final double fatorReducao;
+  private final AtomicInteger emUso = new AtomicInteger();
+  private final ReentrantLock lockAjuste = new ReentrantLock();
+  private double limite;
+  private long ultimaReducao;
+  private volatile int limiteAtual;
+
+  /**
+   * Cria um limite adaptativo.
+   *
+   * @param limiteInicial limite inicial de requisições simultâneas
+   * @param limiteMinimo menor limite possível
+   * @param limiteMaximo maior limite possível
+   * @param latenciaAlvoMs latência acima da qual o limite é reduzido
+   * @param fatorReducao fator aplicado ao limite em caso de sobrecarga (entre 0 e 1)
+   */
+  public LimiteAdaptativo(
+      int limiteInicial,
+      int limiteMinimo,
+      int limiteMaximo,
+      long latenciaAlvoMs,
+      double fatorReducao) {
+    if (limiteMinimo < 1 || limiteMinimo > limiteMaximo) {
+      throw new IllegalArgumentException("Limites de concorrência inválidos");
+    }
+    if (fatorReducao <= 0 || fatorReducao >= 1) {
+      throw new IllegalArgumentException("O fator de redução deve estar entre 0 e 1");
+    }
+    this.limiteMinimo = limiteMinimo;
+    this.limiteMaximo = limiteMaximo;
+    this.latenciaAlvoNanos = latenciaAlvoMs * 1_000_000;
+    this.fatorReducao = fatorReducao;
+    this.limite = Math.clamp(limiteInicial, limiteMinimo, limiteMaximo);
+    this.limiteAtual = (int) limite;
+    this.ultimaReducao = System.nanoTime();
+  }
+
+  /**
+   * Tenta reservar uma vaga.
+   *
+   * @return true se a requisição pode prosseguir; nesse caso {@link #liberar} deve ser chamado
+   */
+  public boolean adquirir() {
+    while (true) {
+      int atual = emUso.get();
+      if (atual >= limiteAtual) {
+        return false;
+      }
+      if (emUso.compareAndSet(atual, atual + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Libera uma vaga e ajusta o limite com a amostra observada.
+   *
+   * @param latenciaNanos duração da requisição
+   * @param sobrecarga se a requisição falhou por sobrecarga (ex: timeout ou 503)
+   */
+  public void liberar(long latenciaNanos, boolean sobrecarga) {
+    int usoNaAmostra = emUso.getAndDecrement();
+    long agora = System.nanoTime();
+
+    lockAjuste.lock();
+    try {
+      if (sobrecarga || latenciaNanos > latenciaAlvoNanos) {
+        // Amostras iniciadas antes da última redução não reduzem o limite de novo
+        if (agora - latenciaNanos - ultimaReducao >= 0) {
+          limite = Math.max(limiteMinimo, limite * fatorReducao);
+          ultimaReducao = agora;
+        }
+      } else if (usoNaAmostra * 2 >= limite) {
+        // Só cresce quando o limite está de fato sendo exercitado
+        limite = Math.min(limiteMaximo, limite + 1);
+      }
+      limiteAtual = (int) limite;
+    } finally {
+      lockAjuste.unlock();
+    }
+  }
+
+  /**
+   * Libera uma vaga sem usar a duração da requisição como amostra, para requisições cuja duração
+   * não reflete a carga do servidor (ex: respostas em streaming).
+   */
+  public void liberarSemAmostra() {
+    emUso.decrementAndGet();
+  }
+
+  /**
+   * Retorna o limite atual.
+   *
+   * @return número máximo de requisições simultâneas
+   */
+  public int getLimite() {
+    return limiteAtual;
+  }
+
+  /**
+   * Retorna o número de requisições em andamento.
+   *
+   * @return requisições em uso
+   */
+  public int getEmUso() {
+    return emUso.get();
+  }
+}
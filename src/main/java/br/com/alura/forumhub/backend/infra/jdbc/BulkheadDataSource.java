@@ -0,0 +1,297 @@
+package br.com.alura.forumhub.backend.infra.jdbc;
+
+import br.com.alura.forumhub.backend.infra.faixa.ContextoFaixa;
+import br.com.alura.forumhub.backend.infra.faixa.Faixa;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que limita o número de conexões em uso simultâneo com uma fila de espera justa.
+ *
+ * <p>Com virtual threads, milhares de requisições podem disputar o pool de conexões ao mesmo
+ * tempo. A fila, dimensionada com o tamanho do pool, faz as threads excedentes aguardarem de forma
+ * barata (estacionadas, sem ocupar carrier threads) e em ordem de chegada, em vez de expirarem no
+ * timeout do pool. A permissão é devolvida quando a conexão é fechada.
+ *
+ * <p>Parte das conexões pode ser reservada por {@link Faixa}: uma requisição usa primeiro as
+ * conexões reservadas para a sua faixa e depois as compartilhadas. Threads sem faixa (tarefas
+ * agendadas, streaming) usam apenas as compartilhadas. Todas as threads aguardam na mesma fila:
+ * uma permissão devolvida vai para a thread mais antiga que pode usá-la, de modo que quem chega
+ * depois nunca passa à frente de quem já espera.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private static final Permissao COMPARTILHADA = new Permissao(null);
+
+  private final Map<Faixa, Permissao> reservas = new EnumMap<>(Faixa.class);
+  private final int[] reservadasLivres = new int[Faixa.values().length];
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Deque<Espera> fila = new ArrayDeque<>();
+  private final long timeoutMs;
+  private int compartilhadasLivres;
+
+  /**
+   * Cria o bulkhead sobre um DataSource, sem reservas por faixa.
+   *
+   * @param alvo o DataSource real
+   * @param maxConexoes número máximo de conexões em uso simultâneo
+   * @param timeoutMs tempo máximo de espera por uma permissão
+   */
+  public BulkheadDataSource(DataSource alvo, int maxConexoes, long timeoutMs) {
+    this(alvo, maxConexoes, timeoutMs, Map.of());
+  }
+
+  /**
+   * Cria o bulkhead sobre um DataSource com conexões reservadas por faixa.
+   *
+   * @param alvo o DataSource real
+   * @param maxConexoes número máximo de conexões em uso simultâneo
+   * @param timeoutMs tempo máximo de espera por uma permissão
+   * @param reservas conexões reservadas para cada faixa
+   * @throws IllegalArgumentException se as reservas não deixarem conexões compartilhadas
+   */
+  public BulkheadDataSource(
+      DataSource alvo, int maxConexoes, long timeoutMs, Map<Faixa, Integer> reservas) {
+    super(alvo);
+    int totalReservado = 0;
+    for (Map.Entry<Faixa, Integer> reserva : reservas.entrySet()) {
+      if (reserva.getValue() > 0) {
+        this.reservas.put(reserva.getKey(), new Permissao(reserva.getKey()));
+        reservadasLivres[reserva.getKey().ordinal()] = reserva.getValue();
+        totalReservado += reserva.getValue();
+      }
+    }
+    if (totalReservado >= maxConexoes) {
+      throw new IllegalArgumentException(
+          "As conexões reservadas (" + totalReservado + ") devem ser menores que " + maxConexoes);
+    }
+    this.compartilhadasLivres = maxConexoes - totalReservado;
+    this.timeoutMs = timeoutMs;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Permissao permissao = adquirir();
+    try {
+      return envolver(super.getConnection(), permissao);
+    } catch (SQLException | RuntimeException e) {
+      devolver(permissao);
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    Permissao permissao = adquirir();
+    try {
+      return envolver(super.getConnection(username, password), permissao);
+    } catch (SQLException | RuntimeException e) {
+      devolver(permissao);
+      throw e;
+    }
+  }
+
+  /**
+   * Retorna o número de permissões livres, somando compartilhadas e reservadas.
+   *
+   * @return permissões disponíveis
+   */
+  public int getPermissoesDisponiveis() {
+    lock.lock();
+    try {
+      int total = compartilhadasLivres;
+      for (int livres : reservadasLivres) {
+        total += livres;
+      }
+      return total;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Retorna o número de threads aguardando uma conexão.
+   *
+   * @return tamanho da fila de espera
+   */
+  public int getThreadsAguardando() {
+    lock.lock();
+    try {
+      return fila.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Permissao adquirir() throws SQLException {
+    Faixa faixa = ContextoFaixa.atual();
+
+    lock.lock();
+    try {
+      // Ninguém na fila pode usar as permissões livres, então atender agora não fura a fila
+      Permissao livre = tentar(faixa);
+      if (livre != null) {
+        return livre;
+      }
+
+      Espera espera = new Espera(faixa, lock.newCondition());
+      fila.addLast(espera);
+      long restante = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+      try {
+        while (espera.permissao == null) {
+          if (restante <= 0) {
+            fila.remove(espera);
+            throw new SQLTransientConnectionException(
+                "Tempo esgotado aguardando conexão com o banco (" + timeoutMs + " ms)");
+          }
+          restante = espera.condicao.awaitNanos(restante);
+        }
+      } catch (InterruptedException e) {
+        if (espera.permissao != null) {
+          liberar(espera.permissao);
+        } else {
+          fila.remove(espera);
+        }
+        Thread.currentThread().interrupt();
+        throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", e);
+      }
+      return espera.permissao;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void devolver(Permissao permissao) {
+    lock.lock();
+    try {
+      liberar(permissao);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Devolve a permissão e a repassa, em ordem de chegada, a quem aguarda. Exige o lock. */
+  private void liberar(Permissao permissao) {
+    if (permissao.faixa == null) {
+      compartilhadasLivres++;
+    } else {
+      reservadasLivres[permissao.faixa.ordinal()]++;
+    }
+
+    Iterator<Espera> esperas = fila.iterator();
+    while (esperas.hasNext()) {
+      Espera espera = esperas.next();
+      // Uma reserva livre pode pular quem está à frente, mas é de outra faixa e não pode usá-la
+      Permissao concedida = tentar(espera.faixa);
+      if (concedida != null) {
+        espera.permissao = concedida;
+        esperas.remove();
+        espera.condicao.signal();
+        return;
+      }
+    }
+  }
+
+  /** Reserva a permissão da faixa ou uma compartilhada, se houver. Exige o lock. */
+  private Permissao tentar(Faixa faixa) {
+    if (faixa != null && reservadasLivres[faixa.ordinal()] > 0) {
+      reservadasLivres[faixa.ordinal()]--;
+      return reservas.get(faixa);
+    }
+    if (compartilhadasLivres > 0) {
+      compartilhadasLivres--;
+      return COMPARTILHADA;
+    }
+    return null;
+  }
+
+  private Connection envolver(Connection conexao, Permissao permissao) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new LiberacaoHandler(conexao, permissao));
+  }
+
+  /** Permissão de uso de uma conexão: reservada para uma faixa ou compartilhada (faixa nula). */
+  private record Permissao(Faixa faixa) {}
+
+  /** Thread aguardando uma permissão na fila. */
+  private static final class Espera {
+
+    private final Faixa faixa;
+    private final Condition condicao;
+    private Permissao permissao;
+
+    private Espera(Faixa faixa, Condition condicao) {
+      this.faixa = faixa;
+      this.condicao = condicao;
+    }
+  }
+
+  /** Devolve a permissão uma única vez, no primeiro {@code close()} da conexão. */
+  private final class LiberacaoHandler implements InvocationHandler {
+
+    private final Connection conexao;
+    private final Permissao permissao;
+    private final AtomicBoolean liberada = new AtomicBoolean();
+
+    private LiberacaoHandler(Connection conexao, Permissao permissao) {
+      this.conexao = conexao;
+      this.permissao = permissao;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "unwrap":
+          if (((Class<?>) args[0]).isInstance(proxy)) {
+            return proxy;
+          }
+          break;
+        case "isWrapperFor":
+          if (((Class<?>) args[0]).isInstance(proxy)) {
+            return true;
+          }
+          break;
+        case "close":
+          try {
+            conexao.close();
+          } finally {
+            if (liberada.compareAndSet(false, true)) {
+              devolver(permissao);
+            }
+          }
+          return null;
+        default:
+          break;
+      }
+
+      try {
+        return method.invoke(conexao, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package br.com.alura.forumhub.backend.infra.jdbc;
+
+import br.com.alura.forumhub.backend.infra.faixa.Faixa;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o DataSource da aplicação em um {@link BulkheadDataSource}. Por padrão o limite é o
+ * tamanho máximo do pool Hikari, de modo que o pool nunca recebe mais pedidos do que consegue
+ * atender. As conexões reservadas por faixa vêm de {@code
+ * forumhub.faixas.<faixa>.conexoes-reservadas}.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "forumhub.jdbc.bulkhead.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@Slf4j
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor {
+
+  private final int maxConexoes;
+  private final long timeoutMs;
+  private final Map<Faixa, Integer> reservas = new EnumMap<>(Faixa.class);
+
+  /**
+   * Cria o post processor.
+   *
+   * @param environment ambiente com o limite de conexões (0 usa o tamanho do pool), o tempo
+   *     máximo de espera e as reservas por faixa
+   */
+  public BulkheadDataSourcePostProcessor(Environment environment) {
+    this.maxConexoes =
+        environment.getProperty("forumhub.jdbc.bulkhead.max-conexoes", Integer.class, 0);
+    this.timeoutMs =
+        environment.getProperty("forumhub.jdbc.bulkhead.timeout-ms", Long.class, 30000L);
+    if (environment.getProperty("forumhub.faixas.enabled", Boolean.class, true)) {
+      for (Faixa faixa : Faixa.values()) {
+        reservas.put(
+            faixa,
+            environment.getProperty(
+                "forumhub.faixas." + faixa.chave() + ".conexoes-reservadas", Integer.class, 0));
+      }
+    }
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+      return bean;
+    }
+
+    int limite = maxConexoes;
+    if (limite <= 0) {
+      if (!(dataSource instanceof HikariDataSource hikari)) {
+        return bean;
+      }
+      limite = hikari.getMaximumPoolSize();
+    }
+
+    log.info(
+        "JDBC bulkhead enabled for '{}' with {} permits (reserved per lane: {})",
+        beanName,
+        limite,
+        reservas);
+    return new BulkheadDataSource(dataSource, limite, timeoutMs, reservas);
+  }
+}
@@ -0,0 +1,118 @@
+package br.com.alura.forumhub.backend.infra.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets por cliente implementados com GCRA (generic cell rate algorithm).
+ *
+ * <p>Cada bucket é um único {@link AtomicLong} com o instante teórico de chegada (TAT) e é
+ * atualizado por CAS, sem locks. Os buckets ficam em um {@link ConcurrentHashMap}, cujas leituras
+ * não bloqueiam e cujas escritas são distribuídas entre os bins da tabela. Um bucket cujo TAT já
+ * passou está cheio e é equivalente a um bucket novo, por isso pode ser removido sem perda de
+ * estado.
+ */
+public class LimitadorTaxa {
+
+  private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+  private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final long capacidade;
+  private final long intervaloNanos;
+  private final long toleranciaNanos;
+  private final LongSupplier relogio;
+
+  /**
+   * Cria um limitador.
+   *
+   * @param capacidade número máximo de tokens acumulados (rajada)
+   * @param reposicaoPorSegundo tokens repostos por segundo
+   */
+  public LimitadorTaxa(long capacidade, double reposicaoPorSegundo) {
+    this(capacidade, reposicaoPorSegundo, System::nanoTime);
+  }
+
+  /**
+   * Cria um limitador com um relógio específico.
+   *
+   * @param capacidade número máximo de tokens acumulados (rajada)
+   * @param reposicaoPorSegundo tokens repostos por segundo
+   * @param relogio fonte de tempo em nanossegundos
+   */
+  public LimitadorTaxa(long capacidade, double reposicaoPorSegundo, LongSupplier relogio) {
+    if (capacidade <= 0 || reposicaoPorSegundo <= 0) {
+      throw new IllegalArgumentException("Capacidade e reposição devem ser positivas");
+    }
+    this.capacidade = capacidade;
+    this.intervaloNanos = Math.max(1, (long) (NANOS_POR_SEGUNDO / reposicaoPorSegundo));
+    this.toleranciaNanos = intervaloNanos * capacidade;
+    this.relogio = relogio;
+  }
+
+  /**
+   * Consome tokens do bucket de um cliente. Custos acima da capacidade são cobrados como a
+   * capacidade, já que nenhum bucket conseguiria aceitá-los.
+   *
+   * @param chave identificador do cliente
+   * @param custo número de tokens consumidos
+   * @return o resultado, com os dados para os cabeçalhos RateLimit
+   */
+  public ResultadoLimite consumir(String chave, int custo) {
+    AtomicLong tat = buckets.get(chave);
+    if (tat == null) {
+      tat = buckets.computeIfAbsent(chave, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    long incremento = intervaloNanos * Math.min(custo, capacidade);
+    while (true) {
+      long agora = relogio.getAsLong();
+      long atual = tat.get();
+      long novo = Math.max(atual, agora) + incremento;
+      long ocupado = novo - agora;
+
+      if (ocupado > toleranciaNanos) {
+        long ocupadoAtual = Math.max(atual, agora) - agora;
+        return new ResultadoLimite(
+            false,
+            capacidade,
+            restantes(ocupadoAtual),
+            segundos(ocupadoAtual),
+            segundos(ocupado - toleranciaNanos));
+      }
+      if (tat.compareAndSet(atual, novo)) {
+        return new ResultadoLimite(true, capacidade, restantes(ocupado), segundos(ocupado), 0);
+      }
+    }
+  }
+
+  /**
+   * Remove os buckets cheios, que não guardam estado relevante.
+   *
+   * @return número de buckets removidos
+   */
+  public int removerOciosos() {
+    long agora = relogio.getAsLong();
+    int antes = buckets.size();
+    // Uma atualização concorrente a uma remoção pode se perder, liberando no máximo uma rajada
+    buckets.values().removeIf(tat -> tat.get() <= agora);
+    return antes - buckets.size();
+  }
+
+  /**
+   * Retorna o número de buckets em memória.
+   *
+   * @return número de clientes rastreados
+   */
+  public int tamanho() {
+    return buckets.size();
+  }
+
+  private long restantes(long ocupadoNanos) {
+    return Math.max(0, (toleranciaNanos - ocupadoNanos) / intervaloNanos);
+  }
+
+  private static long segundos(long nanos) {
+    return Math.max(0, (nanos + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO);
+  }
+}
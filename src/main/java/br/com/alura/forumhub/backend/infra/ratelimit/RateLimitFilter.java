@@ -0,0 +1,180 @@
+package br.com.alura.forumhub.backend.infra.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filtro de limitação de taxa por cliente. Usuários autenticados são identificados pelo login e
+ * os demais pelo IP, cada grupo com seu próprio {@link LimitadorTaxa}. O custo da requisição
+ * depende do endpoint: login, listagens completas e buscas custam mais, e listagens paginadas
+ * custam proporcionalmente ao tamanho da página, limitado ao tamanho máximo que a paginação
+ * aceita.
+ *
+ * <p>As respostas trazem os cabeçalhos {@code RateLimit-Limit}, {@code RateLimit-Remaining} e
+ * {@code RateLimit-Reset}; requisições acima do limite recebem 429 com {@code Retry-After}.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final boolean habilitado;
+  private final LimitadorTaxa limitadorAnonimo;
+  private final LimitadorTaxa limitadorAutenticado;
+  private final int custoPadrao;
+  private final int custoLogin;
+  private final int custoLista;
+  private final int itensPorToken;
+  private final int tamanhoMaximoPagina;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Cria o filtro com os limites e custos configurados.
+   *
+   * @param habilitado se a limitação está ativa
+   * @param capacidadeAnonimo rajada máxima por IP
+   * @param reposicaoAnonimo tokens repostos por segundo por IP
+   * @param capacidadeAutenticado rajada máxima por usuário
+   * @param reposicaoAutenticado tokens repostos por segundo por usuário
+   * @param custoPadrao custo das demais requisições
+   * @param custoLogin custo de {@code POST /login}
+   * @param custoLista custo das listagens completas e buscas
+   * @param itensPorToken itens de página que acrescentam um token ao custo
+   * @param tamanhoMaximoPagina tamanho máximo de página aceito pela paginação
+   * @param objectMapper o ObjectMapper usado na resposta de erro
+   */
+  public RateLimitFilter(
+      @Value("${forumhub.rate-limit.enabled:true}") boolean habilitado,
+      @Value("${forumhub.rate-limit.anonimo.capacidade:60}") long capacidadeAnonimo,
+      @Value("${forumhub.rate-limit.anonimo.reposicao-por-segundo:10}") double reposicaoAnonimo,
+      @Value("${forumhub.rate-limit.autenticado.capacidade:120}") long capacidadeAutenticado,
+      @Value("${forumhub.rate-limit.autenticado.reposicao-por-segundo:20}")
+          double reposicaoAutenticado,
+      @Value("${forumhub.rate-limit.custo.padrao:1}") int custoPadrao,
+      @Value("${forumhub.rate-limit.custo.login:10}") int custoLogin,
+      @Value("${forumhub.rate-limit.custo.lista:10}") int custoLista,
+      @Value("${forumhub.rate-limit.custo.itens-por-token:25}") int itensPorToken,
+      @Value("${forumhub.paginacao.tamanho-maximo:100}") int tamanhoMaximoPagina,
+      ObjectMapper objectMapper) {
+    this.habilitado = habilitado;
+    this.limitadorAnonimo = new LimitadorTaxa(capacidadeAnonimo, reposicaoAnonimo);
+    this.limitadorAutenticado = new LimitadorTaxa(capacidadeAutenticado, reposicaoAutenticado);
+    this.custoPadrao = custoPadrao;
+    this.custoLogin = custoLogin;
+    this.custoLista = custoLista;
+    this.itensPorToken = itensPorToken;
+    this.tamanhoMaximoPagina = tamanhoMaximoPagina;
+    this.objectMapper = objectMapper.copy();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return !habilitado || path.startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+    boolean autenticado =
+        autenticacao != null
+            && autenticacao.isAuthenticated()
+            && !(autenticacao instanceof AnonymousAuthenticationToken);
+
+    ResultadoLimite resultado =
+        autenticado
+            ? limitadorAutenticado.consumir("u:" + autenticacao.getName(), custo(request))
+            : limitadorAnonimo.consumir("ip:" + request.getRemoteAddr(), custo(request));
+
+    response.setHeader("RateLimit-Limit", Long.toString(resultado.limite()));
+    response.setHeader("RateLimit-Remaining", Long.toString(resultado.restante()));
+    response.setHeader("RateLimit-Reset", Long.toString(resultado.resetSegundos()));
+
+    if (!resultado.permitido()) {
+      log.debug(
+          "[DEBUG_LOG] Rate limit exceeded for {} on {} {}",
+          autenticado ? autenticacao.getName() : request.getRemoteAddr(),
+          request.getMethod(),
+          request.getRequestURI());
+      sendErrorResponse(response, resultado.retryAfterSegundos());
+      return;
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  /** Remove periodicamente os buckets de clientes ociosos. */
+  @Scheduled(fixedDelayString = "${forumhub.rate-limit.limpeza-ms:60000}")
+  public void removerOciosos() {
+    int removidos = limitadorAnonimo.removerOciosos() + limitadorAutenticado.removerOciosos();
+    log.debug("[DEBUG_LOG] Removed {} idle rate limit buckets", removidos);
+  }
+
+  private int custo(HttpServletRequest request) {
+    String metodo = request.getMethod();
+    String path = request.getRequestURI();
+
+    if ("POST".equals(metodo) && "/login".equals(path)) {
+      return custoLogin;
+    }
+    if (!"GET".equals(metodo)) {
+      return custoPadrao;
+    }
+    // Listagens completas (streaming) e buscas
+    if (!path.endsWith("/paginado")
+        && (path.startsWith("/topicos/curso")
+            || path.startsWith("/respostas/topico/")
+            || path.startsWith("/cursos/categoria/")
+            || path.startsWith("/cursos/busca"))) {
+      return custoLista;
+    }
+    return custoPadrao + tamanhoPagina(request) / itensPorToken;
+  }
+
+  private int tamanhoPagina(HttpServletRequest request) {
+    String size = request.getParameter("size");
+    if (size == null) {
+      return 0;
+    }
+    try {
+      // Páginas maiores são reduzidas ao máximo pela paginação e custam como ele
+      return Math.clamp(Integer.parseInt(size), 0, tamanhoMaximoPagina);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private void sendErrorResponse(HttpServletResponse response, long retryAfterSegundos)
+      throws IOException {
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSegundos));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now().toString());
+    body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+    body.put("error", "Too Many Requests");
+    body.put("message", "Limite de requisições excedido, tente novamente mais tarde");
+
+    objectMapper.writeValue(response.getWriter(), body);
+  }
+}
@@ -0,0 +1,13 @@
+package br.com.alura.forumhub.backend.infra.ratelimit;
+
+/**
+ * Resultado de uma consulta ao limitador de taxa.
+ *
+ * @param permitido se a requisição pode prosseguir
+ * @param limite capacidade do bucket
+ * @param restante tokens restantes após a requisição
+ * @param resetSegundos segundos até o bucket voltar a ficar cheio
+ * @param retryAfterSegundos segundos até a requisição poder ser repetida (0 se permitida)
+ */
+public record ResultadoLimite(
+    boolean permitido, long limite, long restante, long resetSegundos, long retryAfterSegundos) {}
@@ -1,5 +1,7 @@
 package br.com.alura.forumhub.backend.infra.security;
 
+import br.com.alura.forumhub.backend.infra.faixa.FaixaFilter;
+import br.com.alura.forumhub.backend.infra.ratelimit.RateLimitFilter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,18 +24,25 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfigurations {
 
   private final SecurityFilter securityFilter;
+  private final RateLimitFilter rateLimitFilter;
+  private final FaixaFilter faixaFilter;
 
   /**
    * Constructor with validation for required dependencies. No defensive copy is made because this
    * is a Spring component that is meant to be used as a singleton.
    *
    * @param securityFilter the security filter to use in the filter chain
+   * @param rateLimitFilter the rate limit filter, applied after authentication
+   * @param faixaFilter the lane scheduling filter, applied after rate limiting
    */
   @SuppressWarnings("EI_EXPOSE_REP2")
-  public SecurityConfigurations(SecurityFilter securityFilter) {
+  public SecurityConfigurations(
+      SecurityFilter securityFilter, RateLimitFilter rateLimitFilter, FaixaFilter faixaFilter) {
     // In a Spring application, dependencies are guaranteed to be non-null
     // by the dependency injection framework, so we don't need to check for null
     this.securityFilter = securityFilter;
+    this.rateLimitFilter = rateLimitFilter;
+    this.faixaFilter = faixaFilter;
   }
 
   /**
@@ -67,26 +76,61 @@ public class SecurityConfigurations {
               .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**")
               .permitAll();
 
+          // Actuator
+          log.debug("[DEBUG_LOG] Configuring actuator endpoints access");
+          authorize.requestMatchers("/actuator/health").permitAll();
+          authorize.requestMatchers("/actuator/**").hasRole("ADMIN");
+
           // Endpoints de tópicos
           log.debug("[DEBUG_LOG] Configuring topic endpoints access");
+          authorize
+              .requestMatchers(HttpMethod.GET, "/topicos/*/revisoes", "/topicos/*/revisoes/*")
+              .hasRole("ADMIN");
           authorize.requestMatchers(HttpMethod.GET, "/topicos").permitAll();
           authorize.requestMatchers(HttpMethod.GET, "/topicos/**").permitAll();
           authorize.requestMatchers(HttpMethod.POST, "/topicos").authenticated();
+          authorize.requestMatchers(HttpMethod.POST, "/topicos/similares").authenticated();
           authorize.requestMatchers(HttpMethod.PUT, "/topicos/**").authenticated();
           authorize.requestMatchers(HttpMethod.DELETE, "/topicos/**").authenticated();
 
           // Endpoints de respostas
           log.debug("[DEBUG_LOG] Configuring response endpoints access");
+          authorize
+              .requestMatchers(HttpMethod.GET, "/respostas/*/revisoes", "/respostas/*/revisoes/*")
+              .hasRole("ADMIN");
           authorize.requestMatchers(HttpMethod.GET, "/respostas").permitAll();
           authorize.requestMatchers(HttpMethod.GET, "/respostas/**").permitAll();
           authorize.requestMatchers(HttpMethod.POST, "/respostas").authenticated();
+          authorize.requestMatchers(HttpMethod.POST, "/respostas/*/votos").authenticated();
           authorize.requestMatchers(HttpMethod.PUT, "/respostas/**").authenticated();
           authorize.requestMatchers(HttpMethod.DELETE, "/respostas/**").authenticated();
 
+          // Streams de eventos (SSE)
+          log.debug("[DEBUG_LOG] Allowing public access to event streams");
+          authorize.requestMatchers(HttpMethod.GET, "/stream/**").permitAll();
+
+          // Feed de alterações
+          log.debug("[DEBUG_LOG] Allowing public access to the change feed");
+          authorize.requestMatchers(HttpMethod.GET, "/changes").permitAll();
+
+          // Estatísticas globais
+          log.debug("[DEBUG_LOG] Allowing public access to global statistics");
+          authorize.requestMatchers(HttpMethod.GET, "/estatisticas").permitAll();
+
+          // Caixa de notificações
+          log.debug("[DEBUG_LOG] Requiring authentication for notifications");
+          authorize.requestMatchers(HttpMethod.GET, "/notificacoes").authenticated();
+
+          // Rascunhos
+          log.debug("[DEBUG_LOG] Requiring authentication for drafts");
+          authorize.requestMatchers("/rascunhos/**").authenticated();
+
           // Endpoints de cursos
           log.debug("[DEBUG_LOG] Configuring course endpoints access");
           authorize.requestMatchers(HttpMethod.GET, "/cursos").permitAll();
           authorize.requestMatchers(HttpMethod.GET, "/cursos/**").permitAll();
+          authorize.requestMatchers(HttpMethod.PUT, "/cursos/*/assinatura").authenticated();
+          authorize.requestMatchers(HttpMethod.DELETE, "/cursos/*/assinatura").authenticated();
           authorize.requestMatchers(HttpMethod.POST, "/cursos").hasRole("ADMIN");
           authorize.requestMatchers(HttpMethod.PUT, "/cursos/**").hasRole("ADMIN");
           authorize.requestMatchers(HttpMethod.DELETE, "/cursos/**").hasRole("ADMIN");
@@ -94,6 +138,7 @@ public class SecurityConfigurations {
           // Endpoints de usuários
           log.debug("[DEBUG_LOG] Configuring user endpoints access");
           authorize.requestMatchers(HttpMethod.GET, "/usuarios").permitAll();
+          authorize.requestMatchers(HttpMethod.GET, "/usuarios/ranking").permitAll();
           authorize.requestMatchers(HttpMethod.GET, "/usuarios/**").authenticated();
           authorize.requestMatchers(HttpMethod.POST, "/usuarios").hasRole("ADMIN");
           authorize.requestMatchers(HttpMethod.PUT, "/usuarios/**").authenticated();
@@ -111,6 +156,12 @@ public class SecurityConfigurations {
     log.debug("[DEBUG_LOG] Adding SecurityFilter before UsernamePasswordAuthenticationFilter");
     httpSecurity.addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
 
+    log.debug("[DEBUG_LOG] Adding RateLimitFilter after SecurityFilter");
+    httpSecurity.addFilterAfter(rateLimitFilter, SecurityFilter.class);
+
+    log.debug("[DEBUG_LOG] Adding FaixaFilter after RateLimitFilter");
+    httpSecurity.addFilterAfter(faixaFilter, RateLimitFilter.class);
+
     log.debug("[DEBUG_LOG] Building SecurityFilterChain");
     return httpSecurity.build();
   }
@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+/**
+ * Contagem estimada de uma chave em uma janela.
+ *
+ * @param chave a chave contada
+ * @param rotulo rótulo associado à chave (ex: título do tópico)
+ * @param contagem a contagem estimada
+ */
+public record ContagemEstimada(int chave, String rotulo, long contagem) {}
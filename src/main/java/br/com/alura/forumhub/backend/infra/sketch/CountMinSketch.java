@@ -0,0 +1,77 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch para contagem aproximada de frequências em memória fixa. A estimativa nunca é
+ * menor que a contagem real e o erro é limitado por {@code total / largura} com probabilidade
+ * {@code 1 - 2^-profundidade}.
+ *
+ * <p>Esta classe não é thread-safe; o chamador deve serializar o acesso.
+ */
+public class CountMinSketch {
+
+  private final int largura;
+  private final int profundidade;
+  private final long[] contadores;
+
+  /**
+   * Cria um sketch.
+   *
+   * @param largura número de contadores por linha (potência de dois)
+   * @param profundidade número de linhas (funções de hash)
+   */
+  public CountMinSketch(int largura, int profundidade) {
+    if (largura <= 0 || Integer.bitCount(largura) != 1 || profundidade <= 0) {
+      throw new IllegalArgumentException("Dimensões inválidas para o count-min sketch");
+    }
+    this.largura = largura;
+    this.profundidade = profundidade;
+    this.contadores = new long[largura * profundidade];
+  }
+
+  /**
+   * Incrementa a contagem de uma chave.
+   *
+   * @param chave a chave
+   * @param quantidade o incremento
+   * @return a nova estimativa da chave
+   */
+  public long incrementar(int chave, long quantidade) {
+    long estimativa = Long.MAX_VALUE;
+    for (int linha = 0; linha < profundidade; linha++) {
+      int indice = indice(chave, linha);
+      contadores[indice] += quantidade;
+      estimativa = Math.min(estimativa, contadores[indice]);
+    }
+    return estimativa;
+  }
+
+  /**
+   * Estima a contagem de uma chave.
+   *
+   * @param chave a chave
+   * @return a estimativa (nunca menor que a contagem real)
+   */
+  public long estimar(int chave) {
+    long estimativa = Long.MAX_VALUE;
+    for (int linha = 0; linha < profundidade; linha++) {
+      estimativa = Math.min(estimativa, contadores[indice(chave, linha)]);
+    }
+    return estimativa;
+  }
+
+  /** Zera todas as contagens. */
+  public void limpar() {
+    Arrays.fill(contadores, 0);
+  }
+
+  private int indice(int chave, int linha) {
+    // Mistura do SplitMix64 com uma semente diferente por linha
+    long hash = chave + (linha + 1) * 0x9E3779B97F4A7C15L;
+    hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+    hash ^= hash >>> 31;
+    return linha * largura + (int) (hash & (largura - 1));
+  }
+}
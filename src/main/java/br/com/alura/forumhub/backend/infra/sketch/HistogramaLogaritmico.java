@@ -0,0 +1,82 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de valores não negativos com buckets em escala logarítmica (quatro por potência de
+ * dois), usado para estimar percentis em memória fixa. O erro relativo de um percentil é de cerca
+ * de 10%, independente da quantidade de amostras.
+ *
+ * <p>Os buckets são atômicos e podem ser atualizados por várias threads.
+ */
+public class HistogramaLogaritmico {
+
+  private static final int BUCKETS_POR_OITAVA = 4;
+  private static final int NUMERO_BUCKETS = 64 * BUCKETS_POR_OITAVA;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(NUMERO_BUCKETS);
+
+  /**
+   * Registra um valor.
+   *
+   * @param valor o valor (valores negativos são tratados como zero)
+   */
+  public void registrar(long valor) {
+    buckets.incrementAndGet(bucket(valor));
+  }
+
+  /**
+   * Soma as contagens de outro histograma a este.
+   *
+   * @param outro o histograma a ser somado
+   */
+  public void somar(HistogramaLogaritmico outro) {
+    for (int i = 0; i < NUMERO_BUCKETS; i++) {
+      long contagem = outro.buckets.get(i);
+      if (contagem > 0) {
+        buckets.addAndGet(i, contagem);
+      }
+    }
+  }
+
+  /**
+   * Estima um percentil.
+   *
+   * @param percentil o percentil, entre 0 e 1 (ex: 0.5 para a mediana)
+   * @return o valor estimado, ou null se não houver amostras
+   */
+  public Long percentil(double percentil) {
+    long[] contagens = new long[NUMERO_BUCKETS];
+    long total = 0;
+    for (int i = 0; i < NUMERO_BUCKETS; i++) {
+      contagens[i] = buckets.get(i);
+      total += contagens[i];
+    }
+    if (total == 0) {
+      return null;
+    }
+
+    long alvo = Math.max(1, (long) Math.ceil(total * percentil));
+    long acumulado = 0;
+    for (int i = 0; i < NUMERO_BUCKETS; i++) {
+      acumulado += contagens[i];
+      if (acumulado >= alvo) {
+        // Média geométrica dos limites do bucket
+        return Math.round(Math.sqrt((double) limiteInferior(i) * limiteInferior(i + 1)));
+      }
+    }
+    return limiteInferior(NUMERO_BUCKETS);
+  }
+
+  private static int bucket(long valor) {
+    if (valor <= 0) {
+      return 0;
+    }
+    double oitavas = Math.log(valor + 1.0) / Math.log(2);
+    return Math.min(NUMERO_BUCKETS - 1, (int) (oitavas * BUCKETS_POR_OITAVA));
+  }
+
+  private static long limiteInferior(int bucket) {
+    return Math.round(Math.pow(2, (double) bucket / BUCKETS_POR_OITAVA) - 1);
+  }
+}
@@ -0,0 +1,136 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Índice LSH (locality-sensitive hashing) de assinaturas MinHash. A assinatura é dividida em
+ * bandas de linhas consecutivas; dois itens são candidatos quando coincidem em todas as linhas de
+ * ao menos uma banda. Com {@code b} bandas de {@code r} linhas, itens com similaridade {@code s}
+ * viram candidatos com probabilidade {@code 1 - (1 - s^r)^b}, cujo limiar fica perto de
+ * {@code (1/b)^(1/r)}.
+ *
+ * <p>Esta classe não é thread-safe; o chamador deve serializar o acesso.
+ */
+public class IndiceLsh {
+
+  private final int bandas;
+  private final int linhasPorBanda;
+  private final List<Map<Long, RoaringBitmap>> baldes;
+  private final Map<Integer, int[]> assinaturas = new HashMap<>();
+
+  /**
+   * Cria um índice vazio.
+   *
+   * @param bandas número de bandas
+   * @param linhasPorBanda número de linhas de cada banda
+   */
+  public IndiceLsh(int bandas, int linhasPorBanda) {
+    if (bandas <= 0 || linhasPorBanda <= 0) {
+      throw new IllegalArgumentException("Dimensões inválidas para o índice LSH");
+    }
+    this.bandas = bandas;
+    this.linhasPorBanda = linhasPorBanda;
+    this.baldes = new ArrayList<>(bandas);
+    for (int i = 0; i < bandas; i++) {
+      baldes.add(new HashMap<>());
+    }
+  }
+
+  /**
+   * Retorna o tamanho das assinaturas aceitas pelo índice.
+   *
+   * @return o número de bandas vezes o número de linhas por banda
+   */
+  public int tamanhoAssinatura() {
+    return bandas * linhasPorBanda;
+  }
+
+  /**
+   * Adiciona ou substitui a assinatura de um item.
+   *
+   * @param id ID do item
+   * @param assinatura a assinatura MinHash
+   */
+  public void adicionar(int id, int[] assinatura) {
+    if (assinatura.length != tamanhoAssinatura()) {
+      throw new IllegalArgumentException("Tamanho de assinatura inválido");
+    }
+    remover(id);
+    assinaturas.put(id, assinatura);
+    for (int banda = 0; banda < bandas; banda++) {
+      baldes.get(banda).computeIfAbsent(chave(assinatura, banda), c -> new RoaringBitmap()).add(id);
+    }
+  }
+
+  /**
+   * Remove um item do índice, se existir.
+   *
+   * @param id ID do item
+   */
+  public void remover(int id) {
+    int[] assinatura = assinaturas.remove(id);
+    if (assinatura == null) {
+      return;
+    }
+    for (int banda = 0; banda < bandas; banda++) {
+      Map<Long, RoaringBitmap> balde = baldes.get(banda);
+      long chave = chave(assinatura, banda);
+      RoaringBitmap ids = balde.get(chave);
+      if (ids != null) {
+        ids.remove(id);
+        if (ids.isEmpty()) {
+          balde.remove(chave);
+        }
+      }
+    }
+  }
+
+  /**
+   * Busca os itens que compartilham ao menos uma banda com uma assinatura.
+   *
+   * @param assinatura a assinatura MinHash
+   * @return os IDs dos candidatos
+   */
+  public RoaringBitmap candidatos(int[] assinatura) {
+    RoaringBitmap candidatos = new RoaringBitmap();
+    for (int banda = 0; banda < bandas; banda++) {
+      RoaringBitmap ids = baldes.get(banda).get(chave(assinatura, banda));
+      if (ids != null) {
+        candidatos.or(ids);
+      }
+    }
+    return candidatos;
+  }
+
+  /**
+   * Retorna a assinatura indexada de um item.
+   *
+   * @param id ID do item
+   * @return a assinatura, ou null se o item não estiver no índice
+   */
+  public int[] assinatura(int id) {
+    return assinaturas.get(id);
+  }
+
+  /**
+   * Retorna o número de itens indexados.
+   *
+   * @return o número de itens
+   */
+  public int tamanho() {
+    return assinaturas.size();
+  }
+
+  private long chave(int[] assinatura, int banda) {
+    long hash = banda;
+    int inicio = banda * linhasPorBanda;
+    for (int i = inicio; i < inicio + linhasPorBanda; i++) {
+      hash = MinHash.misturar(hash * 31 + assinatura[i]);
+    }
+    return hash;
+  }
+}
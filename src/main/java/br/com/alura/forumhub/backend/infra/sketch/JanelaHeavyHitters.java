@@ -0,0 +1,184 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Janela deslizante de heavy hitters (chaves mais frequentes) em memória fixa.
+ *
+ * <p>A janela é dividida em buckets de tempo reaproveitados de forma circular. Cada bucket tem um
+ * {@link CountMinSketch} e os {@code k} candidatos mais frequentes do período. A consulta une os
+ * candidatos dos buckets da janela e soma as estimativas de todos os sketches, de modo que o custo
+ * depende apenas do número de buckets e de {@code k}, e não do número de chaves distintas.
+ */
+public class JanelaHeavyHitters {
+
+  private final Bucket[] buckets;
+  private final long duracaoBucketMs;
+  private final int k;
+  private final LongSupplier relogio;
+
+  /**
+   * Cria uma janela.
+   *
+   * @param numeroBuckets número de buckets da janela
+   * @param duracaoBucketMs duração de cada bucket
+   * @param larguraSketch largura de cada count-min sketch (potência de dois)
+   * @param profundidadeSketch profundidade de cada count-min sketch
+   * @param k número de candidatos mantidos por bucket
+   * @param relogio fonte de tempo em milissegundos
+   */
+  public JanelaHeavyHitters(
+      int numeroBuckets,
+      long duracaoBucketMs,
+      int larguraSketch,
+      int profundidadeSketch,
+      int k,
+      LongSupplier relogio) {
+    this.buckets = new Bucket[numeroBuckets];
+    for (int i = 0; i < numeroBuckets; i++) {
+      buckets[i] = new Bucket(new CountMinSketch(larguraSketch, profundidadeSketch));
+    }
+    this.duracaoBucketMs = duracaoBucketMs;
+    this.k = k;
+    this.relogio = relogio;
+  }
+
+  /**
+   * Registra uma ocorrência de uma chave no bucket corrente.
+   *
+   * @param chave a chave
+   * @param rotulo rótulo associado à chave
+   */
+  public void registrar(int chave, String rotulo) {
+    long epoca = relogio.getAsLong() / duracaoBucketMs;
+    Bucket bucket = buckets[(int) (epoca % buckets.length)];
+
+    bucket.lock.lock();
+    try {
+      if (bucket.epoca != epoca) {
+        bucket.reiniciar(epoca);
+      }
+      long estimativa = bucket.sketch.incrementar(chave, 1);
+
+      Candidato candidato = bucket.candidatos.get(chave);
+      if (candidato != null) {
+        candidato.contagem = estimativa;
+      } else if (bucket.candidatos.size() < k) {
+        bucket.candidatos.put(chave, new Candidato(rotulo, estimativa));
+      } else {
+        // Com k pequeno, a varredura linear custa o mesmo que manter um heap atualizado
+        Map.Entry<Integer, Candidato> menor = null;
+        for (Map.Entry<Integer, Candidato> entrada : bucket.candidatos.entrySet()) {
+          if (menor == null || entrada.getValue().contagem < menor.getValue().contagem) {
+            menor = entrada;
+          }
+        }
+        if (menor != null && estimativa > menor.getValue().contagem) {
+          bucket.candidatos.remove(menor.getKey());
+          bucket.candidatos.put(chave, new Candidato(rotulo, estimativa));
+        }
+      }
+    } finally {
+      bucket.lock.unlock();
+    }
+  }
+
+  /**
+   * Remove uma chave dos candidatos de todos os buckets, de modo que ela deixa de ser retornada
+   * pela consulta. As contagens já somadas nos sketches permanecem, pois um count-min sketch não
+   * permite remoção; elas só voltam a aparecer se a chave for registrada novamente.
+   *
+   * @param chave a chave
+   */
+  public void remover(int chave) {
+    for (Bucket bucket : buckets) {
+      bucket.lock.lock();
+      try {
+        bucket.candidatos.remove(chave);
+      } finally {
+        bucket.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Retorna as chaves mais frequentes da janela.
+   *
+   * @param limite número máximo de chaves
+   * @return as chaves em ordem decrescente de contagem estimada
+   */
+  public List<ContagemEstimada> maisFrequentes(int limite) {
+    long epocaAtual = relogio.getAsLong() / duracaoBucketMs;
+    long epocaMinima = epocaAtual - buckets.length + 1;
+
+    Map<Integer, String> candidatos = new HashMap<>();
+    for (Bucket bucket : buckets) {
+      bucket.lock.lock();
+      try {
+        if (bucket.epoca >= epocaMinima) {
+          bucket.candidatos.forEach((chave, candidato) -> candidatos.put(chave, candidato.rotulo));
+        }
+      } finally {
+        bucket.lock.unlock();
+      }
+    }
+
+    Map<Integer, Long> totais = new HashMap<>();
+    for (Bucket bucket : buckets) {
+      bucket.lock.lock();
+      try {
+        if (bucket.epoca >= epocaMinima) {
+          for (Integer chave : candidatos.keySet()) {
+            totais.merge(chave, bucket.sketch.estimar(chave), Long::sum);
+          }
+        }
+      } finally {
+        bucket.lock.unlock();
+      }
+    }
+
+    List<ContagemEstimada> resultado = new ArrayList<>(candidatos.size());
+    candidatos.forEach(
+        (chave, rotulo) ->
+            resultado.add(new ContagemEstimada(chave, rotulo, totais.getOrDefault(chave, 0L))));
+    resultado.sort(Comparator.comparingLong(ContagemEstimada::contagem).reversed());
+    return resultado.subList(0, Math.min(limite, resultado.size()));
+  }
+
+  /** Período de tempo da janela com seu sketch e candidatos. */
+  private static final class Bucket {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CountMinSketch sketch;
+    private final Map<Integer, Candidato> candidatos = new HashMap<>();
+    private long epoca = Long.MIN_VALUE;
+
+    private Bucket(CountMinSketch sketch) {
+      this.sketch = sketch;
+    }
+
+    private void reiniciar(long novaEpoca) {
+      sketch.limpar();
+      candidatos.clear();
+      epoca = novaEpoca;
+    }
+  }
+
+  /** Candidato a heavy hitter dentro de um bucket. */
+  private static final class Candidato {
+
+    private final String rotulo;
+    private long contagem;
+
+    private Candidato(String rotulo, long contagem) {
+      this.rotulo = rotulo;
+      this.contagem = contagem;
+    }
+  }
+}
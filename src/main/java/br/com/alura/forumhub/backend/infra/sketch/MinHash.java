@@ -0,0 +1,101 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assinaturas MinHash para estimar a similaridade de Jaccard entre conjuntos de shingles. A
+ * fração de posições iguais entre duas assinaturas estima a similaridade dos conjuntos, com erro
+ * padrão de cerca de {@code 1 / sqrt(tamanho)}.
+ *
+ * <p>Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public class MinHash {
+
+  private final int tamanho;
+  private final int tamanhoShingle;
+
+  /**
+   * Cria um gerador de assinaturas.
+   *
+   * @param tamanho número de funções de hash (posições da assinatura)
+   * @param tamanhoShingle número de tokens consecutivos em cada shingle
+   */
+  public MinHash(int tamanho, int tamanhoShingle) {
+    if (tamanho <= 0 || tamanhoShingle <= 0) {
+      throw new IllegalArgumentException("Dimensões inválidas para o MinHash");
+    }
+    this.tamanho = tamanho;
+    this.tamanhoShingle = tamanhoShingle;
+  }
+
+  /**
+   * Calcula a assinatura dos shingles de uma sequência de tokens. Sequências mais curtas que um
+   * shingle formam um único shingle.
+   *
+   * @param tokens os tokens do texto
+   * @return a assinatura, ou null se não houver tokens
+   */
+  public int[] assinatura(List<String> tokens) {
+    if (tokens.isEmpty()) {
+      return null;
+    }
+    int[] assinatura = new int[tamanho];
+    Arrays.fill(assinatura, Integer.MAX_VALUE);
+
+    int shingles = Math.max(1, tokens.size() - tamanhoShingle + 1);
+    for (int inicio = 0; inicio < shingles; inicio++) {
+      long shingle = hashShingle(tokens, inicio);
+      for (int i = 0; i < tamanho; i++) {
+        int valor = (int) (misturar(shingle + (i + 1) * 0x9E3779B97F4A7C15L) >>> 33);
+        if (valor < assinatura[i]) {
+          assinatura[i] = valor;
+        }
+      }
+    }
+    return assinatura;
+  }
+
+  /**
+   * Estima a similaridade de Jaccard entre os conjuntos de duas assinaturas.
+   *
+   * @param a uma assinatura
+   * @param b outra assinatura do mesmo tamanho
+   * @return a similaridade estimada, entre 0 e 1
+   */
+  public static double similaridade(int[] a, int[] b) {
+    int iguais = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] == b[i]) {
+        iguais++;
+      }
+    }
+    return (double) iguais / a.length;
+  }
+
+  private long hashShingle(List<String> tokens, int inicio) {
+    // FNV-1a de 64 bits sobre os tokens do shingle, separados por espaço
+    long hash = 0xCBF29CE484222325L;
+    int fim = Math.min(tokens.size(), inicio + tamanhoShingle);
+    for (int t = inicio; t < fim; t++) {
+      String token = tokens.get(t);
+      for (int c = 0; c < token.length(); c++) {
+        hash = (hash ^ token.charAt(c)) * 0x100000001B3L;
+      }
+      hash = (hash ^ ' ') * 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Mistura do SplitMix64.
+   *
+   * @param valor o valor a ser misturado
+   * @return o hash
+   */
+  static long misturar(long valor) {
+    long hash = (valor ^ (valor >>> 30)) * 0xBF58476D1CE4E5B9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+    return hash ^ (hash >>> 31);
+  }
+}
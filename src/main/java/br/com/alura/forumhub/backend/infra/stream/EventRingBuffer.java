@@ -0,0 +1,87 @@
+package br.com.alura.forumhub.backend.infra.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer circular de eventos com sequência monotônica. As publicações são serializadas por um
+ * lock; a leitura não usa lock e cada leitor mantém o próprio cursor. Um leitor que fique mais de
+ * {@code capacidade} eventos para trás perde eventos e deve ser descartado.
+ *
+ * @param <T> tipo dos eventos armazenados
+ */
+public class EventRingBuffer<T> {
+
+  private final AtomicReferenceArray<Entrada<T>> slots;
+  private final int mascara;
+  private final int capacidade;
+  private final AtomicLong cursor = new AtomicLong(-1);
+  private final ReentrantLock lockEscrita = new ReentrantLock();
+
+  /**
+   * Cria um buffer com a capacidade informada.
+   *
+   * @param capacidade número de eventos retidos; deve ser potência de dois
+   */
+  public EventRingBuffer(int capacidade) {
+    if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+      throw new IllegalArgumentException("A capacidade do buffer deve ser potência de dois");
+    }
+    this.capacidade = capacidade;
+    this.mascara = capacidade - 1;
+    this.slots = new AtomicReferenceArray<>(capacidade);
+  }
+
+  /**
+   * Publica um evento, sobrescrevendo o mais antigo quando o buffer está cheio.
+   *
+   * @param evento o evento a ser publicado
+   * @return a sequência atribuída ao evento
+   */
+  public long publicar(T evento) {
+    lockEscrita.lock();
+    try {
+      long sequencia = cursor.get() + 1;
+      slots.set((int) (sequencia & mascara), new Entrada<>(sequencia, evento));
+      cursor.set(sequencia);
+      return sequencia;
+    } finally {
+      lockEscrita.unlock();
+    }
+  }
+
+  /**
+   * Lê o evento de uma sequência.
+   *
+   * @param sequencia a sequência desejada
+   * @return o evento ou null se a sequência ainda não foi publicada ou já foi sobrescrita
+   */
+  public T ler(long sequencia) {
+    Entrada<T> entrada = slots.get((int) (sequencia & mascara));
+    if (entrada == null || entrada.sequencia() != sequencia) {
+      return null;
+    }
+    return entrada.evento();
+  }
+
+  /**
+   * Retorna a sequência do último evento publicado.
+   *
+   * @return a última sequência ou -1 se nada foi publicado
+   */
+  public long cursor() {
+    return cursor.get();
+  }
+
+  /**
+   * Retorna o número de eventos retidos pelo buffer.
+   *
+   * @return a capacidade do buffer
+   */
+  public int capacidade() {
+    return capacidade;
+  }
+
+  private record Entrada<T>(long sequencia, T evento) {}
+}
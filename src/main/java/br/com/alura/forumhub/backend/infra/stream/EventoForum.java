@@ -0,0 +1,10 @@
+package br.com.alura.forumhub.backend.infra.stream;
+
+/**
+ * Evento distribuído aos assinantes dos streams SSE.
+ *
+ * @param tipo nome do evento enviado no campo {@code event} do SSE
+ * @param topicoId ID do tópico ao qual o evento se refere
+ * @param dados conteúdo serializado no campo {@code data} do SSE
+ */
+public record EventoForum(String tipo, Integer topicoId, Object dados) {}
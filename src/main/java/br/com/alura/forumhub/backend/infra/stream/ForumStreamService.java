@@ -0,0 +1,277 @@
+package br.com.alura.forumhub.backend.infra.stream;
+
+import br.com.alura.forumhub.backend.domain.event.RespostaCriadaEvent;
+import br.com.alura.forumhub.backend.domain.event.TopicoCriadoEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Serviço responsável pelo fan-out de eventos do fórum para os streams SSE.
+ *
+ * <p>Os eventos são gravados em um {@link EventRingBuffer} compartilhado e cada assinante mantém o
+ * próprio cursor. O envio acontece em virtual threads, no máximo uma por assinante, e as conexões
+ * ociosas não ocupam threads graças ao suporte assíncrono do servlet. Assinantes que ficam mais
+ * atrasados do que a capacidade do buffer são desconectados e podem reconectar usando o cabeçalho
+ * {@code Last-Event-ID}.
+ */
+@Service
+@Slf4j
+public class ForumStreamService {
+
+  private static final String EVENTO_TOPICO = "topico";
+  private static final String EVENTO_RESPOSTA = "resposta";
+
+  private final EventRingBuffer<EventoForum> buffer;
+  private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger conexoes = new AtomicInteger();
+  private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+  private final ExecutorService despachante =
+      Executors.newSingleThreadExecutor(Thread.ofPlatform().name("sse-despachante").factory());
+  private final AtomicBoolean despachoPendente = new AtomicBoolean();
+  private final long timeoutMs;
+  private final int maxAssinantes;
+
+  /**
+   * Cria o serviço de streams.
+   *
+   * @param capacidadeBuffer número de eventos retidos no buffer (potência de dois)
+   * @param timeoutMs tempo máximo de vida de uma conexão SSE
+   * @param maxAssinantes número máximo de conexões simultâneas
+   */
+  public ForumStreamService(
+      @Value("${forumhub.stream.buffer-capacidade:4096}") int capacidadeBuffer,
+      @Value("${forumhub.stream.timeout-ms:1800000}") long timeoutMs,
+      @Value("${forumhub.stream.max-assinantes:50000}") int maxAssinantes) {
+    this.buffer = new EventRingBuffer<>(capacidadeBuffer);
+    this.timeoutMs = timeoutMs;
+    this.maxAssinantes = maxAssinantes;
+  }
+
+  /**
+   * Abre um stream com os novos tópicos.
+   *
+   * @param ultimoEventoId valor do cabeçalho {@code Last-Event-ID} (opcional)
+   * @return o emitter SSE da conexão
+   * @throws LimiteAssinantesException se o limite de conexões foi atingido
+   */
+  public SseEmitter assinarTopicos(String ultimoEventoId) {
+    return assinar(evento -> EVENTO_TOPICO.equals(evento.tipo()), ultimoEventoId);
+  }
+
+  /**
+   * Abre um stream com as novas respostas de um tópico.
+   *
+   * @param topicoId ID do tópico
+   * @param ultimoEventoId valor do cabeçalho {@code Last-Event-ID} (opcional)
+   * @return o emitter SSE da conexão
+   * @throws LimiteAssinantesException se o limite de conexões foi atingido
+   */
+  public SseEmitter assinarRespostas(Integer topicoId, String ultimoEventoId) {
+    return assinar(
+        evento -> EVENTO_RESPOSTA.equals(evento.tipo()) && topicoId.equals(evento.topicoId()),
+        ultimoEventoId);
+  }
+
+  /**
+   * Publica um tópico recém-criado após o commit da transação.
+   *
+   * @param event o evento de criação do tópico
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTopicoCriado(TopicoCriadoEvent event) {
+    publicar(new EventoForum(EVENTO_TOPICO, event.topico().id(), event.topico()));
+  }
+
+  /**
+   * Publica uma resposta recém-criada após o commit da transação.
+   *
+   * @param event o evento de criação da resposta
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRespostaCriada(RespostaCriadaEvent event) {
+    publicar(new EventoForum(EVENTO_RESPOSTA, event.resposta().topicoId(), event.resposta()));
+  }
+
+  /** Envia um comentário de heartbeat para detectar conexões encerradas pelo cliente. */
+  @Scheduled(fixedDelayString = "${forumhub.stream.heartbeat-ms:15000}")
+  public void heartbeat() {
+    assinantes.forEach(assinante -> agendar(assinante, true));
+  }
+
+  /** Encerra as conexões abertas e os executores. */
+  @PreDestroy
+  public void encerrar() {
+    assinantes.forEach(
+        assinante -> {
+          remover(assinante);
+          assinante.emitter().complete();
+        });
+    despachante.shutdownNow();
+    envios.shutdownNow();
+  }
+
+  private SseEmitter assinar(Predicate<EventoForum> filtro, String ultimoEventoId) {
+    // A vaga é reservada antes do registro, para que assinaturas concorrentes não passem do limite
+    if (conexoes.getAndUpdate(atual -> atual < maxAssinantes ? atual + 1 : atual)
+        >= maxAssinantes) {
+      throw new LimiteAssinantesException("Limite de conexões de stream atingido");
+    }
+
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    Assinante assinante = new Assinante(emitter, filtro, posicaoInicial(ultimoEventoId));
+
+    emitter.onCompletion(() -> remover(assinante));
+    emitter.onTimeout(() -> remover(assinante));
+    emitter.onError(erro -> remover(assinante));
+    assinantes.add(assinante);
+
+    // Reenvia eventos perdidos durante uma reconexão
+    agendar(assinante, false);
+    return emitter;
+  }
+
+  private long posicaoInicial(String ultimoEventoId) {
+    long proximo = buffer.cursor() + 1;
+    if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+      return proximo;
+    }
+
+    try {
+      long solicitado = Long.parseLong(ultimoEventoId.trim()) + 1;
+      // Só retoma se os eventos solicitados ainda estiverem no buffer
+      if (solicitado <= proximo && proximo - solicitado < buffer.capacidade()) {
+        return solicitado;
+      }
+    } catch (NumberFormatException e) {
+      log.debug("[DEBUG_LOG] Ignoring invalid Last-Event-ID: {}", ultimoEventoId);
+    }
+    return proximo;
+  }
+
+  private void publicar(EventoForum evento) {
+    buffer.publicar(evento);
+
+    // Coalesce notificações: uma varredura de assinantes atende várias publicações seguidas
+    if (despachoPendente.compareAndSet(false, true)) {
+      despachante.execute(
+          () -> {
+            despachoPendente.set(false);
+            assinantes.forEach(assinante -> agendar(assinante, false));
+          });
+    }
+  }
+
+  private void agendar(Assinante assinante, boolean heartbeat) {
+    if (!assinante.enviando().compareAndSet(false, true)) {
+      return;
+    }
+    if (!heartbeat && assinante.proximo > buffer.cursor()) {
+      assinante.enviando().set(false);
+      // Evita perder um evento publicado entre a verificação e a liberação do flag
+      if (assinante.proximo <= buffer.cursor()) {
+        agendar(assinante, false);
+      }
+      return;
+    }
+    envios.execute(() -> enviar(assinante, heartbeat));
+  }
+
+  private void enviar(Assinante assinante, boolean heartbeat) {
+    try {
+      if (heartbeat) {
+        assinante.emitter().send(SseEmitter.event().comment("heartbeat"));
+      }
+
+      long ultimo = buffer.cursor();
+      while (assinante.proximo <= ultimo) {
+        if (ultimo - assinante.proximo >= buffer.capacidade()) {
+          descartar(assinante);
+          return;
+        }
+
+        EventoForum evento = buffer.ler(assinante.proximo);
+        if (evento == null) {
+          descartar(assinante);
+          return;
+        }
+
+        if (assinante.filtro().test(evento)) {
+          assinante
+              .emitter()
+              .send(
+                  SseEmitter.event()
+                      .id(Long.toString(assinante.proximo))
+                      .name(evento.tipo())
+                      .data(evento.dados(), MediaType.APPLICATION_JSON));
+        }
+        assinante.proximo++;
+        ultimo = buffer.cursor();
+      }
+    } catch (IOException | IllegalStateException e) {
+      log.debug("[DEBUG_LOG] Removing disconnected stream subscriber: {}", e.getMessage());
+      remover(assinante);
+      return;
+    } finally {
+      assinante.enviando().set(false);
+    }
+
+    // Eventos publicados entre o fim do laço e a liberação do flag
+    if (assinantes.contains(assinante) && assinante.proximo <= buffer.cursor()) {
+      agendar(assinante, false);
+    }
+  }
+
+  private void descartar(Assinante assinante) {
+    log.debug("[DEBUG_LOG] Evicting slow stream subscriber at sequence {}", assinante.proximo);
+    remover(assinante);
+    assinante.emitter().complete();
+  }
+
+  private void remover(Assinante assinante) {
+    // Só a primeira remoção libera a vaga, qualquer que seja o caminho que encerrou a conexão
+    if (assinantes.remove(assinante)) {
+      conexoes.decrementAndGet();
+    }
+  }
+
+  /** Estado de uma conexão SSE. O cursor só é alterado pela thread que detém o flag de envio. */
+  private static final class Assinante {
+
+    private final SseEmitter emitter;
+    private final Predicate<EventoForum> filtro;
+    private final AtomicBoolean enviando = new AtomicBoolean();
+    private volatile long proximo;
+
+    private Assinante(SseEmitter emitter, Predicate<EventoForum> filtro, long proximo) {
+      this.emitter = emitter;
+      this.filtro = filtro;
+      this.proximo = proximo;
+    }
+
+    private SseEmitter emitter() {
+      return emitter;
+    }
+
+    private Predicate<EventoForum> filtro() {
+      return filtro;
+    }
+
+    private AtomicBoolean enviando() {
+      return enviando;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package br.com.alura.forumhub.backend.infra.stream;
+
+/** Exception thrown when the maximum number of stream subscribers has been reached. */
+public class LimiteAssinantesException extends IllegalStateException {
+
+  public LimiteAssinantesException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,163 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Autômato de Aho-Corasick para buscar muitos padrões em um texto em uma única passada, em tempo
+ * linear no tamanho do texto mais o número de ocorrências, independente da quantidade de padrões.
+ *
+ * <p>As transições ficam em arrays primitivos no formato CSR: os rótulos de cada estado são
+ * ordenados e buscados por busca binária. Cada estado guarda o link de falha e o link para o
+ * próximo estado terminal da cadeia de falhas, de modo que as ocorrências são enumeradas sem
+ * percorrer estados não terminais.
+ *
+ * <p>Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class AhoCorasick {
+
+  private static final int RAIZ = 0;
+
+  private final int[] inicio;
+  private final char[] rotulos;
+  private final int[] destinos;
+  private final int[] falha;
+  private final int[] padrao;
+  private final int[] proximaSaida;
+
+  private AhoCorasick(
+      int[] inicio,
+      char[] rotulos,
+      int[] destinos,
+      int[] falha,
+      int[] padrao,
+      int[] proximaSaida) {
+    this.inicio = inicio;
+    this.rotulos = rotulos;
+    this.destinos = destinos;
+    this.falha = falha;
+    this.padrao = padrao;
+    this.proximaSaida = proximaSaida;
+  }
+
+  /**
+   * Constrói o autômato. Padrões vazios são ignorados; se um padrão se repetir, vale o último
+   * índice.
+   *
+   * @param padroes os padrões
+   * @return o autômato
+   */
+  public static AhoCorasick construir(List<String> padroes) {
+    // Trie com os filhos ordenados por rótulo
+    List<TreeMap<Character, Integer>> filhos = new ArrayList<>();
+    List<Integer> padraoPorEstado = new ArrayList<>();
+    filhos.add(new TreeMap<>());
+    padraoPorEstado.add(-1);
+    for (int indice = 0; indice < padroes.size(); indice++) {
+      String texto = padroes.get(indice);
+      if (texto.isEmpty()) {
+        continue;
+      }
+      int estado = RAIZ;
+      for (int i = 0; i < texto.length(); i++) {
+        Integer proximo = filhos.get(estado).get(texto.charAt(i));
+        if (proximo == null) {
+          proximo = filhos.size();
+          filhos.get(estado).put(texto.charAt(i), proximo);
+          filhos.add(new TreeMap<>());
+          padraoPorEstado.add(-1);
+        }
+        estado = proximo;
+      }
+      padraoPorEstado.set(estado, indice);
+    }
+
+    int estados = filhos.size();
+    int[] inicio = new int[estados + 1];
+    for (int estado = 0; estado < estados; estado++) {
+      inicio[estado + 1] = inicio[estado] + filhos.get(estado).size();
+    }
+    char[] rotulos = new char[inicio[estados]];
+    int[] destinos = new int[inicio[estados]];
+    int[] padrao = new int[estados];
+    for (int estado = 0; estado < estados; estado++) {
+      int posicao = inicio[estado];
+      for (Map.Entry<Character, Integer> filho : filhos.get(estado).entrySet()) {
+        rotulos[posicao] = filho.getKey();
+        destinos[posicao++] = filho.getValue();
+      }
+      padrao[estado] = padraoPorEstado.get(estado);
+    }
+
+    // Links de falha e de saída em largura: os de um estado dependem dos estados mais rasos
+    int[] falha = new int[estados];
+    int[] proximaSaida = new int[estados];
+    AhoCorasick automato =
+        new AhoCorasick(inicio, rotulos, destinos, falha, padrao, proximaSaida);
+    ArrayDeque<Integer> fila = new ArrayDeque<>();
+    for (int p = inicio[RAIZ]; p < inicio[RAIZ + 1]; p++) {
+      fila.add(destinos[p]);
+    }
+    while (!fila.isEmpty()) {
+      int estado = fila.poll();
+      int ligado = falha[estado];
+      proximaSaida[estado] = padrao[ligado] >= 0 ? ligado : proximaSaida[ligado];
+      for (int p = inicio[estado]; p < inicio[estado + 1]; p++) {
+        int filho = destinos[p];
+        falha[filho] = automato.avancar(ligado, rotulos[p]);
+        fila.add(filho);
+      }
+    }
+    return automato;
+  }
+
+  /**
+   * Busca os padrões em um texto, da esquerda para a direita.
+   *
+   * @param texto o texto
+   * @param consumidor recebe o índice de cada padrão encontrado e retorna {@code true} para
+   *     encerrar a busca
+   * @return {@code true} se a busca foi encerrada pelo consumidor
+   */
+  public boolean buscar(CharSequence texto, IntPredicate consumidor) {
+    int estado = RAIZ;
+    for (int i = 0; i < texto.length(); i++) {
+      estado = avancar(estado, texto.charAt(i));
+      int saida = padrao[estado] >= 0 ? estado : proximaSaida[estado];
+      while (saida != RAIZ) {
+        if (consumidor.test(padrao[saida])) {
+          return true;
+        }
+        saida = proximaSaida[saida];
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Retorna o número de estados do autômato.
+   *
+   * @return o número de estados
+   */
+  public int tamanho() {
+    return padrao.length;
+  }
+
+  private int avancar(int estado, char c) {
+    while (true) {
+      int p = Arrays.binarySearch(rotulos, inicio[estado], inicio[estado + 1], c);
+      if (p >= 0) {
+        return destinos[p];
+      }
+      if (estado == RAIZ) {
+        return RAIZ;
+      }
+      estado = falha[estado];
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Formato de armazenamento das mensagens de tópicos e respostas. Mensagens até o limite são
+ * gravadas como UTF-8 puro, o mesmo conteúdo da antiga coluna TEXT; mensagens maiores são
+ * compactadas com DEFLATE e precedidas de um cabeçalho:
+ *
+ * <pre>
+ * byte 0     0x00 (marcador; texto UTF-8 de uma mensagem não começa com NUL)
+ * byte 1     formato: 0 = sem compressão, 1 = DEFLATE
+ * bytes 2-5  tamanho do texto original em UTF-8 (big-endian)
+ * bytes 6-   conteúdo
+ * </pre>
+ *
+ * <p>A compressão só é usada quando reduz o tamanho gravado e o texto original cabe em uma coluna
+ * MEDIUMBLOB; texto que começaria com NUL é gravado com o cabeçalho sem compressão, para que a
+ * leitura nunca seja ambígua. A leitura reconhece os dois formatos independentemente da
+ * configuração, de modo que desabilitar a compressão não invalida as linhas já compactadas, e
+ * rejeita cabeçalhos cujo tamanho não é compatível com o conteúdo. A mesma mensagem, com a mesma
+ * configuração, produz sempre os mesmos bytes, o que mantém as comparações por igualdade no banco.
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class CompactadorMensagem {
+
+  /** Tamanho do cabeçalho das mensagens compactadas. */
+  public static final int CABECALHO = 6;
+
+  /** Tamanho máximo do texto original, o de uma coluna MEDIUMBLOB. */
+  public static final int TAMANHO_MAXIMO = (1 << 24) - 1;
+
+  /** Maior razão entre o texto original e o conteúdo DEFLATE que o representa. */
+  private static final int RAZAO_MAXIMA_DEFLATE = 1032;
+
+  private static final byte MARCADOR = 0;
+  private static final byte SEM_COMPRESSAO = 0;
+  private static final byte DEFLATE = 1;
+
+  private final boolean habilitado;
+  private final int limiteBytes;
+  private final int nivel;
+
+  /**
+   * Cria o compactador.
+   *
+   * @param habilitado se mensagens acima do limite devem ser compactadas na escrita
+   * @param limiteBytes tamanho em UTF-8 a partir do qual a mensagem é compactada
+   * @param nivel nível de compressão do DEFLATE (1 a 9)
+   */
+  public CompactadorMensagem(boolean habilitado, int limiteBytes, int nivel) {
+    if (nivel < Deflater.BEST_SPEED || nivel > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("O nível de compressão deve estar entre 1 e 9");
+    }
+    this.habilitado = habilitado;
+    this.limiteBytes = Math.max(limiteBytes, CABECALHO);
+    this.nivel = nivel;
+  }
+
+  /**
+   * Converte uma mensagem para o formato de armazenamento.
+   *
+   * @param mensagem a mensagem (opcional)
+   * @return os bytes a gravar, ou null se a mensagem for nula
+   */
+  public byte[] codificar(String mensagem) {
+    if (mensagem == null) {
+      return null;
+    }
+    byte[] texto = mensagem.getBytes(StandardCharsets.UTF_8);
+    boolean ambiguo = texto.length > 0 && texto[0] == MARCADOR;
+    if (habilitado && texto.length > limiteBytes && texto.length <= TAMANHO_MAXIMO) {
+      byte[] compactado = compactar(texto);
+      if (compactado != null) {
+        return compactado;
+      }
+    }
+    return ambiguo ? comCabecalho(SEM_COMPRESSAO, texto, texto, texto.length) : texto;
+  }
+
+  /**
+   * Converte os bytes gravados de volta para a mensagem, em qualquer um dos formatos.
+   *
+   * @param dados os bytes gravados (opcional)
+   * @return a mensagem, ou null se os dados forem nulos
+   * @throws IllegalArgumentException se o cabeçalho ou o conteúdo compactado forem inválidos,
+   *     inclusive um tamanho incompatível com o conteúdo
+   */
+  public static String decodificar(byte[] dados) {
+    if (dados == null) {
+      return null;
+    }
+    if (!compactada(dados)) {
+      return new String(dados, StandardCharsets.UTF_8);
+    }
+    if (dados.length < CABECALHO) {
+      throw new IllegalArgumentException("Cabeçalho de mensagem incompleto");
+    }
+    int tamanho =
+        ((dados[2] & 0xFF) << 24)
+            | ((dados[3] & 0xFF) << 16)
+            | ((dados[4] & 0xFF) << 8)
+            | (dados[5] & 0xFF);
+    int conteudo = dados.length - CABECALHO;
+    return switch (dados[1]) {
+      case SEM_COMPRESSAO -> {
+        if (tamanho != conteudo) {
+          throw new IllegalArgumentException("Tamanho de mensagem inválido: " + tamanho);
+        }
+        yield new String(dados, CABECALHO, conteudo, StandardCharsets.UTF_8);
+      }
+      case DEFLATE -> {
+        // O buffer é alocado pelo tamanho do cabeçalho, que não pode exceder o que o conteúdo
+        // consegue representar nem o tamanho da coluna
+        long maximo = Math.min(TAMANHO_MAXIMO, (long) conteudo * RAZAO_MAXIMA_DEFLATE);
+        if (tamanho < 0 || tamanho > maximo) {
+          throw new IllegalArgumentException("Tamanho de mensagem inválido: " + tamanho);
+        }
+        yield new String(descompactar(dados, tamanho), StandardCharsets.UTF_8);
+      }
+      default -> throw new IllegalArgumentException("Formato de mensagem inválido: " + dados[1]);
+    };
+  }
+
+  /**
+   * Indica se os bytes gravados têm cabeçalho, isto é, se não são UTF-8 puro.
+   *
+   * @param dados os bytes gravados
+   * @return true se os dados começarem com o cabeçalho
+   */
+  public static boolean compactada(byte[] dados) {
+    return dados.length > 0 && dados[0] == MARCADOR;
+  }
+
+  private byte[] compactar(byte[] texto) {
+    // A saída só é aproveitada se couber no espaço do texto original
+    byte[] saida = new byte[texto.length];
+    Deflater deflater = new Deflater(nivel, true);
+    try {
+      deflater.setInput(texto);
+      deflater.finish();
+      int tamanho = 0;
+      while (!deflater.finished() && tamanho < saida.length) {
+        tamanho += deflater.deflate(saida, tamanho, saida.length - tamanho);
+      }
+      if (!deflater.finished() || tamanho + CABECALHO >= texto.length) {
+        return null;
+      }
+      return comCabecalho(DEFLATE, saida, texto, tamanho);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] descompactar(byte[] dados, int tamanho) {
+    byte[] texto = new byte[tamanho];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(dados, CABECALHO, dados.length - CABECALHO);
+      int lidos = 0;
+      while (lidos < tamanho) {
+        int n = inflater.inflate(texto, lidos, tamanho - lidos);
+        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IllegalArgumentException("Mensagem compactada truncada");
+        }
+        lidos += n;
+      }
+      return texto;
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Mensagem compactada inválida", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static byte[] comCabecalho(byte formato, byte[] conteudo, byte[] texto, int tamanho) {
+    byte[] dados = new byte[CABECALHO + tamanho];
+    dados[0] = MARCADOR;
+    dados[1] = formato;
+    dados[2] = (byte) (texto.length >>> 24);
+    dados[3] = (byte) (texto.length >>> 16);
+    dados[4] = (byte) (texto.length >>> 8);
+    dados[5] = (byte) texto.length;
+    System.arraycopy(conteudo, 0, dados, CABECALHO, tamanho);
+    return dados;
+  }
+}
@@ -0,0 +1,277 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Diferença compacta entre duas versões de um texto, usada no histórico de revisões. Os textos são
+ * divididos em palavras (cada uma com o espaço que a segue) e comparados pelo algoritmo de Myers;
+ * o delta guarda apenas trechos a copiar da versão anterior e os trechos novos:
+ *
+ * <pre>
+ * byte 0   versão do formato (1)
+ * varint   tamanho do texto resultante, em caracteres
+ * ops      varint (tamanho &lt;&lt; 1 | tipo), seguido de:
+ *            tipo 0 (cópia): varint com a posição na versão anterior; tamanho em caracteres
+ *            tipo 1 (inserção): o trecho em UTF-8; tamanho em bytes
+ * </pre>
+ *
+ * <p>Uma correção de digitação gera um delta de poucos bytes, independentemente do tamanho da
+ * mensagem. Se as versões diferirem em mais de {@link #MAX_EDICOES} palavras, a parte central é
+ * trocada inteira, o que limita o tempo e a memória da comparação.
+ */
+public final class DeltaTexto {
+
+  /** Número máximo de palavras inseridas ou removidas procuradas pela comparação. */
+  public static final int MAX_EDICOES = 1000;
+
+  private static final byte VERSAO = 1;
+  private static final int COPIA = 0;
+  private static final int INSERCAO = 1;
+
+  private DeltaTexto() {}
+
+  /**
+   * Calcula o delta que transforma a versão anterior na atual.
+   *
+   * @param anterior a versão anterior
+   * @param atual a versão atual
+   * @return o delta
+   */
+  public static byte[] calcular(String anterior, String atual) {
+    int[] palavrasAnterior = palavras(anterior);
+    int[] palavrasAtual = palavras(atual);
+    int n = palavrasAnterior.length - 1;
+    int m = palavrasAtual.length - 1;
+
+    // Prefixo e sufixo comuns ficam fora da comparação, que só vê o trecho editado
+    int prefixo = 0;
+    while (prefixo < n
+        && prefixo < m
+        && iguais(anterior, palavrasAnterior, prefixo, atual, palavrasAtual, prefixo)) {
+      prefixo++;
+    }
+    int sufixo = 0;
+    while (sufixo < n - prefixo
+        && sufixo < m - prefixo
+        && iguais(
+            anterior, palavrasAnterior, n - 1 - sufixo, atual, palavrasAtual, m - 1 - sufixo)) {
+      sufixo++;
+    }
+
+    // Blocos iguais (posição na anterior, posição na atual, tamanho), em palavras
+    List<int[]> blocos = new ArrayList<>();
+    if (prefixo > 0) {
+      blocos.add(new int[] {0, 0, prefixo});
+    }
+    blocos.addAll(
+        myers(
+            anterior,
+            palavrasAnterior,
+            prefixo,
+            n - sufixo,
+            atual,
+            palavrasAtual,
+            prefixo,
+            m - sufixo));
+    if (sufixo > 0) {
+      blocos.add(new int[] {n - sufixo, m - sufixo, sufixo});
+    }
+
+    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+    saida.write(VERSAO);
+    escreverVarint(saida, atual.length());
+    int posicaoAtual = 0;
+    for (int[] bloco : blocos) {
+      int inicioAtual = palavrasAtual[bloco[1]];
+      if (inicioAtual > posicaoAtual) {
+        escreverInsercao(saida, atual.substring(posicaoAtual, inicioAtual));
+      }
+      int inicio = palavrasAnterior[bloco[0]];
+      int tamanho = palavrasAnterior[bloco[0] + bloco[2]] - inicio;
+      escreverVarint(saida, (tamanho << 1) | COPIA);
+      escreverVarint(saida, inicio);
+      posicaoAtual = inicioAtual + tamanho;
+    }
+    if (posicaoAtual < atual.length()) {
+      escreverInsercao(saida, atual.substring(posicaoAtual));
+    }
+    return saida.toByteArray();
+  }
+
+  /**
+   * Aplica um delta à versão anterior.
+   *
+   * @param anterior a versão anterior
+   * @param delta o delta calculado a partir dela
+   * @return a versão atual
+   * @throws IllegalArgumentException se o delta for inválido para a versão anterior
+   */
+  public static String aplicar(String anterior, byte[] delta) {
+    if (delta.length == 0 || delta[0] != VERSAO) {
+      throw new IllegalArgumentException("Formato de delta inválido");
+    }
+    int[] posicao = {1};
+    int tamanhoFinal = lerVarint(delta, posicao);
+    StringBuilder atual = new StringBuilder(tamanhoFinal);
+    while (posicao[0] < delta.length) {
+      int cabecalho = lerVarint(delta, posicao);
+      int tamanho = cabecalho >>> 1;
+      if ((cabecalho & 1) == COPIA) {
+        int inicio = lerVarint(delta, posicao);
+        if (inicio + tamanho > anterior.length()) {
+          throw new IllegalArgumentException("Delta não corresponde à versão anterior");
+        }
+        atual.append(anterior, inicio, inicio + tamanho);
+      } else {
+        if (posicao[0] + tamanho > delta.length) {
+          throw new IllegalArgumentException("Delta truncado");
+        }
+        atual.append(new String(delta, posicao[0], tamanho, StandardCharsets.UTF_8));
+        posicao[0] += tamanho;
+      }
+    }
+    if (atual.length() != tamanhoFinal) {
+      throw new IllegalArgumentException("Delta não corresponde à versão anterior");
+    }
+    return atual.toString();
+  }
+
+  /**
+   * Divide o texto em palavras, cada uma seguida dos espaços até a próxima. Pares substitutos
+   * nunca são separados, pois os dois caracteres do par não são espaços.
+   *
+   * @return as posições de início das palavras, seguidas do tamanho do texto
+   */
+  private static int[] palavras(String texto) {
+    int[] inicios = new int[16];
+    int quantidade = 0;
+    int i = 0;
+    while (i < texto.length()) {
+      if (quantidade + 1 >= inicios.length) {
+        inicios = Arrays.copyOf(inicios, inicios.length * 2);
+      }
+      inicios[quantidade++] = i;
+      while (i < texto.length() && !Character.isWhitespace(texto.charAt(i))) {
+        i++;
+      }
+      while (i < texto.length() && Character.isWhitespace(texto.charAt(i))) {
+        i++;
+      }
+    }
+    inicios[quantidade] = texto.length();
+    return Arrays.copyOf(inicios, quantidade + 1);
+  }
+
+  private static boolean iguais(
+      String a, int[] palavrasA, int i, String b, int[] palavrasB, int j) {
+    int tamanho = palavrasA[i + 1] - palavrasA[i];
+    return tamanho == palavrasB[j + 1] - palavrasB[j]
+        && a.regionMatches(palavrasA[i], b, palavrasB[j], tamanho);
+  }
+
+  /**
+   * Compara os trechos {@code [inicioA, fimA)} e {@code [inicioB, fimB)} pelo algoritmo guloso de
+   * Myers, guardando a fronteira de cada passo para reconstruir os blocos iguais.
+   */
+  private static List<int[]> myers(
+      String a,
+      int[] palavrasA,
+      int inicioA,
+      int fimA,
+      String b,
+      int[] palavrasB,
+      int inicioB,
+      int fimB) {
+    int n = fimA - inicioA;
+    int m = fimB - inicioB;
+    if (n == 0 || m == 0) {
+      return List.of();
+    }
+    int limite = Math.min(n + m, MAX_EDICOES);
+    int deslocamento = limite + 1;
+    int[] v = new int[2 * limite + 3];
+    List<int[]> fronteiras = new ArrayList<>();
+
+    for (int d = 0; d <= limite; d++) {
+      fronteiras.add(Arrays.copyOfRange(v, deslocamento - d - 1, deslocamento + d + 2));
+      for (int k = -d; k <= d; k += 2) {
+        int x =
+            k == -d || (k != d && v[deslocamento + k - 1] < v[deslocamento + k + 1])
+                ? v[deslocamento + k + 1]
+                : v[deslocamento + k - 1] + 1;
+        int y = x - k;
+        while (x < n && y < m && iguais(a, palavrasA, inicioA + x, b, palavrasB, inicioB + y)) {
+          x++;
+          y++;
+        }
+        v[deslocamento + k] = x;
+        if (x >= n && y >= m) {
+          return blocos(fronteiras, n, m, inicioA, inicioB);
+        }
+      }
+    }
+    // Versões muito diferentes: o trecho central é trocado inteiro
+    return List.of();
+  }
+
+  private static List<int[]> blocos(
+      List<int[]> fronteiras, int n, int m, int inicioA, int inicioB) {
+    List<int[]> blocos = new ArrayList<>();
+    int x = n;
+    int y = m;
+    for (int d = fronteiras.size() - 1; d > 0; d--) {
+      // A fronteira do passo d guarda v[k] para k em [-d - 1, d + 1], a partir do índice 0
+      int[] v = fronteiras.get(d);
+      int k = x - y;
+      int anteriorK = k == -d || (k != d && v[k + d] < v[k + d + 2]) ? k + 1 : k - 1;
+      int anteriorX = v[anteriorK + d + 1];
+      // O passo começa com uma inserção (k + 1) ou remoção (k - 1) e segue pela diagonal
+      int inicioDiagonal = anteriorK == k + 1 ? anteriorX : anteriorX + 1;
+      if (x > inicioDiagonal) {
+        blocos.add(
+            new int[] {inicioA + inicioDiagonal, inicioB + inicioDiagonal - k, x - inicioDiagonal});
+      }
+      x = anteriorX;
+      y = anteriorX - anteriorK;
+    }
+    if (x > 0) {
+      blocos.add(new int[] {inicioA, inicioB, x});
+    }
+    Collections.reverse(blocos);
+    return blocos;
+  }
+
+  private static void escreverInsercao(ByteArrayOutputStream saida, String trecho) {
+    byte[] bytes = trecho.getBytes(StandardCharsets.UTF_8);
+    escreverVarint(saida, (bytes.length << 1) | INSERCAO);
+    saida.writeBytes(bytes);
+  }
+
+  private static void escreverVarint(ByteArrayOutputStream saida, int valor) {
+    while ((valor & ~0x7F) != 0) {
+      saida.write((valor & 0x7F) | 0x80);
+      valor >>>= 7;
+    }
+    saida.write(valor);
+  }
+
+  private static int lerVarint(byte[] dados, int[] posicao) {
+    int valor = 0;
+    for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+      if (posicao[0] >= dados.length) {
+        throw new IllegalArgumentException("Delta truncado");
+      }
+      byte b = dados[posicao[0]++];
+      valor |= (b & 0x7F) << deslocamento;
+      if ((b & 0x80) == 0) {
+        return valor;
+      }
+    }
+    throw new IllegalArgumentException("Formato de delta inválido");
+  }
+}
@@ -0,0 +1,122 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Dicionário de termos bloqueados compilado em um autômato de Aho-Corasick. Termos e textos são
+ * normalizados pelo {@link Tokenizador}, de modo que maiúsculas, acentos e pontuação não
+ * importam, e só palavras inteiras casam: {@code "spam.example.com"} encontra
+ * {@code "http://SPAM.example.com/x"}, mas {@code "ass"} não encontra {@code "classe"}.
+ *
+ * <p>Cada linha do dicionário é um termo, opcionalmente com o prefixo {@code rejeitar:} ou
+ * {@code quarentena:}; linhas vazias e iniciadas por {@code #} são ignoradas. Instâncias são
+ * imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class DicionarioTermos {
+
+  /** Dicionário sem termos. */
+  public static final DicionarioTermos VAZIO = new DicionarioTermos(List.of(), List.of());
+
+  private final AhoCorasick automato;
+  private final String[] termos;
+  private final Acao[] acoes;
+
+  private DicionarioTermos(List<String> termos, List<Acao> acoes) {
+    this.automato = AhoCorasick.construir(termos);
+    this.termos = termos.toArray(String[]::new);
+    this.acoes = acoes.toArray(Acao[]::new);
+  }
+
+  /**
+   * Compila um dicionário a partir das suas linhas.
+   *
+   * @param linhas as linhas do dicionário
+   * @param acaoPadrao ação dos termos sem prefixo
+   * @return o dicionário
+   */
+  public static DicionarioTermos compilar(List<String> linhas, Acao acaoPadrao) {
+    // Termos repetidos ficam com a ação mais severa
+    Map<String, Acao> porTermo = new LinkedHashMap<>();
+    for (String linha : linhas) {
+      String termo = linha.strip();
+      if (termo.isEmpty() || termo.startsWith("#")) {
+        continue;
+      }
+      Acao acao = acaoPadrao;
+      for (Acao candidata : Acao.values()) {
+        String prefixo = candidata.name().toLowerCase(Locale.ROOT) + ":";
+        if (termo.regionMatches(true, 0, prefixo, 0, prefixo.length())) {
+          acao = candidata;
+          termo = termo.substring(prefixo.length());
+          break;
+        }
+      }
+      String normalizado = Tokenizador.normalizar(termo);
+      if (!normalizado.isBlank()) {
+        porTermo.merge(
+            normalizado, acao, (atual, nova) -> atual.ordinal() <= nova.ordinal() ? atual : nova);
+      }
+    }
+    return new DicionarioTermos(
+        new ArrayList<>(porTermo.keySet()), new ArrayList<>(porTermo.values()));
+  }
+
+  /**
+   * Busca termos do dicionário em textos. A busca termina no primeiro termo a rejeitar; termos em
+   * quarentena só são retornados se nenhum termo a rejeitar for encontrado.
+   *
+   * @param textos os textos (nulos são ignorados)
+   * @return o termo encontrado de ação mais severa, se houver
+   */
+  public Optional<Ocorrencia> buscar(String... textos) {
+    int[] encontrado = {-1};
+    for (String texto : textos) {
+      if (texto == null) {
+        continue;
+      }
+      boolean rejeitado =
+          automato.buscar(
+              Tokenizador.normalizar(texto),
+              indice -> {
+                if (encontrado[0] < 0 || acoes[indice] == Acao.REJEITAR) {
+                  encontrado[0] = indice;
+                }
+                return acoes[indice] == Acao.REJEITAR;
+              });
+      if (rejeitado) {
+        break;
+      }
+    }
+    return encontrado[0] < 0
+        ? Optional.empty()
+        : Optional.of(new Ocorrencia(termos[encontrado[0]].strip(), acoes[encontrado[0]]));
+  }
+
+  /**
+   * Retorna o número de termos do dicionário.
+   *
+   * @return o número de termos
+   */
+  public int tamanho() {
+    return termos.length;
+  }
+
+  /** Ação tomada quando um termo é encontrado, da mais para a menos severa. */
+  public enum Acao {
+    REJEITAR,
+    QUARENTENA
+  }
+
+  /**
+   * Termo encontrado em um texto.
+   *
+   * @param termo o termo normalizado
+   * @param acao a ação do termo
+   */
+  public record Ocorrencia(String termo, Acao acao) {}
+}
@@ -0,0 +1,480 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Índice de vetores TF-IDF esparsos, normalizados, para o cálculo de documentos similares pelo
+ * cosseno. Vetores e listas invertidas ficam em arrays primitivos no formato CSR (um array de
+ * início por linha e arrays contíguos de termos e pesos), sem objetos por termo ou documento.
+ *
+ * <p>Termos presentes em um único documento ou em mais que uma fração máxima dos documentos são
+ * descartados: os primeiros não aproximam documentos e os segundos tornariam as listas invertidas
+ * longas demais. Cada consulta usa apenas os termos de maior peso do documento.
+ *
+ * <p>Instâncias são imutáveis e podem ser compartilhadas entre threads; o {@link Acumulador} de
+ * cada consulta não pode.
+ */
+public final class IndiceTfIdf {
+
+  private final Map<String, Integer> vocabulario;
+  private final float[] idf;
+  private final int termosPorConsulta;
+
+  private final int[] ids;
+  private final String[] titulos;
+
+  private final int[] inicioVetores;
+  private final int[] termosVetores;
+  private final float[] pesosVetores;
+
+  private final int[] inicioPostings;
+  private final int[] documentosPostings;
+  private final float[] pesosPostings;
+
+  private IndiceTfIdf(
+      Map<String, Integer> vocabulario,
+      float[] idf,
+      int termosPorConsulta,
+      int[] ids,
+      String[] titulos,
+      int[] inicioVetores,
+      int[] termosVetores,
+      float[] pesosVetores) {
+    this.vocabulario = vocabulario;
+    this.idf = idf;
+    this.termosPorConsulta = termosPorConsulta;
+    this.ids = ids;
+    this.titulos = titulos;
+    this.inicioVetores = inicioVetores;
+    this.termosVetores = termosVetores;
+    this.pesosVetores = pesosVetores;
+
+    // Listas invertidas: para cada termo, os documentos e pesos, por contagem e soma de prefixos
+    this.inicioPostings = new int[idf.length + 1];
+    for (int termo : termosVetores) {
+      inicioPostings[termo + 1]++;
+    }
+    for (int t = 0; t < idf.length; t++) {
+      inicioPostings[t + 1] += inicioPostings[t];
+    }
+    this.documentosPostings = new int[termosVetores.length];
+    this.pesosPostings = new float[termosVetores.length];
+    int[] proximo = Arrays.copyOf(inicioPostings, idf.length);
+    for (int documento = 0; documento < ids.length; documento++) {
+      for (int p = inicioVetores[documento]; p < inicioVetores[documento + 1]; p++) {
+        int posicao = proximo[termosVetores[p]]++;
+        documentosPostings[posicao] = documento;
+        pesosPostings[posicao] = pesosVetores[p];
+      }
+    }
+  }
+
+  /**
+   * Retorna o número de documentos do índice.
+   *
+   * @return o número de documentos
+   */
+  public int tamanho() {
+    return ids.length;
+  }
+
+  /**
+   * Busca a posição de um documento no índice.
+   *
+   * @param id ID do documento
+   * @return a posição, ou um valor negativo se o documento não estiver no índice
+   */
+  public int posicao(int id) {
+    return Arrays.binarySearch(ids, id);
+  }
+
+  /**
+   * Retorna o ID do documento em uma posição.
+   *
+   * @param posicao a posição
+   * @return o ID do documento
+   */
+  public int id(int posicao) {
+    return ids[posicao];
+  }
+
+  /**
+   * Retorna o título do documento em uma posição.
+   *
+   * @param posicao a posição
+   * @return o título do documento
+   */
+  public String titulo(int posicao) {
+    return titulos[posicao];
+  }
+
+  /**
+   * Cria um acumulador de pontuações para consultas neste índice.
+   *
+   * @return um novo acumulador
+   */
+  public Acumulador criarAcumulador() {
+    return new Acumulador(ids.length);
+  }
+
+  /**
+   * Calcula os vizinhos mais similares de todos os documentos em paralelo.
+   *
+   * @param quantidade número de vizinhos por documento
+   * @param pool pool fork-join usado no cálculo
+   * @return as posições dos vizinhos, {@code quantidade} por documento em ordem decrescente de
+   *     similaridade, com -1 nas posições sem vizinho (vazio se {@code quantidade} não for
+   *     positiva)
+   */
+  public int[] calcularVizinhos(int quantidade, ForkJoinPool pool) {
+    if (ids.length == 0 || quantidade <= 0) {
+      return new int[0];
+    }
+    int[] vizinhos = new int[ids.length * quantidade];
+    Arrays.fill(vizinhos, -1);
+    // Um acumulador por thread, reaproveitado entre os documentos de cada tarefa
+    ThreadLocal<Acumulador> acumuladores = ThreadLocal.withInitial(this::criarAcumulador);
+    int limiar = Math.max(64, ids.length / (pool.getParallelism() * 8));
+    pool.invoke(new CalculoVizinhos(0, ids.length, limiar, quantidade, vizinhos, acumuladores));
+    return vizinhos;
+  }
+
+  /**
+   * Calcula os vizinhos mais similares de um texto que não está no índice. Termos fora do
+   * vocabulário do índice são ignorados.
+   *
+   * @param tokens os tokens do texto
+   * @param quantidade número máximo de vizinhos
+   * @param acumulador acumulador de pontuações deste índice
+   * @return as posições dos vizinhos, em ordem decrescente de similaridade (vazio se {@code
+   *     quantidade} não for positiva)
+   */
+  public int[] vizinhos(List<String> tokens, int quantidade, Acumulador acumulador) {
+    if (quantidade <= 0) {
+      return new int[0];
+    }
+    int[] contagens = new int[tokens.size()];
+    int[] termos = new int[tokens.size()];
+    int distintos = 0;
+    int[] ordenados =
+        tokens.stream().mapToInt(token -> vocabulario.getOrDefault(token, -1)).sorted().toArray();
+    for (int termo : ordenados) {
+      if (termo < 0) {
+        continue;
+      }
+      if (distintos > 0 && termos[distintos - 1] == termo) {
+        contagens[distintos - 1]++;
+      } else {
+        termos[distintos] = termo;
+        contagens[distintos++] = 1;
+      }
+    }
+
+    float[] pesos = new float[distintos];
+    for (int i = 0; i < distintos; i++) {
+      pesos[i] = peso(contagens[i], idf[termos[i]]);
+    }
+    normalizar(pesos, 0, distintos);
+
+    int[] melhores = new int[quantidade];
+    Arrays.fill(melhores, -1);
+    buscar(termos, pesos, 0, distintos, -1, melhores, acumulador);
+    int encontrados = 0;
+    while (encontrados < quantidade && melhores[encontrados] >= 0) {
+      encontrados++;
+    }
+    return Arrays.copyOf(melhores, encontrados);
+  }
+
+  /**
+   * Acumula os produtos escalares de um vetor com os documentos que compartilham termos com ele e
+   * seleciona os de maior pontuação. {@code melhores} deve ter ao menos uma posição.
+   */
+  private void buscar(
+      int[] termos,
+      float[] pesos,
+      int inicio,
+      int fim,
+      int excluido,
+      int[] melhores,
+      Acumulador acumulador) {
+    float[] notas = new float[melhores.length];
+    for (int p : termosDeConsulta(pesos, inicio, fim)) {
+      float peso = pesos[p];
+      int termo = termos[p];
+      for (int q = inicioPostings[termo]; q < inicioPostings[termo + 1]; q++) {
+        int documento = documentosPostings[q];
+        if (acumulador.pontuacoes[documento] == 0) {
+          acumulador.tocados[acumulador.quantidade++] = documento;
+        }
+        acumulador.pontuacoes[documento] += peso * pesosPostings[q];
+      }
+    }
+
+    for (int i = 0; i < acumulador.quantidade; i++) {
+      int documento = acumulador.tocados[i];
+      float nota = acumulador.pontuacoes[documento];
+      acumulador.pontuacoes[documento] = 0;
+      if (documento == excluido || nota <= notas[melhores.length - 1]) {
+        continue;
+      }
+      // Inserção ordenada entre os melhores, que são poucos
+      int posicao = melhores.length - 1;
+      while (posicao > 0 && notas[posicao - 1] < nota) {
+        notas[posicao] = notas[posicao - 1];
+        melhores[posicao] = melhores[posicao - 1];
+        posicao--;
+      }
+      notas[posicao] = nota;
+      melhores[posicao] = documento;
+    }
+    acumulador.quantidade = 0;
+  }
+
+  /** Seleciona as posições dos termos de maior peso de um vetor. */
+  private int[] termosDeConsulta(float[] pesos, int inicio, int fim) {
+    int quantidade = fim - inicio;
+    if (quantidade <= termosPorConsulta) {
+      int[] todas = new int[quantidade];
+      for (int i = 0; i < quantidade; i++) {
+        todas[i] = inicio + i;
+      }
+      return todas;
+    }
+    // Ordena pelo peso decrescente; o peso positivo vai nos 32 bits altos
+    long[] chaves = new long[quantidade];
+    for (int i = 0; i < quantidade; i++) {
+      chaves[i] = ((long) Float.floatToIntBits(pesos[inicio + i]) << 32) | (inicio + i);
+    }
+    Arrays.sort(chaves);
+    int[] selecionadas = new int[termosPorConsulta];
+    for (int i = 0; i < termosPorConsulta; i++) {
+      selecionadas[i] = (int) chaves[quantidade - 1 - i];
+    }
+    return selecionadas;
+  }
+
+  private static float peso(int frequencia, float idf) {
+    // Frequência sublinear, para que um termo repetido não domine o vetor
+    return (float) (1 + Math.log(frequencia)) * idf;
+  }
+
+  private static void normalizar(float[] pesos, int inicio, int fim) {
+    double norma = 0;
+    for (int i = inicio; i < fim; i++) {
+      norma += pesos[i] * pesos[i];
+    }
+    if (norma == 0) {
+      return;
+    }
+    float inverso = (float) (1 / Math.sqrt(norma));
+    for (int i = inicio; i < fim; i++) {
+      pesos[i] *= inverso;
+    }
+  }
+
+  /** Pontuações parciais de uma consulta, reaproveitadas entre consultas. */
+  public static final class Acumulador {
+
+    private final float[] pontuacoes;
+    private final int[] tocados;
+    private int quantidade;
+
+    private Acumulador(int documentos) {
+      this.pontuacoes = new float[documentos];
+      this.tocados = new int[documentos];
+    }
+  }
+
+  /** Tarefa fork-join que calcula os vizinhos de um intervalo de documentos. */
+  private final class CalculoVizinhos extends RecursiveAction {
+
+    private final int inicio;
+    private final int fim;
+    private final int limiar;
+    private final int quantidade;
+    private final int[] vizinhos;
+    private final ThreadLocal<Acumulador> acumuladores;
+
+    private CalculoVizinhos(
+        int inicio,
+        int fim,
+        int limiar,
+        int quantidade,
+        int[] vizinhos,
+        ThreadLocal<Acumulador> acumuladores) {
+      this.inicio = inicio;
+      this.fim = fim;
+      this.limiar = limiar;
+      this.quantidade = quantidade;
+      this.vizinhos = vizinhos;
+      this.acumuladores = acumuladores;
+    }
+
+    @Override
+    protected void compute() {
+      if (fim - inicio > limiar) {
+        int meio = (inicio + fim) >>> 1;
+        invokeAll(
+            new CalculoVizinhos(inicio, meio, limiar, quantidade, vizinhos, acumuladores),
+            new CalculoVizinhos(meio, fim, limiar, quantidade, vizinhos, acumuladores));
+        return;
+      }
+      Acumulador acumulador = acumuladores.get();
+      int[] melhores = new int[quantidade];
+      for (int documento = inicio; documento < fim; documento++) {
+        Arrays.fill(melhores, -1);
+        buscar(
+            termosVetores,
+            pesosVetores,
+            inicioVetores[documento],
+            inicioVetores[documento + 1],
+            documento,
+            melhores,
+            acumulador);
+        System.arraycopy(melhores, 0, vizinhos, documento * quantidade, quantidade);
+      }
+    }
+  }
+
+  /**
+   * Construtor incremental do índice. Os documentos são adicionados um a um, guardando apenas as
+   * contagens de termos; os pesos são calculados em {@link #construir}.
+   *
+   * <p>Esta classe não é thread-safe.
+   */
+  public static final class Construtor {
+
+    private final Map<String, Integer> vocabulario = new HashMap<>();
+    private int[] frequenciaDocumentos = new int[1024];
+    private int[] ids = new int[1024];
+    private final List<String> titulos = new ArrayList<>();
+    private final List<int[]> termos = new ArrayList<>();
+    private final List<int[]> contagens = new ArrayList<>();
+
+    /**
+     * Adiciona um documento.
+     *
+     * @param id ID do documento
+     * @param titulo título do documento
+     * @param tokens os tokens do documento
+     */
+    public void adicionar(int id, String titulo, List<String> tokens) {
+      // Mapeia os tokens para IDs de termo e conta as repetições após ordenar
+      int[] ordenados = new int[tokens.size()];
+      for (int i = 0; i < ordenados.length; i++) {
+        ordenados[i] = vocabulario.computeIfAbsent(tokens.get(i), token -> vocabulario.size());
+      }
+      Arrays.sort(ordenados);
+      int[] distintos = new int[ordenados.length];
+      int[] repeticoes = new int[ordenados.length];
+      int quantidade = 0;
+      for (int termo : ordenados) {
+        if (quantidade > 0 && distintos[quantidade - 1] == termo) {
+          repeticoes[quantidade - 1]++;
+        } else {
+          distintos[quantidade] = termo;
+          repeticoes[quantidade++] = 1;
+        }
+      }
+
+      if (vocabulario.size() > frequenciaDocumentos.length) {
+        int tamanho = Math.max(vocabulario.size(), frequenciaDocumentos.length * 2);
+        frequenciaDocumentos = Arrays.copyOf(frequenciaDocumentos, tamanho);
+      }
+      for (int i = 0; i < quantidade; i++) {
+        frequenciaDocumentos[distintos[i]]++;
+      }
+
+      int documento = titulos.size();
+      if (documento == ids.length) {
+        ids = Arrays.copyOf(ids, ids.length * 2);
+      }
+      ids[documento] = id;
+      titulos.add(titulo);
+      termos.add(Arrays.copyOf(distintos, quantidade));
+      contagens.add(Arrays.copyOf(repeticoes, quantidade));
+    }
+
+    /**
+     * Calcula os pesos TF-IDF e constrói o índice.
+     *
+     * @param fracaoMaximaDocumentos fração máxima de documentos em que um termo pode aparecer
+     * @param termosPorConsulta número de termos de maior peso usados em cada consulta
+     * @return o índice
+     */
+    public IndiceTfIdf construir(double fracaoMaximaDocumentos, int termosPorConsulta) {
+      int documentos = titulos.size();
+      int maximo = Math.max(2, (int) (fracaoMaximaDocumentos * documentos));
+
+      // Renumera apenas os termos úteis, preservando a ordem dos IDs
+      int[] novosTermos = new int[vocabulario.size()];
+      int termosUteis = 0;
+      for (int termo = 0; termo < novosTermos.length; termo++) {
+        int frequencia = frequenciaDocumentos[termo];
+        novosTermos[termo] = frequencia >= 2 && frequencia <= maximo ? termosUteis++ : -1;
+      }
+      float[] idf = new float[termosUteis];
+      Map<String, Integer> vocabularioUtil = new HashMap<>(termosUteis * 2);
+      for (Map.Entry<String, Integer> entrada : vocabulario.entrySet()) {
+        int novo = novosTermos[entrada.getValue()];
+        if (novo >= 0) {
+          vocabularioUtil.put(entrada.getKey(), novo);
+          idf[novo] =
+              (float) Math.log((double) documentos / frequenciaDocumentos[entrada.getValue()]);
+        }
+      }
+
+      // Documentos ordenados pelo ID, para a busca binária da posição
+      long[] ordem = new long[documentos];
+      for (int documento = 0; documento < documentos; documento++) {
+        ordem[documento] = ((long) ids[documento] << 32) | documento;
+      }
+      Arrays.sort(ordem);
+
+      int[] idsOrdenados = new int[documentos];
+      String[] titulosOrdenados = new String[documentos];
+      int[] inicioVetores = new int[documentos + 1];
+      int total = 0;
+      for (int[] termosDocumento : termos) {
+        total += termosDocumento.length;
+      }
+      int[] termosVetores = new int[total];
+      float[] pesosVetores = new float[total];
+      int posicao = 0;
+      for (int i = 0; i < documentos; i++) {
+        int documento = (int) ordem[i];
+        idsOrdenados[i] = ids[documento];
+        titulosOrdenados[i] = titulos.get(documento);
+        inicioVetores[i] = posicao;
+        int[] termosDocumento = termos.get(documento);
+        int[] contagensDocumento = contagens.get(documento);
+        for (int j = 0; j < termosDocumento.length; j++) {
+          int novo = novosTermos[termosDocumento[j]];
+          if (novo >= 0 && idf[novo] > 0) {
+            termosVetores[posicao] = novo;
+            pesosVetores[posicao++] = peso(contagensDocumento[j], idf[novo]);
+          }
+        }
+        normalizar(pesosVetores, inicioVetores[i], posicao);
+      }
+      inicioVetores[documentos] = posicao;
+
+      return new IndiceTfIdf(
+          vocabularioUtil,
+          idf,
+          termosPorConsulta,
+          idsOrdenados,
+          titulosOrdenados,
+          inicioVetores,
+          Arrays.copyOf(termosVetores, posicao),
+          Arrays.copyOf(pesosVetores, posicao));
+    }
+  }
+}
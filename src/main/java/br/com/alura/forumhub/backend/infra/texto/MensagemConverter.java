@@ -0,0 +1,34 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converte as mensagens de tópicos e respostas para o formato do {@link CompactadorMensagem}. O
+ * Hibernate cria o conversor pelo contêiner de beans do Spring, que injeta o compactador
+ * configurado.
+ */
+@Converter
+public class MensagemConverter implements AttributeConverter<String, byte[]> {
+
+  private final CompactadorMensagem compactador;
+
+  /**
+   * Cria o conversor.
+   *
+   * @param compactador o compactador de mensagens
+   */
+  public MensagemConverter(CompactadorMensagem compactador) {
+    this.compactador = compactador;
+  }
+
+  @Override
+  public byte[] convertToDatabaseColumn(String mensagem) {
+    return compactador.codificar(mensagem);
+  }
+
+  @Override
+  public String convertToEntityAttribute(byte[] dados) {
+    return CompactadorMensagem.decodificar(dados);
+  }
+}
@@ -0,0 +1,74 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.owasp.html.HtmlPolicyBuilder;
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
+
+/**
+ * Renderização das mensagens em Markdown para HTML sanitizado. HTML bruto na mensagem é escapado
+ * e o resultado passa por uma lista de elementos permitidos, sem scripts, estilos ou atributos de
+ * evento. Blocos de código mantêm a classe {@code language-*}, usada pelo destaque de sintaxe no
+ * cliente.
+ *
+ * <p>O HTML é gravado junto com a {@link #VERSAO} do renderizador; alterar as extensões ou a
+ * política exige incrementar a versão, para que as mensagens já gravadas sejam rerenderizadas em
+ * segundo plano.
+ */
+public final class RenderizadorMarkdown {
+
+  /** Versão do renderizador gravada com o HTML. */
+  public static final int VERSAO = 1;
+
+  private static final List<Extension> EXTENSOES = List.of(TablesExtension.create());
+  private static final Parser PARSER = Parser.builder().extensions(EXTENSOES).build();
+  private static final HtmlRenderer RENDERER =
+      HtmlRenderer.builder().extensions(EXTENSOES).escapeHtml(true).sanitizeUrls(true).build();
+
+  private static final PolicyFactory POLITICA =
+      Sanitizers.FORMATTING
+          .and(Sanitizers.BLOCKS)
+          .and(Sanitizers.LINKS)
+          .and(Sanitizers.IMAGES)
+          .and(Sanitizers.TABLES)
+          .and(
+              new HtmlPolicyBuilder()
+                  .allowElements("pre", "code", "hr", "br")
+                  .allowAttributes("class")
+                  .matching(Pattern.compile("language-[A-Za-z0-9_+#-]{1,30}"))
+                  .onElements("code")
+                  .toFactory());
+
+  private RenderizadorMarkdown() {}
+
+  /**
+   * Renderiza uma mensagem em Markdown para HTML sanitizado.
+   *
+   * @param markdown a mensagem
+   * @return o HTML
+   */
+  public static String renderizar(String markdown) {
+    if (markdown == null || markdown.isEmpty()) {
+      return "";
+    }
+    return POLITICA.sanitize(RENDERER.render(PARSER.parse(markdown)));
+  }
+
+  /**
+   * Retorna o HTML gravado de uma mensagem, mesmo que gerado por uma versão anterior do
+   * renderizador: a rerenderização das mensagens antigas fica com a tarefa em segundo plano, fora
+   * das leituras. A mensagem só é renderizada na leitura se ainda não tiver HTML gravado.
+   *
+   * @param markdown a mensagem
+   * @param html o HTML gravado (opcional)
+   * @return o HTML
+   */
+  public static String html(String markdown, String html) {
+    return html != null ? html : renderizar(markdown);
+  }
+}
@@ -0,0 +1,78 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização e tokenização de textos para os índices de similaridade. Os tokens ficam em
+ * minúsculas, sem acentos e com apenas letras e números.
+ */
+public final class Tokenizador {
+
+  private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+  private Tokenizador() {}
+
+  /**
+   * Divide um texto em tokens normalizados, na ordem em que aparecem.
+   *
+   * @param texto o texto
+   * @param tamanhoMinimo tamanho mínimo de um token; tokens menores (artigos, preposições) são
+   *     descartados
+   * @return os tokens
+   */
+  public static List<String> tokens(String texto, int tamanhoMinimo) {
+    if (texto == null || texto.isEmpty()) {
+      return List.of();
+    }
+    String normalizado =
+        MARCAS
+            .matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+
+    List<String> tokens = new ArrayList<>();
+    for (String token : SEPARADORES.split(normalizado)) {
+      if (token.length() >= tamanhoMinimo) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Normaliza um texto com as mesmas regras dos tokens, em uma única passada: letras e números em
+   * minúsculas e sem acentos, e qualquer sequência de outros caracteres trocada por um espaço. O
+   * resultado começa e termina com espaço, para que buscas por {@code " palavra "} encontrem
+   * apenas palavras inteiras.
+   *
+   * @param texto o texto
+   * @return o texto normalizado
+   */
+  public static String normalizar(String texto) {
+    if (texto == null || texto.isEmpty()) {
+      return " ";
+    }
+    String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+    StringBuilder normalizado = new StringBuilder(decomposto.length() + 2).append(' ');
+    for (int i = 0; i < decomposto.length(); i++) {
+      char c = decomposto.charAt(i);
+      if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+        normalizado.append(c);
+      } else if (c >= 'A' && c <= 'Z') {
+        normalizado.append((char) (c + ('a' - 'A')));
+      } else if (Character.getType(c) != Character.NON_SPACING_MARK
+          && normalizado.charAt(normalizado.length() - 1) != ' ') {
+        normalizado.append(' ');
+      }
+    }
+    if (normalizado.charAt(normalizado.length() - 1) != ' ') {
+      normalizado.append(' ');
+    }
+    return normalizado.toString();
+  }
+}
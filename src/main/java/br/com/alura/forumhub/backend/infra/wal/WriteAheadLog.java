@@ -0,0 +1,130 @@
+package br.com.alura.forumhub.backend.infra.wal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Arquivo local de write-ahead log com um registro JSON por linha. Os registros são anexados antes
+ * de serem processados e o arquivo é truncado quando não há mais pendências. Linhas corrompidas
+ * (por exemplo, a última linha de uma escrita interrompida) são ignoradas na leitura.
+ *
+ * <p>Esta classe não é thread-safe; o chamador deve serializar o acesso.
+ *
+ * @param <T> tipo dos registros
+ */
+@Slf4j
+public class WriteAheadLog<T> {
+
+  private final Path arquivo;
+  private final ObjectMapper objectMapper;
+  private final Class<T> tipo;
+  private final boolean sincronizar;
+  private BufferedWriter writer;
+
+  /**
+   * Cria o log.
+   *
+   * @param arquivo caminho do arquivo
+   * @param objectMapper o ObjectMapper usado para serializar os registros
+   * @param tipo classe dos registros
+   * @param sincronizar se cada registro deve ser forçado para o disco (fsync)
+   */
+  public WriteAheadLog(
+      Path arquivo, ObjectMapper objectMapper, Class<T> tipo, boolean sincronizar) {
+    this.arquivo = arquivo;
+    this.objectMapper = objectMapper;
+    this.tipo = tipo;
+    this.sincronizar = sincronizar;
+  }
+
+  /**
+   * Lê todos os registros do arquivo.
+   *
+   * @return os registros, na ordem em que foram anexados
+   * @throws UncheckedIOException se o arquivo não puder ser lido
+   */
+  public List<T> ler() {
+    List<T> registros = new ArrayList<>();
+    if (!Files.exists(arquivo)) {
+      return registros;
+    }
+    try {
+      for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+        if (linha.isBlank()) {
+          continue;
+        }
+        try {
+          registros.add(objectMapper.readValue(linha, tipo));
+        } catch (IOException e) {
+          log.warn("Ignoring corrupted write-ahead log entry in {}", arquivo);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return registros;
+  }
+
+  /**
+   * Anexa um registro ao arquivo.
+   *
+   * @param registro o registro
+   * @throws UncheckedIOException se o registro não puder ser gravado
+   */
+  public void anexar(T registro) {
+    try {
+      if (writer == null) {
+        if (arquivo.getParent() != null) {
+          Files.createDirectories(arquivo.getParent());
+        }
+        writer =
+            Files.newBufferedWriter(
+                arquivo,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND,
+                sincronizar ? StandardOpenOption.DSYNC : StandardOpenOption.WRITE);
+      }
+      writer.write(objectMapper.writeValueAsString(registro));
+      writer.newLine();
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Descarta todos os registros.
+   *
+   * @throws UncheckedIOException se o arquivo não puder ser truncado
+   */
+  public void truncar() {
+    try {
+      fechar();
+      Files.deleteIfExists(arquivo);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Fecha o arquivo, mantendo os registros.
+   *
+   * @throws IOException se o arquivo não puder ser fechado
+   */
+  public void fechar() throws IOException {
+    if (writer != null) {
+      writer.close();
+      writer = null;
+    }
+  }
+}
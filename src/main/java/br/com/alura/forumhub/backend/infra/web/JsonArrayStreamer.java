@@ -0,0 +1,66 @@
+package br.com.alura.forumhub.backend.infra.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Escreve listagens completas como um array JSON incremental. Os itens são lidos em lotes por
+ * keyset (ID maior que o último enviado), de modo que nem a consulta nem a resposta precisam caber
+ * inteiras em memória.
+ */
+@Component
+public class JsonArrayStreamer {
+
+  private final ObjectMapper objectMapper;
+  private final int tamanhoLote;
+
+  /**
+   * Cria o streamer.
+   *
+   * @param objectMapper the ObjectMapper to use for JSON serialization
+   * @param tamanhoLote número de registros lidos por consulta
+   */
+  public JsonArrayStreamer(
+      ObjectMapper objectMapper,
+      @Value("${forumhub.paginacao.tamanho-lote-stream:500}") int tamanhoLote) {
+    this.objectMapper = objectMapper.copy();
+    this.tamanhoLote = tamanhoLote;
+  }
+
+  /**
+   * Cria o corpo de uma resposta em streaming.
+   *
+   * @param lote função que recebe o último ID enviado e o tamanho do lote e retorna os próximos
+   *     itens em ordem crescente de ID
+   * @param id função que extrai o ID de um item
+   * @param <T> tipo dos itens
+   * @return o corpo da resposta
+   */
+  public <T> StreamingResponseBody escrever(
+      BiFunction<Integer, Integer, List<T>> lote, Function<T, Integer> id) {
+    return saida -> {
+      try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+        gerador.writeStartArray();
+
+        Integer ultimoId = 0;
+        List<T> itens;
+        do {
+          itens = lote.apply(ultimoId, tamanhoLote);
+          for (T item : itens) {
+            gerador.writeObject(item);
+            ultimoId = id.apply(item);
+          }
+          gerador.flush();
+        } while (itens.size() == tamanhoLote);
+
+        gerador.writeEndArray();
+      }
+    };
+  }
+}
@@ -0,0 +1,73 @@
+package br.com.alura.forumhub.backend.infra.web;
+
+import br.com.alura.forumhub.backend.domain.dto.PaginaDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Converte páginas para o envelope compacto ({@link PaginaDto}) quando o cliente o solicita, pelo
+ * tipo de mídia {@value #TIPO_PAGINA_COMPACTA} no Accept ou pelo parâmetro {@code
+ * envelope=compacto}. Sem a solicitação, as páginas mantêm a serialização padrão do Spring Data,
+ * usada pelos clientes existentes.
+ */
+@ControllerAdvice
+public class PaginaCompactaAdvice implements ResponseBodyAdvice<Object> {
+
+  /** Tipo de mídia JSON do envelope compacto. */
+  public static final String TIPO_PAGINA_COMPACTA = "application/vnd.forumhub.pagina+json";
+
+  /** Parâmetro que solicita o envelope compacto em qualquer formato, inclusive CBOR. */
+  public static final String PARAMETRO_ENVELOPE = "envelope";
+
+  private static final MediaType PAGINA_COMPACTA = MediaType.valueOf(TIPO_PAGINA_COMPACTA);
+
+  private final boolean padrao;
+
+  /**
+   * Cria o advice.
+   *
+   * @param padrao se o envelope compacto deve ser usado mesmo sem solicitação
+   */
+  public PaginaCompactaAdvice(@Value("${forumhub.web.pagina-compacta:false}") boolean padrao) {
+    this.padrao = padrao;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (body instanceof Page<?> pagina && (padrao || solicitado(request, selectedContentType))) {
+      return PaginaDto.fromPage(pagina);
+    }
+    return body;
+  }
+
+  private static boolean solicitado(ServerHttpRequest request, MediaType tipo) {
+    if (PAGINA_COMPACTA.equalsTypeAndSubtype(tipo)) {
+      return true;
+    }
+    if (request instanceof ServletServerHttpRequest servlet) {
+      String envelope = servlet.getServletRequest().getParameter(PARAMETRO_ENVELOPE);
+      return "compacto".equalsIgnoreCase(envelope);
+    }
+    return false;
+  }
+}
@@ -0,0 +1,37 @@
+-- Assinaturas de tópicos e cursos, percorridas por alvo na distribuição das notificações
+CREATE TABLE assinatura_topico
+(
+    topico_id    INT      NOT NULL,
+    usuario_id   INT      NOT NULL,
+    data_criacao DATETIME NOT NULL,
+    PRIMARY KEY (topico_id, usuario_id),
+    FOREIGN KEY (topico_id) REFERENCES topico (id) ON DELETE CASCADE,
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE
+);
+
+CREATE TABLE assinatura_curso
+(
+    curso_id     INT      NOT NULL,
+    usuario_id   INT      NOT NULL,
+    data_criacao DATETIME NOT NULL,
+    PRIMARY KEY (curso_id, usuario_id),
+    FOREIGN KEY (curso_id) REFERENCES curso (id) ON DELETE CASCADE,
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE
+);
+
+-- Caixa de entrada por usuário; a chave única torna a distribuição idempotente
+CREATE TABLE notificacao
+(
+    id           BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    usuario_id   INT         NOT NULL,
+    tipo         VARCHAR(20) NOT NULL,
+    topico_id    INT         NOT NULL,
+    resposta_id  INT         NOT NULL,
+    data_criacao DATETIME    NOT NULL,
+    UNIQUE KEY UK_notificacao_usuario_resposta_tipo (usuario_id, resposta_id, tipo),
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE,
+    FOREIGN KEY (topico_id) REFERENCES topico (id) ON DELETE CASCADE,
+    FOREIGN KEY (resposta_id) REFERENCES resposta (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_notificacao_usuario_id ON notificacao (usuario_id, id);
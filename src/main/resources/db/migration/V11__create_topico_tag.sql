@@ -0,0 +1,10 @@
+-- Tags livres dos tópicos; o filtro por tags usa um índice de bitmaps em memória
+CREATE TABLE topico_tag
+(
+    topico_id INT         NOT NULL,
+    tag       VARCHAR(50) NOT NULL,
+    PRIMARY KEY (topico_id, tag),
+    FOREIGN KEY (topico_id) REFERENCES topico (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_topico_tag_tag ON topico_tag (tag, topico_id);
@@ -0,0 +1,13 @@
+-- Conteúdos retidos pelo filtro de termos bloqueados, aguardando a revisão de um moderador
+CREATE TABLE conteudo_quarentena
+(
+    id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    entidade     VARCHAR(20)  NOT NULL,
+    operacao     VARCHAR(20)  NOT NULL,
+    entidade_id  INT          NULL,
+    conteudo     JSON         NOT NULL,
+    termo        VARCHAR(255) NOT NULL,
+    data_criacao DATETIME     NOT NULL
+);
+
+CREATE INDEX IDX_conteudo_quarentena_data ON conteudo_quarentena (data_criacao);
@@ -0,0 +1,9 @@
+-- HTML renderizado das mensagens, gravado na escrita; a versão do renderizador permite
+-- rerenderizar em segundo plano após uma atualização do renderizador
+ALTER TABLE topico
+    ADD COLUMN mensagem_html       MEDIUMTEXT NULL,
+    ADD COLUMN versao_renderizacao INT        NULL;
+
+ALTER TABLE resposta
+    ADD COLUMN mensagem_html       MEDIUMTEXT NULL,
+    ADD COLUMN versao_renderizacao INT        NULL;
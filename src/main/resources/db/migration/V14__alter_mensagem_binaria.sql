@@ -0,0 +1,8 @@
+-- Mensagens gravadas no formato do CompactadorMensagem: UTF-8 puro até o limite configurado e
+-- DEFLATE com cabeçalho acima dele. O conteúdo atual é mantido byte a byte como UTF-8 puro; a
+-- compactação das linhas existentes é feita em segundo plano pela aplicação
+ALTER TABLE topico
+    MODIFY COLUMN mensagem MEDIUMBLOB NOT NULL;
+
+ALTER TABLE resposta
+    MODIFY COLUMN mensagem MEDIUMBLOB NOT NULL;
@@ -0,0 +1,17 @@
+-- Histórico de revisões das mensagens de tópicos e respostas. A primeira revisão é a mensagem
+-- original, gravada na primeira edição; as demais guardam o delta em relação à anterior, com uma
+-- revisão completa a cada forumhub.revisoes.intervalo-completas
+CREATE TABLE revisao
+(
+    id           BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    entidade     VARCHAR(20) NOT NULL,
+    entidade_id  INT         NOT NULL,
+    numero       INT         NOT NULL,
+    completa     BOOLEAN     NOT NULL,
+    conteudo     MEDIUMBLOB  NOT NULL,
+    tamanho      INT         NOT NULL,
+    autor_id     INT         NULL,
+    data_criacao DATETIME    NOT NULL,
+    CONSTRAINT UK_revisao_entidade_numero UNIQUE (entidade, entidade_id, numero),
+    FOREIGN KEY (autor_id) REFERENCES usuario (id) ON DELETE SET NULL
+);
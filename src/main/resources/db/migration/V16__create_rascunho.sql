@@ -0,0 +1,13 @@
+-- Último rascunho de cada usuário por alvo (novo tópico, edição de tópico, nova resposta ou
+-- edição de resposta), gravado em lote pelo RascunhoService
+CREATE TABLE rascunho
+(
+    usuario_id       INT          NOT NULL,
+    tipo             VARCHAR(20)  NOT NULL,
+    alvo_id          INT          NOT NULL,
+    titulo           VARCHAR(255) NULL,
+    mensagem         MEDIUMBLOB   NOT NULL,
+    data_atualizacao DATETIME     NOT NULL,
+    PRIMARY KEY (usuario_id, tipo, alvo_id),
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE
+);
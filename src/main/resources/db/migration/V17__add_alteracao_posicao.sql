@@ -0,0 +1,21 @@
+-- Posição de publicação das alterações, atribuída em ordem de commit pelo AlteracaoService.
+-- A sequência do INSERT segue a ordem de início das transações e não serve de cursor.
+ALTER TABLE alteracao
+    ADD COLUMN posicao BIGINT NULL;
+
+-- As entradas existentes já estão confirmadas; os cursores entregues continuam válidos
+UPDATE alteracao
+SET posicao = seq;
+
+CREATE UNIQUE INDEX UK_alteracao_posicao ON alteracao (posicao);
+
+-- Linha única bloqueada durante a publicação, para que as posições nunca voltem atrás
+CREATE TABLE alteracao_publicacao
+(
+    id             INT    NOT NULL PRIMARY KEY,
+    ultima_posicao BIGINT NOT NULL
+);
+
+INSERT INTO alteracao_publicacao (id, ultima_posicao)
+SELECT 1, COALESCE(MAX(seq), 0)
+FROM alteracao;
@@ -0,0 +1,12 @@
+-- Log de alterações consumido pelo endpoint /changes
+CREATE TABLE alteracao
+(
+    seq          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entidade     VARCHAR(20) NOT NULL,
+    entidade_id  INT         NOT NULL,
+    operacao     VARCHAR(20) NOT NULL,
+    data_criacao DATETIME(3) NOT NULL
+);
+
+-- Usado pela compactação para localizar entradas substituídas da mesma entidade
+CREATE INDEX IDX_alteracao_entidade ON alteracao (entidade, entidade_id, seq);
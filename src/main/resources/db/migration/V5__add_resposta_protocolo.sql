@@ -0,0 +1,5 @@
+-- Protocolo das respostas criadas de forma assíncrona (POST /respostas com Prefer: respond-async)
+ALTER TABLE resposta
+    ADD COLUMN protocolo CHAR(36) NULL;
+
+CREATE UNIQUE INDEX UK_resposta_protocolo ON resposta (protocolo);
@@ -0,0 +1,3 @@
+-- Contador de visualizações dos tópicos, atualizado em lote pelo ContadorVisualizacoesService
+ALTER TABLE topico
+    ADD COLUMN visualizacoes BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Contadores de reputação por usuário e curso, atualizados na mesma transação das respostas
+CREATE TABLE reputacao
+(
+    usuario_id INT    NOT NULL,
+    curso_id   INT    NOT NULL,
+    respostas  BIGINT NOT NULL DEFAULT 0,
+    solucoes   BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (usuario_id, curso_id),
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE,
+    FOREIGN KEY (curso_id) REFERENCES curso (id) ON DELETE CASCADE
+);
+
+-- Carga inicial a partir das respostas existentes
+INSERT INTO reputacao (usuario_id, curso_id, respostas, solucoes)
+SELECT r.autor_id, t.curso_id, COUNT(*), SUM(r.solucao)
+FROM resposta r
+         JOIN topico t ON t.id = r.topico_id
+GROUP BY r.autor_id, t.curso_id;
@@ -0,0 +1,17 @@
+-- Pontuação desnormalizada das respostas, atualizada em lote pelo VotoService
+ALTER TABLE resposta
+    ADD COLUMN score INT NOT NULL DEFAULT 0;
+
+-- Um voto por usuário e resposta
+CREATE TABLE voto
+(
+    resposta_id  INT      NOT NULL,
+    usuario_id   INT      NOT NULL,
+    data_criacao DATETIME NOT NULL,
+    PRIMARY KEY (resposta_id, usuario_id),
+    FOREIGN KEY (resposta_id) REFERENCES resposta (id) ON DELETE CASCADE,
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE
+);
+
+-- Respostas de um tópico na ordem de exibição: solução primeiro, depois por pontuação
+CREATE INDEX IDX_resposta_topico_ordem ON resposta (topico_id, solucao DESC, score DESC, id);
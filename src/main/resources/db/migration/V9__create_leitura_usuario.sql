@@ -0,0 +1,19 @@
+-- Sequência global da última resposta de cada tópico, usada para invalidar as leituras
+ALTER TABLE topico
+    ADD COLUMN atividade_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IDX_topico_atividade_seq ON topico (atividade_seq);
+
+-- Tópicos que já tinham respostas passam a ter atividade
+UPDATE topico t
+SET t.atividade_seq = 1
+WHERE EXISTS (SELECT 1 FROM resposta r WHERE r.topico_id = t.id);
+
+-- Tópicos lidos por usuário, em um bitmap compactado (formato Roaring)
+CREATE TABLE leitura_usuario
+(
+    usuario_id       INT        NOT NULL PRIMARY KEY,
+    sincronizado_seq BIGINT     NOT NULL,
+    lidos            MEDIUMBLOB NOT NULL,
+    FOREIGN KEY (usuario_id) REFERENCES usuario (id) ON DELETE CASCADE
+);
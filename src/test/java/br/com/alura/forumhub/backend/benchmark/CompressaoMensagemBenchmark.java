@@ -0,0 +1,162 @@
+package br.com.alura.forumhub.backend.benchmark;
+
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark do custo de CPU da compressão das mensagens, em mensagens com trechos de código e
+ * pilhas de exceção de tamanhos típicos. {@code lerTexto} é a leitura de uma mensagem gravada como
+ * UTF-8 puro, a linha de base; {@code lerCompactada} mostra o custo extra da descompressão em cada
+ * leitura, e {@code gravarCompactada} o da compressão em cada escrita.
+ *
+ * <p>{@code gravarCompactada} também reporta os contadores auxiliares {@code bytesOriginais} e
+ * {@code bytesGravados}, cuja razão é a fração do tamanho original que é gravada. A diferença é o
+ * que deixa de ocupar páginas do InnoDB, o buffer pool e os backups, e de ser transferido pela rede
+ * a cada leitura; comparar os microssegundos por leitura com a economia em bytes orienta a escolha
+ * de {@code forumhub.compressao.limite-bytes} e do nível.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressaoMensagemBenchmark {
+
+  private static final String[] FRASES = {
+    "Estou tentando configurar o Spring Security com JWT e recebo o erro abaixo.",
+    "Já tentei mudar a versão da dependência no pom.xml, mas o problema continua.",
+    "Alguém sabe por que o Hibernate não encontra a entidade?",
+    "Segue o código do controller e a exceção completa:",
+    "O repositório retorna vazio mesmo com os dados no banco."
+  };
+
+  private static final String[] CODIGO = {
+    "@RestController\n@RequestMapping(\"/topicos\")\npublic class TopicoController {\n",
+    "  @Autowired\n  private TopicoRepository repository;\n\n",
+    "  @PostMapping\n  @Transactional\n  public ResponseEntity<TopicoDto> cadastrar("
+        + "@RequestBody @Valid TopicoForm form) {\n",
+    "    Topico topico = form.converter(cursoRepository);\n    repository.save(topico);\n",
+    "    return ResponseEntity.created(uri).body(new TopicoDto(topico));\n  }\n}\n",
+    "org.springframework.beans.factory.UnsatisfiedDependencyException: Error creating bean "
+        + "with name 'topicoController'\n",
+    "\tat org.springframework.beans.factory.support.AbstractAutowireCapableBeanFactory"
+        + ".doCreateBean(AbstractAutowireCapableBeanFactory.java:599)\n",
+    "\tat org.hibernate.query.sqm.internal.QuerySqmImpl.doList(QuerySqmImpl.java:381)\n"
+  };
+
+  @Param({"1000", "4000", "16000", "60000"})
+  private int tamanhoMensagem;
+
+  @Param({"1", "6"})
+  private int nivel;
+
+  private CompactadorMensagem compactador;
+  private String mensagem;
+  private byte[] texto;
+  private byte[] compactada;
+
+  /** Contadores do tamanho gravado, somados ao longo de cada iteração. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Tamanho {
+
+    /** Total de bytes das mensagens em UTF-8. */
+    public long bytesOriginais;
+
+    /** Total de bytes gravados. */
+    public long bytesGravados;
+
+    /** Zera os contadores no início da iteração. */
+    @Setup(Level.Iteration)
+    public void zerar() {
+      bytesOriginais = 0;
+      bytesGravados = 0;
+    }
+  }
+
+  /** Gera a mensagem e as suas duas formas gravadas. */
+  @Setup
+  public void preparar() {
+    Random aleatorio = new Random(42);
+    StringBuilder conteudo = new StringBuilder(tamanhoMensagem + 200);
+    while (conteudo.length() < tamanhoMensagem) {
+      conteudo.append(FRASES[aleatorio.nextInt(FRASES.length)]).append("\n\n```java\n");
+      int linhas = 2 + aleatorio.nextInt(6);
+      for (int i = 0; i < linhas; i++) {
+        conteudo.append(CODIGO[aleatorio.nextInt(CODIGO.length)]);
+      }
+      conteudo.append("```\n\n");
+    }
+    mensagem = conteudo.substring(0, tamanhoMensagem);
+    compactador = new CompactadorMensagem(true, 0, nivel);
+    texto = mensagem.getBytes(StandardCharsets.UTF_8);
+    compactada = compactador.codificar(mensagem);
+  }
+
+  /**
+   * Lê a mensagem gravada como UTF-8 puro.
+   *
+   * @return a mensagem
+   */
+  @Benchmark
+  public String lerTexto() {
+    return CompactadorMensagem.decodificar(texto);
+  }
+
+  /**
+   * Lê a mensagem gravada compactada.
+   *
+   * @return a mensagem
+   */
+  @Benchmark
+  public String lerCompactada() {
+    return CompactadorMensagem.decodificar(compactada);
+  }
+
+  /**
+   * Compacta a mensagem para gravação.
+   *
+   * @param tamanho contadores do tamanho gravado
+   * @return os bytes a gravar
+   */
+  @Benchmark
+  public byte[] gravarCompactada(Tamanho tamanho) {
+    byte[] gravada = compactador.codificar(mensagem);
+    tamanho.bytesOriginais += texto.length;
+    tamanho.bytesGravados += gravada.length;
+    return gravada;
+  }
+
+  /**
+   * Executa o benchmark.
+   *
+   * @param args argumentos da linha de comando (ignorados)
+   * @throws RunnerException se a execução falhar
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(CompressaoMensagemBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,132 @@
+package br.com.alura.forumhub.backend.benchmark;
+
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos;
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos.Acao;
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos.Ocorrencia;
+import br.com.alura.forumhub.backend.infra.texto.Tokenizador;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark do filtro de termos bloqueados em mensagens de tamanhos típicos (resposta curta,
+ * tópico e mensagem longa com código), comparando o autômato de Aho-Corasick com a verificação
+ * ingênua de cada termo por {@code contains}. As mensagens não contêm termos bloqueados, que é o
+ * caso comum e o que obriga a percorrer o texto inteiro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiltroConteudoBenchmark {
+
+  private static final String[] PALAVRAS = {
+    "spring", "boot", "erro", "ao", "configurar", "o", "banco", "de", "dados", "com", "jpa",
+    "hibernate", "não", "consigo", "mapear", "entidade", "relacionamento", "lazy", "exceção",
+    "transação", "repositório", "consulta", "método", "classe", "anotação", "segurança", "token",
+    "jwt", "filtro", "requisição", "resposta", "json", "validação", "campo", "obrigatório",
+    "alguém", "pode", "ajudar", "já", "tentei", "versão", "dependência", "maven", "flyway"
+  };
+
+  @Param({"280", "2000", "20000"})
+  private int tamanhoMensagem;
+
+  @Param({"5000"})
+  private int quantidadeTermos;
+
+  private DicionarioTermos dicionario;
+  private List<String> termosNormalizados;
+  private String mensagem;
+
+  /** Gera o dicionário e a mensagem. */
+  @Setup
+  public void preparar() {
+    Random aleatorio = new Random(42);
+    List<String> linhas = new ArrayList<>(quantidadeTermos);
+    for (int i = 0; i < quantidadeTermos; i++) {
+      // Frases de duas ou três palavras, algumas começando com palavras comuns das mensagens
+      StringBuilder termo = new StringBuilder();
+      if (i % 4 == 0) {
+        termo.append(PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]).append(' ');
+      }
+      int palavras = 2 + aleatorio.nextInt(2);
+      for (int j = 0; j < palavras; j++) {
+        termo.append(palavraAleatoria(aleatorio)).append(j < palavras - 1 ? " " : "");
+      }
+      linhas.add(termo.toString());
+    }
+    dicionario = DicionarioTermos.compilar(linhas, Acao.REJEITAR);
+    termosNormalizados = linhas.stream().map(Tokenizador::normalizar).toList();
+
+    StringBuilder texto = new StringBuilder(tamanhoMensagem + 20);
+    while (texto.length() < tamanhoMensagem) {
+      texto.append(PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]);
+      texto.append(aleatorio.nextInt(10) == 0 ? ". " : " ");
+    }
+    mensagem = texto.substring(0, tamanhoMensagem);
+  }
+
+  /**
+   * Busca os termos com o autômato de Aho-Corasick.
+   *
+   * @return o termo encontrado, se houver
+   */
+  @Benchmark
+  public Optional<Ocorrencia> ahoCorasick() {
+    return dicionario.buscar(mensagem);
+  }
+
+  /**
+   * Busca os termos verificando cada um com {@code contains}.
+   *
+   * @return o termo encontrado, ou null
+   */
+  @Benchmark
+  public String containsIngenuo() {
+    String normalizada = Tokenizador.normalizar(mensagem);
+    for (String termo : termosNormalizados) {
+      if (normalizada.contains(termo)) {
+        return termo;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Executa o benchmark.
+   *
+   * @param args argumentos da linha de comando (ignorados)
+   * @throws RunnerException se a execução falhar
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(FiltroConteudoBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  private static String palavraAleatoria(Random aleatorio) {
+    char[] letras = new char[4 + aleatorio.nextInt(6)];
+    for (int i = 0; i < letras.length; i++) {
+      letras[i] = (char) ('a' + aleatorio.nextInt(26));
+    }
+    return new String(letras);
+  }
+}
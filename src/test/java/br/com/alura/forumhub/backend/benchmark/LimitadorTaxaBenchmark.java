@@ -0,0 +1,79 @@
+package br.com.alura.forumhub.backend.benchmark;
+
+import br.com.alura.forumhub.backend.infra.ratelimit.LimitadorTaxa;
+import br.com.alura.forumhub.backend.infra.ratelimit.ResultadoLimite;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark do custo por requisição do {@link LimitadorTaxa} sob contenção. O cenário
+ * {@code MESMO_CLIENTE} faz todas as threads disputarem o mesmo bucket; {@code MUITOS_CLIENTES}
+ * distribui as chamadas entre milhares de clientes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LimitadorTaxaBenchmark {
+
+  private static final int CLIENTES = 10_000;
+
+  @Param({"MESMO_CLIENTE", "MUITOS_CLIENTES"})
+  private String cenario;
+
+  private LimitadorTaxa limitador;
+  private String[] chaves;
+
+  /** Prepara o limitador e as chaves dos clientes. */
+  @Setup
+  public void preparar() {
+    // Capacidade alta para medir o caminho comum, em que a requisição é permitida
+    limitador = new LimitadorTaxa(1_000_000_000L, 1_000_000_000d);
+    int quantidade = "MESMO_CLIENTE".equals(cenario) ? 1 : CLIENTES;
+    chaves = new String[quantidade];
+    for (int i = 0; i < quantidade; i++) {
+      chaves[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+    }
+  }
+
+  /**
+   * Consome um token de um cliente.
+   *
+   * @return o resultado do limitador
+   */
+  @Benchmark
+  public ResultadoLimite consumir() {
+    String chave = chaves[ThreadLocalRandom.current().nextInt(chaves.length)];
+    return limitador.consumir(chave, 1);
+  }
+
+  /**
+   * Executa o benchmark.
+   *
+   * @param args argumentos da linha de comando (ignorados)
+   * @throws RunnerException se a execução falhar
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(LimitadorTaxaBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,187 @@
+package br.com.alura.forumhub.backend.benchmark;
+
+import br.com.alura.forumhub.backend.domain.dto.PaginaDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoDetailDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoDto;
+import br.com.alura.forumhub.backend.domain.dto.TopicoRelacionadoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Benchmark da serialização de páginas de tópicos em cada formato suportado. O tempo de
+ * serialização é o resultado principal; o tamanho serializado é reportado pelos contadores
+ * auxiliares {@code bytes} e {@code serializacoes}, cuja razão é o número de bytes por página. Os
+ * formatos compactos incluem a conversão da página para {@link PaginaDto}, como na aplicação.
+ *
+ * <p>Execute pela IDE ou com {@code java -cp target/test-classes:<classpath>
+ * br.com.alura.forumhub.backend.benchmark.SerializacaoPaginaBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoPaginaBenchmark {
+
+  private static final int TAMANHO_PAGINA = 20;
+  private static final int RESPOSTAS_POR_TOPICO = 5;
+
+  @Param({"PAGE_JSON", "COMPACTA_JSON", "COMPACTA_CBOR"})
+  private String formato;
+
+  @Param({"TOPICO", "TOPICO_DETALHE"})
+  private String conteudo;
+
+  private ObjectMapper mapper;
+  private boolean compacta;
+  private Page<?> pagina;
+
+  /** Contadores do tamanho serializado, somados ao longo de cada iteração. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Tamanho {
+
+    /** Total de bytes serializados. */
+    public long bytes;
+
+    /** Total de páginas serializadas. */
+    public long serializacoes;
+
+    /** Zera os contadores no início da iteração. */
+    @Setup(Level.Iteration)
+    public void zerar() {
+      bytes = 0;
+      serializacoes = 0;
+    }
+  }
+
+  /** Prepara o mapper do formato e a página de dados. */
+  @Setup
+  public void preparar() {
+    mapper =
+        switch (formato) {
+          case "PAGE_JSON", "COMPACTA_JSON" -> new ObjectMapper();
+          case "COMPACTA_CBOR" -> new ObjectMapper(new CBORFactory());
+          default -> throw new IllegalArgumentException("Formato inválido: " + formato);
+        };
+    mapper.registerModule(new JavaTimeModule());
+    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    compacta = !"PAGE_JSON".equals(formato);
+
+    pagina = "TOPICO".equals(conteudo) ? paginaTopicos() : paginaTopicosDetalhados();
+  }
+
+  /**
+   * Serializa a página no formato configurado.
+   *
+   * @param tamanho contadores do tamanho serializado
+   * @return os bytes serializados
+   * @throws Exception se a serialização falhar
+   */
+  @Benchmark
+  public byte[] serializar(Tamanho tamanho) throws Exception {
+    byte[] saida = mapper.writeValueAsBytes(compacta ? PaginaDto.fromPage(pagina) : pagina);
+    tamanho.bytes += saida.length;
+    tamanho.serializacoes++;
+    return saida;
+  }
+
+  /**
+   * Executa o benchmark.
+   *
+   * @param args argumentos da linha de comando (ignorados)
+   * @throws RunnerException se a execução falhar
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(SerializacaoPaginaBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+
+  private static Page<TopicoDto> paginaTopicos() {
+    List<TopicoDto> topicos = new ArrayList<>(TAMANHO_PAGINA);
+    for (int i = 1; i <= TAMANHO_PAGINA; i++) {
+      topicos.add(
+          new TopicoDto(
+              i,
+              "Dúvida sobre Spring Boot " + i,
+              mensagem(i),
+              LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(i),
+              "NAO_RESPONDIDO",
+              "Usuário " + i,
+              "Spring Boot",
+              (long) i * 10));
+    }
+    return new PageImpl<>(topicos, pageRequest(), 1000);
+  }
+
+  private static Page<TopicoDetailDto> paginaTopicosDetalhados() {
+    List<TopicoDetailDto> topicos = new ArrayList<>(TAMANHO_PAGINA);
+    for (int i = 1; i <= TAMANHO_PAGINA; i++) {
+      List<TopicoDetailDto.RespostaDto> respostas = new ArrayList<>(RESPOSTAS_POR_TOPICO);
+      for (int j = 1; j <= RESPOSTAS_POR_TOPICO; j++) {
+        respostas.add(
+            new TopicoDetailDto.RespostaDto(
+                i * 100 + j,
+                mensagem(j),
+                "<p>" + mensagem(j) + "</p>",
+                LocalDateTime.of(2025, 1, 2, 12, 0).plusMinutes(j),
+                "Usuário " + j,
+                j == 1,
+                RESPOSTAS_POR_TOPICO - j));
+      }
+      topicos.add(
+          new TopicoDetailDto(
+              i,
+              "Dúvida sobre Spring Boot " + i,
+              mensagem(i),
+              "<p>" + mensagem(i) + "</p>",
+              LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(i),
+              "SOLUCIONADO",
+              "Usuário " + i,
+              "Spring Boot",
+              (long) i * 10,
+              respostas,
+              List.of("spring-boot", "jpa"),
+              List.of(new TopicoRelacionadoDto(i + 1, "Dúvida sobre Spring Boot " + (i + 1)))));
+    }
+    return new PageImpl<>(topicos, pageRequest(), 1000);
+  }
+
+  private static PageRequest pageRequest() {
+    return PageRequest.of(0, TAMANHO_PAGINA, Sort.by("dataCriacao").descending());
+  }
+
+  private static String mensagem(int i) {
+    return "Mensagem de exemplo número " + i + " com algum texto para simular o conteúdo real.";
+  }
+}
@@ -0,0 +1,122 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.repository.QuarentenaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+
+class FiltroConteudoServiceTest {
+
+  @TempDir Path diretorio;
+
+  private Path arquivo;
+  private QuarentenaRepository quarentenaRepository;
+  private FiltroConteudoService service;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    arquivo = diretorio.resolve("termos.txt");
+    gravar("rejeitar:golpe\nquarentena:clique aqui\n", 1_000);
+
+    quarentenaRepository = mock(QuarentenaRepository.class);
+    MockEnvironment env =
+        new MockEnvironment()
+            .withProperty("forumhub.filtro.dicionario", arquivo.toUri().toString())
+            .withProperty("forumhub.filtro.acao-padrao", "REJEITAR");
+    service =
+        new FiltroConteudoService(
+            quarentenaRepository, new ObjectMapper(), new DefaultResourceLoader(), env);
+    service.carregar();
+  }
+
+  @Test
+  void rejeitaTermoDoDicionario() {
+    assertThatThrownBy(() -> verificar("Isso é um GOLPE!"))
+        .isInstanceOf(ConteudoBloqueadoException.class);
+    assertThatCode(() -> verificar("Dúvida sobre golpes de JVM")).doesNotThrowAnyException();
+  }
+
+  @Test
+  void retemTermoEmQuarentena() {
+    when(quarentenaRepository.inserir(
+            eq(Alteracao.Entidade.TOPICO),
+            eq(Alteracao.Operacao.CRIACAO),
+            isNull(),
+            anyString(),
+            eq("clique aqui"),
+            any(LocalDateTime.class)))
+        .thenReturn(42L);
+
+    assertThatThrownBy(() -> verificar("Clique aqui para ver"))
+        .isInstanceOfSatisfying(
+            ConteudoQuarentenaException.class,
+            e -> assertThat(e.getQuarentenaId()).isEqualTo(42L));
+  }
+
+  @Test
+  void recarregaODicionarioQuandoOArquivoMuda() throws IOException {
+    gravar("rejeitar:spam\n", 2_000);
+
+    service.verificarAlteracoes();
+
+    assertThatThrownBy(() -> verificar("muito spam aqui"))
+        .isInstanceOf(ConteudoBloqueadoException.class);
+    assertThatCode(() -> verificar("isso é golpe")).doesNotThrowAnyException();
+  }
+
+  @Test
+  void mantemODicionarioQuandoOArquivoNaoMuda() throws IOException {
+    // Mesmo conteúdo novo, mas com a data de modificação já carregada
+    gravar("rejeitar:spam\n", 1_000);
+
+    service.verificarAlteracoes();
+
+    assertThatThrownBy(() -> verificar("isso é golpe"))
+        .isInstanceOf(ConteudoBloqueadoException.class);
+    assertThatCode(() -> verificar("muito spam aqui")).doesNotThrowAnyException();
+  }
+
+  @Test
+  void mantemODicionarioAnteriorQuandoOArquivoSome() throws IOException {
+    Files.delete(arquivo);
+
+    service.verificarAlteracoes();
+
+    assertThatThrownBy(() -> verificar("isso é golpe"))
+        .isInstanceOf(ConteudoBloqueadoException.class);
+  }
+
+  private void verificar(String texto) {
+    service.verificar(
+        Alteracao.Entidade.TOPICO,
+        Alteracao.Operacao.CRIACAO,
+        null,
+        Map.of("titulo", texto),
+        texto);
+  }
+
+  private void gravar(String conteudo, long modificacao) throws IOException {
+    Files.writeString(arquivo, conteudo);
+    Files.setLastModifiedTime(arquivo, FileTime.fromMillis(modificacao));
+  }
+}
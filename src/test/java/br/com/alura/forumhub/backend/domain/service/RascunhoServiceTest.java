@@ -0,0 +1,92 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.alura.forumhub.backend.domain.dto.RascunhoDto.TipoRascunho;
+import br.com.alura.forumhub.backend.domain.repository.RascunhoRepository;
+import br.com.alura.forumhub.backend.domain.repository.RascunhoRepository.RascunhoUsuario;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.env.MockEnvironment;
+
+class RascunhoServiceTest {
+
+  private static final TipoRascunho TIPO = TipoRascunho.NOVA_RESPOSTA;
+  private static final int USUARIO_EXCLUIDO = 2;
+
+  private RascunhoRepository repository;
+  private RascunhoService service;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(RascunhoRepository.class);
+    when(repository.buscar(anyInt(), any(), anyInt())).thenReturn(Optional.empty());
+    MockEnvironment env =
+        new MockEnvironment()
+            .withProperty("forumhub.rascunhos.max-pendentes", "2")
+            .withProperty("forumhub.rascunhos.intervalo-gravacao-ms", "0");
+    service = new RascunhoService(repository, env);
+  }
+
+  @Test
+  void descartaRascunhoRecusadoEMarcaOsDemaisComoGravados() {
+    service.salvar(1, TIPO, 10, null, "Rascunho do usuário 1");
+    service.salvar(USUARIO_EXCLUIDO, TIPO, 10, null, "Rascunho do usuário excluído");
+    doThrow(new DataIntegrityViolationException("fk")).when(repository).gravar(anyCollection());
+    doThrow(new DataIntegrityViolationException("fk"))
+        .when(repository)
+        .gravar(rascunhoDe(USUARIO_EXCLUIDO));
+
+    service.gravar();
+
+    verify(repository).gravar(rascunhoDe(1));
+    assertThat(service.buscar(USUARIO_EXCLUIDO, TIPO, 10)).isEmpty();
+    assertThat(service.buscar(1, TIPO, 10)).isPresent();
+
+    // Nada fica pendente e o espaço do rascunho descartado é liberado
+    reset(repository);
+    service.gravar();
+    verify(repository, never()).gravar(anyCollection());
+    verify(repository, never()).gravar(any(RascunhoUsuario.class));
+    assertThatCode(() -> service.salvar(3, TIPO, 10, null, "Novo rascunho"))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  void mantemPendentesQuandoOBancoFalha() {
+    service.salvar(1, TIPO, 10, null, "Rascunho do usuário 1");
+    service.salvar(3, TIPO, 10, null, "Rascunho do usuário 3");
+    doThrow(new QueryTimeoutException("timeout")).when(repository).gravar(anyCollection());
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(repository)
+        .gravar(any(RascunhoUsuario.class));
+
+    service.gravar();
+
+    // A gravação para na primeira falha sem relação com os dados
+    verify(repository, times(1)).gravar(any(RascunhoUsuario.class));
+    reset(repository);
+    service.gravar();
+    verify(repository).gravar(anyCollection());
+  }
+
+  private static RascunhoUsuario rascunhoDe(int usuarioId) {
+    return argThat(
+        rascunho -> rascunho != null && rascunho.usuarioId() == usuarioId);
+  }
+}
@@ -0,0 +1,160 @@
+package br.com.alura.forumhub.backend.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.alura.forumhub.backend.domain.dto.RevisaoDetailDto;
+import br.com.alura.forumhub.backend.domain.model.Alteracao;
+import br.com.alura.forumhub.backend.domain.repository.RevisaoRepository;
+import br.com.alura.forumhub.backend.domain.repository.RevisaoRepository.MensagemAtual;
+import br.com.alura.forumhub.backend.domain.repository.RevisaoRepository.RegistroRevisao;
+import br.com.alura.forumhub.backend.infra.texto.CompactadorMensagem;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class RevisaoServiceTest {
+
+  private static final Alteracao.Entidade TOPICO = Alteracao.Entidade.TOPICO;
+  private static final int TOPICO_ID = 42;
+  private static final int INTERVALO = 3;
+  private static final LocalDateTime CRIACAO = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  /** Revisões gravadas pelo serviço, como estariam na tabela. */
+  private final List<RegistroRevisao> gravadas = new ArrayList<>();
+
+  private final List<Integer> cadeias = new ArrayList<>();
+  private String mensagemAtual;
+  private RevisaoService service;
+
+  @BeforeEach
+  void setUp() {
+    RevisaoRepository repository = mock(RevisaoRepository.class);
+    when(repository.bloquearMensagem(TOPICO, TOPICO_ID))
+        .thenAnswer(chamada -> Optional.of(new MensagemAtual(mensagemAtual, 1, CRIACAO)));
+    when(repository.ultimoNumero(TOPICO, TOPICO_ID)).thenAnswer(chamada -> gravadas.size());
+    doAnswer(
+            chamada -> {
+              gravadas.add(
+                  new RegistroRevisao(
+                      chamada.getArgument(2),
+                      chamada.getArgument(3),
+                      chamada.getArgument(4),
+                      chamada.getArgument(6),
+                      "Usuário " + chamada.getArgument(6),
+                      chamada.getArgument(7)));
+              return null;
+            })
+        .when(repository)
+        .inserir(
+            eq(TOPICO),
+            eq(TOPICO_ID),
+            anyInt(),
+            anyBoolean(),
+            any(byte[].class),
+            anyInt(),
+            any(),
+            any(LocalDateTime.class));
+    when(repository.buscarCadeia(eq(TOPICO), eq(TOPICO_ID), anyInt()))
+        .thenAnswer(chamada -> cadeia(chamada.getArgument(2)));
+
+    MockEnvironment env =
+        new MockEnvironment()
+            .withProperty("forumhub.revisoes.intervalo-completas", String.valueOf(INTERVALO));
+    service = new RevisaoService(repository, new CompactadorMensagem(true, 64, 6), env);
+  }
+
+  @Test
+  void reconstroiTodasAsRevisoesAtravesDasRevisoesCompletas() {
+    mensagemAtual = "Como configuro o pool de conexões do Hikari no Spring Boot? 🙂 ".repeat(4);
+    List<String> versoes = new ArrayList<>(List.of(mensagemAtual));
+    for (int i = 1; i <= 8; i++) {
+      String nova =
+          i % 2 == 0
+              ? mensagemAtual.replaceFirst("Hikari", "Hikari " + i)
+              : mensagemAtual + " Edição " + i + ".";
+      editar(nova, 7);
+      versoes.add(nova);
+    }
+
+    assertThat(gravadas)
+        .extracting(RegistroRevisao::numero)
+        .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    assertThat(gravadas)
+        .filteredOn(RegistroRevisao::completa)
+        .extracting(RegistroRevisao::numero)
+        .containsExactly(1, 4, 7);
+    for (int numero = 1; numero <= versoes.size(); numero++) {
+      RevisaoDetailDto revisao = service.buscar(TOPICO, TOPICO_ID, numero);
+      assertThat(revisao.numero()).isEqualTo(numero);
+      assertThat(revisao.mensagem()).isEqualTo(versoes.get(numero - 1));
+    }
+    // Nenhuma reconstrução aplica mais deltas que o intervalo entre revisões completas
+    assertThat(cadeias).allSatisfy(tamanho -> assertThat(tamanho).isLessThanOrEqualTo(INTERVALO));
+  }
+
+  @Test
+  void revisaoOriginalMantemAutorEDataDaCriacao() {
+    mensagemAtual = "Mensagem original do tópico com algumas palavras.";
+    editar("Mensagem editada do tópico com algumas palavras.", 7);
+
+    RevisaoDetailDto original = service.buscar(TOPICO, TOPICO_ID, 1);
+    RevisaoDetailDto edicao = service.buscar(TOPICO, TOPICO_ID, 2);
+
+    assertThat(original.autorId()).isEqualTo(1);
+    assertThat(original.dataCriacao()).isEqualTo(CRIACAO);
+    assertThat(edicao.autorId()).isEqualTo(7);
+    assertThat(edicao.mensagem()).isEqualTo("Mensagem editada do tópico com algumas palavras.");
+  }
+
+  @Test
+  void mensagemSemAlteracaoNaoGeraRevisao() {
+    mensagemAtual = "Mensagem sem alteração.";
+
+    service.registrar(TOPICO, TOPICO_ID, mensagemAtual, 7);
+
+    assertThat(gravadas).isEmpty();
+  }
+
+  @Test
+  void rejeitaRevisaoInexistente() {
+    mensagemAtual = "Mensagem original.";
+    editar("Mensagem editada.", 7);
+
+    assertThatThrownBy(() -> service.buscar(TOPICO, TOPICO_ID, 3))
+        .isInstanceOf(EntityNotFoundException.class);
+  }
+
+  private void editar(String mensagem, Integer autorId) {
+    service.registrar(TOPICO, TOPICO_ID, mensagem, autorId);
+    mensagemAtual = mensagem;
+  }
+
+  /** Reproduz a consulta de {@link RevisaoRepository#buscarCadeia} sobre as revisões gravadas. */
+  private List<RegistroRevisao> cadeia(int numero) {
+    int inicio =
+        gravadas.stream()
+            .filter(registro -> registro.completa() && registro.numero() <= numero)
+            .mapToInt(RegistroRevisao::numero)
+            .max()
+            .orElse(Integer.MAX_VALUE);
+    List<RegistroRevisao> cadeia =
+        gravadas.stream()
+            .filter(registro -> registro.numero() >= inicio && registro.numero() <= numero)
+            .toList();
+    cadeias.add(cadeia.size());
+    return cadeia;
+  }
+}
@@ -0,0 +1,91 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndiceLshTest {
+
+  private static final int BANDAS = 16;
+  private static final int LINHAS_POR_BANDA = 4;
+
+  private IndiceLsh indice;
+  private MinHash minHash;
+
+  @BeforeEach
+  void setUp() {
+    indice = new IndiceLsh(BANDAS, LINHAS_POR_BANDA);
+    minHash = new MinHash(indice.tamanhoAssinatura(), 2);
+  }
+
+  @Test
+  void textoQuaseIgualViraCandidato() {
+    List<String> original = tokens(0, 40);
+    List<String> editado = new ArrayList<>(original);
+    editado.set(20, "alterado");
+    indice.adicionar(1, minHash.assinatura(original));
+
+    assertThat(indice.candidatos(minHash.assinatura(editado)).contains(1)).isTrue();
+  }
+
+  @Test
+  void textoDiferenteNaoViraCandidato() {
+    indice.adicionar(1, minHash.assinatura(tokens(0, 40)));
+
+    assertThat(indice.candidatos(minHash.assinatura(tokens(100, 140))).isEmpty()).isTrue();
+  }
+
+  @Test
+  void itemRemovidoDeixaDeSerCandidato() {
+    int[] assinatura = minHash.assinatura(tokens(0, 40));
+    indice.adicionar(1, assinatura);
+
+    indice.remover(1);
+
+    assertThat(indice.candidatos(assinatura).isEmpty()).isTrue();
+    assertThat(indice.assinatura(1)).isNull();
+    assertThat(indice.tamanho()).isZero();
+  }
+
+  @Test
+  void adicionarDeNovoSubstituiAAssinaturaAnterior() {
+    int[] anterior = minHash.assinatura(tokens(0, 40));
+    int[] atual = minHash.assinatura(tokens(100, 140));
+    indice.adicionar(1, anterior);
+
+    indice.adicionar(1, atual);
+
+    assertThat(indice.candidatos(anterior).contains(1)).isFalse();
+    assertThat(indice.candidatos(atual).contains(1)).isTrue();
+    assertThat(indice.assinatura(1)).isEqualTo(atual);
+    assertThat(indice.tamanho()).isEqualTo(1);
+  }
+
+  @Test
+  void rejeitaAssinaturaDeTamanhoDiferente() {
+    int[] assinatura = new MinHash(indice.tamanhoAssinatura() + 1, 2).assinatura(tokens(0, 10));
+
+    assertThatThrownBy(() -> indice.adicionar(1, assinatura))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaDimensoesInvalidas() {
+    assertThatThrownBy(() -> new IndiceLsh(0, LINHAS_POR_BANDA))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new IndiceLsh(BANDAS, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static List<String> tokens(int inicio, int fim) {
+    List<String> tokens = new ArrayList<>(fim - inicio);
+    for (int i = inicio; i < fim; i++) {
+      tokens.add("token" + i);
+    }
+    return tokens;
+  }
+}
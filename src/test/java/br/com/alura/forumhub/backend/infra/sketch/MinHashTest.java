@@ -0,0 +1,91 @@
+package br.com.alura.forumhub.backend.infra.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MinHashTest {
+
+  private static final int TAMANHO = 256;
+
+  @Test
+  void assinaturasDeTextosIguaisSaoIguais() {
+    MinHash minHash = new MinHash(TAMANHO, 2);
+    List<String> tokens = List.of("erro", "flyway", "migracao", "mysql", "spring");
+
+    assertThat(minHash.assinatura(tokens)).isEqualTo(minHash.assinatura(new ArrayList<>(tokens)));
+    assertThat(MinHash.similaridade(minHash.assinatura(tokens), minHash.assinatura(tokens)))
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void semTokensNaoHaAssinatura() {
+    assertThat(new MinHash(TAMANHO, 2).assinatura(List.of())).isNull();
+  }
+
+  @Test
+  void textoMaisCurtoQueUmShingleFormaUmUnicoShingle() {
+    MinHash minHash = new MinHash(TAMANHO, 3);
+
+    int[] assinatura = minHash.assinatura(List.of("spring"));
+
+    assertThat(assinatura).hasSize(TAMANHO).doesNotContain(Integer.MAX_VALUE);
+    assertThat(MinHash.similaridade(assinatura, minHash.assinatura(List.of("spring"))))
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void similaridadeEstimadaAproximaJaccard() {
+    MinHash minHash = new MinHash(TAMANHO, 1);
+
+    // {0..99} e {50..149} têm 50 elementos em comum entre 150: Jaccard 1/3
+    int[] a = minHash.assinatura(tokens(0, 100));
+    int[] b = minHash.assinatura(tokens(50, 150));
+    double similaridade = MinHash.similaridade(a, b);
+
+    assertThat(similaridade).isCloseTo(1.0 / 3, within(0.1));
+  }
+
+  @Test
+  void textosSemShinglesEmComumTemSimilaridadeBaixa() {
+    MinHash minHash = new MinHash(TAMANHO, 2);
+
+    int[] a = minHash.assinatura(tokens(0, 50));
+    int[] b = minHash.assinatura(tokens(50, 100));
+    double similaridade = MinHash.similaridade(a, b);
+
+    assertThat(similaridade).isLessThan(0.05);
+  }
+
+  @Test
+  void shinglesDeDuasPalavrasConsideramAOrdem() {
+    List<String> texto = List.of("como", "configurar", "spring", "security", "jwt");
+    List<String> embaralhado = List.of("jwt", "security", "spring", "configurar", "como");
+
+    MinHash palavras = new MinHash(TAMANHO, 1);
+    MinHash pares = new MinHash(TAMANHO, 2);
+
+    assertThat(MinHash.similaridade(palavras.assinatura(texto), palavras.assinatura(embaralhado)))
+        .isEqualTo(1.0);
+    assertThat(MinHash.similaridade(pares.assinatura(texto), pares.assinatura(embaralhado)))
+        .isLessThan(0.05);
+  }
+
+  @Test
+  void rejeitaDimensoesInvalidas() {
+    assertThatThrownBy(() -> new MinHash(0, 2)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new MinHash(TAMANHO, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static List<String> tokens(int inicio, int fim) {
+    List<String> tokens = new ArrayList<>(fim - inicio);
+    for (int i = inicio; i < fim; i++) {
+      tokens.add("token" + i);
+    }
+    return tokens;
+  }
+}
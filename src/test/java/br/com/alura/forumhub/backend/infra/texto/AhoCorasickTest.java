@@ -0,0 +1,61 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickTest {
+
+  @Test
+  void encontraTodosOsPadroesEmUmaPassada() {
+    AhoCorasick automato = AhoCorasick.construir(List.of("he", "she", "his", "hers"));
+
+    assertThat(ocorrencias(automato, "ushers")).containsExactly(1, 0, 3);
+  }
+
+  @Test
+  void encontraPadroesSobrepostosPelosLinksDeFalha() {
+    AhoCorasick automato = AhoCorasick.construir(List.of("abcd", "bc", "c"));
+
+    assertThat(ocorrencias(automato, "xabcdx")).containsExactly(1, 2, 0);
+  }
+
+  @Test
+  void textoSemPadroesNaoTemOcorrencias() {
+    AhoCorasick automato = AhoCorasick.construir(List.of("spam", "golpe"));
+
+    assertThat(ocorrencias(automato, "como configurar o spring")).isEmpty();
+  }
+
+  @Test
+  void consumidorPodeEncerrarABusca() {
+    AhoCorasick automato = AhoCorasick.construir(List.of("a", "b"));
+    List<Integer> encontrados = new ArrayList<>();
+
+    boolean encerrada = automato.buscar("aab", indice -> encontrados.add(indice) && indice == 0);
+
+    assertThat(encerrada).isTrue();
+    assertThat(encontrados).containsExactly(0);
+  }
+
+  @Test
+  void padroesVaziosSaoIgnoradosERepetidosValemPeloUltimoIndice() {
+    AhoCorasick automato = AhoCorasick.construir(List.of("", "x", "x"));
+
+    assertThat(ocorrencias(automato, "x")).containsExactly(2);
+    assertThat(automato.tamanho()).isEqualTo(2);
+  }
+
+  private static List<Integer> ocorrencias(AhoCorasick automato, String texto) {
+    List<Integer> encontrados = new ArrayList<>();
+    automato.buscar(
+        texto,
+        indice -> {
+          encontrados.add(indice);
+          return false;
+        });
+    return encontrados;
+  }
+}
@@ -0,0 +1,147 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompactadorMensagemTest {
+
+  private static final int LIMITE = 100;
+
+  private final CompactadorMensagem compactador = new CompactadorMensagem(true, LIMITE, 6);
+
+  @Test
+  void mensagemNulaContinuaNula() {
+    assertThat(compactador.codificar(null)).isNull();
+    assertThat(CompactadorMensagem.decodificar(null)).isNull();
+  }
+
+  @Test
+  void mensagemCurtaEGravadaComoUtf8Puro() {
+    String mensagem = "Dúvida curta sobre JPA 🙂";
+
+    byte[] dados = compactador.codificar(mensagem);
+
+    assertThat(dados).isEqualTo(mensagem.getBytes(StandardCharsets.UTF_8));
+    assertThat(CompactadorMensagem.compactada(dados)).isFalse();
+    assertThat(CompactadorMensagem.decodificar(dados)).isEqualTo(mensagem);
+  }
+
+  @Test
+  void mensagemLongaEGravadaCompactada() {
+    String mensagem = "Exceção no Hibernate ao salvar a entidade 🙂\n".repeat(50);
+
+    byte[] dados = compactador.codificar(mensagem);
+
+    assertThat(CompactadorMensagem.compactada(dados)).isTrue();
+    assertThat(dados[1]).isEqualTo((byte) 1);
+    assertThat(dados.length).isLessThan(mensagem.getBytes(StandardCharsets.UTF_8).length);
+    assertThat(CompactadorMensagem.decodificar(dados)).isEqualTo(mensagem);
+  }
+
+  @Test
+  void mensagemIncompressivelEGravadaSemCabecalho() {
+    Random aleatorio = new Random(42);
+    StringBuilder mensagem = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      mensagem.append((char) ('!' + aleatorio.nextInt(90)));
+    }
+
+    byte[] dados = compactador.codificar(mensagem.toString());
+
+    assertThat(CompactadorMensagem.compactada(dados)).isFalse();
+    assertThat(CompactadorMensagem.decodificar(dados)).isEqualTo(mensagem.toString());
+  }
+
+  @Test
+  void mensagemQueComecaComNulRecebeCabecalhoSemCompressao() {
+    String mensagem = "\0texto";
+
+    byte[] dados = compactador.codificar(mensagem);
+
+    assertThat(CompactadorMensagem.compactada(dados)).isTrue();
+    assertThat(dados[1]).isEqualTo((byte) 0);
+    assertThat(CompactadorMensagem.decodificar(dados)).isEqualTo(mensagem);
+  }
+
+  @Test
+  void mesmaMensagemProduzOsMesmosBytes() {
+    String mensagem = "SELECT * FROM topico WHERE id = ?\n".repeat(20);
+
+    assertThat(compactador.codificar(mensagem)).isEqualTo(compactador.codificar(mensagem));
+  }
+
+  @Test
+  void compressaoDesabilitadaGravaUtf8PuroELeCompactadas() {
+    String mensagem = "Mensagem repetida. ".repeat(100);
+    CompactadorMensagem desabilitado = new CompactadorMensagem(false, LIMITE, 6);
+
+    assertThat(desabilitado.codificar(mensagem))
+        .isEqualTo(mensagem.getBytes(StandardCharsets.UTF_8));
+    assertThat(CompactadorMensagem.decodificar(compactador.codificar(mensagem)))
+        .isEqualTo(mensagem);
+  }
+
+  @Test
+  void rejeitaCabecalhoIncompleto() {
+    assertThatThrownBy(() -> CompactadorMensagem.decodificar(new byte[] {0, 1, 0}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaTamanhoDiferenteDoConteudoSemCompressao() {
+    byte[] dados = compactador.codificar("\0texto");
+    dados[5] += 10;
+
+    assertThatThrownBy(() -> CompactadorMensagem.decodificar(dados))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaTamanhoExcessivoNaMensagemCompactada() {
+    byte[] dados = compactador.codificar("Mensagem repetida. ".repeat(100));
+    dados[2] = 0x7F;
+    dados[3] = (byte) 0xFF;
+    dados[4] = (byte) 0xFF;
+    dados[5] = (byte) 0xFF;
+
+    assertThatThrownBy(() -> CompactadorMensagem.decodificar(dados))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaTamanhoNegativoNaMensagemCompactada() {
+    byte[] dados = compactador.codificar("Mensagem repetida. ".repeat(100));
+    dados[2] = (byte) 0xFF;
+
+    assertThatThrownBy(() -> CompactadorMensagem.decodificar(dados))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaMensagemCompactadaTruncada() {
+    byte[] dados = compactador.codificar("Exceção no Hibernate ao salvar a entidade\n".repeat(50));
+    byte[] truncados = Arrays.copyOf(dados, CompactadorMensagem.CABECALHO + 4);
+
+    assertThatThrownBy(() -> CompactadorMensagem.decodificar(truncados))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaFormatoDesconhecido() {
+    assertThatThrownBy(() -> CompactadorMensagem.decodificar(new byte[] {0, 7, 0, 0, 0, 0}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaNivelInvalido() {
+    assertThatThrownBy(() -> new CompactadorMensagem(true, LIMITE, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new CompactadorMensagem(true, LIMITE, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
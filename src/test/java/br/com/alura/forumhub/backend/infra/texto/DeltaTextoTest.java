@@ -0,0 +1,141 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DeltaTextoTest {
+
+  private static final String BASE =
+      "Ao salvar a entidade o Hibernate lança uma exceção de chave duplicada.\n"
+          + "Já conferi o mapeamento e a sequência do banco, mas o erro continua.";
+
+  @Test
+  void reconstroiEdicaoNoMeio() {
+    assertRoundTrip(BASE, BASE.replace("chave duplicada", "chave estrangeira"));
+  }
+
+  @Test
+  void reconstroiEdicaoApenasNoInicio() {
+    assertRoundTrip(BASE, "Olá! " + BASE);
+    assertRoundTrip(BASE, BASE.substring(BASE.indexOf("salvar")));
+  }
+
+  @Test
+  void reconstroiEdicaoApenasNoFim() {
+    assertRoundTrip(BASE, BASE + " Alguma ideia?");
+    assertRoundTrip(BASE, BASE.substring(0, BASE.indexOf("Já")));
+  }
+
+  @Test
+  void reconstroiTextosVaziosEIguais() {
+    assertRoundTrip("", "");
+    assertRoundTrip("", BASE);
+    assertRoundTrip(BASE, "");
+    assertRoundTrip(BASE, BASE);
+  }
+
+  @Test
+  void reconstroiEspacosEQuebrasDeLinha() {
+    assertRoundTrip("  a\tb \n\n c  ", " a b\n c\t\t");
+  }
+
+  @Test
+  void preservaParesSubstitutos() {
+    String anterior = "Funcionou 🙂 depois de trocar o 𝔡𝔯𝔦𝔳𝔢𝔯 do banco 🎉";
+    String atual = "Funcionou 😀 depois de trocar o 𝔡𝔯𝔦𝔳𝔢𝔯 do banco 🎉🎉";
+
+    assertRoundTrip(anterior, atual);
+    assertRoundTrip(atual, anterior);
+  }
+
+  @Test
+  void correcaoPequenaGeraDeltaPequeno() {
+    String anterior = BASE.repeat(20);
+    String atual = anterior.replaceFirst("lança", "lanca");
+
+    byte[] delta = DeltaTexto.calcular(anterior, atual);
+
+    assertThat(delta.length).isLessThan(32);
+    assertThat(DeltaTexto.aplicar(anterior, delta)).isEqualTo(atual);
+  }
+
+  @Test
+  void trocaOTrechoCentralQuandoExcedeMaximoDeEdicoes() {
+    List<String> antigas = new ArrayList<>();
+    List<String> novas = new ArrayList<>();
+    for (int i = 0; i < DeltaTexto.MAX_EDICOES; i++) {
+      antigas.add("antiga" + i);
+      novas.add("nova" + i);
+    }
+    String prefixo = BASE + " ";
+    String sufixo = " " + BASE;
+    String anterior = prefixo + String.join(" ", antigas) + sufixo;
+    String atual = prefixo + String.join(" ", novas) + sufixo;
+
+    byte[] delta = DeltaTexto.calcular(anterior, atual);
+
+    assertThat(DeltaTexto.aplicar(anterior, delta)).isEqualTo(atual);
+    // O prefixo e o sufixo comuns continuam copiados da versão anterior
+    assertThat(delta.length).isLessThan(atual.getBytes(StandardCharsets.UTF_8).length);
+  }
+
+  @Test
+  void reconstroiEdicoesAleatorias() {
+    Random aleatorio = new Random(7);
+    String[] vocabulario = {"spring", "jpa", "🙂", "erro", "ção", "\n", "  ", "x", ""};
+    for (int caso = 0; caso < 500; caso++) {
+      List<String> palavras = new ArrayList<>();
+      int tamanho = aleatorio.nextInt(40);
+      for (int i = 0; i < tamanho; i++) {
+        palavras.add(vocabulario[aleatorio.nextInt(vocabulario.length)]);
+      }
+      String anterior = String.join(" ", palavras);
+      for (int edicao = aleatorio.nextInt(6); edicao > 0; edicao--) {
+        int posicao = palavras.isEmpty() ? 0 : aleatorio.nextInt(palavras.size());
+        switch (aleatorio.nextInt(3)) {
+          case 0 -> palavras.add(posicao, vocabulario[aleatorio.nextInt(vocabulario.length)]);
+          case 1 -> {
+            if (!palavras.isEmpty()) {
+              palavras.remove(posicao);
+            }
+          }
+          default -> {
+            if (!palavras.isEmpty()) {
+              palavras.set(posicao, vocabulario[aleatorio.nextInt(vocabulario.length)]);
+            }
+          }
+        }
+      }
+      assertRoundTrip(anterior, String.join(" ", palavras));
+    }
+  }
+
+  @Test
+  void rejeitaDeltaDeOutraVersao() {
+    byte[] delta = DeltaTexto.calcular(BASE, BASE + " Alguma ideia?");
+
+    assertThatThrownBy(() -> DeltaTexto.aplicar("curta", delta))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejeitaDeltaInvalido() {
+    assertThatThrownBy(() -> DeltaTexto.aplicar(BASE, new byte[0]))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DeltaTexto.aplicar(BASE, new byte[] {2, 0}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DeltaTexto.aplicar(BASE, new byte[] {1, 5, 11, 'a'}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static void assertRoundTrip(String anterior, String atual) {
+    byte[] delta = DeltaTexto.calcular(anterior, atual);
+    assertThat(DeltaTexto.aplicar(anterior, delta)).isEqualTo(atual);
+  }
+}
@@ -0,0 +1,74 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos.Acao;
+import br.com.alura.forumhub.backend.infra.texto.DicionarioTermos.Ocorrencia;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DicionarioTermosTest {
+
+  @Test
+  void casaApenasPalavrasInteiras() {
+    DicionarioTermos dicionario = DicionarioTermos.compilar(List.of("ass"), Acao.REJEITAR);
+
+    assertThat(dicionario.buscar("Dúvida sobre a classe de serviço")).isEmpty();
+    assertThat(dicionario.buscar("assinatura do método")).isEmpty();
+    assertThat(dicionario.buscar("que ass!")).contains(new Ocorrencia("ass", Acao.REJEITAR));
+  }
+
+  @Test
+  void ignoraMaiusculasAcentosEPontuacao() {
+    DicionarioTermos dicionario =
+        DicionarioTermos.compilar(
+            List.of("ganhe dinheiro rapido", "spam.example.com"), Acao.REJEITAR);
+
+    assertThat(dicionario.buscar("GANHE DINHEIRO RÁPIDO!!!"))
+        .contains(new Ocorrencia("ganhe dinheiro rapido", Acao.REJEITAR));
+    assertThat(dicionario.buscar("veja http://SPAM.example.com/x"))
+        .contains(new Ocorrencia("spam example com", Acao.REJEITAR));
+  }
+
+  @Test
+  void rejeitarPrevaleceSobreQuarentena() {
+    DicionarioTermos dicionario =
+        DicionarioTermos.compilar(
+            List.of("quarentena:clique aqui", "rejeitar:compre seguidores"), Acao.REJEITAR);
+
+    // A quarentena aparece antes no texto, mas o termo a rejeitar é o retornado
+    assertThat(dicionario.buscar("clique aqui e compre seguidores"))
+        .contains(new Ocorrencia("compre seguidores", Acao.REJEITAR));
+    assertThat(dicionario.buscar("clique aqui", "compre seguidores"))
+        .contains(new Ocorrencia("compre seguidores", Acao.REJEITAR));
+    assertThat(dicionario.buscar("clique aqui"))
+        .contains(new Ocorrencia("clique aqui", Acao.QUARENTENA));
+  }
+
+  @Test
+  void termoRepetidoFicaComAAcaoMaisSevera() {
+    DicionarioTermos dicionario =
+        DicionarioTermos.compilar(
+            List.of("quarentena:golpe", "Rejeitar:GOLPE", "quarentena:golpe"), Acao.QUARENTENA);
+
+    assertThat(dicionario.tamanho()).isEqualTo(1);
+    assertThat(dicionario.buscar("isso é golpe")).contains(new Ocorrencia("golpe", Acao.REJEITAR));
+  }
+
+  @Test
+  void termosSemPrefixoUsamAAcaoPadrao() {
+    DicionarioTermos dicionario =
+        DicionarioTermos.compilar(List.of("# comentário", "", "   ", "golpe"), Acao.QUARENTENA);
+
+    assertThat(dicionario.tamanho()).isEqualTo(1);
+    assertThat(dicionario.buscar("golpe")).contains(new Ocorrencia("golpe", Acao.QUARENTENA));
+  }
+
+  @Test
+  void textosNulosSaoIgnorados() {
+    DicionarioTermos dicionario = DicionarioTermos.compilar(List.of("golpe"), Acao.REJEITAR);
+
+    assertThat(dicionario.buscar(null, "título comum")).isEmpty();
+    assertThat(DicionarioTermos.VAZIO.buscar("golpe")).isEmpty();
+  }
+}
@@ -0,0 +1,123 @@
+package br.com.alura.forumhub.backend.infra.texto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndiceTfIdfTest {
+
+  private static final int QUANTIDADE = 3;
+
+  private IndiceTfIdf indice;
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  void setUp() {
+    // Adicionados fora da ordem dos IDs, para que o índice precise ordená-los
+    IndiceTfIdf.Construtor construtor = new IndiceTfIdf.Construtor();
+    construtor.adicionar(7, "Kotlin", tokens("kotlin coroutines"));
+    construtor.adicionar(3, "Segurança", tokens("spring boot security jwt"));
+    construtor.adicionar(1, "JPA", tokens("spring boot jpa hibernate"));
+    construtor.adicionar(6, "Token", tokens("security jwt token"));
+    construtor.adicionar(2, "Flyway", tokens("spring boot jpa flyway"));
+    construtor.adicionar(5, "Redux", tokens("react hooks redux"));
+    construtor.adicionar(4, "Hooks", tokens("react hooks state"));
+    indice = construtor.construir(1.0, 32);
+    pool = new ForkJoinPool(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.close();
+  }
+
+  @Test
+  void documentosFicamOrdenadosPeloId() {
+    assertThat(indice.tamanho()).isEqualTo(7);
+    for (int id = 1; id <= 7; id++) {
+      assertThat(indice.posicao(id)).isEqualTo(id - 1);
+      assertThat(indice.id(indice.posicao(id))).isEqualTo(id);
+    }
+    assertThat(indice.titulo(indice.posicao(6))).isEqualTo("Token");
+    assertThat(indice.posicao(8)).isNegative();
+  }
+
+  @Test
+  void vizinhosSaoOrdenadosPeloCosseno() {
+    int[] vizinhos = indice.calcularVizinhos(QUANTIDADE, pool);
+
+    assertThat(vizinhos).hasSize(indice.tamanho() * QUANTIDADE);
+    // O 2 tem os mesmos termos úteis que o 1; o 3 compartilha com ele apenas "spring" e "boot"
+    assertThat(ids(vizinhos, 1)).containsExactly(2, 3);
+    assertThat(ids(vizinhos, 3)).startsWith(6).containsExactlyInAnyOrder(6, 1, 2);
+    assertThat(ids(vizinhos, 4)).containsExactly(5);
+  }
+
+  @Test
+  void documentoNaoEVizinhoDeSiMesmo() {
+    int[] vizinhos = indice.calcularVizinhos(QUANTIDADE, pool);
+
+    for (int id = 1; id <= 7; id++) {
+      assertThat(ids(vizinhos, id)).doesNotContain(id);
+    }
+  }
+
+  @Test
+  void termosDeUmUnicoDocumentoSaoDescartados() {
+    int[] vizinhos = indice.calcularVizinhos(QUANTIDADE, pool);
+
+    assertThat(ids(vizinhos, 7)).isEmpty();
+    assertThat(indice.vizinhos(tokens("kotlin coroutines"), QUANTIDADE, indice.criarAcumulador()))
+        .isEmpty();
+  }
+
+  @Test
+  void vizinhosDeUmTextoForaDoIndice() {
+    int[] vizinhos =
+        indice.vizinhos(tokens("security jwt desconhecido"), QUANTIDADE, indice.criarAcumulador());
+
+    assertThat(Arrays.stream(vizinhos).map(indice::id).toArray()).containsExactly(6, 3);
+  }
+
+  @Test
+  void acumuladorPodeSerReaproveitadoEntreConsultas() {
+    IndiceTfIdf.Acumulador acumulador = indice.criarAcumulador();
+
+    int[] primeira = indice.vizinhos(tokens("react hooks"), QUANTIDADE, acumulador);
+    int[] segunda = indice.vizinhos(tokens("react hooks"), QUANTIDADE, acumulador);
+
+    assertThat(segunda).isEqualTo(primeira);
+  }
+
+  @Test
+  void quantidadeZeroNaoRetornaVizinhos() {
+    assertThat(indice.calcularVizinhos(0, pool)).isEmpty();
+    assertThat(indice.vizinhos(tokens("security jwt"), 0, indice.criarAcumulador())).isEmpty();
+  }
+
+  @Test
+  void indiceVazioNaoTemVizinhos() {
+    IndiceTfIdf vazio = new IndiceTfIdf.Construtor().construir(0.2, 32);
+
+    assertThat(vazio.tamanho()).isZero();
+    assertThat(vazio.calcularVizinhos(QUANTIDADE, pool)).isEmpty();
+    assertThat(vazio.vizinhos(tokens("spring"), QUANTIDADE, vazio.criarAcumulador())).isEmpty();
+  }
+
+  private int[] ids(int[] vizinhos, int id) {
+    int inicio = indice.posicao(id) * QUANTIDADE;
+    return Arrays.stream(vizinhos, inicio, inicio + QUANTIDADE)
+        .filter(posicao -> posicao >= 0)
+        .map(indice::id)
+        .toArray();
+  }
+
+  private static List<String> tokens(String texto) {
+    return List.of(texto.split(" "));
+  }
+}